@@ -0,0 +1,74 @@
+package com.pizzaMakerApp.benchmark;
+
+import com.pizzaMakerApp.model.ItemType;
+import com.pizzaMakerApp.utils.DataGenerator;
+import com.pizzaMakerApp.utils.DatabaseManager;
+import com.pizzaMakerApp.utils.EmbeddedDatabase;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * BenchmarkDatabase is the database stand-in used by the benchmarks: an in-memory {@link EmbeddedDatabase}
+ * seeded by the {@link DataGenerator} with a given number of pending orders. {@link DatabaseManager} is redirected
+ * to it, so the application code runs unchanged.
+ * <p>
+ * The data is generated from a fixed seed, so that every run works on the same orders.
+ * </p>
+ */
+public class BenchmarkDatabase {
+
+    private static final String URL = "jdbc:h2:mem:pizzeria-benchmark;MODE=MariaDB;DATABASE_TO_UPPER=FALSE;"
+            + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    // Orders made of a single item type, not pending, used to benchmark the loading of one order.
+    private final Map<ItemType, Integer> probeOrders;
+
+    private BenchmarkDatabase(Map<ItemType, Integer> probeOrders) {
+        this.probeOrders = probeOrders;
+    }
+
+    /**
+     * Creates the benchmark database, seeds it and redirects {@link DatabaseManager} to it.
+     * Any previous benchmark database of the JVM is dropped first.
+     *
+     * @param orderCount   The number of pending orders to generate.
+     * @param historyCount The number of historical orders to generate.
+     * @return The seeded database.
+     * @throws SQLException If the database cannot be created.
+     */
+    public static BenchmarkDatabase start(int orderCount, int historyCount) throws SQLException {
+        Map<ItemType, Integer> probeOrders;
+        try (Connection connection = DriverManager.getConnection(URL)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+            }
+            EmbeddedDatabase.createSchema(connection);
+            DataGenerator generator = new DataGenerator(42);
+            generator.generate(connection, orderCount, historyCount);
+            probeOrders = generator.generateSingleTypeOrders(connection, "DELIVERED");
+        }
+        DatabaseManager.setConnectionFactory(() -> DriverManager.getConnection(URL));
+        return new BenchmarkDatabase(probeOrders);
+    }
+
+    /**
+     * Closes the connections to the benchmark database. Its content is kept until the JVM exits.
+     */
+    public static void stop() {
+        DatabaseManager.shutdown();
+    }
+
+    /**
+     * Gets the id of an order made only of items of the given type. These orders are not pending.
+     *
+     * @param itemType The type of the items of the order.
+     * @return The id of the order.
+     */
+    public int getProbeOrderId(ItemType itemType) {
+        return probeOrders.get(itemType);
+    }
+}
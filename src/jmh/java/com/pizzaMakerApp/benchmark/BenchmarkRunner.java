@@ -0,0 +1,45 @@
+package com.pizzaMakerApp.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler (allocation rate per operation) and writes the results as JSON,
+ * so that they can be compared between two versions of the application.
+ * <p>
+ * Usage: {@code mvn -P benchmark compile exec:exec -Dbenchmark.include=<regex> -Dbenchmark.orders=<count>
+ * -Dbenchmark.history=<count>}
+ * </p>
+ */
+public class BenchmarkRunner {
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args The benchmark name pattern (default ".*"), the JSON result file (default "jmh-result.json")
+     *             the number of pending orders (default 500) and the number of historical orders (default 0)
+     *             in the benchmark database.
+     * @throws RunnerException If a benchmark fails.
+     */
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : ".*";
+        String resultFile = args.length > 1 ? args[1] : "jmh-result.json";
+        String orderCount = args.length > 2 ? args[2] : "500";
+        String historyCount = args.length > 3 ? args[3] : "0";
+
+        Options options = new OptionsBuilder()
+                .include(include)
+                .param("orderCount", orderCount)
+                .param("historyCount", historyCount)
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend("-Djava.awt.headless=true")
+                .resultFormat(ResultFormatType.JSON)
+                .result(resultFile)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,57 @@
+package com.pizzaMakerApp.benchmark;
+
+import com.pizzaMakerApp.monitoring.Metrics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the overhead added to every query by the statistics of {@link Metrics}: two calls to
+ * System.nanoTime, the lookup of the statistics of the SQL text and the recording in its histogram.
+ * It is measured with one thread and with several threads recording the same query, as the background
+ * tasks do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsBenchmark {
+
+    private static final String SQL_QUERY =
+            "SELECT orderId, status, changedAt FROM ORDER_CHANGE WHERE changeId > ? ORDER BY changeId LIMIT ?";
+
+    /**
+     * Measures a query and records it, from one thread.
+     *
+     * @return The measured duration, so that it is not optimized away.
+     */
+    @Benchmark
+    public long recordQuery() {
+        long start = System.nanoTime();
+        long duration = System.nanoTime() - start;
+        Metrics.query(SQL_QUERY).record(duration, 10, false);
+        return duration;
+    }
+
+    /**
+     * Measures a query and records it, from four threads at once.
+     *
+     * @return The measured duration, so that it is not optimized away.
+     */
+    @Benchmark
+    @Threads(4)
+    public long recordQueryContended() {
+        return recordQuery();
+    }
+}
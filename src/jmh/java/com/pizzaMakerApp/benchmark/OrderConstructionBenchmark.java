@@ -0,0 +1,64 @@
+package com.pizzaMakerApp.benchmark;
+
+import com.pizzaMakerApp.model.ItemType;
+import com.pizzaMakerApp.model.Order;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the construction of a single order from the database, for orders made of three items of each type,
+ * i.e. the cost of loading the details of one order.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderConstructionBenchmark {
+
+    // Every item type is benchmarked.
+    @Param
+    public ItemType itemType;
+
+    // Number of pending orders in the database; overridden by the benchmark.orders property of the runner.
+    @Param("500")
+    public int orderCount;
+
+    // Number of historical orders in the database; overridden by the benchmark.history property of the runner.
+    @Param("0")
+    public int historyCount;
+
+    private int orderId;
+
+    @Setup
+    public void setUp() throws SQLException {
+        orderId = BenchmarkDatabase.start(orderCount, historyCount).getProbeOrderId(itemType);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkDatabase.stop();
+    }
+
+    /**
+     * Loads one order and its items: new Order(id).
+     */
+    @Benchmark
+    public Order constructOrder() {
+        return new Order(orderId);
+    }
+}
@@ -0,0 +1,92 @@
+package com.pizzaMakerApp.benchmark;
+
+import com.pizzaMakerApp.model.Order;
+import com.pizzaMakerApp.model.SampleOrders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.text.SimpleDateFormat;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the cost of one row label of the order list ("id  dd/MM HH:mm  client"), which SList asks for
+ * every visible row on every repaint: formatted with a new SimpleDateFormat per call (the former Order.toString),
+ * formatted with a shared DateTimeFormatter, and cached on the order (the current Order.toString).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderLabelBenchmark {
+
+    // Number of rows labelled by each call; the scores are per row.
+    private static final int ORDER_COUNT = 100;
+
+    private static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern("dd/MM HH:mm");
+
+    private List<Order> orders;
+
+    // The dates of the orders as java.util.Date, for the former formatting.
+    private Date[] dates;
+
+    @Setup
+    public void setUp() {
+        orders = SampleOrders.create(ORDER_COUNT);
+        dates = new Date[ORDER_COUNT];
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            dates[i] = Date.from(orders.get(i).getDateTime().atZone(ZoneId.systemDefault()).toInstant());
+        }
+    }
+
+    /**
+     * Formats every label with a new SimpleDateFormat, as Order.toString did before the labels were cached.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ORDER_COUNT)
+    public void simpleDateFormatPerCall(Blackhole blackhole) {
+        for (int i = 0; i < ORDER_COUNT; i++) {
+            Order order = orders.get(i);
+            SimpleDateFormat formatter = new SimpleDateFormat("dd/MM HH:mm");
+            blackhole.consume(order.getId() + "      " + formatter.format(dates[i]) + "     " + order.getClientName());
+        }
+    }
+
+    /**
+     * Formats every label with a shared, immutable DateTimeFormatter, without caching the result.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ORDER_COUNT)
+    public void sharedFormatter(Blackhole blackhole) {
+        for (Order order : orders) {
+            blackhole.consume(order.getId() + "      " + FORMATTER.format(order.getDateTime()) + "     "
+                    + order.getClientName());
+        }
+    }
+
+    /**
+     * Gets every label from Order.toString, which formats it once and caches it.
+     */
+    @Benchmark
+    @OperationsPerInvocation(ORDER_COUNT)
+    public void cachedLabel(Blackhole blackhole) {
+        for (Order order : orders) {
+            blackhole.consume(order.toString());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.pizzaMakerApp.benchmark;
+
+import com.pizzaMakerApp.model.Order;
+import com.pizzaMakerApp.model.OrderLoader;
+import com.pizzaMakerApp.model.OrderManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the loading of the whole pending queue from the benchmark database, i.e. the startup of the
+ * application and the cost of a full reload: as headers, like the order list does, and with all the items.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class OrderLoadingBenchmark {
+
+    // Number of pending orders in the database; overridden by the benchmark.orders property of the runner.
+    @Param("500")
+    public int orderCount;
+
+    // Number of historical orders in the database; overridden by the benchmark.history property of the runner.
+    @Param("0")
+    public int historyCount;
+
+    @Setup
+    public void setUp() throws SQLException {
+        BenchmarkDatabase.start(orderCount, historyCount);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkDatabase.stop();
+    }
+
+    /**
+     * Loads the headers of all the pending orders: OrderManager.loadOrders.
+     */
+    @Benchmark
+    public ArrayList<Order> loadOrders() {
+        return new OrderManager().getOrders();
+    }
+
+    /**
+     * Loads all the pending orders with their items: OrderLoader.loadPendingOrders.
+     */
+    @Benchmark
+    public ArrayList<Order> loadOrdersWithItems() throws SQLException {
+        return OrderLoader.loadPendingOrders();
+    }
+}
@@ -0,0 +1,76 @@
+package com.pizzaMakerApp.benchmark;
+
+import com.pizzaMakerApp.model.Order;
+import com.pizzaMakerApp.model.SampleOrders;
+import com.pizzaMakerApp.style.SList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the painting of the order list: every visible cell of an SList is rendered into an off-screen image,
+ * as Swing does on every repaint of the list. Runs headless.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SListRenderingBenchmark {
+
+    // Number of orders in the list and number of rows visible on screen.
+    private static final int ORDER_COUNT = 500;
+    private static final int VISIBLE_ROWS = 30;
+
+    private static final int CELL_WIDTH = 400;
+    private static final int CELL_HEIGHT = 30;
+
+    private SList<Order> list;
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    @Setup
+    public void setUp() {
+        DefaultListModel<Order> model = new DefaultListModel<>();
+        model.addAll(SampleOrders.create(ORDER_COUNT));
+        list = new SList<>();
+        list.setModel(model);
+        list.setSelectedIndex(0);
+        image = new BufferedImage(CELL_WIDTH, CELL_HEIGHT, BufferedImage.TYPE_INT_RGB);
+        graphics = image.createGraphics();
+    }
+
+    @TearDown
+    public void tearDown() {
+        graphics.dispose();
+    }
+
+    /**
+     * Renders and paints the visible rows of the list, from the first one.
+     */
+    @Benchmark
+    public BufferedImage renderVisibleRows() {
+        ListCellRenderer<? super Order> renderer = list.getCellRenderer();
+        for (int index = 0; index < VISIBLE_ROWS; index++) {
+            Component cell = renderer.getListCellRendererComponent(list, list.getModel().getElementAt(index), index,
+                    list.isSelectedIndex(index), false);
+            cell.setBounds(0, 0, CELL_WIDTH, CELL_HEIGHT);
+            cell.paint(graphics);
+        }
+        return image;
+    }
+}
@@ -0,0 +1,80 @@
+package com.pizzaMakerApp.model;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks of the in-memory part of the order pipeline: custom pizza assembly and the two text renderings
+ * of an order (the list label and the detailed ticket). No database is involved.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderRenderingBenchmark {
+
+    // Number of orders rendered by each call, like a full pending queue.
+    private static final int ORDER_COUNT = 100;
+
+    private List<Order> orders;
+
+    @Setup
+    public void setUp() {
+        orders = SampleOrders.create(ORDER_COUNT);
+    }
+
+    /**
+     * Assembles a custom pizza from its original pizza: PizzaCustom.adjustIngredients.
+     */
+    @Benchmark
+    public PizzaCustom adjustIngredients() {
+        return SampleOrders.customPizza(7);
+    }
+
+    /**
+     * Gets the detailed ticket of every order, as OrderView does on selection; the tickets are cached.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void display(Blackhole blackhole) {
+        for (Order order : orders) {
+            blackhole.consume(order.display());
+        }
+    }
+
+    /**
+     * Renders the detailed ticket of every order without the cache, as on the first selection of an order.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void renderDisplay(Blackhole blackhole) {
+        for (Order order : orders) {
+            blackhole.consume(order.renderDisplay());
+        }
+    }
+
+    /**
+     * Renders the list label of every order, as SList does on every repaint.
+     */
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void orderToString(Blackhole blackhole) {
+        for (Order order : orders) {
+            blackhole.consume(order.toString());
+        }
+    }
+}
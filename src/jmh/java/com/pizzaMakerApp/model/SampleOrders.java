@@ -0,0 +1,99 @@
+package com.pizzaMakerApp.model;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * SampleOrders builds orders in memory, without any database, for the rendering benchmarks.
+ * The orders mix every item type, like the orders of the benchmark database, and are generated from a fixed seed.
+ */
+public class SampleOrders {
+
+    private static final String[] CLIENTS = {"Martin", "Bernard", "Thomas", "Petit", "Robert", "Richard", "Durand"};
+
+    private static final Pizza[] PIZZAS = {
+            new Pizza(1, "Margherita", 10f,
+                    ingredients("Tomato sauce", 8f, "cl", "Mozzarella", 120f, "g", "Basil", 5f, "g")),
+            new Pizza(2, "Regina", 12f,
+                    ingredients("Tomato sauce", 8f, "cl", "Mozzarella", 120f, "g", "Ham", 80f, "g",
+                            "Mushrooms", 60f, "g")),
+            new Pizza(3, "Quatre fromages", 13.5f,
+                    ingredients("Cream", 6f, "cl", "Mozzarella", 80f, "g", "Gorgonzola", 50f, "g",
+                            "Goat cheese", 50f, "g", "Parmesan", 30f, "g")),
+            new Pizza(4, "Orientale", 13f,
+                    ingredients("Tomato sauce", 8f, "cl", "Mozzarella", 120f, "g", "Chorizo", 70f, "g",
+                            "Peppers", 40f, "g", "Onions", 30f, "g", "Egg", 1f, "unit"))
+    };
+
+    // Customizations of the sample custom pizzas, as read from VIEW_CUSTOM_PIZZAS_WITH_INGREDIENTS.
+    private static final List<IngredientQuantity> ADDED = ingredients("Olives", 30f, "g", "Honey", 2f, "cl");
+    private static final List<IngredientQuantity> REMOVED = ingredients("Mozzarella", 120f, "g");
+
+    /**
+     * Builds a sample custom pizza, based on one of the sample pizzas.
+     *
+     * @param customPizzaId The id of the custom pizza; also selects the original pizza.
+     * @return The custom pizza.
+     */
+    public static PizzaCustom customPizza(int customPizzaId) {
+        return new PizzaCustom(PIZZAS[customPizzaId % PIZZAS.length], customPizzaId, ADDED, REMOVED);
+    }
+
+    /**
+     * Builds sample orders of 1 to 6 items, one minute apart.
+     *
+     * @param count The number of orders.
+     * @return The orders, oldest first.
+     */
+    public static List<Order> create(int count) {
+        Random random = new Random(42);
+        LocalDateTime start = LocalDateTime.now().minusMinutes(count);
+        List<Order> orders = new ArrayList<>(count);
+        for (int id = 1; id <= count; id++) {
+            Order order = new Order(id, start.plusMinutes(id), CLIENTS[random.nextInt(CLIENTS.length)]);
+            int itemCount = 1 + random.nextInt(6);
+            for (int i = 0; i < itemCount; i++) {
+                order.addItem(randomItem(random, id * 10 + i), 1 + random.nextInt(3));
+            }
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    /**
+     * Builds a random item of any type.
+     *
+     * @param random The random generator.
+     * @param itemId The id given to custom pizzas.
+     * @return The item.
+     */
+    private static Food randomItem(Random random, int itemId) {
+        return switch (random.nextInt(7)) {
+            case 0, 1 -> PIZZAS[random.nextInt(PIZZAS.length)];
+            case 2 -> customPizza(itemId);
+            case 3 -> new Dessert(1, "Tiramisu", 6f,
+                    ingredients("Mascarpone", 100f, "g", "Coffee", 3f, "cl", "Sugar", 20f, "g"));
+            case 4 -> new Wine(1, "Cuvée 1", 21f, "Domaine 1", "Bourgogne", 2015, Wine.WineColor.RED,
+                    Wine.BottleType.BOTTLE);
+            case 5 -> new Cocktail(1, "Mojito", 8.5f,
+                    ingredients("Rum", 5f, "cl", "Mint", 3f, "g", "Lime", 1f, "unit"));
+            default -> new Soda(1, "Soda 1", 2.5f, Soda.BottleType.CAN);
+        };
+    }
+
+    /**
+     * Builds a list of ingredients from (name, quantity, unit) triples.
+     *
+     * @param values The name, quantity and unit symbol of every ingredient, in sequence.
+     * @return The ingredients.
+     */
+    private static List<IngredientQuantity> ingredients(Object... values) {
+        List<IngredientQuantity> ingredients = new ArrayList<>(values.length / 3);
+        for (int i = 0; i < values.length; i += 3) {
+            ingredients.add(IngredientQuantity.of((String) values[i], (Float) values[i + 1], (String) values[i + 2]));
+        }
+        return ingredients;
+    }
+}
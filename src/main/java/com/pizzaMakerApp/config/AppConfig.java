@@ -0,0 +1,152 @@
+package com.pizzaMakerApp.config;
+
+/**
+ * Interface representing the tuning parameters of the Pizza Maker application.
+ * Defines constants for the caches and background tasks used by the application.
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * long ttl = AppConfig.CATALOG_TTL_MS;
+ * }
+ * </pre>
+ * </p>
+ * <p>
+ * The interface includes the following constants:
+ * <ul>
+ *   <li>{@link #CATALOG_TTL_MS}: How long the menu catalog is trusted before being reloaded.</li>
+ *   <li>{@link #CATALOG_MAX_ENTRIES}: The maximum number of menu items kept in memory.</li>
+ *   <li>{@link #EDT_STALL_THRESHOLD_MS}: The duration above which a task blocking the user interface is logged.</li>
+ *   <li>{@link #STALE_ORDER_MINUTES}: The default age above which pending orders are cancelled in bulk.</li>
+ *   <li>{@code STATUS_*}: The local journal and the retries of the status changes written in the background.</li>
+ *   <li>{@link #SNAPSHOT_FILE}: The local copy of the menu and of the pending orders displayed at startup.</li>
+ *   <li>{@code DETAIL_*}: The items of the orders, loaded when an order is selected and kept for a few orders.</li>
+ *   <li>{@code FEED_*}: The polling of the order change log, which brings new orders to the screen.</li>
+ *   <li>{@code METRICS_*}: The latency statistics of the queries and refreshes, published over JMX and logged.</li>
+ *   <li>{@code RECORDING_*}: The continuous flight recording, dumped on demand to see where the time went.</li>
+ * </ul>
+ * </p>
+ * @see com.pizzaMakerApp.model.MenuCatalog
+ */
+public interface AppConfig {
+    /**
+     * The time, in milliseconds, after which the menu catalog is reloaded from the database.
+     */
+    long CATALOG_TTL_MS = 15 * 60 * 1000;
+
+    /**
+     * The maximum number of menu items kept in the catalog; the least recently used items are evicted beyond it.
+     */
+    int CATALOG_MAX_ENTRIES = 5000;
+
+    /**
+     * The time, in milliseconds, above which a task running on the Event Dispatch Thread is logged as a stall.
+     */
+    long EDT_STALL_THRESHOLD_MS = 200;
+
+    /**
+     * The default age, in minutes, proposed by the "cancel older than" action of the order list.
+     */
+    int STALE_ORDER_MINUTES = 45;
+
+    /**
+     * The local journal holding the status changes not yet written to the database.
+     */
+    String STATUS_JOURNAL_FILE = System.getProperty("pizzamaker.statusJournal",
+            System.getProperty("user.home") + "/.pizzamaker/status-journal.log");
+
+    /**
+     * The maximum time, in milliseconds, between a status change and the fsync of the journal recording it.
+     */
+    long STATUS_JOURNAL_SYNC_MS = 50;
+
+    /**
+     * The delay, in milliseconds, before the first retry of status changes that could not be written.
+     */
+    long STATUS_RETRY_INITIAL_MS = 500;
+
+    /**
+     * The maximum delay, in milliseconds, between two retries of status changes that could not be written.
+     */
+    long STATUS_RETRY_MAX_MS = 30_000;
+
+    /**
+     * The local snapshot of the menu catalog and of the pending orders, displayed at startup before the database
+     * answers.
+     */
+    String SNAPSHOT_FILE = System.getProperty("pizzamaker.snapshot",
+            System.getProperty("user.home") + "/.pizzamaker/snapshot.bin");
+
+    /**
+     * The maximum number of orders whose items are kept in memory; the items of the least recently selected orders
+     * are released beyond it and loaded again when needed. Must be larger than {@link #DETAIL_PREFETCH_COUNT}.
+     */
+    int DETAIL_CACHE_SIZE = 64;
+
+    /**
+     * The number of orders following the selected one in the list whose items are loaded with it, so that moving
+     * down the list displays them at once.
+     */
+    int DETAIL_PREFETCH_COUNT = 3;
+
+    /**
+     * The delay, in milliseconds, between two polls of the order change log while orders keep coming.
+     */
+    long FEED_POLL_MIN_MS = 250;
+
+    /**
+     * The maximum delay, in milliseconds, between two polls of the order change log; reached when idle.
+     */
+    long FEED_POLL_MAX_MS = 5_000;
+
+    /**
+     * The maximum number of new changes read from the order change log per poll.
+     */
+    int FEED_BATCH_SIZE = 500;
+
+    /**
+     * The number of change ids read again below the cursor, to catch the changes committed out of order.
+     */
+    int FEED_LOOKBACK = 100;
+
+    /**
+     * The interval, in milliseconds, between two full reads of the pending queue while the change log is used,
+     * to catch the changes written without it.
+     */
+    long FEED_RESYNC_MS = 5 * 60 * 1000;
+
+    /**
+     * The interval, in milliseconds, between two full reads of the pending queue when the change log is not
+     * available.
+     */
+    long FEED_FALLBACK_MS = 10_000;
+
+    /**
+     * The interval, in milliseconds, between two logged summaries of the query and refresh statistics;
+     * 0 disables the summaries (the statistics are still published over JMX).
+     */
+    long METRICS_LOG_MS = Long.getLong("pizzamaker.metricsLogMs", 60_000);
+
+    /**
+     * The maximum number of distinct SQL templates measured separately; the queries of any further template are
+     * counted together.
+     */
+    int METRICS_MAX_TEMPLATES = 256;
+
+    /**
+     * Whether a continuous Java Flight Recorder recording runs in the background, so that its last minutes can be
+     * dumped when the application stutters.
+     */
+    boolean RECORDING_ENABLED = Boolean.parseBoolean(System.getProperty("pizzamaker.recording", "true"));
+
+    /**
+     * The time, in milliseconds, covered by the continuous recording: older events are discarded.
+     */
+    long RECORDING_MAX_AGE_MS = 5 * 60 * 1000;
+
+    /**
+     * The directory where the continuous recording is dumped.
+     */
+    String RECORDING_DUMP_DIRECTORY = System.getProperty("pizzamaker.recordingDirectory",
+            System.getProperty("user.home") + "/.pizzamaker/recordings");
+}
@@ -21,6 +21,11 @@ package com.pizzaMakerApp.config;
  *   <li>{@link #USER}: The username for authenticating with the database.</li>
  *   <li>{@link #PASSWORD}: The password for authenticating with the database.</li>
  *   <li>{@link #DRIVER}: The JDBC driver class for the database.</li>
+ *   <li>{@link #DATA_SOURCE}: The database used by the application, remote or embedded.</li>
+ *   <li>{@code EMBEDDED_*}: The location and size of the embedded database.</li>
+ *   <li>{@code POOL_*}: The sizing and timeouts of the connection pool.</li>
+ *   <li>{@link #STATEMENT_CACHE_SIZE}: The number of prepared statements cached per connection.</li>
+ *   <li>{@link #FETCH_SIZE}: The number of rows fetched per round trip by streaming queries.</li>
  * </ul>
  * </p>
  * @see java.sql.Connection
@@ -45,4 +50,84 @@ public interface DBConfig {
      * The JDBC driver class for the database.
      */
     String DRIVER = "org.mariadb.jdbc.Driver";
+
+    /**
+     * The data source of the application: {@code mariadb} for the database at {@link #URL}, or {@code embedded}
+     * for a local H2 database generated at startup (see {@link com.pizzaMakerApp.utils.EmbeddedDatabase}).
+     * Can be overridden with the system property {@code pizzamaker.dataSource}.
+     */
+    String DATA_SOURCE = System.getProperty("pizzamaker.dataSource", "mariadb");
+
+    /**
+     * The JDBC URL of the embedded database. In memory by default; use e.g. {@code jdbc:h2:./pizzeria;MODE=MariaDB;...}
+     * to keep a generated database in a file between runs.
+     * Can be overridden with the system property {@code pizzamaker.embeddedUrl}.
+     */
+    String EMBEDDED_URL = System.getProperty("pizzamaker.embeddedUrl",
+            "jdbc:h2:mem:pizzeria;MODE=MariaDB;DATABASE_TO_UPPER=FALSE;CASE_INSENSITIVE_IDENTIFIERS=TRUE;"
+                    + "DB_CLOSE_DELAY=-1");
+
+    /**
+     * The number of pending orders generated in a new embedded database.
+     * Can be overridden with the system property {@code pizzamaker.embeddedPendingOrders}.
+     */
+    int EMBEDDED_PENDING_ORDERS = Integer.getInteger("pizzamaker.embeddedPendingOrders", 20);
+
+    /**
+     * The number of historical orders generated in a new embedded database.
+     * Can be overridden with the system property {@code pizzamaker.embeddedHistoryOrders}.
+     */
+    int EMBEDDED_HISTORY_ORDERS = Integer.getInteger("pizzamaker.embeddedHistoryOrders", 10000);
+
+    /**
+     * The number of new orders placed per minute in a new embedded database, standing in for the ordering website
+     * (0 places none).
+     * Can be overridden with the system property {@code pizzamaker.embeddedOrdersPerMinute}.
+     */
+    int EMBEDDED_ORDERS_PER_MINUTE = Integer.getInteger("pizzamaker.embeddedOrdersPerMinute", 0);
+
+    /**
+     * The number of connections the pool keeps open even when they are idle.
+     */
+    int POOL_MIN_SIZE = 1;
+
+    /**
+     * The maximum number of connections the pool opens at the same time.
+     */
+    int POOL_MAX_SIZE = 8;
+
+    /**
+     * The maximum time, in milliseconds, a caller waits for a connection when all of them are in use.
+     */
+    long POOL_BORROW_TIMEOUT_MS = 5000;
+
+    /**
+     * The time, in milliseconds, after which an idle connection above the minimum size is closed.
+     */
+    long POOL_IDLE_TIMEOUT_MS = 60000;
+
+    /**
+     * The time, in milliseconds, after which a borrowed connection is reported as leaked (0 disables the check).
+     */
+    long POOL_LEAK_THRESHOLD_MS = 30000;
+
+    /**
+     * The timeout, in seconds, used to check that a pooled connection is still alive before lending it.
+     */
+    int POOL_VALIDATION_TIMEOUT_S = 2;
+
+    /**
+     * The number of prepared statements cached per connection (0 disables the cache).
+     * Can be overridden with the system property {@code pizzamaker.statementCacheSize}, e.g. to compare both modes
+     * in benchmarks. When the cache is enabled, MariaDB connections use server-side prepared statements,
+     * so that a cached statement is parsed by the server only once.
+     */
+    int STATEMENT_CACHE_SIZE = Integer.getInteger("pizzamaker.statementCacheSize", 64);
+
+    /**
+     * The number of rows fetched from the server per round trip by the streaming queries of DatabaseManager,
+     * so that large results (e.g. order history) are never held in memory all at once.
+     * Can be overridden with the system property {@code pizzamaker.fetchSize}.
+     */
+    int FETCH_SIZE = Integer.getInteger("pizzamaker.fetchSize", 500);
 }
@@ -1,16 +1,40 @@
 package com.pizzaMakerApp.controller;
 
+import com.pizzaMakerApp.config.AppConfig;
+import com.pizzaMakerApp.model.KitchenBoard;
+import com.pizzaMakerApp.model.MenuCatalog;
 import com.pizzaMakerApp.model.Order;
+import com.pizzaMakerApp.model.OrderChange;
+import com.pizzaMakerApp.model.OrderChangeEvent;
+import com.pizzaMakerApp.model.OrderChangeFeed;
+import com.pizzaMakerApp.model.OrderDelta;
+import com.pizzaMakerApp.model.OrderLoader;
 import com.pizzaMakerApp.model.OrderManager;
+import com.pizzaMakerApp.model.OrderSnapshot;
+import com.pizzaMakerApp.model.StatusChangeResult;
+import com.pizzaMakerApp.model.StatusWriteQueue;
+import com.pizzaMakerApp.monitoring.Metrics;
+import com.pizzaMakerApp.monitoring.OperationStats;
+import com.pizzaMakerApp.utils.AsyncExecutor;
+import com.pizzaMakerApp.view.KitchenBoardView;
 import com.pizzaMakerApp.view.ManagerView;
 import com.pizzaMakerApp.view.OrderView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
 import javax.swing.event.ListSelectionEvent;
 import javax.swing.event.ListSelectionListener;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.sql.SQLException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Controller class for the Pizza Maker application. Manages the interaction between the model
@@ -19,7 +43,17 @@ import java.sql.SQLException;
  * The controller initializes listeners for the ManagerView's order list, as well as buttons in
  * the OrderView. It provides methods to handle order validation, refusal, and updates.
  *
- * Additionally, the controller sets up a timer to periodically update the order list.
+ * Additionally, the controller subscribes to the {@link OrderChangeFeed}, which pushes the orders placed or
+ * moved in the database, so that the order list is updated within a fraction of a second without polling it.
+ * All database work is done in the background with {@link AsyncExecutor}; the model and the views
+ * are only updated on the Event Dispatch Thread. Status changes are written by a {@link StatusWriteQueue},
+ * so that the kitchen keeps working while the database cannot be reached.
+ *
+ * The orders shown at startup come from the local {@link OrderSnapshot}; they are reconciled with the database
+ * by the first refresh requested by the feed, and the snapshot is saved again whenever the pending queue changes.
+ *
+ * The order list holds headers only. The items of the selected order are loaded in the background when it is
+ * selected, together with those of the next orders of the list, which are likely to be selected next.
  *
  */
 public class AppController {
@@ -29,9 +63,64 @@ public class AppController {
     private Order orderModel;
     private OrderView orderView;
 
+    // Refresh currently running in the background, or null. Only accessed on the Event Dispatch Thread.
+    private CompletableFuture<OrderDelta> refreshInFlight;
+
+    // Incremented for every refresh started or cancelled, to discard the results of stale refreshes.
+    private long refreshGeneration;
+
+    // Whether a refresh was requested while another one was running, whether it must read the whole pending queue,
+    // and whether it must select the first order.
+    private boolean refreshPending;
+    private boolean fullRefreshPending;
+    private boolean selectFirstPending;
+
+    // Changes pushed by the feed and not applied yet, and those applied by the refresh running. EDT only.
+    private final List<OrderChange> pendingChanges = new ArrayList<>();
+    private List<OrderChange> changesInFlight = List.of();
+
+    // Whether the refresh running reads the whole pending queue, and whether it selects the first order.
+    private boolean fullRefreshInFlight;
+    private boolean selectFirstInFlight;
+
+    // Runs again, after a while, a refresh that failed.
+    private final Timer refreshRetryTimer = new Timer((int) AppConfig.FEED_FALLBACK_MS, e -> runPendingRefresh());
+
+    // Pushes the orders placed or moved in the database.
+    private final OrderChangeFeed changeFeed;
+
+    // The controller of the kitchen board, created when the board is first opened.
+    private KitchenBoardController kitchenBoardController;
+
+    // Time between an order being placed or moved in the database and the order list showing it.
+    private final OperationStats screenLatency = Metrics.operation("Order change to screen");
+
+    // Duration of the refreshes of the order list, from their start to the list updated, and orders added or removed.
+    private final OperationStats fullRefreshStats = Metrics.operation("Order refresh (full)");
+    private final OperationStats changeRefreshStats = Metrics.operation("Order refresh (changes)");
+
+    // Writes the status changes in the background, surviving network outages and restarts.
+    private final StatusWriteQueue statusWriteQueue;
+
+    // Orders whose status change has not been confirmed yet, by id. They are already removed from the list and must
+    // not be brought back by a refresh that read the database before the change. Only accessed on the EDT.
+    private final Map<Integer, Order> statusChangesInFlight = new HashMap<>();
+
+    // Orders whose status change was confirmed, by id, with the refresh generation at that time. A refresh of that
+    // generation or older may have read the database before the change, so it must not bring them back; they are
+    // forgotten once a newer refresh is applied. Only accessed on the EDT.
+    private final Map<Integer, Long> recentlyMoved = new HashMap<>();
+
+    // The ids of the orders whose items are being loaded. Only accessed on the EDT.
+    private final Set<Integer> detailsInFlight = new HashSet<>();
+
+    // Whether a snapshot is being saved, and whether the queue changed again in the meantime. Only accessed on the EDT.
+    private boolean snapshotSaving;
+    private boolean snapshotPending;
+
     /**
      * Initializes listeners for the ManagerView's order list and OrderView's buttons.
-     * Also sets up a timer for periodic order updates.
+     * Also subscribes to the changes of the orders in the database.
      *
      * @param orderManagerModel The model managing orders.
      * @param managerView The view for managing orders.
@@ -44,9 +133,24 @@ public class AppController {
         setOrderModel(orderModel);
         setOrderView(orderView);
 
-        // Initialize listeners for user interactions and set up periodic order updates
+        // Write the status changes in the background and show their outcome on the EDT
+        statusWriteQueue = new StatusWriteQueue(Path.of(AppConfig.STATUS_JOURNAL_FILE),
+                result -> SwingUtilities.invokeLater(() -> applyStatusChange(result)));
+        hideQueuedOrders();
+
+        // Initialize listeners for user interactions
         initListeners();
-        initUpdateTimer();
+        refreshRetryTimer.setRepeats(false);
+
+        // Apply the changes pushed by the feed on the EDT; its first event reconciles the orders of the snapshot
+        changeFeed = new OrderChangeFeed();
+        changeFeed.getEvents().subscribe(event -> SwingUtilities.invokeLater(() -> applyChangeEvent(event)));
+        changeFeed.start();
+
+        // The order shown at startup may be a header of the snapshot
+        if (orderModel != null) {
+            loadDetails(orderModel);
+        }
     }
 
 
@@ -63,10 +167,12 @@ public class AppController {
                 if (!e.getValueIsAdjusting()) {
                     // Retrieve the selected order from the order list
                     Order selectedOrder = managerView.getOrderList().getSelectedValue();
-                    if (selectedOrder != null) {
+                    // The selection also moves when orders are inserted or removed above it: only render a new order
+                    if (selectedOrder != null && selectedOrder != orderModel) {
                         setOrderModel(selectedOrder); // Update the order model in the controller
                         orderView.setOrderModel(selectedOrder); // Update the order model in the view
                         updateOrderView(); // Update the order view to display details of the newly selected order
+                        loadDetails(selectedOrder); // Load its items and those of the next orders, if needed
                     }
                 }
             }
@@ -79,67 +185,371 @@ public class AppController {
         // Add action listeners to the validation and refusal buttons
         validateButton.addActionListener(e -> validateOrder());
         refuseButton.addActionListener(e -> refuseOrder());
+
+        // Add action listeners to the bulk actions of the ManagerView
+        managerView.getAcceptVisibleButton().addActionListener(e -> acceptVisibleOrders());
+        managerView.getCancelOlderButton().addActionListener(e -> cancelOlderOrders());
+        managerView.getKitchenBoardButton().addActionListener(e -> openKitchenBoard());
     }
 
 
     /**
-     * Validates the selected order by updating its status to "PREPARATION" and
+     * Validates the selected orders by updating their status to "PREPARATION" and
      * triggers an update of the order list.
      */
     private void validateOrder() {
-        // Check if there is a selected order
-        if (orderModel != null) {
-            try {
-                // Update the status of the order to "PREPARATION"
-                orderModel.updateStatus(Order.Status.PREPARATION);
-            } catch (SQLException e) {
-                // Propagate a runtime exception if a SQL exception occurs during the update
-                throw new RuntimeException(e);
-            }
-            // Update the order list, selecting the first item if specified
-            updateOrderList(true);
-        }
+        // Update the status of the selected orders to "PREPARATION"
+        changeStatus(getSelectedOrders(), Order.Status.PREPARATION);
     }
 
 
     /**
-     * Refuses the selected order by updating its status to "CANCELED" and
+     * Refuses the selected orders by updating their status to "CANCELED" and
      * triggers an update of the order list.
      */
     private void refuseOrder() {
-        // Check if there is a selected order
-        if (orderModel != null) {
-            try {
-                // Update the status of the order to "CANCELED"
-                orderModel.updateStatus(Order.Status.CANCELED);
-            } catch (SQLException e) {
-                // Propagate a runtime exception if a SQL exception occurs during the update
-                throw new RuntimeException(e);
+        // Update the status of the selected orders to "CANCELED"
+        changeStatus(getSelectedOrders(), Order.Status.CANCELED);
+    }
+
+
+    /**
+     * Accepts all the orders currently visible in the ManagerView, after confirmation.
+     */
+    private void acceptVisibleOrders() {
+        List<Order> orders = managerView.getVisibleOrders();
+        if (!orders.isEmpty() && confirm("Accept the " + orders.size() + " visible orders?")) {
+            changeStatus(orders, Order.Status.PREPARATION);
+        }
+    }
+
+
+    /**
+     * Cancels all the orders older than an age entered by the user, after confirmation.
+     */
+    private void cancelOlderOrders() {
+        String input = (String) JOptionPane.showInputDialog(managerView,
+                "Cancel the orders older than (minutes):", "Cancel old orders", JOptionPane.QUESTION_MESSAGE,
+                null, null, String.valueOf(AppConfig.STALE_ORDER_MINUTES));
+        if (input == null) {
+            return;
+        }
+        int minutes;
+        try {
+            minutes = Integer.parseInt(input.trim());
+        } catch (NumberFormatException e) {
+            JOptionPane.showMessageDialog(managerView, "Please enter a number of minutes.", "Cancel old orders",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+
+        LocalDateTime cutoff = LocalDateTime.now().minusMinutes(minutes);
+        List<Order> orders = orderManagerModel.getOrdersBefore(cutoff);
+        if (orders.isEmpty()) {
+            JOptionPane.showMessageDialog(managerView, "No order is older than " + minutes + " minutes.",
+                    "Cancel old orders", JOptionPane.INFORMATION_MESSAGE);
+        } else if (confirm("Cancel the " + orders.size() + " orders older than " + minutes + " minutes?")) {
+            changeStatus(orders, Order.Status.CANCELED);
+        }
+    }
+
+
+    /**
+     * Opens the kitchen board. The board is created, and starts following the orders, the first time it is opened;
+     * it keeps being updated while its window is hidden.
+     */
+    private void openKitchenBoard() {
+        if (kitchenBoardController == null) {
+            KitchenBoard kitchenBoard = new KitchenBoard();
+            kitchenBoardController = new KitchenBoardController(kitchenBoard, new KitchenBoardView(kitchenBoard),
+                    changeFeed);
+        }
+        kitchenBoardController.showBoard();
+    }
+
+
+    /**
+     * Gets the orders the validation and refusal buttons apply to: the orders selected in the ManagerView,
+     * or the order displayed in the OrderView if none is selected.
+     *
+     * @return The orders to update; empty if there is none.
+     */
+    private List<Order> getSelectedOrders() {
+        List<Order> orders = new ArrayList<>(managerView.getSelectedOrders());
+        if (orders.isEmpty() && orderModel != null) {
+            orders.add(orderModel);
+        }
+        return orders;
+    }
+
+
+    /**
+     * Asks the user to confirm a bulk action.
+     *
+     * @param message The question to display.
+     * @return True if the user confirmed.
+     */
+    private boolean confirm(String message) {
+        return JOptionPane.showConfirmDialog(managerView, message, "Confirmation", JOptionPane.YES_NO_OPTION)
+                == JOptionPane.YES_OPTION;
+    }
+
+
+    /**
+     * Updates the status of several pending orders. The orders leave the list immediately and the change is handed
+     * to the {@link StatusWriteQueue}, which records it locally and writes it to the database in the background,
+     * retrying until the database can be reached. Orders another station handled first are reported once the
+     * change has been written. A refresh already running is cancelled, since its result may still contain the
+     * orders.
+     *
+     * @param orders The orders to update.
+     * @param status The new status of the orders.
+     */
+    private void changeStatus(List<Order> orders, Order.Status status) {
+        // Check if there is an order to update
+        if (orders.isEmpty()) {
+            return;
+        }
+        cancelRefresh();
+
+        // Optimistically apply the change to the model and the view, then queue it
+        for (Order order : orders) {
+            orderManagerModel.removeOrder(order.getId());
+            order.setStatus(status);
+            statusChangesInFlight.put(order.getId(), order);
+            statusWriteQueue.submit(order.getId(), Order.Status.PENDING, status);
+        }
+        managerView.updateOrderList(orderManagerModel.getOrders());
+        selectFirstOrder();
+        saveSnapshot();
+    }
+
+
+    /**
+     * Selects the first order of the list. If the list is empty, the OrderView is cleared instead: the order it
+     * displayed left the list, and the validation and refusal buttons must not apply to it again.
+     */
+    private void selectFirstOrder() {
+        if (orderManagerModel.getOrders().isEmpty()) {
+            setOrderModel(null);
+            orderView.setOrderModel(null);
+            orderView.showMessage("No pending order.");
+        } else {
+            managerView.getOrderList().setSelectedIndex(0);
+        }
+    }
+
+
+    /**
+     * Reconciles the optimistic status change of some orders with its outcome. Orders found in the target status
+     * already count as updated. Orders that were updated by another station in the meantime take the status it set
+     * and stay out of the list, unless they are still pending; the user is told which orders were handled elsewhere.
+     *
+     * @param result The outcome of the status change.
+     */
+    private void applyStatusChange(StatusChangeResult result) {
+        List<Order> stillPending = new ArrayList<>();
+        List<String> handledElsewhere = new ArrayList<>();
+        boolean refreshNeeded = false;
+        for (int orderId : result.getOutcomes().keySet()) {
+            // Null for a change recovered from the journal at startup
+            Order order = statusChangesInFlight.remove(orderId);
+            Order.Status current = result.getCurrentStatus(orderId);
+            if (current != Order.Status.PENDING) {
+                recentlyMoved.put(orderId, refreshGeneration);
+            }
+            // A change written again after its reply was lost (or replayed from the journal after a crash) finds
+            // the order in its target status already: that is a success, not a conflict
+            if (result.isUpdated(orderId) || current == result.getStatus()) {
+                continue;
             }
-            // Update the order list, selecting the first item if specified
-            updateOrderList(true);
+            if (current == Order.Status.PENDING) {
+                if (order != null) {
+                    stillPending.add(order);
+                } else {
+                    refreshNeeded = true;
+                }
+            } else {
+                if (current != null && order != null) {
+                    order.setStatus(current);
+                }
+                handledElsewhere.add(orderId + " (" + (current == null ? "DELETED" : current) + ")");
+            }
+        }
+
+        if (!stillPending.isEmpty()) {
+            rollbackStatusChange(stillPending);
+        }
+        if (!handledElsewhere.isEmpty()) {
+            Logger logger = LoggerFactory.getLogger(AppController.class);
+            logger.warn("Orders {} were not moved to {}", handledElsewhere, result.getStatus());
+            JOptionPane.showMessageDialog(orderView,
+                    "These orders were already handled by another station: " + String.join(", ", handledElsewhere),
+                    "Orders not updated", JOptionPane.WARNING_MESSAGE);
+        }
+        if (refreshNeeded) {
+            updateOrderList(false);
+        } else {
+            runPendingRefresh();
         }
     }
 
 
     /**
-     * Initializes a timer that triggers an update of the order list at regular intervals.
-     * The timer is set to fire every 60 seconds (60000 milliseconds).
+     * Removes from the list the orders whose status change, recovered from the journal, is still to be written.
      */
-    private void initUpdateTimer() {
-        // Create a Timer that fires an action event every 60 seconds
-        Timer updateTimer = new Timer(10000, new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                // Trigger an update of the order list without selecting the first item
-                updateOrderList(false);
+    private void hideQueuedOrders() {
+        Set<Integer> queuedIds = statusWriteQueue.getQueuedOrderIds();
+        boolean removed = false;
+        for (int orderId : queuedIds) {
+            removed |= orderManagerModel.removeOrder(orderId) != null;
+        }
+        if (removed) {
+            managerView.updateOrderList(orderManagerModel.getOrders());
+        }
+    }
+
+
+    /**
+     * Puts orders whose status change was not written back into the pending list.
+     *
+     * @param orders The orders to restore.
+     */
+    private void rollbackStatusChange(List<Order> orders) {
+        for (Order order : orders) {
+            order.setStatus(Order.Status.PENDING);
+            orderManagerModel.addOrder(order);
+        }
+        managerView.updateOrderList(orderManagerModel.getOrders());
+        saveSnapshot();
+    }
+
+
+    /**
+     * Saves the menu catalog and the pending orders to the local snapshot, in the background. Saves requested
+     * while one is running are coalesced into a single save of the latest queue.
+     */
+    private void saveSnapshot() {
+        if (snapshotSaving) {
+            snapshotPending = true;
+            return;
+        }
+        snapshotSaving = true;
+
+        // Copy the queue on the EDT; the orders themselves are not modified once loaded, except for their status
+        List<Order> orders = new ArrayList<>(orderManagerModel.getOrders());
+        AsyncExecutor.submit(() -> {
+                    OrderSnapshot.save(Path.of(AppConfig.SNAPSHOT_FILE), MenuCatalog.getInstance().getCachedItems(),
+                            orders);
+                    return null;
+                },
+                ignored -> snapshotSaved(),
+                error -> {
+                    Logger logger = LoggerFactory.getLogger(AppController.class);
+                    logger.error("Error saving the snapshot", error);
+                    snapshotSaved();
+                });
+    }
+
+    /**
+     * Starts the snapshot save requested while the previous one was running, if any.
+     */
+    private void snapshotSaved() {
+        snapshotSaving = false;
+        if (snapshotPending) {
+            snapshotPending = false;
+            saveSnapshot();
+        }
+    }
+
+
+    /**
+     * Applies an event of the {@link OrderChangeFeed}: the pushed changes are applied incrementally, and a resync
+     * reads the whole pending queue, selecting the first order if none is shown yet.
+     *
+     * @param event The event.
+     */
+    private void applyChangeEvent(OrderChangeEvent event) {
+        if (event.isResync()) {
+            updateOrderList(orderModel == null);
+            return;
+        }
+        pendingChanges.addAll(event.getChanges());
+        if (refreshInFlight != null) {
+            // Applied by the refresh that follows the current one
+            refreshPending = true;
+            return;
+        }
+        startRefresh();
+    }
+
+
+    /**
+     * Loads in the background the items of the displayed order, if it is a header, and of the
+     * {@link AppConfig#DETAIL_PREFETCH_COUNT} orders following it in the list. Orders whose items are already
+     * loaded or being loaded are skipped, so moving through the list loads every order once.
+     *
+     * @param displayed The order displayed in the OrderView.
+     */
+    private void loadDetails(Order displayed) {
+        orderManagerModel.touchDetails(displayed.getId());
+        List<Integer> ids = new ArrayList<>();
+        if (!displayed.isDetailed() && !detailsInFlight.contains(displayed.getId())) {
+            ids.add(displayed.getId());
+        }
+
+        // The orders following the displayed one, or the first orders if it is not selected in the list
+        JList<Order> orderList = managerView.getOrderList();
+        ListModel<Order> listModel = orderList.getModel();
+        int from = orderList.getSelectedValue() == displayed ? orderList.getSelectedIndex() + 1 : 0;
+        int to = Math.min(listModel.getSize(), from + AppConfig.DETAIL_PREFETCH_COUNT);
+        for (int i = from; i < to; i++) {
+            Order next = listModel.getElementAt(i);
+            if (next != displayed && !next.isDetailed() && !detailsInFlight.contains(next.getId())) {
+                ids.add(next.getId());
             }
-        });
+        }
+        if (ids.isEmpty()) {
+            return;
+        }
 
-        // Start the timer
-        updateTimer.start();
+        detailsInFlight.addAll(ids);
+        AsyncExecutor.submit(() -> OrderLoader.loadOrders(ids),
+                detailedOrders -> {
+                    ids.forEach(detailsInFlight::remove);
+                    applyDetails(detailedOrders);
+                },
+                error -> {
+                    ids.forEach(detailsInFlight::remove);
+                    Logger logger = LoggerFactory.getLogger(AppController.class);
+                    logger.error("Error loading the items of orders {}", ids, error);
+                    // Selecting the order again retries
+                    if (orderModel != null && !orderModel.isDetailed() && ids.contains(orderModel.getId())) {
+                        orderView.showMessage("The items of order " + orderModel.getId()
+                                + " could not be loaded.\nSelect it again to retry.");
+                    }
+                });
     }
 
+    /**
+     * Replaces the headers of orders with their detailed version in the model and in the list, and displays
+     * the items of the displayed order if they were among them.
+     *
+     * @param detailedOrders The orders loaded with their items.
+     */
+    private void applyDetails(List<Order> detailedOrders) {
+        if (orderManagerModel.putDetails(detailedOrders)) {
+            managerView.updateOrderList(orderManagerModel.getOrders());
+        }
+        if (orderModel != null && !orderModel.isDetailed()) {
+            Order detailed = orderManagerModel.findOrder(orderModel.getId());
+            if (detailed != null && detailed.isDetailed()) {
+                setOrderModel(detailed);
+                orderView.setOrderModel(detailed);
+                updateOrderView();
+            }
+        }
+    }
 
     /**
      * Updates the OrderView to reflect changes in the underlying data model.
@@ -150,24 +560,165 @@ public class AppController {
     }
 
     /**
-     * Updates the order list in the ManagerView by clearing the current list of orders,
-     * reloading orders from the database, and updating the view with the refreshed order list.
+     * Updates the order list in the ManagerView by fetching only the orders that were added or removed
+     * since the last update, patching the OrderManager model in place, and updating the view if anything changed.
+     * <p>
+     * The changes are fetched in the background and applied on the Event Dispatch Thread. If a refresh is
+     * already running, the request is coalesced with it: a single extra refresh runs when the current one ends.
+     * The changes pushed by the feed in the meantime are applied by the same refresh.
+     * </p>
      *
      * @param selectfirst If true, selects the first item in the updated order list.
      */
     public void updateOrderList(boolean selectfirst) {
-        // Clear the existing list of orders
-        orderManagerModel.getOrders().clear();
+        fullRefreshPending = true;
+        selectFirstPending |= selectfirst;
+        if (refreshInFlight != null) {
+            // Coalesce with the refresh already running
+            refreshPending = true;
+            return;
+        }
+        startRefresh();
+    }
+
+    /**
+     * Starts a background refresh of the order list: a full one if requested, reading the pending queue, or one
+     * applying the changes pushed by the feed.
+     */
+    private void startRefresh() {
+        // Results of an older refresh (cancelled in the meantime) are ignored
+        long generation = ++refreshGeneration;
+        Set<Integer> knownIds = orderManagerModel.getOrderIds();
+        boolean full = fullRefreshPending;
+        boolean selectfirst = selectFirstPending;
+        List<OrderChange> changes = new ArrayList<>(pendingChanges);
+        refreshPending = false;
+        fullRefreshPending = false;
+        selectFirstPending = false;
+        pendingChanges.clear();
+        changesInFlight = changes;
+        fullRefreshInFlight = full;
+        selectFirstInFlight = selectfirst;
+        OperationStats refreshStats = full ? fullRefreshStats : changeRefreshStats;
+        long start = System.nanoTime();
+
+        refreshInFlight = AsyncExecutor.submit(
+                () -> full ? orderManagerModel.fetchDelta(knownIds) : orderManagerModel.fetchDelta(changes, knownIds),
+                delta -> {
+                    if (generation != refreshGeneration) {
+                        return;
+                    }
+                    refreshInFlight = null;
+                    changesInFlight = List.of();
+                    applyRefresh(delta, selectfirst, generation);
+                    refreshStats.record(System.nanoTime() - start,
+                            delta.getAddedOrders().size() + delta.getRemovedOrderIds().size(), false);
+                    recordScreenLatency(changes, delta);
+                    runPendingRefresh();
+                },
+                error -> {
+                    if (generation != refreshGeneration) {
+                        return;
+                    }
+                    refreshInFlight = null;
+                    refreshStats.record(System.nanoTime() - start, 0, true);
+                    Logger logger = LoggerFactory.getLogger(AppController.class);
+                    logger.error("Error refreshing orders", error);
+                    // Keep the work of the failed refresh for the next one, started by the feed or after a while
+                    pendingChanges.addAll(0, changesInFlight);
+                    changesInFlight = List.of();
+                    fullRefreshPending |= full;
+                    selectFirstPending |= selectfirst;
+                    refreshPending = true;
+                    refreshRetryTimer.restart();
+                });
+    }
+
+    /**
+     * Records how long the pushed changes that modified the order list took to reach it.
+     *
+     * @param changes The changes applied by a refresh.
+     * @param delta   The changes of the list they caused.
+     */
+    private void recordScreenLatency(List<OrderChange> changes, OrderDelta delta) {
+        if (changes.isEmpty() || delta.isEmpty()) {
+            return;
+        }
+        Set<Integer> shownIds = new HashSet<>(delta.getRemovedOrderIds());
+        for (Order order : delta.getAddedOrders()) {
+            shownIds.add(order.getId());
+        }
+        long now = System.currentTimeMillis();
+        for (OrderChange change : changes) {
+            if (shownIds.contains(change.getOrderId())) {
+                screenLatency.record(TimeUnit.MILLISECONDS.toNanos(now - change.getChangedAt()), 1, false);
+            }
+        }
+    }
 
-        // Load orders from the database into the OrderManager model
-        orderManagerModel.loadOrders();
+    /**
+     * Applies the changes fetched by a refresh to the model and updates the ManagerView.
+     *
+     * @param delta       The changes of the pending queue.
+     * @param selectfirst If true, selects the first item in the updated order list.
+     * @param generation  The generation of the refresh.
+     */
+    private void applyRefresh(OrderDelta delta, boolean selectfirst, long generation) {
+        // Orders whose status change is being written, or was written after the refresh started, may have been read
+        // before the change: keep them out of the list
+        if (!statusChangesInFlight.isEmpty() || statusWriteQueue.size() > 0 || !recentlyMoved.isEmpty()) {
+            List<Order> addedOrders = new ArrayList<>(delta.getAddedOrders());
+            addedOrders.removeIf(order -> statusChangesInFlight.containsKey(order.getId())
+                    || statusWriteQueue.isQueued(order.getId())
+                    || recentlyMoved.getOrDefault(order.getId(), Long.MIN_VALUE) >= generation);
+            delta = new OrderDelta(addedOrders, delta.getRemovedOrderIds());
+            // This refresh started after these changes were written, and the older ones can no longer be applied
+            recentlyMoved.values().removeIf(movedAt -> movedAt < generation);
+        }
+
+        // Apply the changes of the pending queue to the OrderManager model
+        orderManagerModel.applyDelta(delta);
 
         // Update the order list in the ManagerView with the refreshed order list
-        managerView.updateOrderList(orderManagerModel.getOrders());
+        if (!delta.isEmpty() || selectfirst) {
+            managerView.updateOrderList(orderManagerModel.getOrders());
+        }
+        if (!delta.isEmpty()) {
+            saveSnapshot();
+        }
 
         // Select the first item in the order list if specified
         if (selectfirst) {
-            managerView.getOrderList().setSelectedIndex(0);
+            selectFirstOrder();
+        }
+    }
+
+    /**
+     * Starts the refresh requested while the previous one was running, if any.
+     */
+    private void runPendingRefresh() {
+        if (refreshPending && refreshInFlight == null) {
+            refreshPending = false;
+            startRefresh();
+        }
+    }
+
+    /**
+     * Cancels the refresh currently running, if any. A refresh requested in the meantime is kept, and the work of
+     * the cancelled refresh (full read or changes pushed by the feed) is redone by the next one.
+     */
+    private void cancelRefresh() {
+        if (refreshInFlight != null) {
+            refreshInFlight.cancel(true);
+            refreshInFlight = null;
+            refreshGeneration++;
+            if (fullRefreshInFlight || !changesInFlight.isEmpty()) {
+                pendingChanges.addAll(0, changesInFlight);
+                changesInFlight = List.of();
+                fullRefreshPending |= fullRefreshInFlight;
+                selectFirstPending |= selectFirstInFlight;
+                refreshPending = true;
+            }
         }
     }
 
@@ -0,0 +1,127 @@
+package com.pizzaMakerApp.controller;
+
+import com.pizzaMakerApp.config.AppConfig;
+import com.pizzaMakerApp.model.KitchenBoard;
+import com.pizzaMakerApp.model.OrderChange;
+import com.pizzaMakerApp.model.OrderChangeEvent;
+import com.pizzaMakerApp.model.OrderChangeFeed;
+import com.pizzaMakerApp.monitoring.Metrics;
+import com.pizzaMakerApp.monitoring.OperationStats;
+import com.pizzaMakerApp.utils.AsyncExecutor;
+import com.pizzaMakerApp.view.KitchenBoardView;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Controller of the kitchen board. Keeps a {@link KitchenBoard} up to date with the changes pushed by the
+ * {@link OrderChangeFeed}, and shows it in a {@link KitchenBoardView}.
+ *
+ * The board reads every open order once when the controller is created, then only loads the orders placed
+ * afterwards; an accepted, shipped or cancelled order only moves its counts. A resync of the feed reads the ids and
+ * statuses of the open orders again. Like in {@link AppController}, the database is read in the background with
+ * {@link AsyncExecutor}, one update at a time, and the changes pushed in the meantime are applied together by
+ * the next update.
+ *
+ */
+public class KitchenBoardController {
+
+    private final KitchenBoard boardModel;
+    private final KitchenBoardView boardView;
+
+    // Whether an update is running in the background. Only accessed on the Event Dispatch Thread.
+    private boolean updating;
+
+    // Changes pushed by the feed and not applied yet, and whether the open orders must be read again. EDT only.
+    private final List<OrderChange> pendingChanges = new ArrayList<>();
+    private boolean resyncPending = true;
+
+    // Runs again, after a while, an update that failed.
+    private final Timer retryTimer = new Timer((int) AppConfig.FEED_FALLBACK_MS, e -> startUpdate());
+
+    // Duration of the updates of the board, from their start to the board updated.
+    private final OperationStats updateStats = Metrics.operation("Kitchen board update");
+
+    /**
+     * Starts reading the open orders into the board, and subscribes to the changes of the orders.
+     *
+     * @param boardModel The board.
+     * @param boardView  The view of the board.
+     * @param changeFeed The feed of the changes of the orders.
+     */
+    public KitchenBoardController(KitchenBoard boardModel, KitchenBoardView boardView, OrderChangeFeed changeFeed) {
+        this.boardModel = boardModel;
+        this.boardView = boardView;
+        retryTimer.setRepeats(false);
+
+        changeFeed.getEvents().subscribe(event -> SwingUtilities.invokeLater(() -> applyChangeEvent(event)));
+        startUpdate();
+    }
+
+    /**
+     * Shows the board window and brings it to the front.
+     */
+    public void showBoard() {
+        boardView.setVisible(true);
+        boardView.toFront();
+    }
+
+    /**
+     * Applies an event of the {@link OrderChangeFeed}, now or when the running update ends.
+     *
+     * @param event The event.
+     */
+    private void applyChangeEvent(OrderChangeEvent event) {
+        if (event.isResync()) {
+            resyncPending = true;
+        } else {
+            pendingChanges.addAll(event.getChanges());
+        }
+        if (!updating) {
+            startUpdate();
+        }
+    }
+
+    /**
+     * Starts a background update of the board: a resync if requested, which covers the changes pushed before it,
+     * or the changes pushed by the feed.
+     */
+    private void startUpdate() {
+        if (updating || (!resyncPending && pendingChanges.isEmpty())) {
+            return;
+        }
+        boolean resync = resyncPending;
+        List<OrderChange> changes = new ArrayList<>(pendingChanges);
+        resyncPending = false;
+        pendingChanges.clear();
+
+        // Looked up on the EDT: the counted orders for a resync, only the changed ones otherwise
+        Set<Integer> ids = resync ? boardModel.getOrderIds() : boardModel.getMissingOrderIds(changes);
+        updating = true;
+        long start = System.nanoTime();
+
+        AsyncExecutor.submit(
+                () -> resync ? boardModel.fetchOpenOrders(ids) : boardModel.fetchDelta(changes, ids),
+                delta -> {
+                    updating = false;
+                    boardModel.applyDelta(delta);
+                    boardView.setOrderCount(boardModel.size());
+                    updateStats.record(System.nanoTime() - start, delta.getStatuses().size(), false);
+                    startUpdate();
+                },
+                error -> {
+                    updating = false;
+                    updateStats.record(System.nanoTime() - start, 0, true);
+                    Logger logger = LoggerFactory.getLogger(KitchenBoardController.class);
+                    logger.error("Error updating the kitchen board", error);
+                    // Keep the work of the failed update for the next one, started by the feed or after a while
+                    pendingChanges.addAll(0, changes);
+                    resyncPending |= resync;
+                    retryTimer.restart();
+                });
+    }
+}
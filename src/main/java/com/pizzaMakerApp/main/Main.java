@@ -1,13 +1,22 @@
 package com.pizzaMakerApp.main;
 
+import com.pizzaMakerApp.config.AppConfig;
 import com.pizzaMakerApp.controller.AppController;
+import com.pizzaMakerApp.model.MenuCatalog;
 import com.pizzaMakerApp.model.Order;
 import com.pizzaMakerApp.model.OrderManager;
+import com.pizzaMakerApp.model.OrderSnapshot;
+import com.pizzaMakerApp.monitoring.ContinuousRecording;
+import com.pizzaMakerApp.style.Style;
+import com.pizzaMakerApp.utils.AssetRegistry;
+import com.pizzaMakerApp.utils.EdtWatchdog;
 import com.pizzaMakerApp.view.MainFrameView;
 import com.pizzaMakerApp.view.ManagerView;
 import com.pizzaMakerApp.view.OrderView;
 
 import javax.swing.*;
+import java.nio.file.Path;
+import java.util.List;
 
 /**
  * The main class of the Pizza Maker application.
@@ -19,8 +28,10 @@ import javax.swing.*;
  * and updating the underlying model accordingly.
  * </p>
  * <p>
- * To run the application, execute the main method, which sets up the GUI on the
- * Event Dispatch Thread using {@link SwingUtilities#invokeLater(Runnable)}.
+ * To run the application, execute the main method, which reads the last known orders from the local
+ * {@link OrderSnapshot} and then sets up the GUI on the Event Dispatch Thread using
+ * {@link SwingUtilities#invokeLater(Runnable)}. The window therefore appears without waiting for the database;
+ * the orders are reconciled with it in the background by the controller.
  * </p>
  * <p>
  * The Model component includes an {@link OrderManager} and an {@link Order}.
@@ -36,9 +47,10 @@ import javax.swing.*;
  * <pre>
  * {@code
  * public static void main(String[] args) {
+ *     OrderManager orderManagerModel = new OrderManager(List.of());
  *     SwingUtilities.invokeLater(new Runnable() {
  *         public void run() {
- *             runApp();
+ *             runApp(orderManagerModel);
  *         }
  *     });
  * }
@@ -56,27 +68,68 @@ import javax.swing.*;
 public class Main {
     /**
      * Main method to start the Pizza Maker application.
-     * Invokes the {@link #runApp()} method on the Event Dispatch Thread.
+     * Restores the orders of the last snapshot, then invokes the {@link #runApp(OrderManager)} method on the
+     * Event Dispatch Thread.
      *
      * @param args Command line arguments (unused in this application).
      */
     public static void main(String[] args) {
+        // Report any task blocking the user interface
+        EdtWatchdog.install(AppConfig.EDT_STALL_THRESHOLD_MS);
+
+        // Keep the last minutes of flight recording, to be dumped when the application stutters
+        ContinuousRecording.start();
+
+        // Decode the fonts and the logo in the background while the snapshot is read
+        preloadAssets();
+
+        // Start from the last known orders; the database is only queried in the background
+        OrderManager orderManagerModel = restoreSnapshot();
+
         SwingUtilities.invokeLater(new Runnable() {
             public void run() {
-                runApp();
+                runApp(orderManagerModel);
             }
         });
     }
 
+    /**
+     * Starts loading the fonts and images of the {@link Style} concurrently, and scaling the logo to its
+     * displayed size, so that they are ready when the views are created on the Event Dispatch Thread.
+     * Only the compile-time constants of Style are used here: the fonts of Style are initialized later, from
+     * the preloaded files.
+     */
+    private static void preloadAssets() {
+        AssetRegistry.preload(List.of(Style.TITLE_FONT_NAME, Style.TEXT_FONT_NAME, Style.TEXT_BOLD_FONT_NAME,
+                Style.TEXT_SEMIBOLD_FONT_NAME), List.of(Style.LOGO_IMAGE_NAME));
+        AssetRegistry.preloadScaledIcon(Style.LOGO_IMAGE_NAME, Style.LOGO_SIZE, Style.LOGO_SIZE);
+    }
+
+    /**
+     * Restores the menu catalog and the pending orders saved in the local snapshot, if any.
+     *
+     * @return The OrderManager holding the orders of the snapshot, or no order if there is no usable snapshot.
+     */
+    private static OrderManager restoreSnapshot() {
+        OrderSnapshot snapshot = OrderSnapshot.load(Path.of(AppConfig.SNAPSHOT_FILE));
+        if (snapshot == null) {
+            return new OrderManager(List.of());
+        }
+        MenuCatalog.getInstance().restore(snapshot.getCatalogItems(),
+                System.currentTimeMillis() - snapshot.getSavedAt());
+        return new OrderManager(snapshot.getOrders());
+    }
+
     /**
      * Initializes the Model, View, and Controller components of the Pizza Maker application.
-     * Creates instances of the {@link OrderManager}, {@link Order}, {@link ManagerView},
+     * Creates instances of the {@link Order}, {@link ManagerView},
      * {@link OrderView}, {@link MainFrameView}, and {@link AppController}.
+     *
+     * @param orderManagerModel The OrderManager, holding the last known orders.
      */
-    private static void runApp() {
-        // Initialize your Model, View, and Controller
-        OrderManager orderManagerModel = new OrderManager();
-        Order orderModel = orderManagerModel.getOrders().get(0);
+    private static void runApp(OrderManager orderManagerModel) {
+        // Initialize your Model, View, and Controller; there may be no order yet
+        Order orderModel = orderManagerModel.getOldestOrder();
 
         // Create views
         ManagerView managerView = new ManagerView(orderManagerModel);
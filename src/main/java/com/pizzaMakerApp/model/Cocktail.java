@@ -1,11 +1,10 @@
 package com.pizzaMakerApp.model;
 
-import com.pizzaMakerApp.utils.DatabaseManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * The Cocktail class represents a cocktail item in the pizza maker application.
@@ -21,7 +20,7 @@ import java.sql.SQLException;
  */
 public class Cocktail extends Food {
     /**
-     * Constructs a Cocktail object with the specified ID and loads its details from the database.
+     * Constructs a Cocktail object with the specified ID and loads its details from the menu catalog.
      *
      * @param id The unique identifier of the cocktail.
      */
@@ -31,85 +30,39 @@ public class Cocktail extends Food {
     }
 
     /**
-     * Loads the details of the cocktail from the database, including name, price, and ingredients.
-     * Details are retrieved from the VIEW_COCKTAIL_INGREDIENTS table.
+     * Constructs a Cocktail object from details already loaded from the database.
+     * No query is executed.
+     *
+     * @param id          The unique identifier of the cocktail.
+     * @param name        The name of the cocktail.
+     * @param price       The price of the cocktail.
+     * @param ingredients The ingredients of the cocktail with their quantities.
      */
-    private void loadCocktailDetails() {
-        // SQL query to retrieve cocktail details by ID from the VIEW_COCKTAIL_INGREDIENTS table
-        String sqlQuery = "SELECT * FROM VIEW_COCKTAIL_INGREDIENTS WHERE id = ?";
-
-        try {
-            // Execute the SQL query using the DatabaseManager and pass the cocktail ID as a parameter
-            ResultSet resultSet = DatabaseManager.sendQuery(sqlQuery, this.id);
-
-            // Check if there is a result (row) in the ResultSet
-            if (resultSet.next()) {
-                // Retrieve and set the cocktail name from the ResultSet
-                this.name = resultSet.getString("name");
-
-                // Retrieve and set the cocktail price from the ResultSet
-                this.price = resultSet.getFloat("price");
-
-                // Load the cocktail ingredients by calling the loadCocktailIngredients method
-                this.loadCocktailIngredients();
-            }
-        } catch (SQLException e) {
-            // If an SQL exception occurs, log an error message with details
-            Logger logger = LoggerFactory.getLogger(Cocktail.class);
-            logger.error("Error loading cocktail details", e);
-        }
+    Cocktail(int id, String name, float price, List<IngredientQuantity> ingredients) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.ingredients = List.copyOf(ingredients);
     }
 
-
     /**
-     * Loads the ingredients of the cocktail from the database and constructs a formatted string.
-     * Ingredients are retrieved from the VIEW_COCKTAIL_INGREDIENTS table.
+     * Loads the details of the cocktail (name, price and ingredients) from the {@link MenuCatalog}.
+     * The catalog only queries the database if the cocktail is not already in memory.
      */
-    private void loadCocktailIngredients() {
-        // StringBuilder to construct the formatted string of cocktail ingredients
-        StringBuilder ingredientsBuilder = new StringBuilder();
-
-        // SQL query to retrieve cocktail ingredients by ID from the VIEW_COCKTAIL_INGREDIENTS table
-        String sqlQuery = "SELECT ingredientName, quantity, unit FROM VIEW_COCKTAIL_INGREDIENTS WHERE id = ?";
-
+    private void loadCocktailDetails() {
         try {
-            // Execute the SQL query using the DatabaseManager and pass the cocktail ID as a parameter
-            ResultSet resultSet = DatabaseManager.sendQuery(sqlQuery, this.id);
-
-            // Flag to determine whether it's the first ingredient in the loop
-            boolean first = true;
-
-            // Loop through each row in the ResultSet
-            while (resultSet.next()) {
-                // If it's not the first ingredient, append a comma and space to the StringBuilder
-                if (!first) {
-                    ingredientsBuilder.append(", ");
-                } else {
-                    // Set the flag to false after processing the first ingredient
-                    first = false;
-                }
-
-                // Retrieve values for each ingredient from the ResultSet
-                String ingredientName = resultSet.getString("ingredientName");
-                float quantity = resultSet.getFloat("quantity");
-                String unit = resultSet.getString("unit");
-
-                // Append the formatted ingredient to the StringBuilder
-                ingredientsBuilder.append(ingredientName)
-                        .append(" (")
-                        .append(quantity)
-                        .append(" ")
-                        .append(unit)
-                        .append(")");
+            // Look the cocktail up in the menu catalog
+            Food cocktail = MenuCatalog.getInstance().getItem(ItemType.COCKTAIL, this.id);
+            if (cocktail != null) {
+                // Copy the name, price and ingredients of the cocktail
+                this.name = cocktail.getName();
+                this.price = cocktail.getPrice();
+                this.ingredients = cocktail.getIngredientList();
             }
-
-            // Set the ingredients property with the formatted string
-            this.ingredients = ingredientsBuilder.toString();
-
         } catch (SQLException e) {
-            // If an SQL exception occurs, log an error message with details
+            // Log an error if there is an issue loading the cocktail details
             Logger logger = LoggerFactory.getLogger(Cocktail.class);
-            logger.error("Error loading cocktail ingredients", e);
+            logger.error("Error loading cocktail details", e);
         }
     }
 }
\ No newline at end of file
@@ -1,11 +1,10 @@
 package com.pizzaMakerApp.model;
 
-import com.pizzaMakerApp.utils.DatabaseManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * The Dessert class represents a dessert item in the pizza maker application.
@@ -21,7 +20,7 @@ import java.sql.SQLException;
  */
 public class Dessert extends Food {
     /**
-     * Constructs a Dessert object with the specified ID and loads its details from the database.
+     * Constructs a Dessert object with the specified ID and loads its details from the menu catalog.
      *
      * @param id The unique identifier of the dessert.
      */
@@ -31,85 +30,39 @@ public class Dessert extends Food {
     }
 
     /**
-     * Loads the details of the dessert from the database, including name, price, and ingredients.
-     * Details are retrieved from the VIEW_DESSERT_INGREDIENTS table.
+     * Constructs a Dessert object from details already loaded from the database.
+     * No query is executed.
+     *
+     * @param id          The unique identifier of the dessert.
+     * @param name        The name of the dessert.
+     * @param price       The price of the dessert.
+     * @param ingredients The ingredients of the dessert with their quantities.
      */
-    private void loadDessertDetails() {
-        // SQL query to retrieve dessert details by ID from the VIEW_DESSERT_INGREDIENTS table
-        String sqlQuery = "SELECT * FROM VIEW_DESSERT_INGREDIENTS WHERE id = ?";
-
-        try {
-            // Execute the SQL query using the DatabaseManager and pass the dessert ID as a parameter
-            ResultSet resultSet = DatabaseManager.sendQuery(sqlQuery, this.id);
-
-            // Check if there is a result (row) in the ResultSet
-            if (resultSet.next()) {
-                // Retrieve and set the dessert name from the ResultSet
-                this.name = resultSet.getString("name");
-
-                // Retrieve and set the dessert price from the ResultSet
-                this.price = resultSet.getFloat("price");
-
-                // Load the dessert ingredients by calling the loadDessertIngredients method
-                this.loadDessertIngredients();
-            }
-        } catch (SQLException e) {
-            // If an SQL exception occurs, log an error message with details
-            Logger logger = LoggerFactory.getLogger(Dessert.class);
-            logger.error("Error loading dessert details", e);
-        }
+    Dessert(int id, String name, float price, List<IngredientQuantity> ingredients) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.ingredients = List.copyOf(ingredients);
     }
 
-
     /**
-     * Loads the ingredients of the dessert from the database and constructs a formatted string.
-     * Ingredients are retrieved from the VIEW_DESSERT_INGREDIENTS table.
+     * Loads the details of the dessert (name, price and ingredients) from the {@link MenuCatalog}.
+     * The catalog only queries the database if the dessert is not already in memory.
      */
-    private void loadDessertIngredients() {
-        // StringBuilder to construct the formatted string of dessert ingredients
-        StringBuilder ingredientsBuilder = new StringBuilder();
-
-        // SQL query to retrieve dessert ingredients by ID from the VIEW_DESSERT_INGREDIENTS table
-        String sqlQuery = "SELECT ingredientName, quantity, unit FROM VIEW_DESSERT_INGREDIENTS WHERE id = ?";
-
+    private void loadDessertDetails() {
         try {
-            // Execute the SQL query using the DatabaseManager and pass the dessert ID as a parameter
-            ResultSet resultSet = DatabaseManager.sendQuery(sqlQuery, this.id);
-
-            // Flag to determine whether it's the first ingredient in the loop
-            boolean first = true;
-
-            // Loop through each row in the ResultSet
-            while (resultSet.next()) {
-                // If it's not the first ingredient, append a comma and space to the StringBuilder
-                if (!first) {
-                    ingredientsBuilder.append(", ");
-                } else {
-                    // Set the flag to false after processing the first ingredient
-                    first = false;
-                }
-
-                // Retrieve values for each ingredient from the ResultSet
-                String ingredientName = resultSet.getString("ingredientName");
-                float quantity = resultSet.getFloat("quantity");
-                String unit = resultSet.getString("unit");
-
-                // Append the formatted ingredient to the StringBuilder
-                ingredientsBuilder.append(ingredientName)
-                        .append(" (")
-                        .append(quantity)
-                        .append(" ")
-                        .append(unit)
-                        .append(")");
+            // Look the dessert up in the menu catalog
+            Food dessert = MenuCatalog.getInstance().getItem(ItemType.DESSERT, this.id);
+            if (dessert != null) {
+                // Copy the name, price and ingredients of the dessert
+                this.name = dessert.getName();
+                this.price = dessert.getPrice();
+                this.ingredients = dessert.getIngredientList();
             }
-
-            // Set the ingredients property with the formatted string
-            this.ingredients = ingredientsBuilder.toString();
-
         } catch (SQLException e) {
-            // If an SQL exception occurs, log an error message with details
+            // Log an error if there is an issue loading the dessert details
             Logger logger = LoggerFactory.getLogger(Dessert.class);
-            logger.error("Error loading dessert ingredients", e);
+            logger.error("Error loading dessert details", e);
         }
     }
 }
\ No newline at end of file
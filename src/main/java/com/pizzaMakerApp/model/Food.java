@@ -1,5 +1,7 @@
 package com.pizzaMakerApp.model;
 
+import java.util.List;
+
 /**
  * An abstract class representing a general concept of food in the pizza maker application.
  * This class provides a common structure for various types of food items, including pizzas.
@@ -8,8 +10,11 @@ public abstract class Food {
     // Unique identifier for the food item.
     protected int id;
 
-    // A string representing the ingredients of the food item.
-    protected String ingredients;
+    // The ingredients of the food item with their quantities, or null if the item has no ingredients (drinks).
+    protected List<IngredientQuantity> ingredients;
+
+    // The text form of the ingredients, built on first display.
+    private String ingredientsText;
 
     // Name of the food item.
     protected String name;
@@ -27,11 +32,36 @@ public abstract class Food {
     }
 
     /**
-     * Gets the ingredients of the food item.
+     * Gets the ingredients of the food item as text, e.g. "Tomato sauce (8.0 cl), Mozzarella (120.0 g)".
+     * The text is built on the first call and reused afterwards.
      *
-     * @return A string representing the ingredients of the food item.
+     * @return A string representing the ingredients of the food item, or null if it has no ingredients.
      */
     public String getIngredients() {
+        if (ingredients == null) {
+            return null;
+        }
+        String text = ingredientsText;
+        if (text == null) {
+            StringBuilder builder = new StringBuilder(ingredients.size() * 24);
+            for (IngredientQuantity ingredient : ingredients) {
+                if (builder.length() > 0) {
+                    builder.append(", ");
+                }
+                ingredient.appendTo(builder);
+            }
+            text = builder.toString();
+            ingredientsText = text;
+        }
+        return text;
+    }
+
+    /**
+     * Gets the ingredients of the food item with their quantities.
+     *
+     * @return The unmodifiable list of ingredients, or null if the item has no ingredients.
+     */
+    public List<IngredientQuantity> getIngredientList() {
         return ingredients;
     }
 
@@ -65,10 +95,11 @@ public abstract class Food {
     /**
      * Sets the ingredients of the food item.
      *
-     * @param ingredients A string representing the ingredients to be set for this food item.
+     * @param ingredients The ingredients with their quantities, or null if the item has no ingredients.
      */
-    public void setIngredients(String ingredients) {
-        this.ingredients = ingredients;
+    public void setIngredients(List<IngredientQuantity> ingredients) {
+        this.ingredients = ingredients == null ? null : List.copyOf(ingredients);
+        this.ingredientsText = null;
     }
 
     /**
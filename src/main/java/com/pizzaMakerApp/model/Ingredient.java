@@ -0,0 +1,81 @@
+package com.pizzaMakerApp.model;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Represents an ingredient, such as "Mozzarella", independently of any quantity.
+ * <p>
+ * Ingredients are interned: {@link #of(String)} returns the same instance for the same name, so that
+ * ingredients can be compared by identity or by their small sequential id instead of by name.
+ * The id is only meaningful within the running application; it is not the id of the database.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * Ingredient mozzarella = Ingredient.of("Mozzarella");
+ * boolean same = mozzarella == Ingredient.of("Mozzarella"); // true
+ * }
+ * </pre>
+ * </p>
+ */
+public final class Ingredient {
+
+    // All the ingredients created so far, by name.
+    private static final ConcurrentHashMap<String, Ingredient> INGREDIENTS = new ConcurrentHashMap<>();
+
+    // Source of the ids, so that they stay small and dense.
+    private static final AtomicInteger NEXT_ID = new AtomicInteger();
+
+    private final int id;
+
+    private final String name;
+
+    private Ingredient(int id, String name) {
+        this.id = id;
+        this.name = name;
+    }
+
+    /**
+     * Gets the ingredient with the given name, creating it on first use.
+     *
+     * @param name The name of the ingredient, as read from the database.
+     * @return The unique Ingredient instance for this name.
+     */
+    public static Ingredient of(String name) {
+        Ingredient ingredient = INGREDIENTS.get(name);
+        if (ingredient == null) {
+            ingredient = INGREDIENTS.computeIfAbsent(name, k -> new Ingredient(NEXT_ID.getAndIncrement(), k));
+        }
+        return ingredient;
+    }
+
+    /**
+     * Gets the id of the ingredient, a small non-negative number unique to its name.
+     *
+     * @return The id of the ingredient.
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * Gets the name of the ingredient.
+     *
+     * @return The name of the ingredient.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the name of the ingredient.
+     *
+     * @return The name of the ingredient.
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
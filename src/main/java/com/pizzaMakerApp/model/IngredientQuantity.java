@@ -0,0 +1,123 @@
+package com.pizzaMakerApp.model;
+
+/**
+ * An immutable quantity of an ingredient in a food item, e.g. 120 g of Mozzarella.
+ * <p>
+ * The text form, "Mozzarella (120.0 g)", is only built when the ingredients are displayed.
+ * </p>
+ */
+public final class IngredientQuantity {
+
+    private final Ingredient ingredient;
+
+    private final float quantity;
+
+    private final Unit unit;
+
+    // The symbol of the unit as displayed: the one read from the database for an unknown unit.
+    private final String symbol;
+
+    /**
+     * Constructs an IngredientQuantity.
+     *
+     * @param ingredient The ingredient.
+     * @param quantity   The quantity of the ingredient.
+     * @param unit       The unit of the quantity.
+     */
+    public IngredientQuantity(Ingredient ingredient, float quantity, Unit unit) {
+        this(ingredient, quantity, unit, unit.getSymbol());
+    }
+
+    /**
+     * Constructs an IngredientQuantity with the symbol of its unit.
+     *
+     * @param ingredient The ingredient.
+     * @param quantity   The quantity of the ingredient.
+     * @param unit       The unit of the quantity.
+     * @param symbol     The symbol of the unit, e.g. "pc" for an OTHER unit.
+     */
+    public IngredientQuantity(Ingredient ingredient, float quantity, Unit unit, String symbol) {
+        this.ingredient = ingredient;
+        this.quantity = quantity;
+        this.unit = unit;
+        this.symbol = symbol;
+    }
+
+    /**
+     * Constructs an IngredientQuantity from the values of a database row.
+     *
+     * @param ingredientName The name of the ingredient.
+     * @param quantity       The quantity of the ingredient.
+     * @param unitSymbol     The symbol of the unit, e.g. "g"; an unknown symbol is kept as is, with the unit OTHER.
+     * @return The IngredientQuantity.
+     */
+    public static IngredientQuantity of(String ingredientName, float quantity, String unitSymbol) {
+        Unit unit = Unit.fromSymbol(unitSymbol);
+        if (unit != Unit.OTHER) {
+            return new IngredientQuantity(Ingredient.of(ingredientName), quantity, unit);
+        }
+        String symbol = unitSymbol == null ? "" : unitSymbol.trim();
+        return new IngredientQuantity(Ingredient.of(ingredientName), quantity, unit, symbol);
+    }
+
+    /**
+     * Gets the ingredient.
+     *
+     * @return The ingredient.
+     */
+    public Ingredient getIngredient() {
+        return ingredient;
+    }
+
+    /**
+     * Gets the quantity of the ingredient.
+     *
+     * @return The quantity, in {@link #getUnit()}.
+     */
+    public float getQuantity() {
+        return quantity;
+    }
+
+    /**
+     * Gets the unit of the quantity.
+     *
+     * @return The unit.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Gets the symbol of the unit of the quantity.
+     *
+     * @return The symbol, e.g. "g", or the one read from the database for an OTHER unit.
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Appends the text form of this quantity, "Name (Quantity Unit)", to a builder.
+     *
+     * @param builder The builder to append to.
+     * @return The builder.
+     */
+    public StringBuilder appendTo(StringBuilder builder) {
+        return builder.append(ingredient.getName())
+                .append(" (")
+                .append(quantity)
+                .append(' ')
+                .append(symbol)
+                .append(')');
+    }
+
+    /**
+     * Returns the text form of this quantity, "Name (Quantity Unit)".
+     *
+     * @return The text form.
+     */
+    @Override
+    public String toString() {
+        return appendTo(new StringBuilder()).toString();
+    }
+}
@@ -0,0 +1,45 @@
+package com.pizzaMakerApp.model;
+
+/**
+ * Enumerates the types of items that can be ordered, as stored in the itemType column of VIEW_ORDER_SUMMARY.
+ */
+public enum ItemType {
+    PIZZA("PIZZA"),
+    PIZZA_CUSTOM("PIZZA CUSTOM"),
+    DESSERT("DESSERT"),
+    WINE("WINE"),
+    COCKTAIL("COCKTAIL"),
+    SODA("SODA");
+
+    // The value used for this type in the database.
+    private final String databaseValue;
+
+    ItemType(String databaseValue) {
+        this.databaseValue = databaseValue;
+    }
+
+    /**
+     * Gets the value used for this type in the database.
+     *
+     * @return The database value.
+     */
+    public String getDatabaseValue() {
+        return databaseValue;
+    }
+
+    /**
+     * Maps a value of the itemType column to the corresponding ItemType.
+     *
+     * @param databaseValue The value read from the database.
+     * @return The corresponding ItemType.
+     * @throws IllegalStateException If the value is not recognized.
+     */
+    public static ItemType fromDatabaseValue(String databaseValue) {
+        for (ItemType type : values()) {
+            if (type.databaseValue.equals(databaseValue)) {
+                return type;
+            }
+        }
+        throw new IllegalStateException("Unexpected value: " + databaseValue);
+    }
+}
@@ -0,0 +1,376 @@
+package com.pizzaMakerApp.model;
+
+import com.pizzaMakerApp.utils.DatabaseManager;
+import com.pizzaMakerApp.utils.IntHashMap;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * KitchenBoard adds up what the open orders need, so that the kitchen can cook in batches: how many portions of
+ * every menu item, and how much of every ingredient, for the orders in preparation and for the pending ones.
+ * <p>
+ * The totals are maintained incrementally. The board keeps the orders it counted, with their items, and every
+ * change only counts or uncounts the orders it concerns: an order placed is added, an order accepted moves from
+ * the pending column to the preparation column, and an order shipped or cancelled is subtracted. The cost of an
+ * update therefore depends on the size of the changed orders, not on the number of open orders.
+ * </p>
+ * <p>
+ * Like {@link OrderManager}, the board is read and updated on the Event Dispatch Thread, while the orders to add
+ * are loaded in the background with {@link #fetchDelta(List, Set)} or {@link #fetchOpenOrders(Set)}. The
+ * {@link Listener}s are told about every tally changed by {@link #applyDelta(KitchenDelta)}, once per delta.
+ * Ingredient amounts are added up in their base unit (grams, millilitres or units); amounts in a unit the
+ * application does not know are added up apart, per symbol.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * KitchenBoard board = new KitchenBoard();
+ * board.addListener(tally -> System.out.println(tally));
+ * board.applyDelta(board.fetchOpenOrders(board.getOrderIds()));   // fetched in the background
+ * }
+ * </pre>
+ * </p>
+ */
+public class KitchenBoard {
+
+    /**
+     * Receives the tallies changed by an update of the board.
+     */
+    public interface Listener {
+
+        /**
+         * Called on the Event Dispatch Thread after a tally changed. An empty tally (see
+         * {@link KitchenTally#isEmpty()}) was removed from the board; a tally not seen before was added to it.
+         *
+         * @param tally The changed tally.
+         */
+        void tallyChanged(KitchenTally tally);
+    }
+
+    // The ids and status of the open orders; the orders without items are not in the view.
+    private static final String OPEN_ORDERS_QUERY =
+            "SELECT DISTINCT orderId, status FROM VIEW_ORDER_SUMMARY WHERE status IN ('PENDING', 'PREPARATION')";
+
+    private static final int UNIT_COUNT = Unit.values().length;
+
+    // The counted orders by id, with their items; the status of an order is the one it is counted under.
+    private final IntHashMap<Order> orders = new IntHashMap<>();
+
+    // The tallies of the menu items, by name.
+    private final Map<String, KitchenTally> items = new HashMap<>();
+
+    // The tallies of the ingredients, by ingredient and base unit (see ingredientKey).
+    private final IntHashMap<KitchenTally> ingredients = new IntHashMap<>();
+
+    // The tallies of the ingredients in an OTHER unit, by ingredient and symbol (see otherIngredientKey).
+    private final Map<String, KitchenTally> otherIngredients = new HashMap<>();
+
+    // The tallies changed by the update being applied, in the order they changed.
+    private final Set<KitchenTally> changedTallies = new LinkedHashSet<>();
+
+    private final List<Listener> listeners = new ArrayList<>();
+
+    /**
+     * Checks whether an order of the given status needs cooking.
+     *
+     * @param status The status of the order.
+     * @return True for PENDING and PREPARATION.
+     */
+    public static boolean isOpen(Order.Status status) {
+        return status == Order.Status.PENDING || status == Order.Status.PREPARATION;
+    }
+
+    /**
+     * Registers a listener, told about the tallies changed from now on.
+     *
+     * @param listener The listener.
+     */
+    public void addListener(Listener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Reads the status of every open order, and loads the open orders that are not counted yet. Only the ids and
+     * statuses of the counted orders are read again.
+     * <p>
+     * This method does not read or modify the board, so it can run on a background thread.
+     * </p>
+     *
+     * @param knownIds The ids of the counted orders, as returned by {@link #getOrderIds()}.
+     * @return The complete KitchenDelta to apply with {@link #applyDelta(KitchenDelta)}.
+     * @throws SQLException If a database access error occurs.
+     */
+    public KitchenDelta fetchOpenOrders(Set<Integer> knownIds) throws SQLException {
+        Map<Integer, Order.Status> statuses = new LinkedHashMap<>();
+        DatabaseManager.forEachRow(OPEN_ORDERS_QUERY,
+                row -> statuses.put(row.getInt("orderId"), Order.Status.valueOf(row.getString("status"))));
+
+        List<Integer> addedIds = new ArrayList<>();
+        for (int id : statuses.keySet()) {
+            if (!knownIds.contains(id)) {
+                addedIds.add(id);
+            }
+        }
+        return new KitchenDelta(OrderLoader.loadOrders(addedIds), statuses, true);
+    }
+
+    /**
+     * Computes the changes of the board from the rows of the change log: the orders that became open and are not
+     * counted yet are loaded with their items; the others only change status.
+     * <p>
+     * This method does not read or modify the board, so it can run on a background thread.
+     * </p>
+     *
+     * @param changes    The changes of the log, in the order of the log.
+     * @param missingIds The ids of the orders to load, as returned by {@link #getMissingOrderIds(List)}.
+     * @return The KitchenDelta to apply with {@link #applyDelta(KitchenDelta)}.
+     * @throws SQLException If a database access error occurs.
+     */
+    public KitchenDelta fetchDelta(List<OrderChange> changes, Set<Integer> missingIds) throws SQLException {
+        return new KitchenDelta(OrderLoader.loadOrders(missingIds), lastStatuses(changes), false);
+    }
+
+    /**
+     * Gets the orders of some changes of the log that are open and not counted yet, i.e. the orders to load.
+     * Only the changed orders are looked up.
+     *
+     * @param changes The changes of the log.
+     * @return The ids of the orders to load.
+     */
+    public Set<Integer> getMissingOrderIds(List<OrderChange> changes) {
+        Set<Integer> missingIds = new LinkedHashSet<>();
+        lastStatuses(changes).forEach((id, status) -> {
+            if (isOpen(status) && !orders.containsKey(id)) {
+                missingIds.add(id);
+            }
+        });
+        return missingIds;
+    }
+
+    /**
+     * Applies a delta: the added orders are counted under their current status, the counted orders whose status
+     * changed are moved to their new column or subtracted, and, for a complete delta, the counted orders it does
+     * not mention are subtracted. The listeners are then told about the changed tallies.
+     *
+     * @param delta The changes to apply.
+     */
+    public void applyDelta(KitchenDelta delta) {
+        // The orders loaded by the delta carry their status as read after the changes
+        Set<Integer> addedIds = new HashSet<>();
+        for (Order order : delta.getAddedOrders()) {
+            if (isOpen(order.getStatus()) && !orders.containsKey(order.getId())) {
+                orders.put(order.getId(), order);
+                count(order, 1);
+                addedIds.add(order.getId());
+            }
+        }
+
+        for (Map.Entry<Integer, Order.Status> entry : delta.getStatuses().entrySet()) {
+            Order order = orders.get(entry.getKey());
+            if (order != null && !addedIds.contains(order.getId()) && order.getStatus() != entry.getValue()) {
+                move(order, entry.getValue());
+            }
+        }
+
+        if (delta.isComplete()) {
+            List<Order> closedOrders = new ArrayList<>();
+            for (Order order : orders.values()) {
+                if (!delta.getStatuses().containsKey(order.getId())) {
+                    closedOrders.add(order);
+                }
+            }
+            for (Order order : closedOrders) {
+                move(order, Order.Status.CANCELED);
+            }
+        }
+
+        fireTalliesChanged();
+    }
+
+    /**
+     * Gets the ids of the counted orders.
+     *
+     * @return A new set containing the order ids.
+     */
+    public Set<Integer> getOrderIds() {
+        Set<Integer> ids = new HashSet<>();
+        orders.forEachKey(ids::add);
+        return ids;
+    }
+
+    /**
+     * Gets the number of counted orders.
+     *
+     * @return The number of open orders.
+     */
+    public int size() {
+        return orders.size();
+    }
+
+    /**
+     * Gets the tallies of the menu items needed by the open orders.
+     *
+     * @return A new list of the tallies, in no particular order.
+     */
+    public List<KitchenTally> getItemTallies() {
+        return new ArrayList<>(items.values());
+    }
+
+    /**
+     * Gets the tallies of the ingredients needed by the open orders.
+     *
+     * @return A new list of the tallies, in no particular order.
+     */
+    public List<KitchenTally> getIngredientTallies() {
+        return ingredients.values();
+    }
+
+    /**
+     * Moves a counted order to a new status: to another column if it is still open, off the board otherwise.
+     *
+     * @param order  The counted order.
+     * @param status Its new status.
+     */
+    private void move(Order order, Order.Status status) {
+        count(order, -1);
+        if (isOpen(status)) {
+            order.setStatus(status);
+            count(order, 1);
+        } else {
+            orders.remove(order.getId());
+        }
+    }
+
+    /**
+     * Counts or uncounts the items of an order, and their ingredients, under the status of the order.
+     *
+     * @param order The order, with its items.
+     * @param sign  1 to count the order, -1 to uncount it.
+     */
+    private void count(Order order, int sign) {
+        Order.Status status = order.getStatus();
+        List<Food> orderItems = order.getItems();
+        List<Integer> quantities = order.getQuantity();
+        for (int i = 0; i < orderItems.size(); i++) {
+            Food item = orderItems.get(i);
+            int quantity = sign * quantities.get(i);
+            KitchenTally itemTally = items.computeIfAbsent(item.getName(), name -> new KitchenTally(name, null, null));
+            itemTally.add(status, quantity, sign);
+            changedTallies.add(itemTally);
+
+            // Wines and sodas have no ingredients
+            Collection<IngredientQuantity> itemIngredients = item.getIngredientList();
+            if (itemIngredients == null) {
+                continue;
+            }
+            for (IngredientQuantity ingredient : itemIngredients) {
+                Unit unit = ingredient.getUnit();
+                KitchenTally ingredientTally = unit == Unit.OTHER
+                        ? getOtherIngredientTally(ingredient.getIngredient(), ingredient.getSymbol())
+                        : getIngredientTally(ingredient.getIngredient(), unit.getBaseUnit());
+                ingredientTally.add(status, quantity * unit.toBaseUnit(ingredient.getQuantity()), sign);
+                changedTallies.add(ingredientTally);
+            }
+        }
+    }
+
+    /**
+     * Gets the tally of an ingredient in a base unit, creating it if needed.
+     *
+     * @param ingredient The ingredient.
+     * @param unit       The base unit.
+     * @return The tally.
+     */
+    private KitchenTally getIngredientTally(Ingredient ingredient, Unit unit) {
+        int key = ingredientKey(ingredient, unit);
+        KitchenTally tally = ingredients.get(key);
+        if (tally == null) {
+            tally = new KitchenTally(ingredient.getName(), unit, unit.getSymbol());
+            ingredients.put(key, tally);
+        }
+        return tally;
+    }
+
+    /**
+     * Gets the tally of an ingredient in a unit the application does not know, creating it if needed.
+     *
+     * @param ingredient The ingredient.
+     * @param symbol     The symbol of the unit, as read from the database.
+     * @return The tally.
+     */
+    private KitchenTally getOtherIngredientTally(Ingredient ingredient, String symbol) {
+        return otherIngredients.computeIfAbsent(otherIngredientKey(ingredient.getName(), symbol),
+                key -> new KitchenTally(ingredient.getName(), Unit.OTHER, symbol));
+    }
+
+    /**
+     * Tells the listeners about the tallies changed since the last call, after removing the empty ones.
+     */
+    private void fireTalliesChanged() {
+        for (KitchenTally tally : changedTallies) {
+            if (tally.isEmpty()) {
+                if (tally.getUnit() == null) {
+                    items.remove(tally.getName());
+                } else if (tally.getUnit() == Unit.OTHER) {
+                    otherIngredients.remove(otherIngredientKey(tally.getName(), tally.getSymbol()));
+                } else {
+                    ingredients.remove(ingredientKey(Ingredient.of(tally.getName()), tally.getUnit()));
+                }
+            }
+        }
+        for (KitchenTally tally : changedTallies) {
+            for (Listener listener : listeners) {
+                listener.tallyChanged(tally);
+            }
+        }
+        changedTallies.clear();
+    }
+
+    /**
+     * Gets the key of the tally of an ingredient in a base unit: an ingredient used both by mass and by volume has
+     * two tallies.
+     *
+     * @param ingredient The ingredient.
+     * @param unit       The base unit.
+     * @return The key.
+     */
+    private static int ingredientKey(Ingredient ingredient, Unit unit) {
+        return ingredient.getId() * UNIT_COUNT + unit.ordinal();
+    }
+
+    /**
+     * Gets the key of the tally of an ingredient in a unit the application does not know: every symbol has its own
+     * tally.
+     *
+     * @param name   The name of the ingredient.
+     * @param symbol The symbol of the unit.
+     * @return The key.
+     */
+    private static String otherIngredientKey(String name, String symbol) {
+        return name + '\u0000' + symbol;
+    }
+
+    /**
+     * Gets the last status of every order of some changes of the log.
+     *
+     * @param changes The changes, in the order of the log.
+     * @return The statuses by order id.
+     */
+    private static Map<Integer, Order.Status> lastStatuses(List<OrderChange> changes) {
+        Map<Integer, Order.Status> statuses = new LinkedHashMap<>();
+        for (OrderChange change : changes) {
+            statuses.put(change.getOrderId(), change.getStatus());
+        }
+        return statuses;
+    }
+}
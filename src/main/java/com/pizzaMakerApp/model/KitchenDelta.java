@@ -0,0 +1,71 @@
+package com.pizzaMakerApp.model;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Represents the changes of the open orders (pending or in preparation) to apply to a {@link KitchenBoard}:
+ * the new status of some orders, and the orders that were not counted yet, loaded with their items.
+ * <p>
+ * A complete delta, read from the whole queue, holds the status of every open order: the counted orders it does
+ * not mention are no longer open.
+ * </p>
+ *
+ * @see KitchenBoard#fetchDelta(List, Set)
+ * @see KitchenBoard#fetchOpenOrders(Set)
+ * @see KitchenBoard#applyDelta(KitchenDelta)
+ */
+public class KitchenDelta {
+
+    // The orders to count, with their items.
+    private final List<Order> addedOrders;
+
+    // The current status of the orders, by id; a status other than PENDING and PREPARATION closes the order.
+    private final Map<Integer, Order.Status> statuses;
+
+    // Whether the statuses cover every open order.
+    private final boolean complete;
+
+    /**
+     * Constructs a new KitchenDelta.
+     *
+     * @param addedOrders The orders to count, with their items.
+     * @param statuses    The current status of the orders, by id.
+     * @param complete    Whether the statuses cover every open order.
+     */
+    public KitchenDelta(List<Order> addedOrders, Map<Integer, Order.Status> statuses, boolean complete) {
+        this.addedOrders = new ArrayList<>(addedOrders);
+        this.statuses = new LinkedHashMap<>(statuses);
+        this.complete = complete;
+    }
+
+    /**
+     * Gets the orders that were not counted yet.
+     *
+     * @return The added orders, with their items.
+     */
+    public List<Order> getAddedOrders() {
+        return addedOrders;
+    }
+
+    /**
+     * Gets the current status of the orders.
+     *
+     * @return The statuses by order id.
+     */
+    public Map<Integer, Order.Status> getStatuses() {
+        return statuses;
+    }
+
+    /**
+     * Checks whether the statuses cover every open order.
+     *
+     * @return True if the counted orders not mentioned by the delta are no longer open.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+}
@@ -0,0 +1,117 @@
+package com.pizzaMakerApp.model;
+
+/**
+ * Represents one line of the {@link KitchenBoard}: the total quantity of a menu item, or of an ingredient, needed by
+ * the open orders, split between the orders in preparation (to cook now) and the pending ones (coming next).
+ * <p>
+ * A tally is updated in place by its board, on the Event Dispatch Thread, as orders are counted or uncounted.
+ * The amounts of a status are reset to exactly 0 when no order line of that status is counted any more, so that
+ * rounding errors do not accumulate over a day of additions and subtractions.
+ * </p>
+ */
+public class KitchenTally {
+
+    // The name of the item or of the ingredient.
+    private final String name;
+
+    // The unit of the amounts of an ingredient, or null for an item (counted in portions).
+    private final Unit unit;
+
+    // The symbol displayed with the amounts of an ingredient, or null for an item.
+    private final String symbol;
+
+    // The amounts and the number of order lines counted, for the pending orders and the orders in preparation.
+    private double pendingAmount;
+    private double preparationAmount;
+    private int pendingLines;
+    private int preparationLines;
+
+    /**
+     * Constructs an empty tally.
+     *
+     * @param name   The name of the item or of the ingredient.
+     * @param unit   The unit of the amounts, or null for an item.
+     * @param symbol The symbol of the unit, e.g. "pc" for an OTHER unit, or null for an item.
+     */
+    KitchenTally(String name, Unit unit, String symbol) {
+        this.name = name;
+        this.unit = unit;
+        this.symbol = symbol;
+    }
+
+    /**
+     * Counts or uncounts an order line.
+     *
+     * @param status The status the line is counted under: PENDING or PREPARATION.
+     * @param amount The amount of the line, negative to uncount it.
+     * @param lines  1 to count the line, -1 to uncount it.
+     */
+    void add(Order.Status status, double amount, int lines) {
+        if (status == Order.Status.PREPARATION) {
+            preparationLines += lines;
+            preparationAmount = preparationLines == 0 ? 0 : preparationAmount + amount;
+        } else {
+            pendingLines += lines;
+            pendingAmount = pendingLines == 0 ? 0 : pendingAmount + amount;
+        }
+    }
+
+    /**
+     * Gets the name of the item or of the ingredient.
+     *
+     * @return The name.
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Gets the unit of the amounts.
+     *
+     * @return The base unit of the ingredient (see {@link Unit#getBaseUnit()}), or null for an item.
+     */
+    public Unit getUnit() {
+        return unit;
+    }
+
+    /**
+     * Gets the symbol of the unit of the amounts.
+     *
+     * @return The symbol of the base unit, the one read from the database for an OTHER unit, or null for an item.
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Gets the amount needed by the orders in preparation.
+     *
+     * @return The amount, in portions for an item.
+     */
+    public double getPreparationAmount() {
+        return preparationAmount;
+    }
+
+    /**
+     * Gets the amount needed by the pending orders.
+     *
+     * @return The amount, in portions for an item.
+     */
+    public double getPendingAmount() {
+        return pendingAmount;
+    }
+
+    /**
+     * Checks whether no open order needs the item or the ingredient any more.
+     *
+     * @return True if no order line is counted.
+     */
+    public boolean isEmpty() {
+        return pendingLines == 0 && preparationLines == 0;
+    }
+
+    @Override
+    public String toString() {
+        return name + ": " + preparationAmount + " + " + pendingAmount + (symbol == null ? "" : " " + symbol);
+    }
+}
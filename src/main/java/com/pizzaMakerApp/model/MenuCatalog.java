@@ -0,0 +1,440 @@
+package com.pizzaMakerApp.model;
+
+import com.pizzaMakerApp.config.AppConfig;
+import com.pizzaMakerApp.utils.DatabaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory cache of the menu: pizzas, desserts, wines, cocktails and sodas, indexed by type and id.
+ * <p>
+ * The whole menu is loaded once, with one query per item type, and served from memory afterwards.
+ * It is reloaded when it is older than {@link AppConfig#CATALOG_TTL_MS}. The catalog holds at most
+ * {@link AppConfig#CATALOG_MAX_ENTRIES} items; the least recently used ones are evicted beyond that,
+ * and an item that is not in memory is loaded from the database on demand.
+ * </p>
+ * <p>
+ * The Food objects returned by the catalog are shared between all the orders that reference them
+ * and must be treated as read-only.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * Food margherita = MenuCatalog.getInstance().getItem(ItemType.PIZZA, 1);
+ * }
+ * </pre>
+ * </p>
+ */
+public class MenuCatalog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MenuCatalog.class);
+
+    // Items described by one row per ingredient.
+    private static final String INGREDIENT_ITEMS_QUERY = "SELECT id, name, price, ingredientName, quantity, unit FROM %s";
+
+    private static final String WINES_QUERY = "SELECT * FROM VIEW_WINE";
+
+    private static final String SODAS_QUERY = "SELECT * FROM VIEW_SODA";
+
+    private static MenuCatalog instance;
+
+    /**
+     * Creates a Food item from the name, price and ingredients of a catalog item.
+     */
+    @FunctionalInterface
+    private interface IngredientItemFactory {
+        Food create(int id, String name, float price, List<IngredientQuantity> ingredients);
+    }
+
+    // Items by key (see key()), in access order so that the least recently used item is evicted first.
+    private final LinkedHashMap<Long, Food> entries = new LinkedHashMap<>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, Food> eldest) {
+            if (size() > AppConfig.CATALOG_MAX_ENTRIES) {
+                evictions.incrementAndGet();
+                return true;
+            }
+            return false;
+        }
+    };
+
+    // Serializes full reloads of the catalog.
+    private final ReentrantLock refreshLock = new ReentrantLock();
+
+    // Time (System.nanoTime) of the last full load, or 0 if the catalog was never loaded.
+    private volatile long loadedAt;
+
+    // Cache metrics.
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong refreshes = new AtomicLong();
+
+    /**
+     * Gets the catalog shared by the whole application.
+     *
+     * @return The MenuCatalog instance.
+     */
+    public static synchronized MenuCatalog getInstance() {
+        if (instance == null) {
+            instance = new MenuCatalog();
+        }
+        return instance;
+    }
+
+    /**
+     * Gets a menu item by type and id, loading it from the database if it is not in memory.
+     *
+     * @param type The type of the item; must not be PIZZA_CUSTOM.
+     * @param id   The id of the item.
+     * @return The item, or null if it does not exist.
+     * @throws SQLException If a database access error occurs.
+     */
+    public Food getItem(ItemType type, int id) throws SQLException {
+        return getItems(type, List.of(id)).get(id);
+    }
+
+    /**
+     * Gets several menu items of the same type. Items that are not in memory are loaded with a single query.
+     *
+     * @param type The type of the items; must not be PIZZA_CUSTOM.
+     * @param ids  The ids of the items.
+     * @return The items by id; ids that do not exist are missing from the map.
+     * @throws SQLException If a database access error occurs.
+     */
+    public Map<Integer, Food> getItems(ItemType type, Collection<Integer> ids) throws SQLException {
+        ensureFresh();
+
+        Map<Integer, Food> items = new HashMap<>();
+        List<Integer> missingIds = new ArrayList<>();
+        synchronized (entries) {
+            for (int id : ids) {
+                Food item = entries.get(key(type, id));
+                if (item != null) {
+                    items.put(id, item);
+                } else if (!items.containsKey(id)) {
+                    missingIds.add(id);
+                }
+            }
+        }
+        hits.addAndGet(items.size());
+
+        if (!missingIds.isEmpty()) {
+            misses.addAndGet(missingIds.size());
+            Map<Integer, Food> loaded = loadItems(type, missingIds);
+            synchronized (entries) {
+                for (Map.Entry<Integer, Food> entry : loaded.entrySet()) {
+                    entries.put(key(type, entry.getKey()), entry.getValue());
+                }
+            }
+            items.putAll(loaded);
+        }
+        return items;
+    }
+
+    /**
+     * Reloads the whole menu from the database, with one query per item type, and replaces the cached items.
+     *
+     * @throws SQLException If a database access error occurs; the cached items are kept in that case.
+     */
+    public void refresh() throws SQLException {
+        refreshLock.lock();
+        try {
+            long start = System.nanoTime();
+            Map<Long, Food> loaded = new LinkedHashMap<>();
+            for (ItemType type : ItemType.values()) {
+                if (type != ItemType.PIZZA_CUSTOM) {
+                    for (Map.Entry<Integer, Food> entry : loadItems(type, null).entrySet()) {
+                        loaded.put(key(type, entry.getKey()), entry.getValue());
+                    }
+                }
+            }
+
+            synchronized (entries) {
+                entries.clear();
+                entries.putAll(loaded);
+            }
+            loadedAt = System.nanoTime();
+            refreshes.incrementAndGet();
+            LOGGER.info("Menu catalog loaded: {} items in {} ms", loaded.size(),
+                    TimeUnit.NANOSECONDS.toMillis(loadedAt - start));
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Reloads the catalog if it was never loaded or is older than the configured TTL.
+     * If another thread is already reloading an expired catalog, the current items are used meanwhile.
+     *
+     * @throws SQLException If the first load fails.
+     */
+    private void ensureFresh() throws SQLException {
+        long loaded = loadedAt;
+        if (loaded != 0 && System.nanoTime() - loaded < TimeUnit.MILLISECONDS.toNanos(AppConfig.CATALOG_TTL_MS)) {
+            return;
+        }
+        if (loaded == 0) {
+            // Nothing to serve yet: wait for the first load.
+            refreshLock.lock();
+            try {
+                if (loadedAt == 0) {
+                    refresh();
+                }
+            } finally {
+                refreshLock.unlock();
+            }
+        } else if (refreshLock.tryLock()) {
+            try {
+                refresh();
+            } catch (SQLException e) {
+                // Keep serving the previous menu; the reload will be retried on the next access.
+                LOGGER.warn("Could not reload the menu catalog, keeping the cached items", e);
+            } finally {
+                refreshLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Gets all the items currently in memory, without loading anything.
+     *
+     * @return The items by type.
+     */
+    public Map<ItemType, List<Food>> getCachedItems() {
+        Map<ItemType, List<Food>> items = new EnumMap<>(ItemType.class);
+        ItemType[] types = ItemType.values();
+        synchronized (entries) {
+            for (Map.Entry<Long, Food> entry : entries.entrySet()) {
+                ItemType type = types[(int) (entry.getKey() >>> 32)];
+                items.computeIfAbsent(type, k -> new ArrayList<>()).add(entry.getValue());
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Fills an empty catalog with items saved earlier (see {@link OrderSnapshot}), so that it can serve lookups
+     * without querying the database. The items are considered as old as the save: the catalog is reloaded
+     * once they are older than the TTL. Nothing is done if the catalog was already loaded.
+     *
+     * @param items The items by type.
+     * @param ageMs The time, in milliseconds, since the items were loaded from the database.
+     */
+    public void restore(Map<ItemType, List<Food>> items, long ageMs) {
+        refreshLock.lock();
+        try {
+            if (loadedAt != 0) {
+                return;
+            }
+            synchronized (entries) {
+                for (Map.Entry<ItemType, List<Food>> entry : items.entrySet()) {
+                    for (Food item : entry.getValue()) {
+                        entries.put(key(entry.getKey(), item.getId()), item);
+                    }
+                }
+            }
+            long restoredAt = System.nanoTime() - TimeUnit.MILLISECONDS.toNanos(Math.max(0, ageMs));
+            // 0 means "never loaded".
+            loadedAt = restoredAt == 0 ? 1 : restoredAt;
+        } finally {
+            refreshLock.unlock();
+        }
+    }
+
+    /**
+     * Gets the number of lookups served from memory.
+     *
+     * @return The number of cache hits.
+     */
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of lookups that had to query the database.
+     *
+     * @return The number of cache misses.
+     */
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Gets the proportion of lookups served from memory.
+     *
+     * @return The hit ratio, between 0 and 1.
+     */
+    public double getHitRatio() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0 : (double) hits.get() / total;
+    }
+
+    /**
+     * Gets the number of items evicted because the catalog was full.
+     *
+     * @return The number of evictions.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    /**
+     * Gets the number of full reloads of the catalog.
+     *
+     * @return The number of reloads.
+     */
+    public long getRefreshCount() {
+        return refreshes.get();
+    }
+
+    /**
+     * Gets the number of items currently in memory.
+     *
+     * @return The size of the catalog.
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Builds the key of an item in the catalog from its type and id.
+     *
+     * @param type The type of the item.
+     * @param id   The id of the item.
+     * @return The key.
+     */
+    private static long key(ItemType type, int id) {
+        return ((long) type.ordinal() << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Loads menu items of a given type from the database.
+     *
+     * @param type The type of the items.
+     * @param ids  The ids of the items to load, or null to load all the items of this type.
+     * @return The loaded items by id.
+     * @throws SQLException If a database access error occurs.
+     */
+    private static Map<Integer, Food> loadItems(ItemType type, Collection<Integer> ids) throws SQLException {
+        return switch (type) {
+            case PIZZA -> loadIngredientItems("VIEW_PIZZA_INGREDIENTS", ids, Pizza::new);
+            case DESSERT -> loadIngredientItems("VIEW_DESSERT_INGREDIENTS", ids, Dessert::new);
+            case COCKTAIL -> loadIngredientItems("VIEW_COCKTAIL_INGREDIENTS", ids, Cocktail::new);
+            case WINE -> loadWines(ids);
+            case SODA -> loadSodas(ids);
+            default -> throw new IllegalArgumentException("Not a menu item type: " + type);
+        };
+    }
+
+    /**
+     * Runs a catalog query, restricted to the given ids if any, and streams its rows to a handler.
+     *
+     * @param sqlQuery The query without WHERE clause.
+     * @param ids      The ids to load, or null to load everything.
+     * @param handler  The handler called for each row.
+     * @throws SQLException If a database access error occurs.
+     */
+    private static void query(String sqlQuery, Collection<Integer> ids, DatabaseManager.RowHandler handler)
+            throws SQLException {
+        if (ids == null) {
+            DatabaseManager.forEachRow(sqlQuery, handler);
+            return;
+        }
+        DatabaseManager.forEachRow(sqlQuery + " WHERE id IN (" + DatabaseManager.buildPlaceholders(ids.size()) + ")",
+                handler, ids.toArray());
+    }
+
+    /**
+     * Loads items described by a name, a price and a list of ingredients (one row per ingredient),
+     * such as pizzas, desserts and cocktails.
+     *
+     * @param view    The view to query.
+     * @param ids     The ids of the items to load, or null to load all of them.
+     * @param factory The factory creating the Food object.
+     * @return The loaded items by id.
+     * @throws SQLException If a database access error occurs.
+     */
+    private static Map<Integer, Food> loadIngredientItems(String view, Collection<Integer> ids,
+                                                          IngredientItemFactory factory) throws SQLException {
+        // Name, price and ingredients of every item, in the order of the rows.
+        Map<Integer, String> names = new LinkedHashMap<>();
+        Map<Integer, Float> prices = new HashMap<>();
+        Map<Integer, List<IngredientQuantity>> ingredients = new HashMap<>();
+
+        query(String.format(INGREDIENT_ITEMS_QUERY, view), ids, resultSet -> {
+            int id = resultSet.getInt("id");
+            names.putIfAbsent(id, resultSet.getString("name"));
+            prices.putIfAbsent(id, resultSet.getFloat("price"));
+
+            ingredients.computeIfAbsent(id, k -> new ArrayList<>()).add(IngredientQuantity.of(
+                    resultSet.getString("ingredientName"),
+                    resultSet.getFloat("quantity"),
+                    resultSet.getString("unit")));
+        });
+
+        Map<Integer, Food> items = new HashMap<>();
+        for (Map.Entry<Integer, String> entry : names.entrySet()) {
+            int id = entry.getKey();
+            items.put(id, factory.create(id, entry.getValue(), prices.get(id), ingredients.get(id)));
+        }
+        return items;
+    }
+
+    /**
+     * Loads wines from VIEW_WINE.
+     *
+     * @param ids The ids of the wines, or null to load all of them.
+     * @return The loaded wines by id.
+     * @throws SQLException If a database access error occurs.
+     */
+    private static Map<Integer, Food> loadWines(Collection<Integer> ids) throws SQLException {
+        Map<Integer, Food> wines = new HashMap<>();
+        query(WINES_QUERY, ids, resultSet -> {
+            int id = resultSet.getInt("id");
+            wines.put(id, new Wine(id,
+                    resultSet.getString("name"),
+                    resultSet.getFloat("price"),
+                    resultSet.getString("domain"),
+                    resultSet.getString("origin"),
+                    resultSet.getInt("year"),
+                    Wine.WineColor.valueOf(resultSet.getString("color").toUpperCase()),
+                    Wine.BottleType.valueOf(resultSet.getString("bottleType"))));
+        });
+        return wines;
+    }
+
+    /**
+     * Loads sodas from VIEW_SODA.
+     *
+     * @param ids The ids of the sodas, or null to load all of them.
+     * @return The loaded sodas by id.
+     * @throws SQLException If a database access error occurs.
+     */
+    private static Map<Integer, Food> loadSodas(Collection<Integer> ids) throws SQLException {
+        Map<Integer, Food> sodas = new HashMap<>();
+        query(SODAS_QUERY, ids, resultSet -> {
+            int id = resultSet.getInt("id");
+            sodas.put(id, new Soda(id,
+                    resultSet.getString("name"),
+                    resultSet.getFloat("price"),
+                    Soda.BottleType.valueOf(resultSet.getString("bottleType"))));
+        });
+        return sodas;
+    }
+}
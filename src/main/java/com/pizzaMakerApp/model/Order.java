@@ -1,27 +1,61 @@
 package com.pizzaMakerApp.model;
 
-import com.pizzaMakerApp.utils.DatabaseManager;
+import com.pizzaMakerApp.monitoring.OrderDisplayEvent;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
-import java.text.SimpleDateFormat;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
-import java.util.Date;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Represents an Order in the pizza maker application.
  * This class is designed to encapsulate all the details of an order including items, quantities, and client information.
+ * <p>
+ * An order may also be a header only, as listed by the {@link OrderManager}: its id, date, status and client, without
+ * its items (see {@link #isDetailed()}). The items are loaded with {@link OrderLoader#loadOrders(java.util.Collection)},
+ * which builds a new, detailed Order replacing the header.
+ * </p>
  */
 public class Order {
 
+    /**
+     * The lifecycle of an order, as stored in the status column of CLIENT_ORDER.
+     * An order is accepted (PREPARATION) or refused (CANCELED) while pending, then shipped and delivered;
+     * DELIVERED and CANCELED are final.
+     */
     public enum Status {
-        PENDING, PREPARATION, SHIPPED, DELIVERED, CANCELED
+        PENDING, PREPARATION, SHIPPED, DELIVERED, CANCELED;
+
+        /**
+         * Checks whether an order in this status can be moved to another status.
+         *
+         * @param next The status to move to.
+         * @return True if the transition is allowed.
+         */
+        public boolean canTransitionTo(Status next) {
+            return switch (this) {
+                case PENDING -> next == PREPARATION || next == CANCELED;
+                case PREPARATION -> next == SHIPPED || next == CANCELED;
+                case SHIPPED -> next == DELIVERED;
+                case DELIVERED, CANCELED -> false;
+            };
+        }
     }
 
+    // The format of the date in the list label; immutable, so shared by all the orders and threads.
+    private static final DateTimeFormatter LABEL_DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM HH:mm");
+
+    // The groups of the ticket printed by display(), in order, with their title.
+    private static final Map<Class<? extends Food>, String> GROUP_TITLES = groupTitles(
+            Pizza.class, PizzaCustom.class, Dessert.class, Wine.class, Cocktail.class, Soda.class);
+
     // Unique identifier for each order.
     private int id;
 
@@ -32,11 +66,23 @@ public class Order {
     private ArrayList<Integer> quantity;
 
     // The date and time when the order was made.
-    private Date dateTime;
+    private LocalDateTime dateTime;
 
     // The name of the client who made the order.
     private String clientName;
 
+    // The status of the order, as last read from or written to the database.
+    private Status status = Status.PENDING;
+
+    // The ticket returned by display(), or null when it must be rendered again.
+    private String displayText;
+
+    // The label returned by toString(), or null when it must be formatted again.
+    private String label;
+
+    // Whether the items of the order were loaded; false for a header.
+    private boolean detailed;
+
     /**
      * Constructor for the Order class.
      * This constructor initializes a new Order instance and loads its detailed information from the database
@@ -45,48 +91,48 @@ public class Order {
      * @param orderId The unique identifier of the order to load from the database.
      */
     public Order(int orderId) {
-        // Set the order ID.
+        this(orderId, null, null);
+
+        // Load order details from the database.
+        loadOrderDetails();
+    }
+
+    /**
+     * Constructor for the Order class from a header already loaded from the database.
+     * The order starts without items, as a header; they are added with {@link #addItem(Food, int)}.
+     *
+     * @param orderId    The unique identifier of the order.
+     * @param dateTime   The date and time when the order was made.
+     * @param clientName The name of the client who made the order.
+     */
+    Order(int orderId, LocalDateTime dateTime, String clientName) {
+        // Set the order ID and header.
         this.id = orderId;
+        this.dateTime = dateTime;
+        this.clientName = clientName;
 
         // Initialize the lists for storing order items and their quantities.
         this.items = new ArrayList<>();
         this.quantity = new ArrayList<>();
-
-        // Load order details from the database.
-        loadOrderDetails();
     }
 
     /**
      * Loads the details of the order from the database.
-     * This method queries the database to retrieve all the items associated with the order
-     * and populates the items and quantities in the order object.
+     * The order is loaded with the set-based {@link OrderLoader}, then its items and header are copied into this object.
      */
     private void loadOrderDetails() {
-        // SQL query to fetch order details from the view which consolidates multiple item types (e.g., Pizza, Wine, etc.)
-        String sqlQuery = "SELECT * FROM VIEW_ORDER_SUMMARY WHERE orderId = ?";
-
         try {
-            // Execute the SQL query with the current order ID.
-            ResultSet resultSet = DatabaseManager.sendQuery(sqlQuery, this.id);
-
-            // Iterate over each row in the result set.
-            while (resultSet.next()) {
-                // Fetch the type and ID of the item in the current row.
-                String itemType = resultSet.getString("itemType");
-                int itemId = resultSet.getInt("itemId");
-
-                // Convert the itemType and itemId into a Food object.
-                // The method mapToFoodItem should create an instance of the correct subclass of Food based on the itemType.
-                Food item = mapToFoodItem(itemType, itemId);
-
-                // Add the Food item and its quantity to the respective lists in the Order object.
-                this.items.add(item);
-                this.quantity.add(resultSet.getInt("quantity"));
-
-                // Set the date and time of the order.
-                // This assumes all items in an order share the same order date and client.
-                this.dateTime = resultSet.getTimestamp("orderDate");
-                this.clientName = resultSet.getString("clientLastName");
+            List<Order> loaded = OrderLoader.loadOrders(List.of(this.id));
+            if (!loaded.isEmpty()) {
+                Order order = loaded.get(0);
+                this.items = order.items;
+                this.quantity = order.quantity;
+                this.detailed = true;
+                this.displayText = null;
+                this.dateTime = order.dateTime;
+                this.clientName = order.clientName;
+                this.label = null;
+                this.status = order.status;
             }
         } catch (SQLException e) {
             // Log an error if there's an issue during database access.
@@ -96,64 +142,37 @@ public class Order {
     }
 
     /**
-     * Maps the specified item type and ID to a Food object.
-     * This method is responsible for creating the correct type of Food object based on the item type
-     * provided in the order details fetched from the database.
+     * Adds an item and its quantity to the order.
      *
-     * @param itemType The type of the item to map. This is a string representing the type of Food object.
-     * @param itemId   The ID of the item. This is used to load specific details for the Food object from the database.
-     * @return A Food object that corresponds to the specified item type and ID.
-     * The actual object returned will be an instance of a subclass of Food, based on the itemType.
+     * @param item     The Food item to add.
+     * @param quantity The quantity of this item in the order.
      */
-    private Food mapToFoodItem(String itemType, int itemId) {
-        return switch (itemType) {
-            // For each case, create an instance of the corresponding subclass of Food
-            case "PIZZA" -> new Pizza(itemId); // Creates a Pizza object for items of type 'PIZZA'
-            case "DESSERT" -> new Dessert(itemId); // Creates a Dessert object for items of type 'DESSERT'
-            case "WINE" -> new Wine(itemId); // Creates a Wine object for items of type 'WINE'
-            case "COCKTAIL" -> new Cocktail(itemId); // Creates a Cocktail object for items of type 'COCKTAIL'
-            case "SODA" -> new Soda(itemId); // Creates a Soda object for items of type 'SODA'
-            case "PIZZA CUSTOM" -> {
-                // Special case for custom pizzas
-                // Fetches the original pizza ID for the custom pizza, then creates a PizzaCustom object
-                int originalPizzaId = fetchOriginalPizzaIdForCustomPizza(itemId);
-                yield new PizzaCustom(originalPizzaId, itemId);
-            }
-            // Throws an exception if the item type is not recognized
-            default -> throw new IllegalStateException("Unexpected value: " + itemType);
-        };
+    void addItem(Food item, int quantity) {
+        this.items.add(item);
+        this.quantity.add(quantity);
+        this.detailed = true;
+        this.displayText = null;
     }
 
     /**
-     * Fetches the original pizza ID for a given custom pizza ID.
-     * This method queries the database to find the original pizza ID associated with a custom pizza.
+     * Checks whether the items of the order were loaded. A header, as listed by the {@link OrderManager}, has no
+     * items and displays nothing until it is replaced by the detailed order.
      *
-     * @param customPizzaId The ID of the custom pizza.
-     * @return The ID of the original pizza that the custom pizza is based on.
-     * @throws RuntimeException if there is an issue in fetching the data from the database.
+     * @return True if the items were loaded, false for a header.
      */
-    private int fetchOriginalPizzaIdForCustomPizza(int customPizzaId) {
-        // SQL query to fetch the original pizza ID from a view that maps custom pizzas to their original variants.
-        String sqlQuery = "SELECT OriginalPizzaId FROM VIEW_CUSTOM_PIZZAS_WITH_INGREDIENTS WHERE CustomPizzaId = ?";
+    public boolean isDetailed() {
+        return detailed;
+    }
 
-        try {
-            // Execute the query with the custom pizza ID.
-            ResultSet resultSet = DatabaseManager.sendQuery(sqlQuery, customPizzaId);
-
-            // Check if the result set has data (i.e., if an original pizza ID was found).
-            if (resultSet.next()) {
-                // Return the original pizza ID.
-                return resultSet.getInt("OriginalPizzaId");
-            } else {
-                // Throw an exception if the original pizza ID could not be found.
-                throw new SQLException("Original pizza ID not found for custom pizza ID: " + customPizzaId);
-            }
-        } catch (SQLException e) {
-            // Log the error and throw a RuntimeException to indicate an error during database access.
-            Logger logger = LoggerFactory.getLogger(Order.class);
-            logger.error("Error fetching original pizza ID for custom pizza", e);
-            throw new RuntimeException(e);
-        }
+    /**
+     * Creates a header of this order: a new order with the same id, date, client and status, without items.
+     *
+     * @return The header.
+     */
+    Order toHeader() {
+        Order header = new Order(id, dateTime, clientName);
+        header.status = status;
+        return header;
     }
 
     // Getters and setters for the Order class
@@ -163,6 +182,7 @@ public class Order {
 
     public void setId(int id) {
         this.id = id;
+        this.label = null;
     }
 
     public ArrayList<Food> getItems() {
@@ -171,6 +191,8 @@ public class Order {
 
     public void setItems(ArrayList<Food> items) {
         this.items = items;
+        this.detailed = true;
+        this.displayText = null;
     }
 
     public ArrayList<Integer> getQuantity() {
@@ -179,14 +201,24 @@ public class Order {
 
     public void setQuantity(ArrayList<Integer> quantity) {
         this.quantity = quantity;
+        this.displayText = null;
     }
 
-    public Date getDateTime() {
+    public LocalDateTime getDateTime() {
         return dateTime;
     }
 
-    public void setDateTime(Date dateTime) {
+    public void setDateTime(LocalDateTime dateTime) {
         this.dateTime = dateTime;
+        this.label = null;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
     }
 
     public String getClientName() {
@@ -195,97 +227,134 @@ public class Order {
 
     public void setClientName(String clientName) {
         this.clientName = clientName;
+        this.label = null;
     }
 
 
     /**
      * Provides a preview of the order, including its ID, date and time, and client name.
-     * This method is used to display a list of orders in the application.
+     * This method is used to display a list of orders in the application, for every visible row on every repaint:
+     * the label is formatted once, with a shared formatter, and kept until the id, date or client changes.
      *
      * @return A string representation of the order.
      */
     @Override
     public String toString() {
-        SimpleDateFormat formatter = new SimpleDateFormat("dd/MM HH:mm");
-        String strDate = formatter.format(getDateTime());
-        return getId() + "      " + strDate + "     " + getClientName();
-
+        String text = label;
+        if (text == null) {
+            String strDate = dateTime == null ? "" : LABEL_DATE_FORMAT.format(dateTime);
+            text = getId() + "      " + strDate + "     " + getClientName();
+            label = text;
+        }
+        return text;
     }
 
     /**
      * Provides a string representation of the order, including its items and quantities, grouped by item type.
      * This method organizes the items in the order by their type and presents them in a structured format,
      * making it easier to read and understand the contents of the order.
+     * <p>
+     * The groups always come in the same order (pizzas, custom pizzas, desserts, wines, cocktails, sodas).
+     * The ticket is rendered once and kept until the items of the order are set or added again; the lists returned
+     * by {@link #getItems()} and {@link #getQuantity()} must not be modified directly.
+     * </p>
      *
      * @return A string representation of the order.
      */
     public String display() {
-        Map<String, ArrayList<String>> groupedItems = new HashMap<>();
-
-        // Iterate through each item and group them by their class type.
-        for (int i = 0; i < items.size(); i++) {
-            Food item = items.get(i);
-            Integer qty = quantity.get(i);
-
-            // Get the simple class name as the group key and convert it to uppercase.
-            String className = item.getClass().getSimpleName().toUpperCase();
-
-            // Create a new group if it doesn't exist.
-            groupedItems.computeIfAbsent(className, k -> new ArrayList<>());
-
-            // Add the item's string representation and quantity to the group.
-            groupedItems.get(className).add(item + " - Quantity: " + qty);
+        OrderDisplayEvent event = new OrderDisplayEvent();
+        event.begin();
+        String text = displayText;
+        boolean cached = text != null;
+        if (!cached) {
+            text = renderDisplay();
+            displayText = text;
         }
+        event.end(id, items.size(), cached);
+        return text;
+    }
 
-        // Construct the final string representation.
-        StringBuilder sb = new StringBuilder();
+    /**
+     * Renders the ticket returned by {@link #display()}, without using the cached one.
+     *
+     * @return A string representation of the order.
+     */
+    String renderDisplay() {
+        // A single builder, sized for a few lines per item.
+        StringBuilder sb = new StringBuilder(64 + items.size() * 128);
 
-        // Append each group to the string builder.
-        for (Map.Entry<String, ArrayList<String>> entry : groupedItems.entrySet()) {
-            sb.append("\n").append(entry.getKey()).append(":\n");
-            // Add each item in the group with numbering and indentation.
-            for (int i = 0; i < entry.getValue().size(); i++) {
-                sb.append(i + 1).append(". ").append(entry.getValue().get(i)).append("\n");
+        // Append each group, then the items of an unexpected type, each type in its own group.
+        for (Map.Entry<Class<? extends Food>, String> group : GROUP_TITLES.entrySet()) {
+            appendGroup(sb, group.getKey(), group.getValue());
+        }
+        Set<Class<? extends Food>> otherTypes = new LinkedHashSet<>();
+        for (Food item : items) {
+            if (!GROUP_TITLES.containsKey(item.getClass())) {
+                otherTypes.add(item.getClass());
             }
         }
+        for (Class<? extends Food> type : otherTypes) {
+            appendGroup(sb, type, type.getSimpleName().toUpperCase());
+        }
 
         return sb.toString();
     }
 
     /**
-     * Updates the status of a specific order in the database based on the given order ID and status type.
+     * Appends the items of one type to the ticket, under the title of their group, numbered from 1.
+     * Nothing is appended if the order has no item of that type.
      *
-     * @param statusType An integer representing the status type (0 for refusal, 1 for validation).
-     * @throws SQLException If a database access error occurs.
+     * @param sb    The ticket being rendered.
+     * @param type  The exact class of the items of the group.
+     * @param title The title of the group.
+     */
+    private void appendGroup(StringBuilder sb, Class<? extends Food> type, String title) {
+        int number = 0;
+        for (int i = 0; i < items.size(); i++) {
+            Food item = items.get(i);
+            if (item.getClass() != type) {
+                continue;
+            }
+            if (number == 0) {
+                sb.append('\n').append(title).append(":\n");
+            }
+            // Add the item with numbering, its string representation and its quantity.
+            sb.append(++number).append(". ").append(item).append(" - Quantity: ").append(quantity.get(i)).append('\n');
+        }
+    }
+
+    /**
+     * Builds the titles of the groups of the ticket: the upper-case simple name of their class.
+     *
+     * @param types The classes of the groups, in the order they are printed.
+     * @return The titles by class, in order.
      */
-    public void updateStatus(Status statusType) throws SQLException {
-        String query;
-        if (statusType == Status.CANCELED) { // Checks if the order is refused (0); if not 0, then it is validated.
-            query = "UPDATE CLIENT_ORDER SET status = 'CANCELED' WHERE orderId = ?;";
-        } else if (statusType == Status.PREPARATION) {
-            query = "UPDATE CLIENT_ORDER SET status = 'PREPARATION' WHERE orderId = ?;";
-        } else {
-            throw new IllegalStateException("Unexpected value: " + statusType);
+    @SafeVarargs
+    private static Map<Class<? extends Food>, String> groupTitles(Class<? extends Food>... types) {
+        Map<Class<? extends Food>, String> titles = new LinkedHashMap<>();
+        for (Class<? extends Food> type : types) {
+            titles.put(type, type.getSimpleName().toUpperCase());
         }
-        DatabaseManager.sendQuery(query, getId());
+        return titles;
     }
 
     /**
-     * Maps the enumerated status to a corresponding string for the database.
+     * Moves this order to a new status in the database, if its status in the database is still the one known
+     * by this object. If another station changed the order in the meantime, nothing is written.
      *
-     * @param status The enumerated status.
-     * @return The corresponding string for the database.
+     * @param statusType The new status, e.g. PREPARATION to validate the order, CANCELED to refuse it.
+     * @return True if the order was updated, false if its status had been changed by someone else.
+     * @throws SQLException If a database access error occurs.
+     * @throws IllegalStateException If the order cannot move from its current status to the new one.
+     * @see OrderStatusService#changeStatus(java.util.Collection, Status, Status)
      */
-    private String mapStatusToString(Status status) {
-        // Adapt this method according to the mapping between the enumeration and the database
-        return switch (status) {
-            case PENDING -> "PENDING";
-            case CANCELED -> "CANCELED";
-            case PREPARATION -> "PREPARATION";
-            case SHIPPED -> "SHIPPED";
-            case DELIVERED -> "DELIVERED";
-            default -> throw new IllegalStateException("Unexpected status: " + status);
-        };
+    public boolean updateStatus(Status statusType) throws SQLException {
+        StatusChangeResult result = OrderStatusService.changeStatus(List.of(getId()), status, statusType);
+        Status current = result.getCurrentStatus(getId());
+        if (current != null) {
+            this.status = current;
+        }
+        return result.isUpdated(getId());
     }
 
 }
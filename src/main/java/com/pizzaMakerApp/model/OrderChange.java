@@ -0,0 +1,78 @@
+package com.pizzaMakerApp.model;
+
+/**
+ * Represents one row of the ORDER_CHANGE log: an order that was placed or whose status changed.
+ * The changes of an order are ordered by their id, so the last one gives the current status of the order.
+ *
+ * @see OrderChangeLog
+ */
+public class OrderChange {
+
+    // The position of the change in the log, increasing with each change.
+    private final long changeId;
+
+    // The order that changed.
+    private final int orderId;
+
+    // The status of the order after the change.
+    private final Order.Status status;
+
+    // When the change was written, in milliseconds since the epoch (clock of the writer).
+    private final long changedAt;
+
+    /**
+     * Constructs a new OrderChange.
+     *
+     * @param changeId  The position of the change in the log.
+     * @param orderId   The id of the order.
+     * @param status    The status of the order after the change.
+     * @param changedAt When the change was written, in milliseconds since the epoch.
+     */
+    public OrderChange(long changeId, int orderId, Order.Status status, long changedAt) {
+        this.changeId = changeId;
+        this.orderId = orderId;
+        this.status = status;
+        this.changedAt = changedAt;
+    }
+
+    /**
+     * Gets the position of the change in the log.
+     *
+     * @return The change id.
+     */
+    public long getChangeId() {
+        return changeId;
+    }
+
+    /**
+     * Gets the id of the order that changed.
+     *
+     * @return The order id.
+     */
+    public int getOrderId() {
+        return orderId;
+    }
+
+    /**
+     * Gets the status of the order after the change.
+     *
+     * @return The new status; PENDING for an order that was just placed.
+     */
+    public Order.Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the time the change was written.
+     *
+     * @return The time, in milliseconds since the epoch.
+     */
+    public long getChangedAt() {
+        return changedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "#" + changeId + " order " + orderId + " -> " + status;
+    }
+}
@@ -0,0 +1,68 @@
+package com.pizzaMakerApp.model;
+
+import java.util.List;
+
+/**
+ * Represents what the {@link OrderChangeFeed} learned about the orders since its previous event: either the new
+ * rows of the change log, or a request to resynchronize the whole pending queue because the log cannot tell
+ * (it is not available, or the periodic full check is due).
+ */
+public class OrderChangeEvent {
+
+    // The event asking for a full resynchronization.
+    private static final OrderChangeEvent RESYNC = new OrderChangeEvent(List.of(), true);
+
+    // The new changes, in the order of the log.
+    private final List<OrderChange> changes;
+
+    // Whether the whole pending queue must be read again.
+    private final boolean resync;
+
+    /**
+     * Constructs a new OrderChangeEvent.
+     *
+     * @param changes The new changes, in the order of the log.
+     * @param resync  Whether the whole pending queue must be read again.
+     */
+    private OrderChangeEvent(List<OrderChange> changes, boolean resync) {
+        this.changes = List.copyOf(changes);
+        this.resync = resync;
+    }
+
+    /**
+     * Creates an event carrying new changes of the log.
+     *
+     * @param changes The new changes, in the order of the log.
+     * @return The event.
+     */
+    public static OrderChangeEvent of(List<OrderChange> changes) {
+        return new OrderChangeEvent(changes, false);
+    }
+
+    /**
+     * Gets the event asking the subscribers to read the whole pending queue again.
+     *
+     * @return The resync event.
+     */
+    public static OrderChangeEvent resync() {
+        return RESYNC;
+    }
+
+    /**
+     * Gets the new changes of the log.
+     *
+     * @return The changes, in the order of the log; empty for a resync event.
+     */
+    public List<OrderChange> getChanges() {
+        return changes;
+    }
+
+    /**
+     * Checks whether the whole pending queue must be read again.
+     *
+     * @return True for a resync event.
+     */
+    public boolean isResync() {
+        return resync;
+    }
+}
@@ -0,0 +1,182 @@
+package com.pizzaMakerApp.model;
+
+import com.pizzaMakerApp.config.AppConfig;
+import com.pizzaMakerApp.utils.EventBus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderChangeFeed tails the {@link OrderChangeLog} on a background thread and publishes what it finds on an
+ * {@link EventBus}, so that new and updated orders reach the screen within a fraction of a second instead of
+ * waiting for the next full poll of the pending queue.
+ * <p>
+ * The polling interval adapts to the activity: it drops to {@link AppConfig#FEED_POLL_MIN_MS} as soon as changes
+ * are found, is skipped entirely while a burst fills whole batches, and doubles after every empty poll up to
+ * {@link AppConfig#FEED_POLL_MAX_MS}, so that an idle terminal only sends a cheap primary key lookup every few
+ * seconds.
+ * </p>
+ * <p>
+ * A resync event, asking the subscribers to read the whole pending queue, is published when the feed starts,
+ * every {@link AppConfig#FEED_RESYNC_MS} to heal changes written without the log, and every
+ * {@link AppConfig#FEED_FALLBACK_MS} while the log is not available (e.g. a database without the table, which is
+ * created on MariaDB by the script db/mariadb/order-change.sql).
+ * </p>
+ * <p>
+ * Change ids are allocated when a transaction inserts its change, not when it commits, so a change can appear
+ * behind the cursor. The last {@link AppConfig#FEED_LOOKBACK} ids are therefore read again at every poll; the
+ * changes already published are recognized by their id and not published twice.
+ * </p>
+ */
+public class OrderChangeFeed implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderChangeFeed.class);
+
+    private final EventBus<OrderChangeEvent> events = new EventBus<>("order-changes");
+
+    private final ScheduledExecutorService poller;
+
+    // The highest change id published, or -1 until the log has been found. Only accessed by the poller thread.
+    private long cursor = -1;
+
+    // The last change id when the log was found: older changes are covered by the first resync.
+    private long startId;
+
+    // The ids of the changes published within the lookback window below the cursor.
+    private final TreeSet<Long> publishedIds = new TreeSet<>();
+
+    // The delay before the next poll, in milliseconds.
+    private long interval = AppConfig.FEED_POLL_MIN_MS;
+
+    // When the last resync event was published, in nanoseconds, or 0 if none was.
+    private long lastResyncNanos;
+
+    // Whether the unavailability of the log was already logged.
+    private boolean fallbackLogged;
+
+    /**
+     * Constructs an OrderChangeFeed; no query is run until {@link #start()} is called.
+     */
+    public OrderChangeFeed() {
+        this.poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-feed");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the bus on which the changes are published. Events are delivered on the poller thread.
+     *
+     * @return The event bus.
+     */
+    public EventBus<OrderChangeEvent> getEvents() {
+        return events;
+    }
+
+    /**
+     * Starts polling the log. The first event is a resync, once the position of the log is known.
+     */
+    public void start() {
+        poller.execute(this::poll);
+    }
+
+    /**
+     * Polls the log once and schedules the next poll.
+     */
+    private void poll() {
+        long delay;
+        try {
+            delay = cursor < 0 ? locateLog() : readNewChanges();
+        } catch (RuntimeException e) {
+            LOGGER.error("Unexpected error while polling the order change log", e);
+            delay = AppConfig.FEED_POLL_MAX_MS;
+        }
+        if (lastResyncNanos == 0 || System.nanoTime() - lastResyncNanos >= TimeUnit.MILLISECONDS.toNanos(
+                cursor < 0 ? AppConfig.FEED_FALLBACK_MS : AppConfig.FEED_RESYNC_MS)) {
+            lastResyncNanos = System.nanoTime();
+            events.publish(OrderChangeEvent.resync());
+        }
+        if (!poller.isShutdown()) {
+            poller.schedule(this::poll, delay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Positions the cursor at the end of the log; the orders changed before are read by the first resync.
+     *
+     * @return The delay before the next poll, in milliseconds.
+     */
+    private long locateLog() {
+        try {
+            cursor = OrderChangeLog.readLastChangeId();
+            startId = cursor;
+            LOGGER.info("Tailing the order change log from change {}", cursor);
+            // Publish a resync right away: it reads the queue as of now, after the cursor was positioned
+            lastResyncNanos = 0;
+            return AppConfig.FEED_POLL_MIN_MS;
+        } catch (SQLException e) {
+            if (!fallbackLogged) {
+                fallbackLogged = true;
+                LOGGER.error("The order change log is not available, polling the pending orders every {} ms instead; "
+                        + "create it with db/mariadb/order-change.sql", AppConfig.FEED_FALLBACK_MS, e);
+            }
+            return AppConfig.FEED_FALLBACK_MS;
+        }
+    }
+
+    /**
+     * Reads the changes that follow the cursor, publishes the new ones and adapts the polling interval.
+     *
+     * @return The delay before the next poll, in milliseconds.
+     */
+    private long readNewChanges() {
+        long from = Math.max(0, cursor - AppConfig.FEED_LOOKBACK);
+        int limit = AppConfig.FEED_LOOKBACK + AppConfig.FEED_BATCH_SIZE;
+        List<OrderChange> changes;
+        try {
+            changes = OrderChangeLog.readChanges(from, limit);
+        } catch (SQLException e) {
+            LOGGER.warn("Cannot read the order change log: {}", e.getMessage());
+            interval = Math.min(interval * 2, AppConfig.FEED_POLL_MAX_MS);
+            return interval;
+        }
+
+        List<OrderChange> newChanges = new ArrayList<>();
+        for (OrderChange change : changes) {
+            if (change.getChangeId() > startId && publishedIds.add(change.getChangeId())) {
+                newChanges.add(change);
+                cursor = Math.max(cursor, change.getChangeId());
+            }
+        }
+        // Forget the ids that left the lookback window
+        publishedIds.headSet(cursor - AppConfig.FEED_LOOKBACK, true).clear();
+
+        if (newChanges.isEmpty()) {
+            // Idle: back off
+            interval = Math.min(interval * 2, AppConfig.FEED_POLL_MAX_MS);
+            return interval;
+        }
+        LOGGER.debug("{} new order changes, up to change {}", newChanges.size(), cursor);
+        events.publish(OrderChangeEvent.of(newChanges));
+
+        // Busy: poll again at once if the batch was full, soon otherwise
+        interval = AppConfig.FEED_POLL_MIN_MS;
+        return changes.size() == limit ? 0 : interval;
+    }
+
+    /**
+     * Stops polling the log.
+     */
+    @Override
+    public void close() {
+        poller.shutdownNow();
+    }
+}
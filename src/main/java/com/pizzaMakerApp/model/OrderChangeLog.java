@@ -0,0 +1,116 @@
+package com.pizzaMakerApp.model;
+
+import com.pizzaMakerApp.utils.DatabaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Reads and writes the ORDER_CHANGE log: one row per order placed or per status change, numbered by an
+ * increasing change id. Readers tail the log with a cursor on that id, which is a cheap primary key range scan,
+ * instead of reading the whole pending queue to find out what changed.
+ * <p>
+ * The log is written when an order is placed, in the same transaction as the order (by a trigger on MariaDB, see
+ * db/mariadb/order-change.sql), and by the application when it changes the status of orders. A database without
+ * the ORDER_CHANGE table is supported: the log is then reported as unavailable and the application falls back to
+ * polling the queue.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * long cursor = OrderChangeLog.readLastChangeId();
+ * List<OrderChange> changes = OrderChangeLog.readChanges(cursor, 500);
+ * }
+ * </pre>
+ * </p>
+ */
+public class OrderChangeLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderChangeLog.class);
+
+    private static final String LAST_CHANGE_ID_QUERY = "SELECT COALESCE(MAX(changeId), 0) AS lastId FROM ORDER_CHANGE";
+
+    private static final String CHANGES_QUERY =
+            "SELECT changeId, orderId, status, changedAt FROM ORDER_CHANGE WHERE changeId > ? ORDER BY changeId LIMIT ?";
+
+    private static final String INSERT_CHANGE_QUERY =
+            "INSERT INTO ORDER_CHANGE (orderId, status, changedAt) VALUES (?, ?, ?)";
+
+    // Whether the ORDER_CHANGE table was found; set by readLastChangeId, so that nothing is written before.
+    private static volatile boolean available;
+
+    /**
+     * Reads the id of the last change of the log, from which new changes can be tailed. The log is marked as
+     * available if the query succeeds.
+     *
+     * @return The last change id, or 0 if the log is empty.
+     * @throws SQLException If the log cannot be read, e.g. because the table does not exist.
+     */
+    public static long readLastChangeId() throws SQLException {
+        List<Long> lastIds = DatabaseManager.queryList(LAST_CHANGE_ID_QUERY, row -> row.getLong("lastId"));
+        available = true;
+        return lastIds.get(0);
+    }
+
+    /**
+     * Reads the changes that follow a change id, in the order of the log. Changes with an unknown status are
+     * skipped.
+     *
+     * @param afterId The id after which the changes are read.
+     * @param limit   The maximum number of changes read.
+     * @return The changes, ordered by change id.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static List<OrderChange> readChanges(long afterId, int limit) throws SQLException {
+        List<OrderChange> changes = new ArrayList<>();
+        DatabaseManager.forEachRow(CHANGES_QUERY, row -> {
+            String status = row.getString("status");
+            try {
+                Timestamp changedAt = row.getTimestamp("changedAt");
+                changes.add(new OrderChange(row.getLong("changeId"), row.getInt("orderId"),
+                        Order.Status.valueOf(status), changedAt.getTime()));
+            } catch (IllegalArgumentException e) {
+                LOGGER.warn("Ignoring the change {} with the unknown status {}", row.getLong("changeId"), status);
+            }
+        }, afterId, limit);
+        return changes;
+    }
+
+    /**
+     * Records that orders were moved to a status, if the log is available. A failure is logged and not thrown:
+     * the status change itself is already committed, and other stations catch up at their next full check.
+     *
+     * @param orderIds The ids of the orders.
+     * @param status   Their new status.
+     */
+    public static void record(Collection<Integer> orderIds, Order.Status status) {
+        if (!available || orderIds.isEmpty()) {
+            return;
+        }
+        Timestamp changedAt = new Timestamp(System.currentTimeMillis());
+        List<Object[]> parameterRows = new ArrayList<>(orderIds.size());
+        for (int orderId : orderIds) {
+            parameterRows.add(new Object[]{orderId, status.name(), changedAt});
+        }
+        try {
+            DatabaseManager.sendBatch(INSERT_CHANGE_QUERY, parameterRows);
+        } catch (SQLException e) {
+            LOGGER.warn("Cannot record the move of orders {} to {} in the change log", orderIds, status, e);
+        }
+    }
+
+    /**
+     * Checks whether the change log was found in the database.
+     *
+     * @return True once the log has been read successfully.
+     */
+    public static boolean isAvailable() {
+        return available;
+    }
+}
@@ -0,0 +1,61 @@
+package com.pizzaMakerApp.model;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Represents the changes of the pending order queue since the last refresh:
+ * the orders that appeared and the ids of the orders that are no longer pending
+ * (accepted, refused or deleted).
+ *
+ * @see OrderManager#fetchDelta(Set)
+ * @see OrderManager#fetchDelta(List, Set)
+ * @see OrderManager#applyDelta(OrderDelta)
+ */
+public class OrderDelta {
+
+    // Orders that became pending since the last refresh, as headers.
+    private final List<Order> addedOrders;
+
+    // Ids of the orders that are no longer pending.
+    private final Set<Integer> removedOrderIds;
+
+    /**
+     * Constructs a new OrderDelta.
+     *
+     * @param addedOrders     The orders that became pending.
+     * @param removedOrderIds The ids of the orders that are no longer pending.
+     */
+    public OrderDelta(List<Order> addedOrders, Set<Integer> removedOrderIds) {
+        this.addedOrders = new ArrayList<>(addedOrders);
+        this.removedOrderIds = Set.copyOf(removedOrderIds);
+    }
+
+    /**
+     * Gets the orders that became pending since the last refresh.
+     *
+     * @return The added orders.
+     */
+    public List<Order> getAddedOrders() {
+        return addedOrders;
+    }
+
+    /**
+     * Gets the ids of the orders that are no longer pending.
+     *
+     * @return The removed order ids.
+     */
+    public Set<Integer> getRemovedOrderIds() {
+        return removedOrderIds;
+    }
+
+    /**
+     * Checks whether the queue changed since the last refresh.
+     *
+     * @return True if no order was added or removed.
+     */
+    public boolean isEmpty() {
+        return addedOrders.isEmpty() && removedOrderIds.isEmpty();
+    }
+}
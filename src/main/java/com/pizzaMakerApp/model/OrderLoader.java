@@ -0,0 +1,310 @@
+package com.pizzaMakerApp.model;
+
+import com.pizzaMakerApp.monitoring.OrderHydrationEvent;
+import com.pizzaMakerApp.utils.DatabaseManager;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Loads orders and all the food items they reference with a fixed, small number of queries.
+ * <p>
+ * Instead of running one query per order and one or two more per item, the loader:
+ * <ol>
+ *   <li>fetches the order headers and line items of all the requested orders in a single query
+ *       on VIEW_ORDER_SUMMARY;</li>
+ *   <li>fetches the customizations of all the custom pizzas in a single query on VIEW_CUSTOM_PIZZAS_WITH_INGREDIENTS;</li>
+ *   <li>resolves the referenced pizzas, desserts, cocktails, wines and sodas from the {@link MenuCatalog},
+ *       which only queries the database for items it does not hold yet;</li>
+ *   <li>assembles the Order and Food objects in memory.</li>
+ * </ol>
+ * Once the catalog is loaded, a refresh therefore costs one or two queries, whatever the number of orders and items.
+ * Menu items referenced by several orders are shared between those orders.
+ * </p>
+ * <p>
+ * The order list only needs the headers of the orders (id, date, status and client): {@link #loadPendingHeaders()}
+ * and {@link #loadHeaders(Collection)} read them from VIEW_ORDER_SUMMARY, one row per order, without the items.
+ * The items of an order are loaded with {@link #loadOrders(Collection)} when it is displayed.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * ArrayList<Order> pendingOrders = OrderLoader.loadPendingOrders();
+ * ArrayList<Order> pendingHeaders = OrderLoader.loadPendingHeaders();
+ * }
+ * </pre>
+ * </p>
+ */
+public class OrderLoader {
+
+    // Columns of VIEW_ORDER_SUMMARY needed to build the orders and their line items.
+    private static final String ORDER_SUMMARY_COLUMNS =
+            "SELECT orderId, orderDate, status, clientLastName, itemType, itemId, quantity FROM VIEW_ORDER_SUMMARY ";
+
+    // Orders waiting to be accepted, oldest first.
+    private static final String PENDING_ORDERS_QUERY = ORDER_SUMMARY_COLUMNS +
+            "WHERE status = 'PENDING' ORDER BY orderDate, orderId";
+
+    // Orders selected by id, oldest first; the IN list is completed at run time.
+    private static final String ORDERS_BY_ID_QUERY = ORDER_SUMMARY_COLUMNS +
+            "WHERE orderId IN (%s) ORDER BY orderDate, orderId";
+
+    // Columns of the order headers, one row per order instead of one per line item.
+    private static final String ORDER_HEADER_COLUMNS =
+            "SELECT DISTINCT orderId, orderDate, status, clientLastName FROM VIEW_ORDER_SUMMARY ";
+
+    // Headers of the orders waiting to be accepted, oldest first.
+    private static final String PENDING_HEADERS_QUERY = ORDER_HEADER_COLUMNS +
+            "WHERE status = 'PENDING' ORDER BY orderDate, orderId";
+
+    // Headers of orders selected by id, oldest first; the IN list is completed at run time.
+    private static final String HEADERS_BY_ID_QUERY = ORDER_HEADER_COLUMNS +
+            "WHERE orderId IN (%s) ORDER BY orderDate, orderId";
+
+    private static final String CUSTOM_PIZZAS_QUERY = "SELECT CustomPizzaId, OriginalPizzaId, " +
+            "IngredientAddedName, QuantityAdded, Unit1, IngredientRemovedName, QuantityRemoved, Unit2 " +
+            "FROM VIEW_CUSTOM_PIZZAS_WITH_INGREDIENTS WHERE CustomPizzaId IN (%s)";
+
+    /**
+     * A line of an order as read from VIEW_ORDER_SUMMARY, before its Food item is resolved.
+     */
+    private static class LineItem {
+        private final Order order;
+        private final ItemType itemType;
+        private final int itemId;
+        private final int quantity;
+
+        private LineItem(Order order, ItemType itemType, int itemId, int quantity) {
+            this.order = order;
+            this.itemType = itemType;
+            this.itemId = itemId;
+            this.quantity = quantity;
+        }
+    }
+
+    /**
+     * The customizations of a custom pizza, as read from VIEW_CUSTOM_PIZZAS_WITH_INGREDIENTS.
+     */
+    private static class Customization {
+        private final int originalPizzaId;
+        private final List<IngredientQuantity> addedIngredients = new ArrayList<>();
+        private final List<IngredientQuantity> removedIngredients = new ArrayList<>();
+
+        private Customization(int originalPizzaId) {
+            this.originalPizzaId = originalPizzaId;
+        }
+    }
+
+    /**
+     * Loads all the orders whose status is PENDING, oldest first.
+     *
+     * @return The pending orders with all their items.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static ArrayList<Order> loadPendingOrders() throws SQLException {
+        return assemble(PENDING_ORDERS_QUERY);
+    }
+
+    /**
+     * Loads the orders with the given ids, oldest first. Ids that do not exist are ignored.
+     *
+     * @param orderIds The ids of the orders to load.
+     * @return The orders with all their items.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static ArrayList<Order> loadOrders(Collection<Integer> orderIds) throws SQLException {
+        if (orderIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sqlQuery = String.format(ORDERS_BY_ID_QUERY, DatabaseManager.buildPlaceholders(orderIds.size()));
+        return assemble(sqlQuery, orderIds.toArray());
+    }
+
+    /**
+     * Loads the headers of all the orders whose status is PENDING, oldest first.
+     * The orders have no items: see {@link Order#isDetailed()}.
+     *
+     * @return The headers of the pending orders.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static ArrayList<Order> loadPendingHeaders() throws SQLException {
+        return queryHeaders(PENDING_HEADERS_QUERY);
+    }
+
+    /**
+     * Loads the headers of the orders with the given ids, oldest first. Ids that do not exist are ignored.
+     * The orders have no items: see {@link Order#isDetailed()}.
+     *
+     * @param orderIds The ids of the orders to load.
+     * @return The headers of the orders.
+     * @throws SQLException If a database access error occurs.
+     */
+    public static ArrayList<Order> loadHeaders(Collection<Integer> orderIds) throws SQLException {
+        if (orderIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String sqlQuery = String.format(HEADERS_BY_ID_QUERY, DatabaseManager.buildPlaceholders(orderIds.size()));
+        return queryHeaders(sqlQuery, orderIds.toArray());
+    }
+
+    /**
+     * Builds the order headers from the rows of a query on VIEW_ORDER_SUMMARY.
+     *
+     * @param headerQuery The query, returning one row per order.
+     * @param parameters  The values to be injected into the query.
+     * @return The orders, without items, in the order of the rows.
+     * @throws SQLException If a database access error occurs.
+     */
+    private static ArrayList<Order> queryHeaders(String headerQuery, Object... parameters) throws SQLException {
+        ArrayList<Order> orders = new ArrayList<>();
+        DatabaseManager.forEachRow(headerQuery, header -> {
+            Order order = new Order(header.getInt("orderId"), header.getObject("orderDate", LocalDateTime.class),
+                    header.getString("clientLastName"));
+            order.setStatus(Order.Status.valueOf(header.getString("status")));
+            orders.add(order);
+        }, parameters);
+        return orders;
+    }
+
+    /**
+     * Builds the orders from the rows of VIEW_ORDER_SUMMARY, then resolves every referenced item from the catalog.
+     * The rows are streamed, and the catalog is only queried once all of them have been read.
+     *
+     * @param summaryQuery The query on VIEW_ORDER_SUMMARY, sorted by order.
+     * @param parameters   The values to be injected into the query.
+     * @return The assembled orders, in the order of the rows.
+     * @throws SQLException If a database access error occurs.
+     */
+    private static ArrayList<Order> assemble(String summaryQuery, Object... parameters) throws SQLException {
+        OrderHydrationEvent event = new OrderHydrationEvent();
+        event.begin();
+
+        // Orders by id, in the order of the rows (i.e. by date).
+        Map<Integer, Order> orders = new LinkedHashMap<>();
+        List<LineItem> lineItems = new ArrayList<>();
+
+        // Ids of the referenced items, grouped by item type.
+        Map<ItemType, Set<Integer>> idsByType = new EnumMap<>(ItemType.class);
+
+        DatabaseManager.forEachRow(summaryQuery, summary -> {
+            int orderId = summary.getInt("orderId");
+            Order order = orders.get(orderId);
+            if (order == null) {
+                // This assumes all items in an order share the same order date and client.
+                order = new Order(orderId, summary.getObject("orderDate", LocalDateTime.class), summary.getString("clientLastName"));
+                order.setStatus(Order.Status.valueOf(summary.getString("status")));
+                orders.put(orderId, order);
+            }
+
+            ItemType itemType = ItemType.fromDatabaseValue(summary.getString("itemType"));
+            int itemId = summary.getInt("itemId");
+            lineItems.add(new LineItem(order, itemType, itemId, summary.getInt("quantity")));
+            idsByType.computeIfAbsent(itemType, k -> new LinkedHashSet<>()).add(itemId);
+        }, parameters);
+
+        // Custom pizzas must be loaded first: the pizzas they are based on are resolved with the other pizzas.
+        Map<Integer, Customization> customizations = loadCustomizations(idsByType.get(ItemType.PIZZA_CUSTOM));
+        Set<Integer> pizzaIds = idsByType.computeIfAbsent(ItemType.PIZZA, k -> new LinkedHashSet<>());
+        for (Customization customization : customizations.values()) {
+            pizzaIds.add(customization.originalPizzaId);
+        }
+
+        // Resolve the menu items of every type from the catalog.
+        MenuCatalog catalog = MenuCatalog.getInstance();
+        Map<ItemType, Map<Integer, Food>> itemsByType = new EnumMap<>(ItemType.class);
+        for (Map.Entry<ItemType, Set<Integer>> entry : idsByType.entrySet()) {
+            if (entry.getKey() != ItemType.PIZZA_CUSTOM && !entry.getValue().isEmpty()) {
+                itemsByType.put(entry.getKey(), catalog.getItems(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        // Resolve every line item against the loaded items and add it to its order.
+        for (LineItem lineItem : lineItems) {
+            Food item;
+            if (lineItem.itemType == ItemType.PIZZA_CUSTOM) {
+                item = createCustomPizza(lineItem.itemId, customizations, itemsByType.get(ItemType.PIZZA));
+            } else {
+                item = itemsByType.get(lineItem.itemType).get(lineItem.itemId);
+            }
+            if (item == null) {
+                throw new SQLException(lineItem.itemType + " " + lineItem.itemId + " not found for order "
+                        + lineItem.order.getId());
+            }
+            lineItem.order.addItem(item, lineItem.quantity);
+        }
+
+        event.end(orders.keySet(), lineItems.size());
+        return new ArrayList<>(orders.values());
+    }
+
+    /**
+     * Loads the added and removed ingredients of the given custom pizzas.
+     *
+     * @param customPizzaIds The ids of the custom pizzas; can be null.
+     * @return The customizations by custom pizza id.
+     * @throws SQLException If a database access error occurs.
+     */
+    private static Map<Integer, Customization> loadCustomizations(Set<Integer> customPizzaIds) throws SQLException {
+        Map<Integer, Customization> customizations = new HashMap<>();
+        if (customPizzaIds == null || customPizzaIds.isEmpty()) {
+            return customizations;
+        }
+
+        String sqlQuery = String.format(CUSTOM_PIZZAS_QUERY, DatabaseManager.buildPlaceholders(customPizzaIds.size()));
+        DatabaseManager.forEachRow(sqlQuery, resultSet -> {
+            int customPizzaId = resultSet.getInt("CustomPizzaId");
+            int originalPizzaId = resultSet.getInt("OriginalPizzaId");
+            Customization customization = customizations.computeIfAbsent(customPizzaId,
+                    k -> new Customization(originalPizzaId));
+
+            // "Empty" marks a row without an added or without a removed ingredient.
+            if (!resultSet.getString("IngredientAddedName").equals("Empty")) {
+                customization.addedIngredients.add(IngredientQuantity.of(
+                        resultSet.getString("IngredientAddedName"),
+                        resultSet.getFloat("QuantityAdded"),
+                        resultSet.getString("Unit1")));
+            }
+            if (!resultSet.getString("IngredientRemovedName").equals("Empty")) {
+                customization.removedIngredients.add(IngredientQuantity.of(
+                        resultSet.getString("IngredientRemovedName"),
+                        resultSet.getFloat("QuantityRemoved"),
+                        resultSet.getString("Unit2")));
+            }
+        }, customPizzaIds.toArray());
+        return customizations;
+    }
+
+    /**
+     * Creates a custom pizza from its customizations and the pizza it is based on.
+     *
+     * @param customPizzaId  The id of the custom pizza.
+     * @param customizations The loaded customizations.
+     * @param pizzas         The loaded pizzas.
+     * @return The custom pizza.
+     * @throws SQLException If the customizations or the original pizza were not found.
+     */
+    private static Food createCustomPizza(int customPizzaId, Map<Integer, Customization> customizations,
+                                          Map<Integer, Food> pizzas) throws SQLException {
+        Customization customization = customizations.get(customPizzaId);
+        if (customization == null) {
+            throw new SQLException("Original pizza ID not found for custom pizza ID: " + customPizzaId);
+        }
+        Pizza originalPizza = (Pizza) pizzas.get(customization.originalPizzaId);
+        if (originalPizza == null) {
+            throw new SQLException("Pizza " + customization.originalPizzaId + " not found for custom pizza ID: "
+                    + customPizzaId);
+        }
+        return new PizzaCustom(originalPizza, customPizzaId, customization.addedIngredients,
+                customization.removedIngredients);
+    }
+}
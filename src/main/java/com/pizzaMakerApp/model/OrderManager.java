@@ -1,51 +1,107 @@
 package com.pizzaMakerApp.model;
 
+import com.pizzaMakerApp.config.AppConfig;
+import com.pizzaMakerApp.monitoring.OrderLoadEvent;
 import com.pizzaMakerApp.utils.DatabaseManager;
+import com.pizzaMakerApp.utils.IntHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 
 /**
  * Manages a collection of Order objects within the pizza maker application.
  * This class is responsible for loading and accessing orders from the database.
+ * <p>
+ * The orders are indexed twice: by id, in a primitive {@link IntHashMap} (constant time lookup), and by date,
+ * in a sorted set (logarithmic insertion and removal, and range queries by time window). The date of an order
+ * must therefore not be changed while the order is managed.
+ * </p>
+ * <p>
+ * The orders are loaded as headers, without their items, so loading and refreshing the list costs one row per
+ * order whatever the size of the orders. The items of an order are loaded when it is displayed, and the detailed
+ * order replaces its header with {@link #putDetails(Collection)}. Only the last {@link AppConfig#DETAIL_CACHE_SIZE}
+ * detailed orders are kept: the least recently used ones are replaced by their header again.
+ * </p>
  */
 public class OrderManager {
-    // A list to store Order objects.
+    // SQL query to fetch the ids of the pending orders, used to detect new and removed orders.
+    private static final String PENDING_ORDER_IDS_QUERY =
+            "SELECT DISTINCT orderId FROM VIEW_ORDER_SUMMARY WHERE status = 'PENDING'";
+
+    // Orders are sorted by date, then by id for orders made at the same time.
+    private static final Comparator<Order> BY_DATE = Comparator.comparing(Order::getDateTime,
+                    Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparingInt(Order::getId);
+
+    // The orders by id.
+    private final IntHashMap<Order> ordersById;
+
+    // The orders sorted by date, from the oldest to the newest.
+    private final TreeSet<Order> ordersByDate;
+
+    // The sorted list returned by getOrders, rebuilt after each change; null when it must be rebuilt.
     private ArrayList<Order> orders;
 
+    // The ids of the managed orders whose items are loaded, the least recently used first.
+    private final LinkedHashMap<Integer, Boolean> detailedIds = new LinkedHashMap<>(16, 0.75f, true);
+
     /**
      * Constructor for OrderManager.
      * Initializes the order list and loads orders from the database upon creation.
      */
     public OrderManager() {
-        // Initialize the orders ArrayList.
-        this.orders = new ArrayList<>();
+        // Initialize the indexes.
+        this.ordersById = new IntHashMap<>();
+        this.ordersByDate = new TreeSet<>(BY_DATE);
 
         // Load orders from the database.
         loadOrders();
     }
 
+    /**
+     * Constructor for OrderManager from orders already in memory, e.g. read from an {@link OrderSnapshot}.
+     * No query is executed; the orders are expected to be reconciled with the database later,
+     * with {@link #fetchDelta(Set)} and {@link #applyDelta(OrderDelta)}.
+     *
+     * @param orders The initial orders.
+     */
+    public OrderManager(Collection<Order> orders) {
+        // Initialize the indexes.
+        this.ordersById = new IntHashMap<>(orders.size());
+        this.ordersByDate = new TreeSet<>(BY_DATE);
+
+        for (Order order : orders) {
+            addOrder(order);
+        }
+    }
+
     /**
      * Loads orders from the database.
-     * This method fetches order data from the VIEW_ORDER_SUMMARY and creates Order objects.
+     * The headers of all the pending orders are fetched with a single query of the {@link OrderLoader};
+     * their items are loaded later, when they are displayed.
      */
     public void loadOrders() {
-        // SQL query to fetch unique orders. Orders are sorted by date.
-        String sqlQuery = "SELECT DISTINCT orderId, orderDate FROM VIEW_ORDER_SUMMARY " +
-                "WHERE status = 'PENDING' ORDER BY orderDate";
+        OrderLoadEvent event = new OrderLoadEvent();
+        event.begin();
         try {
-            // Execute the SQL query.
-            ResultSet resultSet = DatabaseManager.sendQuery(sqlQuery);
-
-            // Iterate through the result set to create and add Order objects to the list.
-            while (resultSet.next()) {
-                int orderId = resultSet.getInt("orderId");
-                Order order = new Order(orderId);
-                orders.add(order);
+            // Load the header of every pending order and index them.
+            List<Order> pendingOrders = OrderLoader.loadPendingHeaders();
+            for (Order order : pendingOrders) {
+                addOrder(order);
             }
+            event.end(OrderLoadEvent.INITIAL_LOAD, pendingOrders.size(), 0);
         } catch (SQLException e) {
             // Log an error in case of SQL exception.
             Logger logger = LoggerFactory.getLogger(OrderManager.class);
@@ -54,14 +110,295 @@ public class OrderManager {
     }
 
     /**
-     * Retrieves a list of all orders.
+     * Refreshes the orders incrementally: only the orders that became pending are loaded,
+     * and the orders that are no longer pending are removed. The other orders are kept as they are.
+     *
+     * @return True if the list of orders changed.
+     */
+    public boolean refreshOrders() {
+        try {
+            OrderDelta delta = fetchDelta(getOrderIds());
+            applyDelta(delta);
+            return !delta.isEmpty();
+        } catch (SQLException e) {
+            // Log an error in case of SQL exception; the current orders are kept.
+            Logger logger = LoggerFactory.getLogger(OrderManager.class);
+            logger.error("Error refreshing orders", e);
+            return false;
+        }
+    }
+
+    /**
+     * Computes the changes of the pending queue since the last refresh.
+     * Only the ids of the pending orders are read; the headers are loaded only for the new orders,
+     * so the cost of a refresh depends on the number of changes, not on the number of pending orders.
+     * <p>
+     * This method does not read or modify the list of orders, so it can run on a background thread
+     * while the list is used by the views.
+     * </p>
+     *
+     * @param knownIds The ids of the orders already known, as returned by {@link #getOrderIds()}.
+     * @return The OrderDelta to apply with {@link #applyDelta(OrderDelta)}.
+     * @throws SQLException If a database access error occurs.
+     */
+    public OrderDelta fetchDelta(Set<Integer> knownIds) throws SQLException {
+        OrderLoadEvent event = new OrderLoadEvent();
+        event.begin();
+
+        // Ids of the orders currently pending in the database.
+        Set<Integer> pendingIds = new HashSet<>();
+        DatabaseManager.forEachRow(PENDING_ORDER_IDS_QUERY, row -> pendingIds.add(row.getInt("orderId")));
+
+        // Orders that are known but no longer pending have been accepted, refused or deleted.
+        Set<Integer> removedIds = new HashSet<>(knownIds);
+        removedIds.removeAll(pendingIds);
+
+        // Orders that are pending but not known yet are new: only those are loaded.
+        List<Integer> addedIds = new ArrayList<>();
+        for (int id : pendingIds) {
+            if (!knownIds.contains(id)) {
+                addedIds.add(id);
+            }
+        }
+
+        List<Order> addedOrders = OrderLoader.loadHeaders(addedIds);
+        event.end(OrderLoadEvent.FULL_REFRESH, addedOrders.size(), removedIds.size());
+        return new OrderDelta(addedOrders, removedIds);
+    }
+
+    /**
+     * Computes the changes of the pending queue from the rows of the change log, without reading the queue:
+     * only the headers of the orders that became pending and are not known yet are loaded.
+     * <p>
+     * Like {@link #fetchDelta(Set)}, this method does not read or modify the list of orders.
+     * </p>
+     *
+     * @param changes  The changes of the log, in the order of the log.
+     * @param knownIds The ids of the orders already known, as returned by {@link #getOrderIds()}.
+     * @return The OrderDelta to apply with {@link #applyDelta(OrderDelta)}.
+     * @throws SQLException If a database access error occurs.
+     */
+    public OrderDelta fetchDelta(List<OrderChange> changes, Set<Integer> knownIds) throws SQLException {
+        OrderLoadEvent event = new OrderLoadEvent();
+        event.begin();
+
+        // The last change of an order gives its current status.
+        Map<Integer, Order.Status> statuses = new LinkedHashMap<>();
+        for (OrderChange change : changes) {
+            statuses.put(change.getOrderId(), change.getStatus());
+        }
+
+        List<Integer> addedIds = new ArrayList<>();
+        Set<Integer> removedIds = new HashSet<>();
+        statuses.forEach((id, status) -> {
+            boolean known = knownIds.contains(id);
+            if (status == Order.Status.PENDING && !known) {
+                addedIds.add(id);
+            } else if (status != Order.Status.PENDING && known) {
+                removedIds.add(id);
+            }
+        });
+
+        List<Order> addedOrders = OrderLoader.loadHeaders(addedIds);
+        event.end(OrderLoadEvent.CHANGE_REFRESH, addedOrders.size(), removedIds.size());
+        return new OrderDelta(addedOrders, removedIds);
+    }
+
+    /**
+     * Applies a delta to the orders: removed orders are dropped and added orders are inserted at their position
+     * by date, so the orders stay sorted from the oldest to the newest one. Added orders that are already known
+     * are ignored.
+     *
+     * @param delta The changes to apply.
+     */
+    public void applyDelta(OrderDelta delta) {
+        for (int id : delta.getRemovedOrderIds()) {
+            removeOrder(id);
+        }
+        for (Order order : delta.getAddedOrders()) {
+            addOrder(order);
+        }
+    }
+
+    /**
+     * Adds an order to the indexes, unless an order with the same id is already managed.
+     *
+     * @param order The order to add.
+     * @return True if the order was added.
+     */
+    public boolean addOrder(Order order) {
+        if (ordersById.containsKey(order.getId())) {
+            return false;
+        }
+        ordersById.put(order.getId(), order);
+        ordersByDate.add(order);
+        orders = null;
+        if (order.isDetailed()) {
+            touchDetails(order.getId());
+        }
+        return true;
+    }
+
+    /**
+     * Removes an order from the indexes.
+     *
+     * @param id The ID of the order to remove.
+     * @return The removed order, or null if no order has this ID.
+     */
+    public Order removeOrder(int id) {
+        Order order = ordersById.remove(id);
+        if (order != null) {
+            ordersByDate.remove(order);
+            orders = null;
+            detailedIds.remove(id);
+        }
+        return order;
+    }
+
+    /**
+     * Replaces managed orders with their detailed version, loaded with {@link OrderLoader#loadOrders(Collection)}.
+     * Orders no longer managed, e.g. accepted in the meantime, are ignored; the others keep the status known by
+     * the manager. Beyond {@link AppConfig#DETAIL_CACHE_SIZE} detailed orders, the least recently used ones are
+     * replaced by their header.
+     *
+     * @param detailedOrders The detailed orders.
+     * @return True if an order of the list was replaced.
+     */
+    public boolean putDetails(Collection<Order> detailedOrders) {
+        boolean replaced = false;
+        for (Order order : detailedOrders) {
+            Order current = ordersById.get(order.getId());
+            if (current == null || current == order || !order.isDetailed()) {
+                continue;
+            }
+            order.setStatus(current.getStatus());
+            replace(current, order);
+            detailedIds.put(order.getId(), Boolean.TRUE);
+            replaced = true;
+        }
+        releaseDetails();
+        return replaced;
+    }
+
+    /**
+     * Marks the items of an order as used, e.g. when it is displayed, so that they are the last ones released.
+     *
+     * @param id The ID of the order.
+     */
+    public void touchDetails(int id) {
+        Order order = ordersById.get(id);
+        if (order != null && order.isDetailed()) {
+            detailedIds.put(id, Boolean.TRUE);
+            releaseDetails();
+        }
+    }
+
+    /**
+     * Replaces the least recently used detailed orders by their header, down to {@link AppConfig#DETAIL_CACHE_SIZE}
+     * detailed orders.
+     */
+    private void releaseDetails() {
+        Iterator<Integer> eldest = detailedIds.keySet().iterator();
+        while (detailedIds.size() > AppConfig.DETAIL_CACHE_SIZE) {
+            Order order = ordersById.get(eldest.next());
+            eldest.remove();
+            replace(order, order.toHeader());
+        }
+    }
+
+    /**
+     * Replaces a managed order by another object of the same order, with the same id and date.
+     *
+     * @param current     The managed order.
+     * @param replacement The order replacing it.
+     */
+    private void replace(Order current, Order replacement) {
+        ordersByDate.remove(current);
+        ordersById.put(replacement.getId(), replacement);
+        ordersByDate.add(replacement);
+        orders = null;
+    }
+
+    /**
+     * Retrieves the ids of all the orders.
+     *
+     * @return A new set containing the order ids.
+     */
+    public Set<Integer> getOrderIds() {
+        Set<Integer> ids = new HashSet<>();
+        ordersById.forEachKey(ids::add);
+        return ids;
+    }
+
+    /**
+     * Retrieves a list of all orders, sorted from the oldest to the newest.
+     * The list must not be modified; it is rebuilt after each change of the orders.
      *
      * @return An ArrayList containing all Order objects.
      */
     public ArrayList<Order> getOrders() {
+        if (orders == null) {
+            orders = new ArrayList<>(ordersByDate);
+        }
         return orders;
     }
 
+    /**
+     * Retrieves the orders made in a time window, sorted from the oldest to the newest.
+     *
+     * @param from The start of the window, inclusive.
+     * @param to   The end of the window, exclusive.
+     * @return A new list containing the orders made in the window.
+     */
+    public List<Order> getOrdersBetween(LocalDateTime from, LocalDateTime to) {
+        if (!from.isBefore(to)) {
+            return new ArrayList<>();
+        }
+        // Orders with the smallest possible id at each bound, so that all the orders made at "from" are included
+        // and all the orders made at "to" are excluded.
+        Order lowerBound = new Order(Integer.MIN_VALUE, from, null);
+        Order upperBound = new Order(Integer.MIN_VALUE, to, null);
+        return new ArrayList<>(ordersByDate.subSet(lowerBound, true, upperBound, false));
+    }
+
+    /**
+     * Retrieves the orders made before a given time, sorted from the oldest to the newest.
+     *
+     * @param to The end of the window, exclusive.
+     * @return A new list containing the orders made before the given time.
+     */
+    public List<Order> getOrdersBefore(LocalDateTime to) {
+        return new ArrayList<>(ordersByDate.headSet(new Order(Integer.MIN_VALUE, to, null), false));
+    }
+
+    /**
+     * Retrieves the oldest order, i.e. the next one to prepare.
+     *
+     * @return The oldest order, or null if there is no order.
+     */
+    public Order getOldestOrder() {
+        return ordersByDate.isEmpty() ? null : ordersByDate.first();
+    }
+
+    /**
+     * Retrieves the number of orders.
+     *
+     * @return The number of orders.
+     */
+    public int size() {
+        return ordersById.size();
+    }
+
+    /**
+     * Retrieves an order by its ID, if it is managed.
+     *
+     * @param id The ID of the order to retrieve.
+     * @return The Order object with the specified ID, or null if there is none.
+     */
+    public Order findOrder(int id) {
+        return ordersById.get(id);
+    }
+
     /**
      * Retrieves an order by its ID.
      *
@@ -70,14 +407,11 @@ public class OrderManager {
      * @throws IllegalArgumentException if an order with the given ID does not exist.
      */
     public Order getOrderById(int id) throws IllegalArgumentException {
-        // Iterate through the list of orders to find the one with the matching ID.
-        for (Order order : orders) {
-            if (order.getId() == id) {
-                return order;
-            }
+        Order order = ordersById.get(id);
+        if (order == null) {
+            // If no order is found with the given ID, throw an IllegalArgumentException.
+            throw new IllegalArgumentException("Order with ID " + id + " not found");
         }
-
-        // If no order is found with the given ID, throw an IllegalArgumentException.
-        throw new IllegalArgumentException("Order with ID " + id + " not found");
+        return order;
     }
 }
@@ -0,0 +1,471 @@
+package com.pizzaMakerApp.model;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * OrderSnapshot is a compact binary copy of the menu catalog and of the pending order queue, saved to a local file
+ * so that the application can display the last known orders as soon as it starts, before the database answers.
+ * <p>
+ * The file is read through a memory-mapped buffer and decoded in a single pass. Menu items are stored once and
+ * referenced by the order lines, like in the database; custom pizzas are stored with their original pizza and
+ * their ingredient changes. A CRC32 of the content ends the file: a truncated or corrupted snapshot is ignored.
+ * The file is replaced atomically when it is saved.
+ * </p>
+ * <p>
+ * A snapshot may be outdated: it must be reconciled with the database (see {@link OrderManager#fetchDelta}).
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * OrderSnapshot snapshot = OrderSnapshot.load(Path.of(AppConfig.SNAPSHOT_FILE));
+ * OrderManager orderManager = new OrderManager(snapshot == null ? List.of() : snapshot.getOrders());
+ * }
+ * </pre>
+ * </p>
+ */
+public class OrderSnapshot {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderSnapshot.class);
+
+    // "PZSN", the first bytes of a snapshot file.
+    private static final int MAGIC = 0x505A534E;
+
+    // Incremented whenever the format changes; snapshots of other versions are ignored.
+    private static final int VERSION = 3;
+
+    // The time (epoch milliseconds) at which the snapshot was saved.
+    private final long savedAt;
+
+    private final Map<ItemType, List<Food>> catalogItems;
+
+    private final List<Order> orders;
+
+    private OrderSnapshot(long savedAt, Map<ItemType, List<Food>> catalogItems, List<Order> orders) {
+        this.savedAt = savedAt;
+        this.catalogItems = catalogItems;
+        this.orders = orders;
+    }
+
+    /**
+     * Gets the time at which the snapshot was saved.
+     *
+     * @return The save time, in epoch milliseconds.
+     */
+    public long getSavedAt() {
+        return savedAt;
+    }
+
+    /**
+     * Gets the menu items of the snapshot, to be restored in the {@link MenuCatalog}.
+     *
+     * @return The items by type.
+     */
+    public Map<ItemType, List<Food>> getCatalogItems() {
+        return catalogItems;
+    }
+
+    /**
+     * Gets the pending orders of the snapshot, oldest first.
+     *
+     * @return The orders, with all their items.
+     */
+    public List<Order> getOrders() {
+        return orders;
+    }
+
+    /**
+     * Saves the menu catalog and the pending orders to a snapshot file, replacing any previous snapshot.
+     *
+     * @param file         The snapshot file.
+     * @param catalogItems The menu items by type.
+     * @param orders       The pending orders.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void save(Path file, Map<ItemType, List<Food>> catalogItems, List<Order> orders)
+            throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+
+        // Every menu item referenced by an order must be in the item table, even if the catalog evicted it.
+        Map<ItemType, Map<Integer, Food>> items = new EnumMap<>(ItemType.class);
+        for (Map.Entry<ItemType, List<Food>> entry : catalogItems.entrySet()) {
+            for (Food item : entry.getValue()) {
+                items.computeIfAbsent(entry.getKey(), k -> new HashMap<>()).put(item.getId(), item);
+            }
+        }
+        for (Order order : orders) {
+            for (Food item : order.getItems()) {
+                ItemType type = typeOf(item);
+                if (type != ItemType.PIZZA_CUSTOM) {
+                    items.computeIfAbsent(type, k -> new HashMap<>()).putIfAbsent(item.getId(), item);
+                }
+            }
+        }
+
+        CRC32 checksum = new CRC32();
+        try (OutputStream fileOutput = Files.newOutputStream(temporary, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+             DataOutputStream output = new DataOutputStream(new CheckedOutputStream(
+                     new BufferedOutputStream(fileOutput, 64 * 1024), checksum))) {
+            output.writeInt(MAGIC);
+            output.writeInt(VERSION);
+            output.writeLong(System.currentTimeMillis());
+
+            int itemCount = 0;
+            for (Map<Integer, Food> itemsOfType : items.values()) {
+                itemCount += itemsOfType.size();
+            }
+            output.writeInt(itemCount);
+            for (Map.Entry<ItemType, Map<Integer, Food>> entry : items.entrySet()) {
+                for (Food item : entry.getValue().values()) {
+                    output.writeByte(entry.getKey().ordinal());
+                    writeItem(output, item);
+                }
+            }
+
+            output.writeInt(orders.size());
+            for (Order order : orders) {
+                writeOrder(output, order);
+            }
+
+            // The checksum covers everything written so far.
+            output.flush();
+            output.writeLong(checksum.getValue());
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a snapshot file.
+     *
+     * @param file The snapshot file.
+     * @return The snapshot, or null if there is no snapshot or if it cannot be read.
+     */
+    public static OrderSnapshot load(Path file) {
+        long start = System.nanoTime();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 24 || size > Integer.MAX_VALUE) {
+                LOGGER.warn("Ignoring the snapshot {}: invalid size {}", file, size);
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+
+            // Check the content against the trailing checksum before decoding it.
+            CRC32 checksum = new CRC32();
+            ByteBuffer content = buffer.slice(0, (int) size - Long.BYTES);
+            checksum.update(content);
+            if (checksum.getValue() != buffer.getLong((int) size - Long.BYTES)) {
+                LOGGER.warn("Ignoring the snapshot {}: checksum mismatch", file);
+                return null;
+            }
+
+            buffer.limit((int) size - Long.BYTES);
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                LOGGER.warn("Ignoring the snapshot {}: unknown format", file);
+                return null;
+            }
+            OrderSnapshot snapshot = read(buffer);
+            LOGGER.info("Snapshot loaded: {} orders from {} in {} ms", snapshot.orders.size(),
+                    Instant.ofEpochMilli(snapshot.savedAt), (System.nanoTime() - start) / 1_000_000);
+            return snapshot;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            // Includes BufferUnderflowException and invalid enum ordinals of a damaged file.
+            LOGGER.warn("Ignoring the snapshot {}: it cannot be read", file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Decodes the item table and the orders of a snapshot.
+     *
+     * @param buffer The content of the snapshot, positioned after the version.
+     * @return The snapshot.
+     * @throws BufferUnderflowException If the content is truncated.
+     */
+    private static OrderSnapshot read(ByteBuffer buffer) {
+        long savedAt = buffer.getLong();
+
+        ItemType[] types = ItemType.values();
+        Map<ItemType, List<Food>> catalogItems = new EnumMap<>(ItemType.class);
+        Map<Long, Food> itemsByKey = new HashMap<>();
+        int itemCount = buffer.getInt();
+        for (int i = 0; i < itemCount; i++) {
+            ItemType type = types[buffer.get()];
+            Food item = readItem(buffer, type);
+            catalogItems.computeIfAbsent(type, k -> new ArrayList<>()).add(item);
+            itemsByKey.put(key(type, item.getId()), item);
+        }
+
+        Order.Status[] statuses = Order.Status.values();
+        int orderCount = buffer.getInt();
+        List<Order> orders = new ArrayList<>(orderCount);
+        for (int i = 0; i < orderCount; i++) {
+            int id = buffer.getInt();
+            long date = buffer.getLong();
+            Order order = new Order(id, date == Long.MIN_VALUE ? null : toDateTime(date), readString(buffer));
+            order.setStatus(statuses[buffer.get()]);
+
+            int lineCount = buffer.getInt();
+            for (int j = 0; j < lineCount; j++) {
+                ItemType type = types[buffer.get()];
+                int quantity = buffer.getInt();
+                Food item;
+                if (type == ItemType.PIZZA_CUSTOM) {
+                    int customPizzaId = buffer.getInt();
+                    Pizza originalPizza = (Pizza) readItem(buffer, ItemType.PIZZA);
+                    List<IngredientQuantity> added = readIngredients(buffer);
+                    List<IngredientQuantity> removed = readIngredients(buffer);
+                    item = new PizzaCustom(originalPizza, customPizzaId, added, removed);
+                } else {
+                    int itemId = buffer.getInt();
+                    item = itemsByKey.get(key(type, itemId));
+                    if (item == null) {
+                        throw new IllegalStateException(type + " " + itemId + " missing from the snapshot");
+                    }
+                }
+                order.addItem(item, quantity);
+            }
+            orders.add(order);
+        }
+        return new OrderSnapshot(savedAt, catalogItems, orders);
+    }
+
+    /**
+     * Writes an order and its lines. Menu items are written as references to the item table.
+     *
+     * @param output The output.
+     * @param order  The order.
+     * @throws IOException If the order cannot be written.
+     */
+    private static void writeOrder(DataOutputStream output, Order order) throws IOException {
+        output.writeInt(order.getId());
+        output.writeLong(order.getDateTime() == null ? Long.MIN_VALUE : toMillis(order.getDateTime()));
+        writeString(output, order.getClientName());
+        output.writeByte(order.getStatus().ordinal());
+
+        List<Food> items = order.getItems();
+        List<Integer> quantities = order.getQuantity();
+        output.writeInt(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            Food item = items.get(i);
+            ItemType type = typeOf(item);
+            output.writeByte(type.ordinal());
+            output.writeInt(quantities.get(i));
+            if (item instanceof PizzaCustom customPizza) {
+                output.writeInt(customPizza.getCustomPizzaId());
+                writeItem(output, customPizza.getOriginalPizza());
+                writeIngredients(output, customPizza.getAddedIngredients());
+                writeIngredients(output, customPizza.getRemovedIngredients());
+            } else {
+                output.writeInt(item.getId());
+            }
+        }
+    }
+
+    /**
+     * Writes a menu item, without its type.
+     *
+     * @param output The output.
+     * @param item   The item.
+     * @throws IOException If the item cannot be written.
+     */
+    private static void writeItem(DataOutputStream output, Food item) throws IOException {
+        output.writeInt(item.getId());
+        writeString(output, item.getName());
+        output.writeFloat(item.getPrice());
+        if (item instanceof Wine wine) {
+            writeString(output, wine.getDomain());
+            writeString(output, wine.getOrigin());
+            output.writeInt(wine.getYear());
+            output.writeByte(wine.getColor().ordinal());
+            output.writeByte(wine.getBottleType().ordinal());
+        } else if (item instanceof Soda soda) {
+            output.writeByte(soda.getBottleType().ordinal());
+        } else {
+            writeIngredients(output, item.getIngredientList());
+        }
+    }
+
+    /**
+     * Reads a menu item of a given type.
+     *
+     * @param buffer The input.
+     * @param type   The type of the item; must not be PIZZA_CUSTOM.
+     * @return The item.
+     */
+    private static Food readItem(ByteBuffer buffer, ItemType type) {
+        int id = buffer.getInt();
+        String name = readString(buffer);
+        float price = buffer.getFloat();
+        return switch (type) {
+            case PIZZA -> new Pizza(id, name, price, readIngredients(buffer));
+            case DESSERT -> new Dessert(id, name, price, readIngredients(buffer));
+            case COCKTAIL -> new Cocktail(id, name, price, readIngredients(buffer));
+            case WINE -> new Wine(id, name, price, readString(buffer), readString(buffer), buffer.getInt(),
+                    Wine.WineColor.values()[buffer.get()], Wine.BottleType.values()[buffer.get()]);
+            case SODA -> new Soda(id, name, price, Soda.BottleType.values()[buffer.get()]);
+            default -> throw new IllegalStateException("Unexpected value: " + type);
+        };
+    }
+
+    /**
+     * Writes a list of ingredients with their quantities.
+     *
+     * @param output      The output.
+     * @param ingredients The ingredients; null is written as an empty list.
+     * @throws IOException If the ingredients cannot be written.
+     */
+    private static void writeIngredients(DataOutputStream output, List<IngredientQuantity> ingredients)
+            throws IOException {
+        if (ingredients == null) {
+            output.writeShort(0);
+            return;
+        }
+        output.writeShort(ingredients.size());
+        for (IngredientQuantity ingredient : ingredients) {
+            writeString(output, ingredient.getIngredient().getName());
+            output.writeFloat(ingredient.getQuantity());
+            output.writeByte(ingredient.getUnit().ordinal());
+            writeString(output, ingredient.getSymbol());
+        }
+    }
+
+    /**
+     * Reads a list of ingredients with their quantities.
+     *
+     * @param buffer The input.
+     * @return The ingredients.
+     */
+    private static List<IngredientQuantity> readIngredients(ByteBuffer buffer) {
+        int count = buffer.getShort();
+        Unit[] units = Unit.values();
+        List<IngredientQuantity> ingredients = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Ingredient ingredient = Ingredient.of(readString(buffer));
+            float quantity = buffer.getFloat();
+            Unit unit = units[buffer.get()];
+            ingredients.add(new IngredientQuantity(ingredient, quantity, unit, readString(buffer)));
+        }
+        return ingredients;
+    }
+
+    /**
+     * Writes a string as its UTF-8 length and bytes; null is written with the length -1.
+     *
+     * @param output The output.
+     * @param value  The string, or null.
+     * @throws IOException If the string cannot be written.
+     */
+    private static void writeString(DataOutputStream output, String value) throws IOException {
+        if (value == null) {
+            output.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        output.writeInt(bytes.length);
+        output.write(bytes);
+    }
+
+    /**
+     * Reads a string written by {@link #writeString(DataOutputStream, String)}.
+     *
+     * @param buffer The input.
+     * @return The string, or null.
+     */
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Gets the type of a menu item.
+     *
+     * @param item The item.
+     * @return Its type.
+     */
+    private static ItemType typeOf(Food item) {
+        if (item instanceof PizzaCustom) {
+            return ItemType.PIZZA_CUSTOM;
+        } else if (item instanceof Pizza) {
+            return ItemType.PIZZA;
+        } else if (item instanceof Dessert) {
+            return ItemType.DESSERT;
+        } else if (item instanceof Cocktail) {
+            return ItemType.COCKTAIL;
+        } else if (item instanceof Wine) {
+            return ItemType.WINE;
+        } else if (item instanceof Soda) {
+            return ItemType.SODA;
+        }
+        throw new IllegalStateException("Unexpected value: " + item.getClass());
+    }
+
+    /**
+     * Builds the key of an item from its type and id.
+     *
+     * @param type The type of the item.
+     * @param id   The id of the item.
+     * @return The key.
+     */
+    private static long key(ItemType type, int id) {
+        return ((long) type.ordinal() << 32) | (id & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Encodes the date of an order, a local date and time, as a number of milliseconds.
+     *
+     * @param dateTime The date of the order.
+     * @return The milliseconds since the epoch, counting the date as UTC.
+     */
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    /**
+     * Decodes a date of an order encoded by {@link #toMillis(LocalDateTime)}.
+     *
+     * @param millis The milliseconds since the epoch, counting the date as UTC.
+     * @return The date of the order.
+     */
+    private static LocalDateTime toDateTime(long millis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,144 @@
+package com.pizzaMakerApp.model;
+
+import com.pizzaMakerApp.utils.DatabaseManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies status transitions to orders in CLIENT_ORDER, for one order or for many at once.
+ * <p>
+ * Every transition is a compare-and-set: the status is only written if the order is still in the status the
+ * caller expects ({@code WHERE orderId = ? AND status = ?}), and the transition must be allowed by
+ * {@link Order.Status#canTransitionTo(Order.Status)}. When several stations work on the same queue, exactly one
+ * of them wins each order; the others learn that they lost, and the status the order actually has, without any
+ * table lock.
+ * </p>
+ * <p>
+ * All the orders of a request are updated with a single JDBC batch inside one transaction, so accepting or
+ * refusing a dozen orders costs one round trip instead of one per order. The outcome is reported order by order
+ * in a {@link StatusChangeResult}. The orders that were moved, or found in the new status already, are then recorded
+ * in the {@link OrderChangeLog}, so that the other stations see them leave their queue without polling it.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * StatusChangeResult result = OrderStatusService.changeStatus(List.of(12, 15, 18), Order.Status.PREPARATION);
+ * List<Integer> lost = result.getRejectedOrderIds();
+ * }
+ * </pre>
+ * </p>
+ */
+public class OrderStatusService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(OrderStatusService.class);
+
+    private static final String UPDATE_STATUS_QUERY =
+            "UPDATE CLIENT_ORDER SET status = ? WHERE orderId = ? AND status = ?";
+
+    // Current status of the orders whose update was lost; the IN list is completed at run time.
+    private static final String CURRENT_STATUS_QUERY = "SELECT orderId, status FROM CLIENT_ORDER WHERE orderId IN (%s)";
+
+    /**
+     * Moves several pending orders to a new status, in one transaction.
+     *
+     * @param orderIds The ids of the orders; duplicates are ignored.
+     * @param status   The new status, PREPARATION (accept) or CANCELED (refuse).
+     * @return The outcome of every order.
+     * @throws SQLException If the batch fails; no order is updated in that case.
+     * @throws IllegalStateException If a pending order cannot be moved to the status.
+     */
+    public static StatusChangeResult changeStatus(Collection<Integer> orderIds, Order.Status status)
+            throws SQLException {
+        return changeStatus(orderIds, Order.Status.PENDING, status);
+    }
+
+    /**
+     * Moves several orders from an expected status to a new one, in one transaction. An order whose status in
+     * the database is no longer the expected one is left untouched and reported as lost.
+     *
+     * @param orderIds The ids of the orders; duplicates are ignored.
+     * @param expected The status the orders are expected to have.
+     * @param status   The new status.
+     * @return The outcome of every order.
+     * @throws SQLException If the batch fails; no order is updated in that case.
+     * @throws IllegalStateException If the transition from the expected status to the new one is not allowed.
+     */
+    public static StatusChangeResult changeStatus(Collection<Integer> orderIds, Order.Status expected,
+                                                  Order.Status status) throws SQLException {
+        if (!expected.canTransitionTo(status)) {
+            throw new IllegalStateException("Unexpected transition: " + expected + " -> " + status);
+        }
+
+        // One execution per distinct order, in the order of the request.
+        Set<Integer> distinctIds = new LinkedHashSet<>(orderIds);
+        List<Object[]> parameterRows = new ArrayList<>(distinctIds.size());
+        for (int orderId : distinctIds) {
+            parameterRows.add(new Object[]{status.name(), orderId, expected.name()});
+        }
+
+        long start = System.nanoTime();
+        int[] updatedRows = DatabaseManager.sendBatch(UPDATE_STATUS_QUERY, parameterRows);
+
+        Map<Integer, Boolean> outcomes = new LinkedHashMap<>();
+        List<Integer> lostIds = new ArrayList<>();
+        int i = 0;
+        for (int orderId : distinctIds) {
+            // A driver that does not report per-statement counts only returns once the whole batch succeeded.
+            int count = updatedRows[i++];
+            boolean won = count > 0 || count == Statement.SUCCESS_NO_INFO;
+            outcomes.put(orderId, won);
+            if (!won) {
+                lostIds.add(orderId);
+            }
+        }
+
+        StatusChangeResult result = new StatusChangeResult(expected, status, outcomes, loadStatuses(lostIds));
+
+        // An order found in the new status already may be a change written again after its reply was lost, or
+        // replayed after a crash before it was logged: log it again, a duplicate change is harmless to readers.
+        List<Integer> movedIds = result.getUpdatedOrderIds();
+        for (int orderId : lostIds) {
+            if (result.getCurrentStatus(orderId) == status) {
+                movedIds.add(orderId);
+            }
+        }
+        OrderChangeLog.record(movedIds, status);
+        if (!lostIds.isEmpty()) {
+            LOGGER.info("Orders {} were no longer {} and were not moved to {}", lostIds, expected, status);
+        }
+        LOGGER.debug("Moved {} of {} orders from {} to {} in {} us", distinctIds.size() - lostIds.size(),
+                distinctIds.size(), expected, status, (System.nanoTime() - start) / 1000);
+        return result;
+    }
+
+    /**
+     * Reads the current status of some orders.
+     *
+     * @param orderIds The ids of the orders.
+     * @return The status of every order that exists, by id.
+     * @throws SQLException If a database access error occurs.
+     */
+    private static Map<Integer, Order.Status> loadStatuses(List<Integer> orderIds) throws SQLException {
+        Map<Integer, Order.Status> statuses = new HashMap<>();
+        if (orderIds.isEmpty()) {
+            return statuses;
+        }
+        String sqlQuery = String.format(CURRENT_STATUS_QUERY, DatabaseManager.buildPlaceholders(orderIds.size()));
+        DatabaseManager.forEachRow(sqlQuery,
+                row -> statuses.put(row.getInt("orderId"), Order.Status.valueOf(row.getString("status"))),
+                orderIds.toArray());
+        return statuses;
+    }
+}
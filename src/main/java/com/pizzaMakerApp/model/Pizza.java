@@ -1,11 +1,10 @@
 package com.pizzaMakerApp.model;
 
-import com.pizzaMakerApp.utils.DatabaseManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.List;
 
 /**
  * Represents a Pizza in the pizza maker application.
@@ -21,81 +20,43 @@ public class Pizza extends Food {
      */
     public Pizza(int id) {
         this.id = id; // Set the pizza ID
-        loadPizzaDetails(); // Load pizza details (name, price, ingredients) from the database
+        loadPizzaDetails(); // Load pizza details (name, price, ingredients) from the menu catalog
     }
 
     /**
-     * Loads the basic details (name and price) of the pizza from the database.
-     * Calls another method to load the ingredients of the pizza.
+     * Constructor for the Pizza class from details already loaded from the database.
+     * No query is executed.
+     *
+     * @param id          The unique identifier of the pizza.
+     * @param name        The name of the pizza.
+     * @param price       The price of the pizza.
+     * @param ingredients The ingredients of the pizza with their quantities.
      */
-    private void loadPizzaDetails() {
-        // SQL query to fetch the name and price of the pizza with the given ID
-        String sqlQuery = "SELECT * FROM VIEW_PIZZA_INGREDIENTS WHERE id = ?";
-        try {
-            // Execute the query and process the result set
-            ResultSet resultSet = DatabaseManager.sendQuery(sqlQuery, this.id);
-            if (resultSet.next()) {
-                // Set the name and price of the pizza from the database results
-                this.name = resultSet.getString("name");
-                this.price = resultSet.getFloat("price");
-
-                // Load the ingredients of the pizza
-                this.loadPizzaIngredients();
-            }
-        } catch (SQLException e) {
-            // Log an error if there is an issue loading the pizza details
-            Logger logger = LoggerFactory.getLogger(Pizza.class);
-            logger.error("Error loading pizza details", e);
-        }
+    Pizza(int id, String name, float price, List<IngredientQuantity> ingredients) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.ingredients = List.copyOf(ingredients);
     }
 
     /**
-     * Loads the ingredients of the pizza from the database.
-     * Constructs a string representation of all the ingredients, including their quantities and units.
+     * Loads the details of the pizza (name, price and ingredients) from the {@link MenuCatalog}.
+     * The catalog only queries the database if the pizza is not already in memory.
      */
-    private void loadPizzaIngredients() {
-        // StringBuilder to build a string of ingredients.
-        StringBuilder ingredientsBuilder = new StringBuilder();
-
-        // SQL query to fetch ingredient details (name, quantity, unit) for the pizza.
-        String sqlQuery = "SELECT ingredientName, quantity, unit FROM VIEW_PIZZA_INGREDIENTS WHERE id = ?";
-
+    private void loadPizzaDetails() {
         try {
-            // Execute the query with the current pizza ID to fetch ingredient data.
-            ResultSet resultSet = DatabaseManager.sendQuery(sqlQuery, this.id);
-            boolean first = true; // Flag to help format the string (avoid leading comma)
-
-            // Iterate over each row in the result set.
-            while (resultSet.next()) {
-                if (!first) {
-                    // Append a comma separator if this is not the first ingredient.
-                    ingredientsBuilder.append(", ");
-                } else {
-                    // After processing the first ingredient, set flag to false.
-                    first = false;
-                }
-
-                // Retrieve each ingredient's name, quantity, and unit from the result set.
-                String ingredientName = resultSet.getString("ingredientName");
-                float quantity = resultSet.getFloat("quantity");
-                String unit = resultSet.getString("unit");
-
-                // Append the formatted ingredient to the ingredients string.
-                // Format: "IngredientName (Quantity Unit)"
-                ingredientsBuilder.append(ingredientName)
-                        .append(" (")
-                        .append(quantity)
-                        .append(" ")
-                        .append(unit)
-                        .append(")");
+            // Look the pizza up in the menu catalog
+            Food pizza = MenuCatalog.getInstance().getItem(ItemType.PIZZA, this.id);
+            if (pizza != null) {
+                // Copy the name, price and ingredients of the pizza
+                this.name = pizza.getName();
+                this.price = pizza.getPrice();
+                this.ingredients = pizza.getIngredientList();
             }
-
-            // Set the constructed ingredients string to the pizza's ingredients field.
-            this.ingredients = ingredientsBuilder.toString();
         } catch (SQLException e) {
-            // Log an error if there is an issue loading the pizza ingredients.
+            // Log an error if there is an issue loading the pizza details
             Logger logger = LoggerFactory.getLogger(Pizza.class);
-            logger.error("Error loading pizza ingredients", e);
+            logger.error("Error loading pizza details", e);
         }
     }
 }
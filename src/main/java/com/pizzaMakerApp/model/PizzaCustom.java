@@ -4,10 +4,10 @@ import com.pizzaMakerApp.utils.DatabaseManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
 
 /**
  * Represents a customized pizza in the pizza maker application.
@@ -18,6 +18,13 @@ public class PizzaCustom extends Pizza {
     // Unique identifier for the customized pizza.
     private final int customPizzaId;
 
+    // The pizza this custom pizza is based on, before any modification.
+    private final Pizza originalPizza;
+
+    // The ingredients added to and removed from the original pizza.
+    private List<IngredientQuantity> addedIngredients = List.of();
+    private List<IngredientQuantity> removedIngredients = List.of();
+
     // Constant representing the additional cost per added ingredient.
     private static final float ADDITIONAL_COST_PER_INGREDIENT = 1.50f;
 
@@ -32,6 +39,9 @@ public class PizzaCustom extends Pizza {
     public PizzaCustom(int originalPizzaId, int customPizzaId) {
         super(originalPizzaId); // Calls the constructor of the superclass (Pizza) to load the original pizza details
 
+        // Keep the original pizza details before they are modified
+        this.originalPizza = new Pizza(getId(), getName(), getPrice(), getIngredientList());
+
         // Append "(custom)" to the name of the pizza to indicate that it is a customized version
         this.setName(this.getName() + " (custom)");
 
@@ -42,6 +52,24 @@ public class PizzaCustom extends Pizza {
         modifyPizza();
     }
 
+    /**
+     * Constructor for PizzaCustom from details already loaded from the database.
+     * The original pizza details are copied and then modified with the given ingredient changes; no query is executed.
+     *
+     * @param originalPizza      The original pizza that the custom pizza is based on.
+     * @param customPizzaId      The ID of the custom pizza.
+     * @param addedIngredients   The ingredients added to the original pizza.
+     * @param removedIngredients The ingredients removed from the original pizza.
+     */
+    PizzaCustom(Pizza originalPizza, int customPizzaId, List<IngredientQuantity> addedIngredients,
+                List<IngredientQuantity> removedIngredients) {
+        super(originalPizza.getId(), originalPizza.getName() + " (custom)", originalPizza.getPrice(),
+                originalPizza.getIngredientList());
+        this.customPizzaId = customPizzaId;
+        this.originalPizza = originalPizza;
+        adjustIngredients(addedIngredients, removedIngredients);
+    }
+
     /**
      * Modifies the pizza according to custom specifications.
      * This method queries the database to find out what ingredients need to be added or removed from the pizza
@@ -54,40 +82,30 @@ public class PizzaCustom extends Pizza {
                 "QuantityAdded, " +
                 "Unit1, " +
                 "IngredientRemovedName, " +
+                "QuantityRemoved, " +
                 "Unit2 " +
                 "FROM VIEW_CUSTOM_PIZZAS_WITH_INGREDIENTS " +
                 "WHERE CustomPizzaId = ?";
 
-        // Lists to hold the formatted strings of ingredients to be added and removed.
-        ArrayList<String> addedIngredients = new ArrayList<>();
-        ArrayList<String> removedIngredients = new ArrayList<>();
+        // Lists to hold the ingredients to be added and removed.
+        List<IngredientQuantity> addedIngredients = new ArrayList<>();
+        List<IngredientQuantity> removedIngredients = new ArrayList<>();
 
         try {
             // Execute the query with the customPizzaId to fetch custom ingredient modifications.
-            ResultSet resultSet = DatabaseManager.sendQuery(sqlQuery, this.customPizzaId);
-            while (resultSet.next()) {
+            DatabaseManager.forEachRow(sqlQuery, resultSet -> {
                 // Retrieve the name, quantity, and unit for each added ingredient.
                 if (!resultSet.getString("IngredientAddedName").equals("Empty")) {
-                    String addedIngredientName = resultSet.getString("IngredientAddedName");
-                    float addedQuantity = resultSet.getFloat("QuantityAdded");
-                    String addedUnit = resultSet.getString("Unit1");
-
-                    String formattedAddedIngredient = String.format("%s (%.2f %s)", addedIngredientName,
-                            addedQuantity, addedUnit);
-                    addedIngredients.add(formattedAddedIngredient);
+                    addedIngredients.add(IngredientQuantity.of(resultSet.getString("IngredientAddedName"),
+                            resultSet.getFloat("QuantityAdded"), resultSet.getString("Unit1")));
                 }
 
                 // Retrieve the name, quantity, and unit for each removed ingredient.
                 if (!resultSet.getString("IngredientRemovedName").equals("Empty")) {
-                    String removedIngredientName = resultSet.getString("IngredientRemovedName");
-                    float removedQuantity = resultSet.getFloat("QuantityRemoved");
-                    String removedUnit = resultSet.getString("Unit2");
-
-                    String formattedRemovedIngredient = String.format("%s (%.2f %s)", removedIngredientName,
-                            removedQuantity, removedUnit);
-                    removedIngredients.add(formattedRemovedIngredient);
+                    removedIngredients.add(IngredientQuantity.of(resultSet.getString("IngredientRemovedName"),
+                            resultSet.getFloat("QuantityRemoved"), resultSet.getString("Unit2")));
                 }
-            }
+            }, this.customPizzaId);
 
             // Adjust the current pizza ingredients by adding new ones and removing specified ones.
             adjustIngredients(addedIngredients, removedIngredients);
@@ -101,43 +119,76 @@ public class PizzaCustom extends Pizza {
     /**
      * Adjusts the ingredients of the pizza based on the lists of ingredients to be added and removed.
      * It updates the pizza's ingredients and recalculates the price based on these modifications.
+     * <p>
+     * Ingredients are removed by identity (see {@link Ingredient}), whatever their quantity, so an ingredient
+     * whose name contains the name of a removed one is kept. The added ingredients are appended in their order.
+     * </p>
      *
-     * @param addedIngredients   A list of formatted ingredient strings to be added to the pizza.
-     * @param removedIngredients A list of formatted ingredient strings to be removed from the pizza.
+     * @param addedIngredients   The ingredients to be added to the pizza.
+     * @param removedIngredients The ingredients to be removed from the pizza.
      */
-    private void adjustIngredients(ArrayList<String> addedIngredients, ArrayList<String> removedIngredients) {
-        // Split the current ingredients string into an ArrayList for easier manipulation.
-        // Each ingredient is assumed to be separated by ", " in the string.
-        ArrayList<String> originalIngredients = new ArrayList<>(Arrays.asList(this.getIngredients().split(", ")));
-
-        // Loop through each ingredient that needs to be removed.
-        for (String ingredientToRemove : removedIngredients) {
-            // Remove the ingredient from the list if it matches.
-            // The removal is based on the ingredient name which is obtained before the " (" part.
-            // This assumes that the ingredient name is unique in the list and does not occur as a part of another ingredient name.
-            originalIngredients.removeIf(ingredient -> ingredient.contains(ingredientToRemove.split(" \\(")[0]));
+    private void adjustIngredients(List<IngredientQuantity> addedIngredients,
+                                   List<IngredientQuantity> removedIngredients) {
+        List<IngredientQuantity> originalIngredients = this.getIngredientList();
+
+        // Mark the ids of the removed ingredients, so that each original ingredient is checked in constant time.
+        BitSet removedIds = new BitSet();
+        for (IngredientQuantity ingredientToRemove : removedIngredients) {
+            removedIds.set(ingredientToRemove.getIngredient().getId());
         }
 
-        // Add all the new ingredients to the original list.
-        // These are already formatted correctly (e.g., "Ingredient (quantity unit)").
-        originalIngredients.addAll(addedIngredients);
-
-        // Reconstruct the ingredients string from the modified list.
-        StringBuilder ingredientsBuilder = new StringBuilder();
-        for (int i = 0; i < originalIngredients.size(); i++) {
-            ingredientsBuilder.append(originalIngredients.get(i));
-            // Add a separator (", ") after each ingredient except the last one.
-            if (i < originalIngredients.size() - 1) {
-                ingredientsBuilder.append(", ");
+        // Keep the original ingredients that are not removed, then add the new ones.
+        List<IngredientQuantity> ingredients = new ArrayList<>(originalIngredients.size() + addedIngredients.size());
+        for (IngredientQuantity ingredient : originalIngredients) {
+            if (!removedIds.get(ingredient.getIngredient().getId())) {
+                ingredients.add(ingredient);
             }
         }
+        ingredients.addAll(addedIngredients);
 
-        // Update the pizza's ingredients attribute with the new, modified string.
-        this.setIngredients(ingredientsBuilder.toString());
+        // Update the pizza's ingredients; their text is only built when the pizza is displayed.
+        this.setIngredients(ingredients);
+        this.addedIngredients = List.copyOf(addedIngredients);
+        this.removedIngredients = List.copyOf(removedIngredients);
 
         // Update the price of the pizza.
         // The price is increased by a set amount for each added ingredient.
         this.setPrice(this.getPrice() + addedIngredients.size() * ADDITIONAL_COST_PER_INGREDIENT);
     }
 
+    /**
+     * Gets the ID of the custom pizza.
+     *
+     * @return The custom pizza ID.
+     */
+    public int getCustomPizzaId() {
+        return customPizzaId;
+    }
+
+    /**
+     * Gets the pizza this custom pizza is based on, before any modification.
+     *
+     * @return The original pizza.
+     */
+    Pizza getOriginalPizza() {
+        return originalPizza;
+    }
+
+    /**
+     * Gets the ingredients added to the original pizza.
+     *
+     * @return The unmodifiable list of added ingredients.
+     */
+    List<IngredientQuantity> getAddedIngredients() {
+        return addedIngredients;
+    }
+
+    /**
+     * Gets the ingredients removed from the original pizza.
+     *
+     * @return The unmodifiable list of removed ingredients.
+     */
+    List<IngredientQuantity> getRemovedIngredients() {
+        return removedIngredients;
+    }
 }
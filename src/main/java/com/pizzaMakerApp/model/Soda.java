@@ -11,11 +11,9 @@
  */
 package com.pizzaMakerApp.model;
 
-import com.pizzaMakerApp.utils.DatabaseManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 
 public class Soda extends Food {
@@ -29,7 +27,7 @@ public class Soda extends Food {
     private BottleType bottleType;
 
     /**
-     * Constructs a Soda object with the specified ID and loads its details from the database.
+     * Constructs a Soda object with the specified ID and loads its details from the menu catalog.
      *
      * @param id The unique identifier of the soda.
      */
@@ -39,27 +37,35 @@ public class Soda extends Food {
     }
 
     /**
-     * Loads the details of the soda from the database, including name, price, and container type.
-     * Details are retrieved from the VIEW_SODA_INGREDIENTS table.
+     * Constructs a Soda object from details already loaded from the database.
+     * No query is executed.
+     *
+     * @param id         The unique identifier of the soda.
+     * @param name       The name of the soda.
+     * @param price      The price of the soda.
+     * @param bottleType The type of container for the soda.
      */
-    private void loadSodaDetails() {
-        // SQL query to retrieve soda details by ID from the VIEW_SODA_INGREDIENTS table
-        String sqlQuery = "SELECT * FROM VIEW_SODA WHERE id = ?";
+    Soda(int id, String name, float price, BottleType bottleType) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.bottleType = bottleType;
+        this.ingredients = null;
+    }
 
+    /**
+     * Loads the details of the soda from the {@link MenuCatalog}, including name, price, and container type.
+     * The catalog only queries the database (VIEW_SODA) if the soda is not already in memory.
+     */
+    private void loadSodaDetails() {
         try {
-            // Execute the SQL query using the DatabaseManager and pass the soda ID as a parameter
-            ResultSet resultSet = DatabaseManager.sendQuery(sqlQuery, this.id);
-
-            // Check if there is a result (row) in the ResultSet
-            if (resultSet.next()) {
-                // Retrieve and set the soda name from the ResultSet
-                this.name = resultSet.getString("name");
-
-                // Retrieve and set the soda price from the ResultSet
-                this.price = resultSet.getFloat("price");
-
-                // Retrieve and set the soda container type using the BottleType enum
-                this.bottleType = BottleType.valueOf(resultSet.getString("bottleType"));
+            // Look the soda up in the menu catalog
+            Soda soda = (Soda) MenuCatalog.getInstance().getItem(ItemType.SODA, this.id);
+            if (soda != null) {
+                // Copy the soda name, price and container type
+                this.name = soda.getName();
+                this.price = soda.getPrice();
+                this.bottleType = soda.getBottleType();
 
                 // Set ingredients to null
                 this.ingredients = null;
@@ -0,0 +1,138 @@
+package com.pizzaMakerApp.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reports, order by order, the outcome of a status change applied to several orders at once
+ * by the {@link OrderStatusService}: whether each conditional update won and, for those that lost,
+ * the status the order actually has.
+ */
+public class StatusChangeResult {
+
+    // The status the orders were expected to have.
+    private final Order.Status expectedStatus;
+
+    // The status the orders were moved to.
+    private final Order.Status status;
+
+    // Whether each order was updated, in the order of the request.
+    private final Map<Integer, Boolean> outcomes;
+
+    // The status found in the database for the orders that were not updated; missing orders are absent.
+    private final Map<Integer, Order.Status> lostStatuses;
+
+    /**
+     * Constructs a new StatusChangeResult.
+     *
+     * @param expectedStatus The status the orders were expected to have.
+     * @param status         The status the orders were moved to.
+     * @param outcomes       Whether each order was updated, by order id.
+     * @param lostStatuses   The current status of the orders that were not updated, by order id.
+     */
+    StatusChangeResult(Order.Status expectedStatus, Order.Status status, Map<Integer, Boolean> outcomes,
+                       Map<Integer, Order.Status> lostStatuses) {
+        this.expectedStatus = expectedStatus;
+        this.status = status;
+        this.outcomes = Collections.unmodifiableMap(new LinkedHashMap<>(outcomes));
+        this.lostStatuses = Map.copyOf(lostStatuses);
+    }
+
+    /**
+     * Gets the status the orders were expected to have.
+     *
+     * @return The expected status.
+     */
+    public Order.Status getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    /**
+     * Gets the status the orders were moved to.
+     *
+     * @return The requested status.
+     */
+    public Order.Status getStatus() {
+        return status;
+    }
+
+    /**
+     * Gets the status an order has in the database after the change.
+     *
+     * @param orderId The id of the order.
+     * @return The new status if the order was updated, the status set by someone else if it was not,
+     * or null if the order does not exist or was not part of the request.
+     */
+    public Order.Status getCurrentStatus(int orderId) {
+        if (isUpdated(orderId)) {
+            return status;
+        }
+        return lostStatuses.get(orderId);
+    }
+
+    /**
+     * Checks whether an order was updated.
+     *
+     * @param orderId The id of the order.
+     * @return True if the order was updated, false if it was not or was not part of the request.
+     */
+    public boolean isUpdated(int orderId) {
+        return outcomes.getOrDefault(orderId, false);
+    }
+
+    /**
+     * Gets the ids of the orders that were updated.
+     *
+     * @return The updated order ids, in the order of the request.
+     */
+    public List<Integer> getUpdatedOrderIds() {
+        return select(true);
+    }
+
+    /**
+     * Gets the ids of the orders that were not updated, because their status was no longer the expected one
+     * or because they no longer exist.
+     *
+     * @return The order ids that were not updated, in the order of the request.
+     */
+    public List<Integer> getRejectedOrderIds() {
+        return select(false);
+    }
+
+    /**
+     * Gets the outcome of every order of the request.
+     *
+     * @return Whether each order was updated, by order id, in the order of the request.
+     */
+    public Map<Integer, Boolean> getOutcomes() {
+        return outcomes;
+    }
+
+    /**
+     * Checks whether every order of the request was updated.
+     *
+     * @return True if no order was rejected.
+     */
+    public boolean isComplete() {
+        return !outcomes.containsValue(false);
+    }
+
+    /**
+     * Selects the ids of the orders with a given outcome.
+     *
+     * @param updated The outcome to select.
+     * @return The matching order ids, in the order of the request.
+     */
+    private List<Integer> select(boolean updated) {
+        List<Integer> ids = new ArrayList<>();
+        for (Map.Entry<Integer, Boolean> outcome : outcomes.entrySet()) {
+            if (outcome.getValue() == updated) {
+                ids.add(outcome.getKey());
+            }
+        }
+        return ids;
+    }
+}
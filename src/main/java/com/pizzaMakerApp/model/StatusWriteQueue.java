@@ -0,0 +1,457 @@
+package com.pizzaMakerApp.model;
+
+import com.pizzaMakerApp.config.AppConfig;
+import com.pizzaMakerApp.utils.AppendOnlyJournal;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * StatusWriteQueue writes the status changes of the orders to the database in the background, so that the
+ * kitchen is never blocked by the network.
+ * <p>
+ * A status change is accepted immediately: it is appended to a local {@link AppendOnlyJournal} and queued.
+ * A writer thread then applies the queued changes with the {@link OrderStatusService}, in the order they were
+ * made, and hands every {@link StatusChangeResult} to a listener. While the database cannot be reached, the
+ * writer retries with an exponential backoff (from {@link AppConfig#STATUS_RETRY_INITIAL_MS} to
+ * {@link AppConfig#STATUS_RETRY_MAX_MS}); changes that are still queued when the application stops are read
+ * back from the journal at the next start.
+ * </p>
+ * <p>
+ * Every record of the journal has a sequence number. A written change is marked by appending a "done" record
+ * naming the records it stood for, and the journal is emptied whenever the queue is, so that the journal is
+ * never rewritten while changes are submitted: neither a submission nor the writer waits for the disk.
+ * </p>
+ * <p>
+ * Changes are deduplicated by order: a change made from the same status as a change still queued for the order
+ * replaces it (the latest decision wins), and a change following a queued one is merged with it when the
+ * state machine of {@link Order.Status} allows the direct transition. Other changes are written one after the other.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * StatusWriteQueue queue = new StatusWriteQueue(Path.of(AppConfig.STATUS_JOURNAL_FILE),
+ *         result -> SwingUtilities.invokeLater(() -> showResult(result)));
+ * queue.submit(42, Order.Status.PENDING, Order.Status.PREPARATION);
+ * }
+ * </pre>
+ * </p>
+ */
+public class StatusWriteQueue implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatusWriteQueue.class);
+
+    // The first field of the journal records marking written transitions, e.g. "done,12,15".
+    private static final String DONE_RECORD = "done";
+
+    /**
+     * A status change of one order, as queued and recorded in the journal.
+     */
+    private static final class Transition {
+        private final int orderId;
+        private final Order.Status expected;
+        private final Order.Status target;
+
+        // The sequence numbers of the journal records this transition stands for: several once deduplicated.
+        private final long[] sequences;
+
+        private Transition(int orderId, Order.Status expected, Order.Status target, long... sequences) {
+            this.orderId = orderId;
+            this.expected = expected;
+            this.target = target;
+            this.sequences = sequences;
+        }
+
+        /**
+         * Builds the transition standing for this one followed by another change of the same order.
+         *
+         * @param expected The expected status of the resulting transition.
+         * @param next     The following change.
+         * @return The transition to the target of the following change, standing for the records of both.
+         */
+        private Transition followedBy(Order.Status expected, Transition next) {
+            long[] merged = Arrays.copyOf(sequences, sequences.length + next.sequences.length);
+            System.arraycopy(next.sequences, 0, merged, sequences.length, next.sequences.length);
+            return new Transition(orderId, expected, next.target, merged);
+        }
+
+        /**
+         * Builds the journal record of this transition, numbered with its last sequence number.
+         *
+         * @return The record, e.g. "12,42,PENDING,PREPARATION".
+         */
+        private String toRecord() {
+            return sequences[sequences.length - 1] + "," + orderId + "," + expected + "," + target;
+        }
+
+        /**
+         * Reads a transition from a journal record.
+         *
+         * @param record The record.
+         * @return The transition, or null if the record is malformed or not an allowed transition.
+         */
+        private static Transition parse(String record) {
+            String[] fields = record.split(",");
+            if (fields.length != 4) {
+                return null;
+            }
+            try {
+                Transition transition = new Transition(Integer.parseInt(fields[1]), Order.Status.valueOf(fields[2]),
+                        Order.Status.valueOf(fields[3]), Long.parseLong(fields[0]));
+                return transition.expected.canTransitionTo(transition.target) ? transition : null;
+            } catch (IllegalArgumentException e) {
+                return null;
+            }
+        }
+    }
+
+    // Queued transitions by order id, in the order the orders were first queued. The first transition of each
+    // order is the next one to write. Guarded by this.
+    private final Map<Integer, ArrayDeque<Transition>> queued = new LinkedHashMap<>();
+
+    // Transitions being written by the writer thread; they can no longer be replaced. Guarded by this.
+    private final Set<Transition> inFlight = Collections.newSetFromMap(new IdentityHashMap<>());
+
+    // The journal of the queued transitions, or null if it could not be opened.
+    private final AppendOnlyJournal journal;
+
+    // Receives the outcome of the written transitions, on the writer thread.
+    private final Consumer<StatusChangeResult> listener;
+
+    private final Thread writer;
+
+    // The sequence number of the next journal record. Guarded by this.
+    private long nextSequence;
+
+    // Guarded by this.
+    private boolean closed;
+
+    /**
+     * Opens the queue, reads back the transitions left in the journal and starts the writer thread.
+     * If the journal cannot be opened, the queue still works but does not survive a restart.
+     *
+     * @param journalFile The journal file.
+     * @param listener    Receives the outcome of every written batch, on the writer thread.
+     */
+    public StatusWriteQueue(Path journalFile, Consumer<StatusChangeResult> listener) {
+        this.listener = listener;
+        this.journal = openJournal(journalFile);
+
+        this.writer = new Thread(this::writeLoop, "status-writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        Runtime.getRuntime().addShutdownHook(new Thread(this::close, "status-writer-shutdown"));
+    }
+
+    /**
+     * Opens the journal and queues the transitions it holds.
+     *
+     * @param journalFile The journal file.
+     * @return The journal, or null if it cannot be opened.
+     */
+    private AppendOnlyJournal openJournal(Path journalFile) {
+        try {
+            AppendOnlyJournal opened = new AppendOnlyJournal(journalFile, AppConfig.STATUS_JOURNAL_SYNC_MS);
+            List<String> records = opened.readAll();
+
+            // The sequence numbers of the records already written, then the transitions left to write.
+            Set<Long> written = new HashSet<>();
+            for (String record : records) {
+                if (record.startsWith(DONE_RECORD + ",")) {
+                    for (String sequence : record.substring(DONE_RECORD.length() + 1).split(",")) {
+                        try {
+                            written.add(Long.parseLong(sequence));
+                        } catch (NumberFormatException e) {
+                            LOGGER.warn("Ignoring the invalid journal record '{}'", record);
+                        }
+                    }
+                }
+            }
+            for (String record : records) {
+                if (record.startsWith(DONE_RECORD + ",")) {
+                    continue;
+                }
+                Transition transition = Transition.parse(record);
+                if (transition == null) {
+                    LOGGER.warn("Ignoring the invalid journal record '{}'", record);
+                    continue;
+                }
+                nextSequence = Math.max(nextSequence, transition.sequences[0] + 1);
+                if (!written.contains(transition.sequences[0])) {
+                    enqueue(transition);
+                }
+            }
+            if (!queued.isEmpty()) {
+                LOGGER.info("Recovered status changes of {} orders from {}", queued.size(), journalFile);
+            }
+            // Drop the written and replaced transitions and the invalid records.
+            opened.rewrite(records());
+            return opened;
+        } catch (IOException e) {
+            LOGGER.error("Cannot open the status journal {}; status changes will not survive a restart",
+                    journalFile, e);
+            return null;
+        }
+    }
+
+    /**
+     * Accepts a status change. The change is recorded in the journal and written to the database in the background;
+     * its outcome is given to the listener.
+     *
+     * @param orderId  The id of the order.
+     * @param expected The status the order is expected to have.
+     * @param target   The new status.
+     * @throws IllegalStateException If the transition is not allowed, or if the queue is closed.
+     */
+    public void submit(int orderId, Order.Status expected, Order.Status target) {
+        if (!expected.canTransitionTo(target)) {
+            throw new IllegalStateException("Unexpected transition: " + expected + " -> " + target);
+        }
+        synchronized (this) {
+            if (closed) {
+                throw new IllegalStateException("The status queue is closed");
+            }
+            Transition transition = new Transition(orderId, expected, target, nextSequence++);
+            enqueue(transition);
+            if (journal != null) {
+                try {
+                    journal.append(transition.toRecord());
+                } catch (IOException e) {
+                    LOGGER.error("Cannot record the status change of order {} in the journal", orderId, e);
+                }
+            }
+            notifyAll();
+        }
+    }
+
+    /**
+     * Checks whether a status change of an order is waiting to be written.
+     *
+     * @param orderId The id of the order.
+     * @return True if the order has a queued status change.
+     */
+    public synchronized boolean isQueued(int orderId) {
+        return queued.containsKey(orderId);
+    }
+
+    /**
+     * Gets the ids of the orders with a status change waiting to be written.
+     *
+     * @return A copy of the ids, in the order they were queued.
+     */
+    public synchronized Set<Integer> getQueuedOrderIds() {
+        return new HashSet<>(queued.keySet());
+    }
+
+    /**
+     * Gets the number of orders with a status change waiting to be written.
+     *
+     * @return The number of orders.
+     */
+    public synchronized int size() {
+        return queued.size();
+    }
+
+    /**
+     * Stops the writer and closes the journal. The changes not written yet stay in the journal.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        if (Thread.currentThread() != writer) {
+            try {
+                // Let the batch being written complete.
+                writer.join(AppConfig.STATUS_RETRY_INITIAL_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                LOGGER.error("Cannot close the status journal", e);
+            }
+        }
+    }
+
+    /**
+     * Queues a transition, deduplicating it with the last transition queued for the same order.
+     * Must be called while holding the lock.
+     *
+     * @param transition The transition.
+     */
+    private void enqueue(Transition transition) {
+        ArrayDeque<Transition> transitions = queued.computeIfAbsent(transition.orderId, k -> new ArrayDeque<>());
+        Transition last = transitions.peekLast();
+        if (last != null && !inFlight.contains(last)) {
+            if (last.expected == transition.expected) {
+                // A new decision from the same status replaces the previous one.
+                transitions.pollLast();
+                transitions.addLast(last.followedBy(transition.expected, transition));
+                return;
+            }
+            if (last.target == transition.expected && last.expected.canTransitionTo(transition.target)) {
+                // Two consecutive changes collapse into one.
+                transitions.pollLast();
+                transitions.addLast(last.followedBy(last.expected, transition));
+                return;
+            }
+        }
+        transitions.addLast(transition);
+    }
+
+    /**
+     * Builds the journal records of all the queued transitions, in order. Must be called while holding the lock.
+     *
+     * @return The records.
+     */
+    private List<String> records() {
+        List<String> records = new ArrayList<>();
+        for (ArrayDeque<Transition> transitions : queued.values()) {
+            for (Transition transition : transitions) {
+                records.add(transition.toRecord());
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Body of the writer thread: writes the next transition of every queued order, waiting when the queue is
+     * empty and backing off when the database cannot be reached.
+     */
+    private void writeLoop() {
+        long backoffMs = 0;
+        while (true) {
+            List<Transition> batch = new ArrayList<>();
+            synchronized (this) {
+                try {
+                    while (queued.isEmpty() && !closed) {
+                        wait();
+                    }
+                } catch (InterruptedException e) {
+                    return;
+                }
+                if (closed) {
+                    return;
+                }
+                for (ArrayDeque<Transition> transitions : queued.values()) {
+                    Transition next = transitions.peekFirst();
+                    batch.add(next);
+                    inFlight.add(next);
+                }
+            }
+
+            try {
+                write(batch);
+                backoffMs = 0;
+            } catch (SQLException | RuntimeException e) {
+                synchronized (this) {
+                    batch.forEach(inFlight::remove);
+                    backoffMs = backoffMs == 0 ? AppConfig.STATUS_RETRY_INITIAL_MS
+                            : Math.min(backoffMs * 2, AppConfig.STATUS_RETRY_MAX_MS);
+                    if (backoffMs == AppConfig.STATUS_RETRY_INITIAL_MS) {
+                        LOGGER.warn("Cannot write the status changes of {} orders, retrying in {} ms", queued.size(),
+                                backoffMs, e);
+                    } else {
+                        // The stack trace was logged by the first failure of the outage.
+                        LOGGER.warn("Cannot write the status changes of {} orders, retrying in {} ms: {}",
+                                queued.size(), backoffMs, e.toString());
+                    }
+                    try {
+                        if (!closed) {
+                            wait(backoffMs);
+                        }
+                    } catch (InterruptedException interrupted) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Writes a batch of transitions, one conditional batch per kind of transition, and reports the outcomes.
+     * Each written group leaves the queue and the journal before the next one is written.
+     *
+     * @param batch The transitions, at most one per order.
+     * @throws SQLException If a group cannot be written; the groups written before it are kept.
+     */
+    private void write(List<Transition> batch) throws SQLException {
+        // Group the transitions by expected and target status, keeping their order.
+        Map<List<Order.Status>, List<Transition>> groups = new LinkedHashMap<>();
+        for (Transition transition : batch) {
+            groups.computeIfAbsent(List.of(transition.expected, transition.target), k -> new ArrayList<>())
+                    .add(transition);
+        }
+
+        for (List<Transition> group : groups.values()) {
+            List<Integer> orderIds = new ArrayList<>(group.size());
+            for (Transition transition : group) {
+                orderIds.add(transition.orderId);
+            }
+            Transition first = group.get(0);
+            StatusChangeResult result = OrderStatusService.changeStatus(orderIds, first.expected, first.target);
+            complete(group);
+            try {
+                listener.accept(result);
+            } catch (RuntimeException e) {
+                LOGGER.error("Error handling the outcome of status changes {}", orderIds, e);
+            }
+        }
+    }
+
+    /**
+     * Removes written transitions from the queue, and marks them as written in the journal. The journal is emptied
+     * instead once the queue is empty. Neither waits for the disk.
+     *
+     * @param written The written transitions, each the first of its order.
+     */
+    private synchronized void complete(List<Transition> written) {
+        StringBuilder done = new StringBuilder(DONE_RECORD);
+        for (Transition transition : written) {
+            inFlight.remove(transition);
+            ArrayDeque<Transition> transitions = queued.get(transition.orderId);
+            transitions.pollFirst();
+            if (transitions.isEmpty()) {
+                queued.remove(transition.orderId);
+            }
+            for (long sequence : transition.sequences) {
+                done.append(',').append(sequence);
+            }
+        }
+        if (journal != null) {
+            try {
+                if (queued.isEmpty()) {
+                    journal.clear();
+                } else {
+                    journal.append(done.toString());
+                }
+            } catch (IOException e) {
+                LOGGER.error("Cannot mark the written status changes in the journal", e);
+            }
+        }
+    }
+}
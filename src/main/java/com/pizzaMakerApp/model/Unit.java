@@ -0,0 +1,79 @@
+package com.pizzaMakerApp.model;
+
+/**
+ * Enumerates the units in which ingredient quantities are expressed, as stored in the unit column of INGREDIENT.
+ * <p>
+ * The column is free text: a symbol the application does not know, e.g. "pc" or "tbsp", maps to {@link #OTHER}, and
+ * the quantity keeps the symbol read from the database (see {@link IngredientQuantity#getSymbol()}).
+ * </p>
+ */
+public enum Unit {
+    G("g"),
+    KG("kg"),
+    CL("cl"),
+    ML("ml"),
+    L("l"),
+    UNIT("unit"),
+    OTHER("");
+
+    // The symbol used for this unit in the database and in the displayed ingredients.
+    private final String symbol;
+
+    Unit(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * Gets the symbol of this unit.
+     *
+     * @return The symbol, e.g. "g", or an empty string for OTHER.
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Gets the unit in which quantities of this unit are added up: grams for masses, millilitres for volumes.
+     * Quantities of an unknown unit are never converted.
+     *
+     * @return G, ML, UNIT or OTHER.
+     */
+    public Unit getBaseUnit() {
+        return switch (this) {
+            case G, KG -> G;
+            case CL, ML, L -> ML;
+            case UNIT -> UNIT;
+            case OTHER -> OTHER;
+        };
+    }
+
+    /**
+     * Converts a quantity of this unit to its base unit, e.g. 0.2 kg to 200 g.
+     *
+     * @param quantity The quantity, in this unit.
+     * @return The quantity, in the unit returned by {@link #getBaseUnit()}.
+     */
+    public double toBaseUnit(double quantity) {
+        return switch (this) {
+            case KG, L -> quantity * 1000;
+            case CL -> quantity * 10;
+            case G, ML, UNIT, OTHER -> quantity;
+        };
+    }
+
+    /**
+     * Maps a value of the unit column to the corresponding Unit. The comparison ignores case and surrounding spaces.
+     *
+     * @param symbol The value read from the database.
+     * @return The corresponding Unit, or OTHER if the value is not recognized.
+     */
+    public static Unit fromSymbol(String symbol) {
+        String trimmed = symbol == null ? "" : symbol.trim();
+        for (Unit unit : values()) {
+            if (unit != OTHER && unit.symbol.equalsIgnoreCase(trimmed)) {
+                return unit;
+            }
+        }
+        return OTHER;
+    }
+}
@@ -1,10 +1,8 @@
 package com.pizzaMakerApp.model;
 
-import com.pizzaMakerApp.utils.DatabaseManager;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.sql.ResultSet;
 import java.sql.SQLException;
 
 /**
@@ -46,20 +44,46 @@ public class Wine extends Food {
     }
 
     /**
-     * Loads the basic details of the wine from the database.
+     * Constructor for the Wine class from details already loaded from the database.
+     * No query is executed.
+     *
+     * @param id         The unique identifier of the wine.
+     * @param name       The name of the wine.
+     * @param price      The price of the wine.
+     * @param domain     The domain of the wine.
+     * @param origin     The origin of the wine.
+     * @param year       The year of the wine.
+     * @param color      The color of the wine.
+     * @param bottleType The bottle type of the wine.
+     */
+    Wine(int id, String name, float price, String domain, String origin, int year, WineColor color,
+         BottleType bottleType) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.domain = domain;
+        this.origin = origin;
+        this.year = year;
+        this.color = color;
+        this.bottleType = bottleType;
+        this.ingredients = null;
+    }
+
+    /**
+     * Loads the details of the wine from the {@link MenuCatalog}.
+     * The catalog only queries the database if the wine is not already in memory.
      */
     private void loadWineDetails() {
-        String sqlQuery = "SELECT * FROM VIEW_WINE WHERE id = ?";
         try {
-            ResultSet resultSet = DatabaseManager.sendQuery(sqlQuery, this.id);
-            if (resultSet.next()) {
-                this.name = resultSet.getString("name");
-                this.price = resultSet.getFloat("price");
-                this.domain = resultSet.getString("domain");
-                this.origin = resultSet.getString("origin");
-                this.year = resultSet.getInt("year");
-                this.color = WineColor.valueOf(resultSet.getString("color").toUpperCase());
-                this.bottleType = BottleType.valueOf(resultSet.getString("bottleType"));
+            Wine wine = (Wine) MenuCatalog.getInstance().getItem(ItemType.WINE, this.id);
+            if (wine != null) {
+                this.name = wine.name;
+                this.price = wine.price;
+                this.domain = wine.domain;
+                this.origin = wine.origin;
+                this.year = wine.year;
+                this.color = wine.color;
+                this.bottleType = wine.bottleType;
                 this.ingredients = null;
             }
         } catch (SQLException e) {
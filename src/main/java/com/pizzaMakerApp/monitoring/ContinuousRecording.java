@@ -0,0 +1,141 @@
+package com.pizzaMakerApp.monitoring;
+
+import com.pizzaMakerApp.config.AppConfig;
+import jdk.jfr.Configuration;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * ContinuousRecording keeps a Java Flight Recorder recording running in the background, holding the events of the
+ * last {@link AppConfig#RECORDING_MAX_AGE_MS} milliseconds: the JVM events of the "default" settings (about 1%
+ * of overhead) and the events of the application ({@link QueryEvent}, {@link OrderLoadEvent},
+ * {@link OrderHydrationEvent}, {@link OrderDisplayEvent} and {@link ViewUpdateEvent}).
+ * <p>
+ * When a terminal stutters, {@link #dump()} writes those last minutes to a file of
+ * {@link AppConfig#RECORDING_DUMP_DIRECTORY}, to be opened with JDK Mission Control. The dump can be triggered from
+ * the application (Ctrl+Shift+F12 in the main window), over JMX ({@code com.pizzaMakerApp:type=ContinuousRecording})
+ * or with {@code jcmd <pid> JFR.dump name=pizzamaker}.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * ContinuousRecording.start();   // at startup
+ * Path file = ContinuousRecording.getInstance().dumpToFile();
+ * }
+ * </pre>
+ * </p>
+ */
+public class ContinuousRecording implements ContinuousRecordingMBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ContinuousRecording.class);
+
+    // The name of the recording, as listed by "jcmd <pid> JFR.check".
+    private static final String RECORDING_NAME = "pizzamaker";
+
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private static ContinuousRecording instance;
+
+    private final Recording recording;
+
+    /**
+     * Constructs a new ContinuousRecording around a started recording.
+     *
+     * @param recording The recording.
+     */
+    private ContinuousRecording(Recording recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Starts the continuous recording and publishes it over JMX, unless it is disabled by
+     * {@link AppConfig#RECORDING_ENABLED}, already started, or not supported by the JVM.
+     * A failure is logged and otherwise ignored: the application runs without recording.
+     */
+    public static synchronized void start() {
+        if (instance != null || !AppConfig.RECORDING_ENABLED) {
+            return;
+        }
+        if (!FlightRecorder.isAvailable()) {
+            LOGGER.info("Flight recording is not available on this JVM");
+            return;
+        }
+        try {
+            Recording recording = new Recording(Configuration.getConfiguration("default"));
+            recording.setName(RECORDING_NAME);
+            recording.setMaxAge(Duration.ofMillis(AppConfig.RECORDING_MAX_AGE_MS));
+            recording.setToDisk(true);
+            recording.start();
+            instance = new ContinuousRecording(recording);
+            LOGGER.info("Flight recording of the last {} s started", AppConfig.RECORDING_MAX_AGE_MS / 1000);
+        } catch (IOException | ParseException | RuntimeException e) {
+            LOGGER.warn("Could not start the flight recording", e);
+            return;
+        }
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(instance,
+                    new ObjectName("com.pizzaMakerApp:type=ContinuousRecording"));
+        } catch (JMException e) {
+            LOGGER.warn("Could not publish the flight recording over JMX", e);
+        }
+    }
+
+    /**
+     * Gets the continuous recording.
+     *
+     * @return The recording, or null if it is not running.
+     */
+    public static synchronized ContinuousRecording getInstance() {
+        return instance;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return recording.getState() == RecordingState.RUNNING;
+    }
+
+    @Override
+    public long getMaxAgeSeconds() {
+        return recording.getMaxAge().toSeconds();
+    }
+
+    @Override
+    public String dump() throws IOException {
+        return dumpToFile().toString();
+    }
+
+    /**
+     * Dumps the events of the last minutes to a new file of {@link AppConfig#RECORDING_DUMP_DIRECTORY}.
+     * The recording keeps running.
+     *
+     * @return The path of the file.
+     * @throws IOException If the file cannot be written or the recording is not running.
+     */
+    public Path dumpToFile() throws IOException {
+        Path directory = Path.of(AppConfig.RECORDING_DUMP_DIRECTORY);
+        Files.createDirectories(directory);
+        Path file = directory.resolve("pizzamaker-" + FILE_DATE_FORMAT.format(LocalDateTime.now()) + ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IllegalStateException e) {
+            throw new IOException("The flight recording is not running", e);
+        }
+        LOGGER.info("Flight recording dumped to {}", file);
+        return file;
+    }
+}
@@ -0,0 +1,31 @@
+package com.pizzaMakerApp.monitoring;
+
+import java.io.IOException;
+
+/**
+ * The management interface of the {@link ContinuousRecording}, published over JMX.
+ */
+public interface ContinuousRecordingMBean {
+
+    /**
+     * Checks whether the continuous recording is running.
+     *
+     * @return True if the recording is running.
+     */
+    boolean isRunning();
+
+    /**
+     * Gets the time covered by the recording.
+     *
+     * @return The maximum age of the recorded events, in seconds.
+     */
+    long getMaxAgeSeconds();
+
+    /**
+     * Dumps the events of the last minutes to a new file.
+     *
+     * @return The path of the file.
+     * @throws IOException If the file cannot be written or the recording is not running.
+     */
+    String dump() throws IOException;
+}
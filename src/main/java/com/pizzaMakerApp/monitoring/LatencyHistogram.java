@@ -0,0 +1,187 @@
+package com.pizzaMakerApp.monitoring;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram records durations, in microseconds, into log-linear buckets in the manner of an HDR histogram:
+ * every power of two is split into {@value #SUB_BUCKET_COUNT} equal buckets, so any recorded value is known with
+ * a relative error below 1/{@value #SUB_BUCKET_COUNT} (about 6%), from 1 µs to more than 19 hours, in a fixed
+ * array of a few hundred counters.
+ * <p>
+ * Recording is lock-free and never allocates: it costs a few bit operations and three atomic additions, so the
+ * histogram can measure hot paths while the application runs in production. Reading (percentiles, mean) scans the
+ * counters, which is only done by JMX clients and the periodic summaries. Concurrent recordings may be partially
+ * visible to a reader; the values read are always consistent enough for monitoring.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * LatencyHistogram histogram = new LatencyHistogram();
+ * long start = System.nanoTime();
+ * // ... measured work ...
+ * histogram.recordNanos(System.nanoTime() - start);
+ * long p99 = histogram.getPercentileMicros(99);
+ * }
+ * </pre>
+ * </p>
+ */
+public class LatencyHistogram {
+
+    // Number of bits of each value kept by its bucket: every power of two has 2^SUB_BUCKET_BITS buckets.
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+    // Values from 2^MAX_MAGNITUDE µs (about 19 hours) are counted in the last bucket.
+    private static final int MAX_MAGNITUDE = 36;
+
+    // The buckets of the values below 2^MAX_MAGNITUDE, then the bucket of the larger values.
+    private static final int BUCKET_COUNT = SUB_BUCKET_COUNT * (MAX_MAGNITUDE - SUB_BUCKET_BITS + 1) + 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+
+    private final LongAdder count = new LongAdder();
+
+    private final LongAdder totalMicros = new LongAdder();
+
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    /**
+     * Records a duration measured with {@link System#nanoTime()}.
+     *
+     * @param durationNanos The duration, in nanoseconds; negative durations are counted as 0.
+     */
+    public void recordNanos(long durationNanos) {
+        recordMicros(durationNanos / 1_000);
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param durationMicros The duration, in microseconds; negative durations are counted as 0.
+     */
+    public void recordMicros(long durationMicros) {
+        long value = Math.max(0, durationMicros);
+        buckets.incrementAndGet(bucketIndex(value));
+        count.increment();
+        totalMicros.add(value);
+        maxMicros.accumulate(value);
+    }
+
+    /**
+     * Gets the number of recorded durations.
+     *
+     * @return The count.
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * Gets the sum of the recorded durations.
+     *
+     * @return The total, in microseconds.
+     */
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    /**
+     * Gets the mean of the recorded durations.
+     *
+     * @return The mean, in microseconds, or 0 if nothing was recorded.
+     */
+    public double getMeanMicros() {
+        long n = count.sum();
+        return n == 0 ? 0 : (double) totalMicros.sum() / n;
+    }
+
+    /**
+     * Gets the longest recorded duration.
+     *
+     * @return The maximum, in microseconds.
+     */
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * Gets a percentile of the recorded durations, as the upper bound of the bucket holding it.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The percentile, in microseconds, or 0 if nothing was recorded.
+     */
+    public long getPercentileMicros(double percentile) {
+        long[] counts = new long[BUCKET_COUNT];
+        long total = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(total * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(getMaxMicros(), bucketUpperBound(i));
+            }
+        }
+        return getMaxMicros();
+    }
+
+    /**
+     * Clears the recorded durations.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        totalMicros.reset();
+        maxMicros.reset();
+    }
+
+    /**
+     * Finds the bucket of a value: values below {@value #SUB_BUCKET_COUNT} have their own bucket, larger values
+     * share a bucket with the values having the same magnitude and the same {@value #SUB_BUCKET_BITS} leading bits.
+     *
+     * @param value The value, positive.
+     * @return The index of its bucket.
+     */
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int magnitude = 63 - Long.numberOfLeadingZeros(value);
+        if (magnitude >= MAX_MAGNITUDE) {
+            return BUCKET_COUNT - 1;
+        }
+        int shift = magnitude - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKET_COUNT;
+        return SUB_BUCKET_COUNT * (shift + 1) + subBucket;
+    }
+
+    /**
+     * Gets the largest value counted in a bucket.
+     *
+     * @param index The index of the bucket.
+     * @return The upper bound of the bucket, inclusive.
+     */
+    private static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        if (index == BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long subBucket = index % SUB_BUCKET_COUNT;
+        return ((SUB_BUCKET_COUNT + subBucket + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,261 @@
+package com.pizzaMakerApp.monitoring;
+
+import com.pizzaMakerApp.config.AppConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Metrics is the registry of the {@link OperationStats} of the application: one per SQL template executed by
+ * {@link com.pizzaMakerApp.utils.DatabaseManager}, and one per named background operation (e.g. the refreshes
+ * of the order list).
+ * <p>
+ * Every statistics object is published as an MBean of the platform MBean server when it is created, under
+ * {@code com.pizzaMakerApp:type=Query,name="<SQL template>"} or {@code com.pizzaMakerApp:type=Operation,name=...},
+ * so it can be read with JConsole or any JMX client. A summary of the operations executed since the previous one
+ * is also logged every {@link AppConfig#METRICS_LOG_MS} milliseconds, the most expensive first.
+ * </p>
+ * <p>
+ * The SQL template of a query is its text with the whitespace collapsed and the lists of placeholders of the IN
+ * clauses reduced to one, so that a query reading 3 or 300 orders is measured as the same query. Looking up the
+ * statistics of a query already seen costs one hash lookup on its text.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * long start = System.nanoTime();
+ * int rows = executeQuery(sql);
+ * Metrics.query(sql).record(System.nanoTime() - start, rows, false);
+ * }
+ * </pre>
+ * </p>
+ */
+public class Metrics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Metrics.class);
+
+    private static final String DOMAIN = "com.pizzaMakerApp";
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    // The template of the queries beyond AppConfig.METRICS_MAX_TEMPLATES.
+    private static final String OTHER_QUERIES = "(other queries)";
+
+    // The statistics by SQL text as executed; bounded, the template is computed again for the texts beyond.
+    private static final Map<String, OperationStats> QUERIES_BY_SQL = new ConcurrentHashMap<>();
+
+    // The statistics by SQL template.
+    private static final Map<String, OperationStats> QUERIES = new ConcurrentHashMap<>();
+
+    // The statistics by operation name.
+    private static final Map<String, OperationStats> OPERATIONS = new ConcurrentHashMap<>();
+
+    // The count of every statistics object at the previous summary. Only accessed by the reporter thread.
+    private static final Map<OperationStats, Long> LOGGED_COUNTS = new HashMap<>();
+
+    static {
+        if (AppConfig.METRICS_LOG_MS > 0) {
+            ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "metrics-reporter");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleAtFixedRate(Metrics::logSummary, AppConfig.METRICS_LOG_MS, AppConfig.METRICS_LOG_MS,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Gets the statistics of a query, by the template of its SQL text.
+     *
+     * @param sqlQuery The SQL text of the query, as executed.
+     * @return The statistics of its template.
+     */
+    public static OperationStats query(String sqlQuery) {
+        OperationStats stats = QUERIES_BY_SQL.get(sqlQuery);
+        if (stats != null) {
+            return stats;
+        }
+        stats = queryTemplate(toTemplate(sqlQuery));
+        if (QUERIES_BY_SQL.size() < 4 * AppConfig.METRICS_MAX_TEMPLATES) {
+            QUERIES_BY_SQL.putIfAbsent(sqlQuery, stats);
+        }
+        return stats;
+    }
+
+    /**
+     * Gets the statistics of a named operation, creating them on first use.
+     *
+     * @param name The name of the operation.
+     * @return The statistics of the operation.
+     */
+    public static OperationStats operation(String name) {
+        return OPERATIONS.computeIfAbsent(name, k -> register("Operation", k));
+    }
+
+    /**
+     * Gets the SQL template of a query: its text on one line, with every list of placeholders reduced to one.
+     *
+     * @param sqlQuery The SQL text of the query.
+     * @return The template.
+     */
+    public static String toTemplate(String sqlQuery) {
+        String text = WHITESPACE.matcher(sqlQuery.trim()).replaceAll(" ");
+
+        // Scanned by hand: a regular expression recurses once per placeholder and overflows the stack on long lists
+        StringBuilder template = new StringBuilder(Math.min(text.length(), 256));
+        int i = 0;
+        while (i < text.length()) {
+            char c = text.charAt(i++);
+            template.append(c);
+            if (c != '?') {
+                continue;
+            }
+            // Skip the placeholders following this one, as built by DatabaseManager.buildPlaceholders
+            int end = i;
+            int next = nextPlaceholder(text, end);
+            while (next > 0) {
+                end = next;
+                next = nextPlaceholder(text, end);
+            }
+            if (end > i) {
+                template.append(", ...");
+                i = end;
+            }
+        }
+        return template.toString();
+    }
+
+    /**
+     * Checks whether a text continues with another placeholder of a list: a comma and a question mark, with
+     * optional spaces around the comma.
+     *
+     * @param text  The text, with the whitespace collapsed.
+     * @param index The index following a placeholder.
+     * @return The index following the next placeholder, or -1 if the list ends at the given index.
+     */
+    private static int nextPlaceholder(String text, int index) {
+        int i = index;
+        if (i < text.length() && text.charAt(i) == ' ') {
+            i++;
+        }
+        if (i >= text.length() || text.charAt(i++) != ',') {
+            return -1;
+        }
+        if (i < text.length() && text.charAt(i) == ' ') {
+            i++;
+        }
+        return i < text.length() && text.charAt(i) == '?' ? i + 1 : -1;
+    }
+
+    /**
+     * Gets the statistics of every query template executed so far.
+     *
+     * @return A new list of the statistics.
+     */
+    public static List<OperationStats> getQueryStats() {
+        return new ArrayList<>(QUERIES.values());
+    }
+
+    /**
+     * Gets the statistics of every named operation executed so far.
+     *
+     * @return A new list of the statistics.
+     */
+    public static List<OperationStats> getOperationStats() {
+        return new ArrayList<>(OPERATIONS.values());
+    }
+
+    /**
+     * Gets the statistics of a query template, creating them on first use. Beyond
+     * {@link AppConfig#METRICS_MAX_TEMPLATES} templates, new templates share the statistics of "other queries".
+     *
+     * @param template The SQL template.
+     * @return The statistics of the template.
+     */
+    private static OperationStats queryTemplate(String template) {
+        OperationStats stats = QUERIES.get(template);
+        if (stats != null) {
+            return stats;
+        }
+        if (QUERIES.size() >= AppConfig.METRICS_MAX_TEMPLATES) {
+            template = OTHER_QUERIES;
+        }
+        return QUERIES.computeIfAbsent(template, k -> register("Query", k));
+    }
+
+    /**
+     * Creates statistics and publishes them over JMX. A registration failure is logged and otherwise ignored:
+     * the statistics are still recorded and logged.
+     *
+     * @param type The type of the MBean: "Query" or "Operation".
+     * @param name The name of the operation.
+     * @return The new statistics.
+     */
+    private static OperationStats register(String type, String name) {
+        OperationStats stats = new OperationStats(name);
+        try {
+            ObjectName objectName = new ObjectName(DOMAIN + ":type=" + type + ",name=" + ObjectName.quote(name));
+            ManagementFactory.getPlatformMBeanServer().registerMBean(stats, objectName);
+        } catch (JMException e) {
+            LOGGER.warn("Could not publish the statistics of {} over JMX", name, e);
+        }
+        return stats;
+    }
+
+    /**
+     * Logs the statistics of the queries and operations executed since the previous summary, the ones that took the
+     * most time first.
+     */
+    private static synchronized void logSummary() {
+        try {
+            List<OperationStats> executed = new ArrayList<>();
+            for (OperationStats stats : getOperationStats()) {
+                collectExecuted(stats, executed);
+            }
+            for (OperationStats stats : getQueryStats()) {
+                collectExecuted(stats, executed);
+            }
+            if (executed.isEmpty()) {
+                return;
+            }
+            executed.sort(Comparator.comparingDouble(OperationStats::getTotalMillis).reversed());
+            StringBuilder summary = new StringBuilder("Query and refresh statistics since startup:");
+            for (OperationStats stats : executed) {
+                summary.append(System.lineSeparator()).append("  ").append(stats);
+            }
+            LOGGER.info(summary.toString());
+        } catch (RuntimeException e) {
+            // Never let an error stop the periodic summaries
+            LOGGER.warn("Could not log the query statistics", e);
+        }
+    }
+
+    /**
+     * Adds statistics to a list if they were recorded since the previous summary.
+     *
+     * @param stats    The statistics.
+     * @param executed The list of the statistics to log.
+     */
+    private static void collectExecuted(OperationStats stats, List<OperationStats> executed) {
+        long count = stats.getCount();
+        Long loggedCount = LOGGED_COUNTS.put(stats, count);
+        if (count > 0 && (loggedCount == null || loggedCount != count)) {
+            executed.add(stats);
+        }
+    }
+}
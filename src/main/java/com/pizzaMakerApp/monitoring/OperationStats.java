@@ -0,0 +1,137 @@
+package com.pizzaMakerApp.monitoring;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * OperationStats measures the executions of one operation: the queries of one SQL template, or one kind of
+ * background task (e.g. a refresh of the order list). It counts the executions, the failed ones and the rows they
+ * handled, and keeps the distribution of their durations in a {@link LatencyHistogram}.
+ * <p>
+ * Instances are created and published over JMX by {@link Metrics}; recording is lock-free and never allocates.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * OperationStats stats = Metrics.operation("Order refresh");
+ * long start = System.nanoTime();
+ * int rows = refresh();
+ * stats.record(System.nanoTime() - start, rows, false);
+ * }
+ * </pre>
+ * </p>
+ */
+public class OperationStats implements OperationStatsMBean {
+
+    private final String name;
+
+    private final LatencyHistogram latency = new LatencyHistogram();
+
+    private final LongAdder errors = new LongAdder();
+
+    private final LongAdder rows = new LongAdder();
+
+    /**
+     * Constructs empty statistics.
+     *
+     * @param name The name of the measured operation.
+     */
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Records an execution of the operation.
+     *
+     * @param durationNanos The duration of the execution, measured with {@link System#nanoTime()}.
+     * @param rowCount      The number of rows read or written (or items handled).
+     * @param failed        Whether the execution failed.
+     */
+    public void record(long durationNanos, long rowCount, boolean failed) {
+        latency.recordNanos(durationNanos);
+        if (rowCount > 0) {
+            rows.add(rowCount);
+        }
+        if (failed) {
+            errors.increment();
+        }
+    }
+
+    /**
+     * Gets the histogram of the durations of the executions.
+     *
+     * @return The histogram.
+     */
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public long getCount() {
+        return latency.getCount();
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errors.sum();
+    }
+
+    @Override
+    public long getRowCount() {
+        return rows.sum();
+    }
+
+    @Override
+    public double getTotalMillis() {
+        return latency.getTotalMicros() / 1_000.0;
+    }
+
+    @Override
+    public double getMeanMillis() {
+        return latency.getMeanMicros() / 1_000.0;
+    }
+
+    @Override
+    public double getP50Millis() {
+        return latency.getPercentileMicros(50) / 1_000.0;
+    }
+
+    @Override
+    public double getP95Millis() {
+        return latency.getPercentileMicros(95) / 1_000.0;
+    }
+
+    @Override
+    public double getP99Millis() {
+        return latency.getPercentileMicros(99) / 1_000.0;
+    }
+
+    @Override
+    public double getMaxMillis() {
+        return latency.getMaxMicros() / 1_000.0;
+    }
+
+    @Override
+    public void reset() {
+        latency.reset();
+        errors.reset();
+        rows.reset();
+    }
+
+    /**
+     * Provides a one-line summary of the statistics, suitable for logging.
+     *
+     * @return A string representation of the statistics.
+     */
+    @Override
+    public String toString() {
+        return String.format("n=%d errors=%d rows=%d total=%.0fms mean=%.2fms p50<=%.2fms p95<=%.2fms "
+                        + "p99<=%.2fms max=%.2fms: %s", getCount(), getErrorCount(), getRowCount(), getTotalMillis(),
+                getMeanMillis(), getP50Millis(), getP95Millis(), getP99Millis(), getMaxMillis(), name);
+    }
+}
@@ -0,0 +1,83 @@
+package com.pizzaMakerApp.monitoring;
+
+/**
+ * The management interface of an {@link OperationStats}, published over JMX by {@link Metrics}.
+ * Every attribute is read-only; the durations are in milliseconds.
+ */
+public interface OperationStatsMBean {
+
+    /**
+     * Gets the name of the measured operation: the SQL template of a query, or the name of a task.
+     *
+     * @return The name.
+     */
+    String getName();
+
+    /**
+     * Gets the number of executions, successful or not.
+     *
+     * @return The count.
+     */
+    long getCount();
+
+    /**
+     * Gets the number of executions that failed.
+     *
+     * @return The error count.
+     */
+    long getErrorCount();
+
+    /**
+     * Gets the number of rows read or written by the executions (or items handled, for a task).
+     *
+     * @return The row count.
+     */
+    long getRowCount();
+
+    /**
+     * Gets the total time spent in the executions.
+     *
+     * @return The total duration, in milliseconds.
+     */
+    double getTotalMillis();
+
+    /**
+     * Gets the mean duration of an execution.
+     *
+     * @return The mean duration, in milliseconds.
+     */
+    double getMeanMillis();
+
+    /**
+     * Gets the median duration of an execution.
+     *
+     * @return The 50th percentile, in milliseconds.
+     */
+    double getP50Millis();
+
+    /**
+     * Gets the 95th percentile of the durations.
+     *
+     * @return The 95th percentile, in milliseconds.
+     */
+    double getP95Millis();
+
+    /**
+     * Gets the 99th percentile of the durations.
+     *
+     * @return The 99th percentile, in milliseconds.
+     */
+    double getP99Millis();
+
+    /**
+     * Gets the longest duration of an execution.
+     *
+     * @return The maximum, in milliseconds.
+     */
+    double getMaxMillis();
+
+    /**
+     * Clears the statistics.
+     */
+    void reset();
+}
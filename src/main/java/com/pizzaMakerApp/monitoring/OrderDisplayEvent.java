@@ -0,0 +1,58 @@
+package com.pizzaMakerApp.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * OrderDisplayEvent is the Java Flight Recorder event of one call of
+ * {@link com.pizzaMakerApp.model.Order#display()}, which renders the ticket of an order or returns the cached one.
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * OrderDisplayEvent event = new OrderDisplayEvent();
+ * event.begin();
+ * String ticket = render();
+ * event.end(order.getId(), order.getItems().size(), false);
+ * }
+ * </pre>
+ * </p>
+ */
+@Name("com.pizzaMakerApp.OrderDisplay")
+@Label("Order Display")
+@Description("The rendering of the ticket of an order")
+@Category({"Pizza Maker", "User Interface"})
+@StackTrace(false)
+public class OrderDisplayEvent extends Event {
+
+    @Label("Order Id")
+    int orderId;
+
+    @Label("Item Count")
+    int itemCount;
+
+    @Label("Cached")
+    @Description("Whether the ticket rendered previously was returned")
+    boolean cached;
+
+    /**
+     * Ends the event and commits it, if it is recorded.
+     *
+     * @param orderId   The id of the order.
+     * @param itemCount The number of line items of the order.
+     * @param cached    Whether the cached ticket was returned.
+     */
+    public void end(int orderId, int itemCount, boolean cached) {
+        end();
+        if (shouldCommit()) {
+            this.orderId = orderId;
+            this.itemCount = itemCount;
+            this.cached = cached;
+            commit();
+        }
+    }
+}
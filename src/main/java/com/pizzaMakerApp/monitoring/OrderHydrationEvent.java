@@ -0,0 +1,75 @@
+package com.pizzaMakerApp.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+import java.util.Collection;
+
+/**
+ * OrderHydrationEvent is the Java Flight Recorder event of the hydration of orders by
+ * {@link com.pizzaMakerApp.model.OrderLoader}: reading their line items and resolving their food items from the
+ * menu catalog. The orders are hydrated in sets, so one event covers all the orders of a set; the ids of the first
+ * {@value #MAX_RECORDED_IDS} orders are recorded.
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * OrderHydrationEvent event = new OrderHydrationEvent();
+ * event.begin();
+ * List<Order> orders = assemble();
+ * event.end(orderIds, itemCount);
+ * }
+ * </pre>
+ * </p>
+ */
+@Name("com.pizzaMakerApp.OrderHydration")
+@Label("Order Hydration")
+@Description("The loading of the items of a set of orders")
+@Category({"Pizza Maker", "Orders"})
+public class OrderHydrationEvent extends Event {
+
+    // Beyond this number of orders, the ids are not all recorded.
+    private static final int MAX_RECORDED_IDS = 50;
+
+    @Label("Order Count")
+    int orderCount;
+
+    @Label("Item Count")
+    @Description("The number of line items of the orders")
+    int itemCount;
+
+    @Label("Order Ids")
+    String orderIds;
+
+    /**
+     * Ends the event and commits it, if it is recorded.
+     *
+     * @param orderIds  The ids of the hydrated orders.
+     * @param itemCount The number of line items of the orders.
+     */
+    public void end(Collection<Integer> orderIds, int itemCount) {
+        end();
+        if (shouldCommit()) {
+            this.orderCount = orderIds.size();
+            this.itemCount = itemCount;
+            StringBuilder ids = new StringBuilder();
+            int recorded = 0;
+            for (int id : orderIds) {
+                if (recorded == MAX_RECORDED_IDS) {
+                    ids.append(",...");
+                    break;
+                }
+                if (recorded > 0) {
+                    ids.append(',');
+                }
+                ids.append(id);
+                recorded++;
+            }
+            this.orderIds = ids.toString();
+            commit();
+        }
+    }
+}
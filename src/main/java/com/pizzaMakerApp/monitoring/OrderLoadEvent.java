@@ -0,0 +1,71 @@
+package com.pizzaMakerApp.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * OrderLoadEvent is the Java Flight Recorder event of one load or refresh of the pending orders by
+ * {@link com.pizzaMakerApp.model.OrderManager}: the initial load, a full read of the pending queue, or the loading
+ * of the orders named by the change log.
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * OrderLoadEvent event = new OrderLoadEvent();
+ * event.begin();
+ * OrderDelta delta = readDelta();
+ * event.end(OrderLoadEvent.FULL_REFRESH, delta.getAddedOrders().size(), delta.getRemovedOrderIds().size());
+ * }
+ * </pre>
+ * </p>
+ */
+@Name("com.pizzaMakerApp.OrderLoad")
+@Label("Order Load")
+@Description("A load or refresh of the pending orders")
+@Category({"Pizza Maker", "Orders"})
+public class OrderLoadEvent extends Event {
+
+    /**
+     * The kind of the loading of all the pending orders.
+     */
+    public static final String INITIAL_LOAD = "Initial load";
+
+    /**
+     * The kind of a refresh reading the whole pending queue.
+     */
+    public static final String FULL_REFRESH = "Full refresh";
+
+    /**
+     * The kind of a refresh applying the changes of the change log.
+     */
+    public static final String CHANGE_REFRESH = "Change refresh";
+
+    @Label("Kind")
+    String kind;
+
+    @Label("Added Orders")
+    int addedOrders;
+
+    @Label("Removed Orders")
+    int removedOrders;
+
+    /**
+     * Ends the event and commits it, if it is recorded.
+     *
+     * @param kind          The kind of load: {@link #INITIAL_LOAD}, {@link #FULL_REFRESH} or {@link #CHANGE_REFRESH}.
+     * @param addedOrders   The number of orders loaded.
+     * @param removedOrders The number of orders that are no longer pending.
+     */
+    public void end(String kind, int addedOrders, int removedOrders) {
+        end();
+        if (shouldCommit()) {
+            this.kind = kind;
+            this.addedOrders = addedOrders;
+            this.removedOrders = removedOrders;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.pizzaMakerApp.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * QueryEvent is the Java Flight Recorder event of one query executed by
+ * {@link com.pizzaMakerApp.utils.DatabaseManager}, from the execution of the statement to the release of its
+ * connection.
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * QueryEvent event = new QueryEvent();
+ * event.begin();
+ * int rows = executeQuery(sql);
+ * event.end(Metrics.query(sql).getName(), rows, false);
+ * }
+ * </pre>
+ * </p>
+ */
+@Name("com.pizzaMakerApp.Query")
+@Label("Query")
+@Description("A query or update executed on the database")
+@Category({"Pizza Maker", "Database"})
+@StackTrace(false)
+public class QueryEvent extends Event {
+
+    @Label("SQL Template")
+    String sqlTemplate;
+
+    @Label("Rows")
+    @Description("The number of rows read or written")
+    long rows;
+
+    @Label("Failed")
+    boolean failed;
+
+    /**
+     * Ends the event and commits it, if it is recorded.
+     *
+     * @param sqlTemplate The SQL template of the query (see {@link Metrics#toTemplate(String)}).
+     * @param rows        The number of rows read or written.
+     * @param failed      Whether the query failed.
+     */
+    public void end(String sqlTemplate, long rows, boolean failed) {
+        end();
+        if (shouldCommit()) {
+            this.sqlTemplate = sqlTemplate;
+            this.rows = rows;
+            this.failed = failed;
+            commit();
+        }
+    }
+}
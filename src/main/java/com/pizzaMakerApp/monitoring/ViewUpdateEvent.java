@@ -0,0 +1,53 @@
+package com.pizzaMakerApp.monitoring;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * ViewUpdateEvent is the Java Flight Recorder event of one update of a view with new data, on the Event Dispatch
+ * Thread: the order list of the {@link com.pizzaMakerApp.view.ManagerView}, or the ticket shown by the
+ * {@link com.pizzaMakerApp.view.OrderView}.
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * ViewUpdateEvent event = new ViewUpdateEvent();
+ * event.begin();
+ * listModel.setOrders(orders);
+ * event.end("ManagerView.updateOrderList", orders.size());
+ * }
+ * </pre>
+ * </p>
+ */
+@Name("com.pizzaMakerApp.ViewUpdate")
+@Label("View Update")
+@Description("An update of a view with new data")
+@Category({"Pizza Maker", "User Interface"})
+public class ViewUpdateEvent extends Event {
+
+    @Label("View")
+    @Description("The view and the method updating it")
+    String view;
+
+    @Label("Item Count")
+    @Description("The number of orders shown, or the number of items of the order shown")
+    int itemCount;
+
+    /**
+     * Ends the event and commits it, if it is recorded.
+     *
+     * @param view      The view and the method updating it, e.g. "OrderView.update".
+     * @param itemCount The number of orders or items shown.
+     */
+    public void end(String view, int itemCount) {
+        end();
+        if (shouldCommit()) {
+            this.view = view;
+            this.itemCount = itemCount;
+            commit();
+        }
+    }
+}
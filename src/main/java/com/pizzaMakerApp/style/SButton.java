@@ -1,9 +1,9 @@
 package com.pizzaMakerApp.style;
 
+import com.pizzaMakerApp.utils.AssetRegistry;
+
 import javax.swing.*;
 import javax.swing.border.Border;
-import javax.swing.border.CompoundBorder;
-import javax.swing.border.EmptyBorder;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
@@ -21,6 +21,16 @@ public class SButton extends JButton {
         PRIMARY, SECONDARY, ERROR, NEUTRAL
     }
 
+    // Colors and border of the button at rest.
+    private Color background;
+    private Color foreground;
+    private Border border;
+
+    // Colors and border of the button under the mouse.
+    private Color hoverBackground;
+    private Color hoverForeground;
+    private Border hoverBorder;
+
     /**
      * Creates a new SButton with a specified type and text.
      *
@@ -28,9 +38,7 @@ public class SButton extends JButton {
      * @param type The type of the button (primary, secondary, or error)
      */
     public SButton(String text, ButtonType type) {
-        super(text);
-        initializeStyle(type, 5);
-        initializeHoverEffect(type, 5);
+        this(text, type, 5);
     }
 
     /**
@@ -43,88 +51,95 @@ public class SButton extends JButton {
     public SButton(String text, ButtonType type, int padding) {
         super(text);
         initializeStyle(type, padding);
-        initializeHoverEffect(type, padding);
+        initializeHoverEffect();
     }
 
     /**
      * Initializes the style of the button based on its type.
+     * The colors and borders of both states are resolved here, once; the borders come from the
+     * {@link AssetRegistry} and are shared with the other buttons.
      *
-     * @param type The type of the button
+     * @param type    The type of the button
+     * @param padding The padding to apply to the button
      */
     private void initializeStyle(ButtonType type, int padding) {
-        setFont(new Font("Barlow", Font.BOLD, 16)); // Equivalent to 1rem and font-weight 600
+        setFont(Style.TEXT_BOLD_FONT); // Equivalent to 1rem and font-weight 600
         setFocusPainted(false);
         setContentAreaFilled(false);
         setOpaque(true);
-        setCursor(new Cursor(Cursor.HAND_CURSOR));
+        setCursor(Style.HAND_CURSOR);
 
         Color borderColor;
+        Color hoverBorderColor;
         switch (type) {
             case PRIMARY:
-                setBackground(Style.PRIMARY_COLOR);
-                setForeground(Style.TEXT_COLOR);
+                background = Style.PRIMARY_COLOR;
+                foreground = Style.TEXT_COLOR;
                 borderColor = Style.PRIMARY_COLOR;
+                hoverBackground = Style.PRIMARY_HOVER_COLOR;
+                hoverForeground = foreground;
+                hoverBorderColor = Style.PRIMARY_HOVER_COLOR;
                 break;
             case SECONDARY:
-                setBackground(Style.TEXT_COLOR);
-                setForeground(Style.PRIMARY_COLOR);
+                background = Style.TEXT_COLOR;
+                foreground = Style.PRIMARY_COLOR;
                 borderColor = Style.PRIMARY_COLOR;
+                hoverBackground = background;
+                hoverForeground = Style.PRIMARY_HOVER_COLOR;
+                hoverBorderColor = Style.TEXT_COLOR;
                 break;
             case ERROR:
-                setBackground(Style.SECONDARY_COLOR);
-                setForeground(Style.TEXT_COLOR);
+                background = Style.SECONDARY_COLOR;
+                foreground = Style.TEXT_COLOR;
                 borderColor = Style.SECONDARY_COLOR;
+                hoverBackground = Style.SECONDARY_HOVER_COLOR;
+                hoverForeground = foreground;
+                hoverBorderColor = Style.SECONDARY_HOVER_COLOR;
                 break;
             case NEUTRAL:
-                setBackground(Style.NEUTRAL_COLOR);
-                setForeground(Style.TEXT_COLOR);
+                background = Style.NEUTRAL_COLOR;
+                foreground = Style.TEXT_COLOR;
                 borderColor = Style.NEUTRAL_COLOR;
+                hoverBackground = Style.NEUTRAL_HOVER_COLOR;
+                hoverForeground = foreground;
+                hoverBorderColor = Style.NEUTRAL_HOVER_COLOR;
                 break;
             default:
-                borderColor = Style.PRIMARY_COLOR;
+                throw new IllegalArgumentException("Unknown button type: " + type);
         }
 
-        // Création du CompoundBorder avec LineBorder et EmptyBorder
-        Border lineBorder = BorderFactory.createLineBorder(borderColor, 1, true);
-        Border paddingBorder = new EmptyBorder(padding, padding, padding, padding);
-        setBorder(new CompoundBorder(lineBorder, paddingBorder));
+        // Rounded line border around the padding
+        border = AssetRegistry.getRoundedBorder(borderColor, padding);
+        hoverBorder = AssetRegistry.getRoundedBorder(hoverBorderColor, padding);
+        applyStyle(background, foreground, border);
     }
 
     /**
      * Initializes hover effect for the button.
-     *
-     * @param type The type of the button
+     * Entering and leaving the button only switches between the precomputed colors and borders.
      */
-    private void initializeHoverEffect(ButtonType type, int padding) {
+    private void initializeHoverEffect() {
         addMouseListener(new MouseAdapter() {
             public void mouseEntered(MouseEvent e) {
-                Color hoverBorderColor = switch (type) {
-                    case PRIMARY -> {
-                        setBackground(Style.PRIMARY_HOVER_COLOR);
-                        yield Style.PRIMARY_HOVER_COLOR;
-                    }
-                    case SECONDARY -> {
-                        setForeground(Style.PRIMARY_HOVER_COLOR);
-                        yield Style.TEXT_COLOR;
-                    }
-                    case ERROR -> {
-                        setBackground(Style.SECONDARY_HOVER_COLOR);
-                        yield Style.SECONDARY_HOVER_COLOR;
-                    }
-                    case NEUTRAL -> {
-                        setBackground(Style.NEUTRAL_HOVER_COLOR);
-                        yield Style.NEUTRAL_HOVER_COLOR;
-                    }
-                };
-
-                Border lineBorder = BorderFactory.createLineBorder(hoverBorderColor, 1, true);
-                Border paddingBorder = new EmptyBorder(padding, padding, padding, padding);
-                setBorder(new CompoundBorder(lineBorder, paddingBorder));
+                applyStyle(hoverBackground, hoverForeground, hoverBorder);
             }
 
             public void mouseExited(MouseEvent e) {
-                initializeStyle(type, padding); // Reset to original style when mouse exits
+                applyStyle(background, foreground, border); // Reset to original style when mouse exits
             }
         });
     }
+
+    /**
+     * Applies colors and a border to the button.
+     *
+     * @param background The background color
+     * @param foreground The text color
+     * @param border     The border
+     */
+    private void applyStyle(Color background, Color foreground, Border border) {
+        setBackground(background);
+        setForeground(foreground);
+        setBorder(border);
+    }
 }
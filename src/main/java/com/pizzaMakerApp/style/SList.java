@@ -8,6 +8,12 @@ import java.awt.event.MouseEvent;
 /**
  * A custom JList implementation with enhanced UI features.
  * This class extends JList to provide additional styling and behavior like hover effects.
+ * <p>
+ * Cells are painted by a single pre-styled renderer component, reused for every row, and all the rows have the
+ * same height, so that painting and scrolling do not allocate nor measure the cells one by one. Set a prototype
+ * text with {@link #setPrototypeText(String)} to also fix their width. Hovering only repaints the two rows whose
+ * hover state changed.
+ * </p>
  *
  * @param <T> The type of elements this list will contain.
  */
@@ -16,19 +22,26 @@ public class SList<T> extends JList<T> {
     // Index of the list item currently being hovered over by the mouse.
     private int hoveredIndex = -1;
 
+    // The component painting every cell.
+    private final CustomListCellRenderer renderer = new CustomListCellRenderer();
+
     /**
      * Default constructor for SList.
      */
     public SList() {
         super();
         // Set custom cell renderer to modify the look and feel of list items.
-        setCellRenderer(new CustomListCellRenderer());
+        setCellRenderer(renderer);
 
         // Set the font and color scheme for the list from a predefined style class.
         setFont(Style.TEXT_FONT);
         setBackground(Style.BACKGROUND_COLOR);
         setForeground(Style.TEXT_COLOR);
 
+        // All the rows are a single line of the same font: measure one instead of every cell.
+        renderer.setText(" ");
+        setFixedCellHeight(renderer.getPreferredSize().height);
+
         // Remove the border for a cleaner appearance.
         setBorder(null);
 
@@ -38,47 +51,80 @@ public class SList<T> extends JList<T> {
             public void mouseMoved(MouseEvent e) {
                 // Determine which list item is under the mouse.
                 int index = locationToIndex(e.getPoint());
-                // If the hovered item changes, update the hoveredIndex and repaint the list.
+                // If the hovered item changes, repaint the previous and the new hovered rows.
                 if (index != hoveredIndex) {
+                    int previous = hoveredIndex;
                     hoveredIndex = index;
-                    repaint();
+                    repaintRow(previous);
+                    repaintRow(index);
                 }
             }
 
             @Override
             public void mouseExited(MouseEvent e) {
-                // Reset the hovered index when the mouse leaves the list and repaint.
+                // Reset the hovered index when the mouse leaves the list and repaint its row.
+                int previous = hoveredIndex;
                 hoveredIndex = -1;
-                repaint();
+                repaintRow(previous);
             }
         });
     }
 
+    /**
+     * Fixes the width of the cells to the width of a text, so that the list does not measure every cell to
+     * compute its preferred width. Longer texts are cut.
+     *
+     * @param text The text of the widest expected cell.
+     */
+    public void setPrototypeText(String text) {
+        renderer.setText(text);
+        setFixedCellWidth(renderer.getPreferredSize().width);
+    }
+
+    /**
+     * Repaints the area of a single row.
+     *
+     * @param index The index of the row; ignored if it is not a valid index.
+     */
+    private void repaintRow(int index) {
+        if (index < 0 || index >= getModel().getSize()) {
+            return;
+        }
+        Rectangle bounds = getCellBounds(index, index);
+        if (bounds != null) {
+            repaint(bounds);
+        }
+    }
+
     /**
      * Custom list cell renderer to change the appearance of list items based on state.
+     * A single instance, styled like an {@link SLabel}, paints every cell; as a DefaultListCellRenderer, it skips
+     * the revalidations and repaints that changing its text would otherwise trigger.
      */
     private class CustomListCellRenderer extends DefaultListCellRenderer {
 
+        private CustomListCellRenderer() {
+            setOpaque(true);
+            setFont(Style.TEXT_FONT);
+            setForeground(Style.TEXT_COLOR);
+            setBorder(null);
+        }
+
         @Override
         public Component getListCellRendererComponent(JList<?> list, Object value, int index, boolean isSelected,
                                                       boolean cellHasFocus) {
-            // Create a custom label for each list item.
-            SLabel label = new SLabel(value.toString());
-            label.setOpaque(true);
+            // Reuse the same label for each list item.
+            setText(value.toString());
 
-            // Change the background and foreground of the label based on selection and hover state.
+            // Change the background of the label based on selection and hover state.
             if (isSelected) {
-                label.setBackground(Style.PRIMARY_COLOR);
-                label.setForeground(Style.TEXT_COLOR);
+                setBackground(Style.PRIMARY_COLOR);
             } else if (index == hoveredIndex) {
-                label.setBackground(Style.PRIMARY_HOVER_COLOR);
-                label.setForeground(Style.TEXT_COLOR);
+                setBackground(Style.PRIMARY_HOVER_COLOR);
             } else {
-                label.setBackground(Style.BACKGROUND_COLOR);
-                label.setForeground(Style.TEXT_COLOR);
+                setBackground(Style.BACKGROUND_COLOR);
             }
-
-            return label;
+            return this;
         }
     }
-}
\ No newline at end of file
+}
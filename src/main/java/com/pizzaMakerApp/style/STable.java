@@ -0,0 +1,63 @@
+package com.pizzaMakerApp.style;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.JTableHeader;
+import javax.swing.table.TableModel;
+
+/**
+ * A custom JTable implementation that applies the styles of the Style interface: dark background, application
+ * fonts, and the primary color for the selected rows.
+ * <p>
+ * Like {@link SList}, all the rows have the same height, measured once from the font, and the default renderers
+ * are single components reused for every cell, aligned to the leading edge for text and to the trailing edge for
+ * numbers.
+ * </p>
+ */
+public class STable extends JTable {
+
+    /**
+     * Constructs an STable displaying a model.
+     *
+     * @param model The model of the table.
+     */
+    public STable(TableModel model) {
+        super(model);
+
+        // Set the font and color scheme for the table from a predefined style class.
+        setFont(Style.TEXT_FONT);
+        setBackground(Style.BACKGROUND_COLOR);
+        setForeground(Style.TEXT_COLOR);
+        setSelectionBackground(Style.PRIMARY_COLOR);
+        setSelectionForeground(Style.TEXT_COLOR);
+        setGridColor(Style.NEUTRAL_COLOR);
+        setShowVerticalLines(false);
+        setFillsViewportHeight(true);
+        setBorder(null);
+
+        // All the rows are a single line of the same font.
+        setRowHeight(getFontMetrics(Style.TEXT_FONT).getHeight() + 8);
+
+        // Style the header and the default renderers.
+        JTableHeader header = getTableHeader();
+        header.setFont(Style.TEXT_BOLD_FONT);
+        header.setBackground(Style.NEUTRAL_COLOR);
+        header.setForeground(Style.TEXT_COLOR);
+        header.setReorderingAllowed(false);
+        setDefaultRenderer(Object.class, createRenderer(SwingConstants.LEADING));
+        setDefaultRenderer(Number.class, createRenderer(SwingConstants.TRAILING));
+        setDefaultRenderer(Double.class, createRenderer(SwingConstants.TRAILING));
+    }
+
+    /**
+     * Creates a cell renderer taking the font and colors of the table, with the given alignment.
+     *
+     * @param alignment The horizontal alignment of the text, e.g. SwingConstants.TRAILING for numbers.
+     * @return The renderer.
+     */
+    private static DefaultTableCellRenderer createRenderer(int alignment) {
+        DefaultTableCellRenderer renderer = new DefaultTableCellRenderer();
+        renderer.setHorizontalAlignment(alignment);
+        return renderer;
+    }
+}
@@ -1,12 +1,16 @@
 package com.pizzaMakerApp.style;
 
-import com.pizzaMakerApp.utils.FontLoader;
+import com.pizzaMakerApp.utils.AssetRegistry;
 
 import java.awt.*;
 
 /**
  * The Style interface contains constants for colors and fonts used throughout the application.
  * It defines a standard look and feel by providing a set of pre-defined colors and custom fonts.
+ * <p>
+ * The fonts are obtained from the {@link AssetRegistry}, which loads them once (in the background when they are
+ * preloaded at startup) and shares them between all the components.
+ * </p>
  */
 public interface Style {
 
@@ -79,7 +83,14 @@ public interface Style {
      */
     String TEXT_FONT_NAME = "Barlow-Regular.otf";
 
+    /**
+     * The file name of the font used for bold text.
+     */
     String TEXT_BOLD_FONT_NAME = "Barlow-Bold.otf";
+
+    /**
+     * The file name of the font used for semibold text.
+     */
     String TEXT_SEMIBOLD_FONT_NAME = "Barlow-SemiBold.otf";
 
     /**
@@ -106,20 +117,37 @@ public interface Style {
     /**
      * The custom font used for titles throughout the application.
      */
-    Font TITLE_FONT = FontLoader.loadFont(TITLE_FONT_NAME, TITLE_FONT_SIZE);
+    Font TITLE_FONT = AssetRegistry.getFont(TITLE_FONT_NAME, TITLE_FONT_SIZE);
 
     /**
      * The custom font used for regular text throughout the application.
      */
-    Font TEXT_FONT = FontLoader.loadFont(TEXT_FONT_NAME, TEXT_FONT_SIZE);
+    Font TEXT_FONT = AssetRegistry.getFont(TEXT_FONT_NAME, TEXT_FONT_SIZE);
 
     /**
      * The custom font used for regular text throughout the application.
      */
-    Font TEXT_BOLD_FONT = FontLoader.loadFont(TEXT_BOLD_FONT_NAME, TEXT_BOLD_FONT_SIZE);
+    Font TEXT_BOLD_FONT = AssetRegistry.getFont(TEXT_BOLD_FONT_NAME, TEXT_BOLD_FONT_SIZE);
 
     /**
      * The custom font used for regular text throughout the application.
      */
-    Font TEXT_SEMIBOLD_FONT = FontLoader.loadFont(TEXT_SEMIBOLD_FONT_NAME, TEXT_SEMIBOLD_FONT_SIZE);
+    Font TEXT_SEMIBOLD_FONT = AssetRegistry.getFont(TEXT_SEMIBOLD_FONT_NAME, TEXT_SEMIBOLD_FONT_SIZE);
+
+    // Images
+    /**
+     * The file name of the application logo.
+     */
+    String LOGO_IMAGE_NAME = "logo.png";
+
+    /**
+     * The size of the box in which the logo is displayed.
+     */
+    int LOGO_SIZE = 100;
+
+    // Cursors
+    /**
+     * The cursor of the clickable components, shared by all of them.
+     */
+    Cursor HAND_CURSOR = Cursor.getPredefinedCursor(Cursor.HAND_CURSOR);
 }
@@ -0,0 +1,225 @@
+package com.pizzaMakerApp.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AppendOnlyJournal is a local file of text records, one per line, that survives a crash of the application.
+ * <p>
+ * Records are appended without waiting for the disk: the file is forced to the disk at most once per sync
+ * interval, by a background thread, so that a burst of records costs a single fsync. A record may therefore be
+ * lost if the machine itself crashes within the sync interval, but not if only the application does.
+ * </p>
+ * <p>
+ * The journal is compacted by {@link #rewrite(List)}, which atomically replaces its content with the records
+ * that are still needed, or emptied by {@link #clear()}, which does not wait for the disk. A last line cut by a
+ * crash is ignored when the journal is read back.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * AppendOnlyJournal journal = new AppendOnlyJournal(Path.of("status.journal"), 50);
+ * journal.append("42,PENDING,PREPARATION");
+ * List<String> records = journal.readAll();
+ * }
+ * </pre>
+ * </p>
+ */
+public class AppendOnlyJournal implements AutoCloseable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AppendOnlyJournal.class);
+
+    private final Path file;
+
+    private FileChannel channel;
+
+    // Whether records were written since the last fsync.
+    private boolean dirty;
+
+    // Forces the file to the disk periodically.
+    private final ScheduledExecutorService syncer;
+
+    /**
+     * Opens a journal, creating the file and its directory if needed.
+     *
+     * @param file           The journal file.
+     * @param syncIntervalMs The maximum time, in milliseconds, between an append and the fsync covering it.
+     * @throws IOException If the file cannot be opened.
+     */
+    public AppendOnlyJournal(Path file, long syncIntervalMs) throws IOException {
+        this.file = file;
+        Path directory = file.toAbsolutePath().getParent();
+        if (directory != null) {
+            Files.createDirectories(directory);
+        }
+        this.channel = open(file);
+
+        this.syncer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "journal-sync");
+            thread.setDaemon(true);
+            return thread;
+        });
+        syncer.scheduleWithFixedDelay(this::syncQuietly, syncIntervalMs, syncIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Reads all the complete records of the journal, in the order they were appended.
+     *
+     * @return The records.
+     * @throws IOException If the file cannot be read.
+     */
+    public synchronized List<String> readAll() throws IOException {
+        String content = Files.readString(file, StandardCharsets.UTF_8);
+        List<String> records = new ArrayList<>();
+        int start = 0;
+        int end;
+        // Only lines ended by a line feed are complete; a trailing partial line was cut by a crash.
+        while ((end = content.indexOf('\n', start)) != -1) {
+            if (end > start) {
+                records.add(content.substring(start, end));
+            }
+            start = end + 1;
+        }
+        if (start < content.length()) {
+            LOGGER.warn("Ignoring an incomplete record at the end of {}", file);
+        }
+        return records;
+    }
+
+    /**
+     * Appends a record to the journal. The record is written to the file immediately and forced to the disk
+     * within the sync interval.
+     *
+     * @param record The record; must not contain line feeds.
+     * @throws IOException If the record cannot be written.
+     */
+    public synchronized void append(String record) throws IOException {
+        if (record.indexOf('\n') != -1) {
+            throw new IllegalArgumentException("A record cannot contain a line feed");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap((record + '\n').getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        dirty = true;
+    }
+
+    /**
+     * Replaces the content of the journal with the given records, atomically: after a crash, the journal holds
+     * either its previous content or the new one.
+     *
+     * @param records The records to keep, in order.
+     * @throws IOException If the journal cannot be rewritten.
+     */
+    public synchronized void rewrite(List<String> records) throws IOException {
+        if (records.isEmpty()) {
+            // Nothing to keep: truncating is enough and atomic.
+            channel.truncate(0);
+            channel.force(false);
+            dirty = false;
+            return;
+        }
+        StringBuilder content = new StringBuilder();
+        for (String record : records) {
+            content.append(record).append('\n');
+        }
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel output = FileChannel.open(temporary, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.wrap(content.toString().getBytes(StandardCharsets.UTF_8));
+            while (buffer.hasRemaining()) {
+                output.write(buffer);
+            }
+            output.force(true);
+        }
+        channel.close();
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        channel = open(file);
+        dirty = false;
+    }
+
+    /**
+     * Removes all the records of the journal. Like an append, the change is forced to the disk within the sync
+     * interval: if the machine crashes in the meantime, the journal may still hold its previous records.
+     *
+     * @throws IOException If the file cannot be truncated.
+     */
+    public synchronized void clear() throws IOException {
+        channel.truncate(0);
+        dirty = true;
+    }
+
+    /**
+     * Forces the records appended so far to the disk. Appends are not blocked while the disk is written.
+     *
+     * @throws IOException If the file cannot be synced.
+     */
+    public void sync() throws IOException {
+        FileChannel current;
+        synchronized (this) {
+            if (!dirty) {
+                return;
+            }
+            dirty = false;
+            current = channel;
+        }
+        try {
+            current.force(false);
+        } catch (ClosedChannelException e) {
+            // The journal was rewritten or closed in the meantime, which forced its content to the disk.
+        }
+    }
+
+    /**
+     * Syncs the journal, logging any error; called periodically by the sync thread.
+     */
+    private void syncQuietly() {
+        try {
+            sync();
+        } catch (IOException e) {
+            LOGGER.error("Cannot sync the journal {}", file, e);
+        }
+    }
+
+    /**
+     * Syncs and closes the journal.
+     *
+     * @throws IOException If the last records cannot be synced.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        syncer.shutdownNow();
+        try {
+            sync();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Opens the journal file for appending.
+     *
+     * @param file The journal file.
+     * @return The channel, positioned at the end of the file.
+     * @throws IOException If the file cannot be opened.
+     */
+    private static FileChannel open(Path file) throws IOException {
+        return FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+}
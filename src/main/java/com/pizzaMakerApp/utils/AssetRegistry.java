@@ -0,0 +1,245 @@
+package com.pizzaMakerApp.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import javax.swing.border.Border;
+import javax.swing.border.CompoundBorder;
+import javax.swing.border.EmptyBorder;
+import javax.swing.border.LineBorder;
+import java.awt.*;
+import java.awt.image.BaseMultiResolutionImage;
+import java.awt.image.BufferedImage;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AssetRegistry loads the fonts and images of the application once, and shares them and the objects derived
+ * from them (sized fonts, scaled icons, borders) between all the components.
+ * <p>
+ * {@link #preload(Collection, Collection)} starts reading every font and image concurrently on a small pool of
+ * daemon threads, so the resources are decoded while the rest of the application starts. A resource that is
+ * requested before being preloaded is loaded on the calling thread; a resource being preloaded is waited for.
+ * </p>
+ * <p>
+ * Every cached object is immutable (fonts, borders) or never modified once published (scaled images), so the
+ * components can share the same instances, and repainting or hovering a component does no resource I/O and
+ * allocates nothing once the assets are warm.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * AssetRegistry.preload(List.of("Barlow-Regular.otf"), List.of("logo.png"));   // at startup
+ * Font font = AssetRegistry.getFont("Barlow-Regular.otf", Font.PLAIN, 16f);
+ * ImageIcon logo = AssetRegistry.getScaledIcon("logo.png", 100, 100);
+ * }
+ * </pre>
+ * </p>
+ */
+public class AssetRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AssetRegistry.class);
+
+    // Threads decoding the assets; a few are enough, there are only a handful of files.
+    private static final ExecutorService LOADER = createLoader();
+
+    // The fonts as loaded from their file, with a size of 1 point, by file name.
+    private static final Map<String, CompletableFuture<Font>> BASE_FONTS = new ConcurrentHashMap<>();
+
+    // The decoded images, at their original size, by file name.
+    private static final Map<String, CompletableFuture<BufferedImage>> IMAGES = new ConcurrentHashMap<>();
+
+    // The fonts derived from the base fonts, by "file|style|size".
+    private static final Map<String, Font> DERIVED_FONTS = new ConcurrentHashMap<>();
+
+    // The scaled icons, by "file|width|height".
+    private static final Map<String, ImageIcon> SCALED_ICONS = new ConcurrentHashMap<>();
+
+    // The rounded line borders with padding, by "color|padding".
+    private static final Map<String, Border> BORDERS = new ConcurrentHashMap<>();
+
+    /**
+     * Starts loading fonts and images in the background. Each file is read and decoded on its own task, so
+     * the files are loaded concurrently. This method returns immediately.
+     *
+     * @param fontFileNames  The names of the font files, in the fonts directory.
+     * @param imageFileNames The names of the image files, in the images directory.
+     */
+    public static void preload(Collection<String> fontFileNames, Collection<String> imageFileNames) {
+        for (String fontFileName : fontFileNames) {
+            BASE_FONTS.computeIfAbsent(fontFileName,
+                    name -> CompletableFuture.supplyAsync(() -> FontLoader.loadBaseFont(name), LOADER));
+        }
+        for (String imageFileName : imageFileNames) {
+            IMAGES.computeIfAbsent(imageFileName,
+                    name -> CompletableFuture.supplyAsync(() -> ImageLoader.readImage(name), LOADER));
+        }
+    }
+
+    /**
+     * Starts scaling an image in the background, so that {@link #getScaledIcon(String, int, int)} finds it
+     * ready. The image is loaded first if it has not been preloaded.
+     *
+     * @param imageFileName The name of the image file.
+     * @param width         The maximum width of the icon, in user space.
+     * @param height        The maximum height of the icon, in user space.
+     */
+    public static void preloadScaledIcon(String imageFileName, int width, int height) {
+        preload(List.of(), List.of(imageFileName));
+        IMAGES.get(imageFileName).thenAcceptAsync(image -> getScaledIcon(imageFileName, width, height), LOADER);
+    }
+
+    /**
+     * Gets a font of the given file, style and size. Derived fonts are cached, so every caller asking for the
+     * same font gets the same instance.
+     *
+     * @param fontFileName The name of the font file, in the fonts directory.
+     * @param style        The style of the font ({@link Font#PLAIN}, {@link Font#BOLD}...).
+     * @param size         The size of the font, in points.
+     * @return The font, or null if the font file could not be loaded.
+     */
+    public static Font getFont(String fontFileName, int style, float size) {
+        String key = fontFileName + "|" + style + "|" + size;
+        Font font = DERIVED_FONTS.get(key);
+        if (font != null) {
+            return font;
+        }
+        Font baseFont = getBaseFont(fontFileName);
+        if (baseFont == null) {
+            return null;
+        }
+        return DERIVED_FONTS.computeIfAbsent(key, k -> baseFont.deriveFont(style, size));
+    }
+
+    /**
+     * Gets a plain font of the given file and size.
+     *
+     * @param fontFileName The name of the font file, in the fonts directory.
+     * @param size         The size of the font, in points.
+     * @return The font, or null if the font file could not be loaded.
+     * @see #getFont(String, int, float)
+     */
+    public static Font getFont(String fontFileName, float size) {
+        return getFont(fontFileName, Font.PLAIN, size);
+    }
+
+    /**
+     * Gets an image at its original size. The returned image is shared and must not be modified.
+     *
+     * @param imageFileName The name of the image file, in the images directory.
+     * @return The image, or null if it could not be loaded.
+     */
+    public static BufferedImage getImage(String imageFileName) {
+        return IMAGES.computeIfAbsent(imageFileName,
+                name -> CompletableFuture.completedFuture(ImageLoader.readImage(name))).join();
+    }
+
+    /**
+     * Gets an icon of an image scaled to fit in the given size, keeping its aspect ratio.
+     * The image is scaled once per size with {@link ImageResizer#resizeImageHighQuality(BufferedImage, int, int)}.
+     * On a HiDPI screen the icon also holds a variant scaled for the pixels of the screen, which Swing paints
+     * instead of stretching the icon, so the image stays sharp.
+     *
+     * @param imageFileName The name of the image file, in the images directory.
+     * @param width         The maximum width of the icon, in user space.
+     * @param height        The maximum height of the icon, in user space.
+     * @return The icon, or null if the image could not be loaded.
+     */
+    public static ImageIcon getScaledIcon(String imageFileName, int width, int height) {
+        String key = imageFileName + "|" + width + "|" + height;
+        ImageIcon icon = SCALED_ICONS.get(key);
+        if (icon != null) {
+            return icon;
+        }
+        BufferedImage image = getImage(imageFileName);
+        if (image == null) {
+            return null;
+        }
+        return SCALED_ICONS.computeIfAbsent(key, k -> createScaledIcon(image, width, height));
+    }
+
+    /**
+     * Gets a rounded line border of one pixel surrounding an empty padding, as used by the buttons.
+     * Borders are immutable, so the same instance is shared by all the components using it.
+     *
+     * @param color   The color of the line.
+     * @param padding The padding inside the line, on every side.
+     * @return The border.
+     */
+    public static Border getRoundedBorder(Color color, int padding) {
+        return BORDERS.computeIfAbsent(color.getRGB() + "|" + padding,
+                k -> new CompoundBorder(new LineBorder(color, 1, true),
+                        new EmptyBorder(padding, padding, padding, padding)));
+    }
+
+    /**
+     * Gets a base font, waiting for it if it is being preloaded and loading it otherwise.
+     *
+     * @param fontFileName The name of the font file.
+     * @return The font with a size of 1 point, or null if it could not be loaded.
+     */
+    private static Font getBaseFont(String fontFileName) {
+        return BASE_FONTS.computeIfAbsent(fontFileName,
+                name -> CompletableFuture.completedFuture(FontLoader.loadBaseFont(name))).join();
+    }
+
+    /**
+     * Scales an image for the default screen.
+     *
+     * @param image  The image at its original size.
+     * @param width  The maximum width of the icon, in user space.
+     * @param height The maximum height of the icon, in user space.
+     * @return The icon.
+     */
+    private static ImageIcon createScaledIcon(BufferedImage image, int width, int height) {
+        long start = System.nanoTime();
+        BufferedImage scaled = ImageResizer.resizeImageHighQuality(image, width, height);
+        double screenScale = getScreenScale();
+        Image iconImage = scaled;
+        if (screenScale > 1) {
+            // The variant for the screen pixels, painted by Swing in place of the base image.
+            BufferedImage hiDpi = ImageResizer.resizeImageHighQuality(image,
+                    (int) Math.ceil(width * screenScale), (int) Math.ceil(height * screenScale));
+            iconImage = new BaseMultiResolutionImage(scaled, hiDpi);
+        }
+        LOGGER.debug("Scaled image to {}x{} (screen scale {}) in {} ms", scaled.getWidth(), scaled.getHeight(),
+                screenScale, (System.nanoTime() - start) / 1_000_000);
+        return new ImageIcon(iconImage);
+    }
+
+    /**
+     * Gets the scale of the default screen, i.e. the number of pixels per unit of user space.
+     *
+     * @return The scale, 1 on a standard screen or without a screen.
+     */
+    private static double getScreenScale() {
+        if (GraphicsEnvironment.isHeadless()) {
+            return 1;
+        }
+        return GraphicsEnvironment.getLocalGraphicsEnvironment().getDefaultScreenDevice()
+                .getDefaultConfiguration().getDefaultTransform().getScaleX();
+    }
+
+    /**
+     * Creates the pool of daemon threads loading the assets.
+     *
+     * @return The ExecutorService loading the assets.
+     */
+    private static ExecutorService createLoader() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        int threads = Math.max(2, Math.min(4, Runtime.getRuntime().availableProcessors()));
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "asset-loader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package com.pizzaMakerApp.utils;
+
+import com.pizzaMakerApp.config.DBConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.*;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * AsyncExecutor runs database work in the background, away from the Swing Event Dispatch Thread (EDT),
+ * and hands the results back to the EDT.
+ * <p>
+ * Tasks run on virtual threads when the JVM supports them (Java 21 and later), otherwise on a pool of
+ * daemon threads sized like the connection pool, since every task ends up waiting for a database connection.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * AsyncExecutor.submit(() -> OrderLoader.loadPendingOrders(),
+ *         orders -> managerView.updateOrderList(orders),   // runs on the EDT
+ *         error -> showError(error));                       // runs on the EDT
+ * }
+ * </pre>
+ * </p>
+ */
+public class AsyncExecutor {
+
+    /**
+     * A unit of background work that produces a result and may throw a checked exception (e.g. SQLException).
+     *
+     * @param <T> The type of the result.
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        /**
+         * Runs the task.
+         *
+         * @return The result of the task.
+         * @throws Exception If the task fails.
+         */
+        T call() throws Exception;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AsyncExecutor.class);
+
+    private static final ExecutorService EXECUTOR = createExecutor();
+
+    /**
+     * Runs a task in the background.
+     *
+     * @param task The task to run.
+     * @param <T>  The type of the result.
+     * @return A future completed with the result of the task, or exceptionally with its error.
+     */
+    public static <T> CompletableFuture<T> submit(Task<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        Future<?> execution = EXECUTOR.submit(() -> {
+            if (future.isDone()) {
+                // Cancelled before it started.
+                return;
+            }
+            try {
+                future.complete(task.call());
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        });
+        // Cancelling the returned future interrupts the task if it is running.
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                execution.cancel(true);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Runs a task in the background, then calls one of the callbacks on the Event Dispatch Thread.
+     * Nothing is called if the returned future is cancelled.
+     *
+     * @param task      The task to run.
+     * @param onSuccess The callback receiving the result, run on the EDT.
+     * @param onError   The callback receiving the error, run on the EDT.
+     * @param <T>       The type of the result.
+     * @return A future that can be used to cancel the task.
+     */
+    public static <T> CompletableFuture<T> submit(Task<T> task, Consumer<T> onSuccess, Consumer<Throwable> onError) {
+        CompletableFuture<T> future = submit(task);
+        future.whenComplete((result, error) -> {
+            if (error instanceof CancellationException) {
+                return;
+            }
+            SwingUtilities.invokeLater(() -> {
+                if (error == null) {
+                    onSuccess.accept(result);
+                } else {
+                    onError.accept(error instanceof CompletionException && error.getCause() != null
+                            ? error.getCause() : error);
+                }
+            });
+        });
+        return future;
+    }
+
+    /**
+     * Creates the executor: virtual threads if available, a bounded pool of daemon threads otherwise.
+     *
+     * @return The ExecutorService running the background tasks.
+     */
+    private static ExecutorService createExecutor() {
+        try {
+            ExecutorService executor = (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+            LOGGER.info("Background database tasks run on virtual threads");
+            return executor;
+        } catch (ReflectiveOperationException e) {
+            // Virtual threads are not available on this JVM.
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newFixedThreadPool(DBConfig.POOL_MAX_SIZE, runnable -> {
+                Thread thread = new Thread(runnable, "db-worker-" + threadNumber.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+}
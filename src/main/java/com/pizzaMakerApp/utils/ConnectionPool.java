@@ -0,0 +1,462 @@
+package com.pizzaMakerApp.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ConnectionPool is a bounded pool of database connections.
+ * It keeps between a minimum and a maximum number of physical connections open, so that several threads
+ * can query the database in parallel without paying for a new connection handshake on every query.
+ * <p>
+ * The pool provides the following features:
+ * <ul>
+ *   <li>Bounded size: at most {@code maxSize} connections are open at any time.</li>
+ *   <li>Borrow timeout: a caller waits at most {@code borrowTimeoutMillis} for a connection.</li>
+ *   <li>Validation on borrow: broken connections are discarded and replaced transparently.</li>
+ *   <li>Idle eviction: connections idle for longer than {@code idleTimeoutMillis} are closed,
+ *       down to {@code minSize}.</li>
+ *   <li>Leak detection: connections held for longer than {@code leakThresholdMillis} are reported
+ *       with the stack trace of the caller that borrowed them.</li>
+ *   <li>Statistics: see {@link #getStats()}.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * PooledConnection pooled = pool.borrow();
+ * try {
+ *     Connection connection = pooled.getConnection();
+ *     // Use the connection...
+ * } finally {
+ *     pool.release(pooled);
+ * }
+ * }
+ * </pre>
+ * </p>
+ */
+public class ConnectionPool {
+
+    /**
+     * Factory used by the pool to open new physical connections.
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        /**
+         * Opens a new physical connection to the database.
+         *
+         * @return A new Connection.
+         * @throws SQLException If the connection cannot be established.
+         */
+        Connection create() throws SQLException;
+    }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ConnectionPool.class);
+
+    // A connection returned less than 500 ms ago is trusted without a validation round trip.
+    private static final long VALIDATION_BYPASS_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+
+    private final ConnectionFactory factory;
+    private final int minSize;
+    private final int maxSize;
+    private final long borrowTimeoutNanos;
+    private final long idleTimeoutNanos;
+    private final long leakThresholdNanos;
+    private final int validationTimeoutSeconds;
+    private final int statementCacheSize;
+
+    // Lock protecting the idle deque and the counters below, and the condition signalled when a slot frees up.
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+
+    // Idle connections, most recently used first, so that the oldest ones age out and get evicted.
+    private final ArrayDeque<PooledConnection> idle = new ArrayDeque<>();
+
+    // Connections currently borrowed, used for leak detection.
+    private final Set<PooledConnection> borrowed = ConcurrentHashMap.newKeySet();
+
+    // Number of physical connections open or being opened.
+    private int totalConnections;
+
+    // Number of threads waiting for a connection.
+    private int waitingThreads;
+
+    // Whether the pool has been closed.
+    private boolean closed;
+
+    // Statistics counters.
+    private final AtomicLong borrowCount = new AtomicLong();
+    private final AtomicLong totalBorrowNanos = new AtomicLong();
+    private final AtomicLong maxBorrowNanos = new AtomicLong();
+    private final AtomicLong borrowTimeouts = new AtomicLong();
+    private final AtomicLong validationFailures = new AtomicLong();
+    private final AtomicLong leaksDetected = new AtomicLong();
+    private final AtomicLong connectionsCreated = new AtomicLong();
+    private final AtomicLong connectionsEvicted = new AtomicLong();
+
+    // Background thread running idle eviction, leak detection and refilling the pool up to minSize.
+    private final ScheduledExecutorService housekeeper;
+
+    /**
+     * Constructs a new ConnectionPool and starts its housekeeping task.
+     *
+     * @param factory                  The factory used to open new physical connections.
+     * @param minSize                  The number of connections kept open even when idle.
+     * @param maxSize                  The maximum number of connections open at the same time.
+     * @param borrowTimeoutMillis      The maximum time a caller waits for a connection.
+     * @param idleTimeoutMillis        The time after which an idle connection above minSize is closed.
+     * @param leakThresholdMillis      The time after which a borrowed connection is reported as leaked
+     *                                 (0 disables leak detection).
+     * @param validationTimeoutSeconds The timeout used when validating a connection on borrow.
+     * @param statementCacheSize       The number of prepared statements cached per connection (0 disables the cache).
+     * @throws IllegalArgumentException If the sizes are inconsistent.
+     */
+    public ConnectionPool(ConnectionFactory factory, int minSize, int maxSize, long borrowTimeoutMillis,
+                          long idleTimeoutMillis, long leakThresholdMillis, int validationTimeoutSeconds,
+                          int statementCacheSize) {
+        if (minSize < 0 || maxSize < 1 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool size: min=" + minSize + ", max=" + maxSize);
+        }
+        this.factory = factory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.borrowTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(borrowTimeoutMillis);
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+        this.leakThresholdNanos = TimeUnit.MILLISECONDS.toNanos(leakThresholdMillis);
+        this.validationTimeoutSeconds = validationTimeoutSeconds;
+        this.statementCacheSize = statementCacheSize;
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "connection-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Run the housekeeping at a quarter of the shortest timeout, at least once per second.
+        long period = Math.max(1000, Math.min(idleTimeoutMillis,
+                leakThresholdMillis > 0 ? leakThresholdMillis : idleTimeoutMillis) / 4);
+        housekeeper.scheduleWithFixedDelay(this::houseKeep, 0, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Borrows a connection from the pool, waiting up to the borrow timeout if all connections are in use.
+     * The returned connection has been validated and is in auto-commit mode.
+     *
+     * @return A PooledConnection that must be given back with {@link #release(PooledConnection)}.
+     * @throws SQLTimeoutException If no connection became available before the timeout.
+     * @throws SQLException        If the pool is closed, the thread is interrupted or a connection cannot be opened.
+     */
+    PooledConnection borrow() throws SQLException {
+        long start = System.nanoTime();
+        long deadline = start + borrowTimeoutNanos;
+
+        while (true) {
+            PooledConnection candidate = null;
+            boolean mustCreate = false;
+
+            lock.lock();
+            try {
+                while (candidate == null && !mustCreate) {
+                    if (closed) {
+                        throw new SQLException("Connection pool is closed");
+                    }
+                    candidate = idle.pollFirst();
+                    if (candidate == null) {
+                        if (totalConnections < maxSize) {
+                            // Reserve a slot; the connection itself is opened outside the lock.
+                            totalConnections++;
+                            mustCreate = true;
+                        } else {
+                            awaitAvailable(deadline);
+                        }
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (mustCreate) {
+                candidate = openConnection();
+            } else if (!candidate.isValid(validationTimeoutSeconds, VALIDATION_BYPASS_NANOS)) {
+                // The idle connection is broken (e.g. the link dropped): discard it and try again.
+                validationFailures.incrementAndGet();
+                LOGGER.warn("Discarding a pooled connection that failed validation");
+                discard(candidate);
+                continue;
+            }
+
+            candidate.markBorrowed(leakThresholdNanos > 0);
+            borrowed.add(candidate);
+            recordBorrowLatency(System.nanoTime() - start);
+            return candidate;
+        }
+    }
+
+    /**
+     * Gives a borrowed connection back to the pool. Any transaction left open is rolled back.
+     * Connections that are closed or cannot be reset are discarded.
+     *
+     * @param pooled The connection to give back; ignored if null.
+     */
+    void release(PooledConnection pooled) {
+        if (pooled == null || !borrowed.remove(pooled)) {
+            return;
+        }
+        if (pooled.isLeakReported()) {
+            LOGGER.info("Leaked connection returned after {} ms",
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - pooled.getBorrowedAt()));
+        }
+        if (!pooled.reset()) {
+            discard(pooled);
+            return;
+        }
+        pooled.markReleased();
+
+        lock.lock();
+        try {
+            if (closed) {
+                totalConnections--;
+                pooled.closeQuietly();
+                return;
+            }
+            idle.addFirst(pooled);
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Closes the pool: idle connections are closed immediately, borrowed connections are closed when released.
+     */
+    public void close() {
+        housekeeper.shutdownNow();
+        List<PooledConnection> toClose;
+        lock.lock();
+        try {
+            closed = true;
+            toClose = new ArrayList<>(idle);
+            totalConnections -= idle.size();
+            idle.clear();
+            available.signalAll();
+        } finally {
+            lock.unlock();
+        }
+        toClose.forEach(PooledConnection::closeQuietly);
+    }
+
+    /**
+     * Takes a snapshot of the pool statistics.
+     *
+     * @return The current PoolStats.
+     */
+    public PoolStats getStats() {
+        int total;
+        int idleCount;
+        int waiting;
+        lock.lock();
+        try {
+            total = totalConnections;
+            idleCount = idle.size();
+            waiting = waitingThreads;
+        } finally {
+            lock.unlock();
+        }
+        long borrows = borrowCount.get();
+        long average = borrows == 0 ? 0 : totalBorrowNanos.get() / borrows;
+        return new PoolStats(total, borrowed.size(), idleCount, waiting, borrows, average, maxBorrowNanos.get(),
+                borrowTimeouts.get(), validationFailures.get(), leaksDetected.get(), connectionsCreated.get(),
+                connectionsEvicted.get());
+    }
+
+    /**
+     * Waits until a connection is released or the deadline expires. Must be called with the lock held.
+     *
+     * @param deadline The deadline, as given by System.nanoTime().
+     * @throws SQLException If the deadline expires or the thread is interrupted.
+     */
+    private void awaitAvailable(long deadline) throws SQLException {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            borrowTimeouts.incrementAndGet();
+            throw new SQLTimeoutException("Timed out after " + TimeUnit.NANOSECONDS.toMillis(borrowTimeoutNanos)
+                    + " ms waiting for a database connection (" + maxSize + " in use)");
+        }
+        waitingThreads++;
+        try {
+            available.awaitNanos(remaining);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a database connection", e);
+        } finally {
+            waitingThreads--;
+        }
+    }
+
+    /**
+     * Opens a new physical connection for a slot already reserved in totalConnections.
+     * The slot is freed if the connection cannot be opened.
+     *
+     * @return The new PooledConnection.
+     * @throws SQLException If the connection cannot be established.
+     */
+    private PooledConnection openConnection() throws SQLException {
+        try {
+            PooledConnection pooled = new PooledConnection(factory.create(), statementCacheSize);
+            connectionsCreated.incrementAndGet();
+            return pooled;
+        } catch (SQLException | RuntimeException e) {
+            freeSlot();
+            throw e;
+        }
+    }
+
+    /**
+     * Closes a connection and frees its slot in the pool.
+     *
+     * @param pooled The connection to discard.
+     */
+    private void discard(PooledConnection pooled) {
+        pooled.closeQuietly();
+        freeSlot();
+    }
+
+    /**
+     * Frees a slot in the pool and wakes up a waiting thread so it can open a new connection.
+     */
+    private void freeSlot() {
+        lock.lock();
+        try {
+            totalConnections--;
+            available.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records the time a caller spent waiting for a connection.
+     *
+     * @param nanos The borrow latency in nanoseconds.
+     */
+    private void recordBorrowLatency(long nanos) {
+        borrowCount.incrementAndGet();
+        totalBorrowNanos.addAndGet(nanos);
+        maxBorrowNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Periodic housekeeping: evicts connections idle for too long, reports leaked connections
+     * and opens connections until minSize is reached.
+     */
+    private void houseKeep() {
+        try {
+            evictIdleConnections();
+            detectLeaks();
+            fillToMinimum();
+            LOGGER.debug("Connection pool: {}", getStats());
+        } catch (RuntimeException e) {
+            // Never let an exception cancel the scheduled task.
+            LOGGER.error("Error during connection pool housekeeping", e);
+        }
+    }
+
+    /**
+     * Closes the connections idle for longer than the idle timeout, keeping at least minSize connections open.
+     */
+    private void evictIdleConnections() {
+        List<PooledConnection> evicted = new ArrayList<>();
+        long now = System.nanoTime();
+        lock.lock();
+        try {
+            // The oldest connections are at the end of the deque.
+            Iterator<PooledConnection> iterator = idle.descendingIterator();
+            while (iterator.hasNext() && totalConnections > minSize) {
+                PooledConnection pooled = iterator.next();
+                if (now - pooled.getLastReleasedAt() < idleTimeoutNanos) {
+                    break;
+                }
+                iterator.remove();
+                totalConnections--;
+                evicted.add(pooled);
+            }
+        } finally {
+            lock.unlock();
+        }
+        evicted.forEach(PooledConnection::closeQuietly);
+        connectionsEvicted.addAndGet(evicted.size());
+    }
+
+    /**
+     * Logs a warning, with the borrow stack trace, for every connection held longer than the leak threshold.
+     */
+    private void detectLeaks() {
+        if (leakThresholdNanos <= 0) {
+            return;
+        }
+        long now = System.nanoTime();
+        for (PooledConnection pooled : borrowed) {
+            long borrowedAt = pooled.getBorrowedAt();
+            if (borrowedAt != 0 && !pooled.isLeakReported() && now - borrowedAt > leakThresholdNanos) {
+                pooled.setLeakReported();
+                leaksDetected.incrementAndGet();
+                LOGGER.warn("Possible connection leak: connection held for more than {} ms",
+                        TimeUnit.NANOSECONDS.toMillis(leakThresholdNanos), pooled.getBorrowSite());
+            }
+        }
+    }
+
+    /**
+     * Opens connections until minSize connections exist, so that the first queries do not pay the handshake.
+     */
+    private void fillToMinimum() {
+        while (true) {
+            lock.lock();
+            try {
+                if (closed || totalConnections >= minSize) {
+                    return;
+                }
+                totalConnections++;
+            } finally {
+                lock.unlock();
+            }
+
+            PooledConnection pooled;
+            try {
+                pooled = openConnection();
+            } catch (SQLException e) {
+                LOGGER.warn("Could not open a connection to fill the pool: {}", e.getMessage());
+                return;
+            }
+
+            lock.lock();
+            try {
+                if (closed) {
+                    totalConnections--;
+                    pooled.closeQuietly();
+                    return;
+                }
+                idle.addLast(pooled);
+                available.signal();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+}
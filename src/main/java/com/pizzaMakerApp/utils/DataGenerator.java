@@ -0,0 +1,495 @@
+package com.pizzaMakerApp.utils;
+
+import com.pizzaMakerApp.model.ItemType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataGenerator fills an empty PIZZERIA database (see {@link EmbeddedDatabase}) with a realistic menu,
+ * a queue of pending orders and any number of historical orders (delivered, shipped or canceled).
+ * <p>
+ * The data is generated from a seed, so that two databases generated with the same seed and sizes hold
+ * the same orders. Rows are inserted with JDBC batches and committed regularly, so that millions of orders
+ * can be generated without holding them in memory.
+ * </p>
+ * <p>
+ * Example usage, from the command line, to generate a database file with one million historical orders:
+ * <pre>
+ * {@code
+ * java -cp PizzaMaker.jar com.pizzaMakerApp.utils.DataGenerator "jdbc:h2:./pizzeria;MODE=MariaDB" 50 1000000
+ * }
+ * </pre>
+ * </p>
+ */
+public class DataGenerator {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DataGenerator.class);
+
+    private static final String[][] INGREDIENTS = {
+            {"Tomato sauce", "cl"}, {"Mozzarella", "g"}, {"Ham", "g"}, {"Mushrooms", "g"}, {"Olives", "g"},
+            {"Anchovies", "g"}, {"Goat cheese", "g"}, {"Honey", "cl"}, {"Chorizo", "g"}, {"Peppers", "g"},
+            {"Onions", "g"}, {"Basil", "g"}, {"Gorgonzola", "g"}, {"Parmesan", "g"}, {"Egg", "unit"},
+            {"Cream", "cl"}, {"Bacon", "g"}, {"Salmon", "g"}, {"Chicken", "g"}, {"Artichoke", "g"},
+            {"Sugar", "g"}, {"Chocolate", "g"}, {"Flour", "g"}, {"Butter", "g"}, {"Rum", "cl"},
+            {"Mint", "g"}, {"Lime", "unit"}, {"Vodka", "cl"}, {"Orange juice", "cl"}, {"Tequila", "cl"}
+    };
+
+    // Pizza toppings are taken from the ingredients 3 to 20 (1 and 2 are the tomato sauce and the mozzarella).
+    private static final int FIRST_TOPPING = 3;
+    private static final int TOPPING_COUNT = 18;
+
+    private static final String[] PIZZAS = {
+            "Margherita", "Regina", "Napolitaine", "Quatre fromages", "Chèvre miel", "Calzone", "Orientale",
+            "Carbonara", "Saumon", "Poulet", "Végétarienne", "Diavola"
+    };
+
+    private static final String[] DESSERTS = {"Tiramisu", "Fondant au chocolat", "Panna cotta", "Crêpe"};
+
+    private static final String[] COCKTAILS = {"Mojito", "Screwdriver", "Margarita", "Daiquiri"};
+
+    private static final String[] CLIENTS = {
+            "Martin", "Bernard", "Thomas", "Petit", "Robert", "Richard", "Durand", "Dubois", "Moreau", "Laurent",
+            "Simon", "Michel", "Lefebvre", "Leroy", "Roux", "David", "Bertrand", "Morel", "Fournier", "Girard"
+    };
+
+    private static final String[] HISTORY_STATUSES = {"DELIVERED", "DELIVERED", "DELIVERED", "SHIPPED", "CANCELED"};
+
+    private static final int WINE_COUNT = 6;
+    private static final int SODA_COUNT = 5;
+
+    // Item types of the generated orders: pizzas are ordered more often than the other items.
+    private static final ItemType[] ORDERED_TYPES = {ItemType.PIZZA, ItemType.PIZZA, ItemType.PIZZA,
+            ItemType.DESSERT, ItemType.WINE, ItemType.COCKTAIL, ItemType.SODA};
+
+    // Share of the ordered pizzas that are customized.
+    private static final double CUSTOM_PIZZA_RATIO = 0.15;
+
+    // Row of the change log written with every order placed.
+    private static final String INSERT_CHANGE_QUERY =
+            "INSERT INTO ORDER_CHANGE (orderId, status, changedAt) VALUES (?, ?, ?)";
+
+    // Number of orders inserted between two commits.
+    private static final int ORDERS_PER_COMMIT = 5000;
+
+    private final Random random;
+
+    // Ingredient ids of every pizza, by pizza id (index 0 is unused).
+    private final List<List<Integer>> pizzaIngredients = new ArrayList<>();
+
+    private int nextOrderId = 1;
+    private int nextCustomPizzaId = 1;
+
+    /**
+     * Constructs a new DataGenerator.
+     *
+     * @param seed The seed of the random generator.
+     */
+    public DataGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates a database: the schema must exist and the tables must be empty.
+     * Historical orders are spread over the last year; pending orders are the most recent ones, one minute apart.
+     *
+     * @param connection    The connection to the database; its auto-commit mode is restored afterwards.
+     * @param pendingOrders The number of pending orders.
+     * @param historyOrders The number of historical orders.
+     * @throws SQLException If an insert fails.
+     */
+    public void generate(Connection connection, int pendingOrders, int historyOrders) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            long start = System.nanoTime();
+            generateMenu(connection);
+
+            long now = System.currentTimeMillis();
+            long pendingStart = now - pendingOrders * 60_000L;
+            long historyStart = pendingStart - TimeUnit.DAYS.toMillis(365);
+            long historyStep = historyOrders > 0 ? (pendingStart - historyStart) / historyOrders : 0;
+
+            try (OrderWriter writer = new OrderWriter(connection)) {
+                for (int i = 0; i < historyOrders; i++) {
+                    writer.addRandomOrder(new Timestamp(historyStart + i * historyStep),
+                            HISTORY_STATUSES[random.nextInt(HISTORY_STATUSES.length)]);
+                }
+                for (int i = 0; i < pendingOrders; i++) {
+                    writer.addRandomOrder(new Timestamp(pendingStart + i * 60_000L), "PENDING");
+                }
+            }
+            connection.commit();
+            LOGGER.info("Generated {} pending and {} historical orders in {} ms", pendingOrders, historyOrders,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Places new pending orders dated now, the way the ordering website does: the orders, their items and their
+     * rows of the ORDER_CHANGE log are committed together. Must be called after
+     * {@link #generate(Connection, int, int)}.
+     *
+     * @param connection The connection to the database; its auto-commit mode is restored afterwards.
+     * @param count      The number of orders to place.
+     * @return The ids of the new orders.
+     * @throws SQLException If an insert fails; no order is placed in that case.
+     */
+    public List<Integer> placeOrders(Connection connection, int count) throws SQLException {
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            Timestamp now = new Timestamp(System.currentTimeMillis());
+            List<Integer> orderIds = new ArrayList<>(count);
+            try (OrderWriter writer = new OrderWriter(connection)) {
+                for (int i = 0; i < count; i++) {
+                    orderIds.add(writer.addRandomOrder(now, "PENDING"));
+                }
+            }
+            try (PreparedStatement insertChange = connection.prepareStatement(INSERT_CHANGE_QUERY)) {
+                for (int orderId : orderIds) {
+                    insertChange.setInt(1, orderId);
+                    insertChange.setString(2, "PENDING");
+                    insertChange.setTimestamp(3, now);
+                    insertChange.addBatch();
+                }
+                insertChange.executeBatch();
+            }
+            connection.commit();
+            return orderIds;
+        } catch (SQLException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    /**
+     * Generates one order per item type, made of three different items of that type (e.g. to measure the
+     * loading of an order per item type). Must be called after {@link #generate(Connection, int, int)}.
+     *
+     * @param connection The connection to the database.
+     * @param status     The status of the orders.
+     * @return The id of the generated order, by item type.
+     * @throws SQLException If an insert fails.
+     */
+    public Map<ItemType, Integer> generateSingleTypeOrders(Connection connection, String status) throws SQLException {
+        Map<ItemType, Integer> orderIds = new EnumMap<>(ItemType.class);
+        try (OrderWriter writer = new OrderWriter(connection)) {
+            for (ItemType type : ItemType.values()) {
+                int orderId = writer.addOrder(new Timestamp(System.currentTimeMillis()), status);
+                Set<Integer> itemIds = new LinkedHashSet<>();
+                while (itemIds.size() < 3) {
+                    itemIds.add(randomItemId(writer, type));
+                }
+                for (int itemId : itemIds) {
+                    writer.addItem(orderId, type, itemId, 1);
+                }
+                orderIds.put(type, orderId);
+            }
+        }
+        return orderIds;
+    }
+
+    /**
+     * Inserts the menu: ingredients, pizzas, desserts, cocktails, wines and sodas, and the clients.
+     *
+     * @param connection The connection to the database.
+     * @throws SQLException If an insert fails.
+     */
+    private void generateMenu(Connection connection) throws SQLException {
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO INGREDIENT VALUES (?, ?, ?)")) {
+            for (int i = 0; i < INGREDIENTS.length; i++) {
+                insert.setInt(1, i + 1);
+                insert.setString(2, INGREDIENTS[i][0]);
+                insert.setString(3, INGREDIENTS[i][1]);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        pizzaIngredients.add(List.of());
+        for (int i = 0; i < PIZZAS.length; i++) {
+            // Every pizza has tomato sauce and mozzarella, plus 2 to 5 toppings.
+            Set<Integer> ingredients = new LinkedHashSet<>(List.of(1, 2));
+            int toppings = 2 + random.nextInt(4);
+            while (ingredients.size() < 2 + toppings) {
+                ingredients.add(FIRST_TOPPING + random.nextInt(TOPPING_COUNT));
+            }
+            pizzaIngredients.add(new ArrayList<>(ingredients));
+        }
+        insertItems(connection, "PIZZA", PIZZAS, 9.5f, pizzaIngredients);
+        insertItems(connection, "DESSERT", DESSERTS, 5f, randomIngredients(DESSERTS.length, 21, 25));
+        insertItems(connection, "COCKTAIL", COCKTAILS, 8f, randomIngredients(COCKTAILS.length, 25, 30));
+
+        String[] colors = {"RED", "WHITE", "ROSE"};
+        String[] wineBottles = {"BOTTLE", "PICCOLO", "MAGNUM"};
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO WINE VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
+            for (int id = 1; id <= WINE_COUNT; id++) {
+                insert.setInt(1, id);
+                insert.setString(2, "Cuvée " + id);
+                insert.setFloat(3, 18f + id * 3);
+                insert.setString(4, "Domaine " + id);
+                insert.setString(5, id % 2 == 0 ? "Bordeaux" : "Bourgogne");
+                insert.setInt(6, 2010 + id);
+                insert.setString(7, colors[id % colors.length]);
+                insert.setString(8, wineBottles[id % wineBottles.length]);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO SODA VALUES (?, ?, ?, ?)")) {
+            for (int id = 1; id <= SODA_COUNT; id++) {
+                insert.setInt(1, id);
+                insert.setString(2, "Soda " + id);
+                insert.setFloat(3, 2.5f);
+                insert.setString(4, id % 2 == 0 ? "CAN" : "BOTTLE");
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+
+        try (PreparedStatement insert = connection.prepareStatement("INSERT INTO CLIENT VALUES (?, ?)")) {
+            for (int i = 0; i < CLIENTS.length; i++) {
+                insert.setInt(1, i + 1);
+                insert.setString(2, CLIENTS[i]);
+                insert.addBatch();
+            }
+            insert.executeBatch();
+        }
+    }
+
+    /**
+     * Inserts menu items described by a name, a price and a list of ingredients.
+     *
+     * @param connection  The connection to the database.
+     * @param table       The table of the items (PIZZA, DESSERT or COCKTAIL); the link table is suffixed by _INGREDIENT.
+     * @param names       The names of the items; the ids start at 1.
+     * @param basePrice   The price of the first item.
+     * @param ingredients The ingredient ids of every item, by item id (index 0 is unused).
+     * @throws SQLException If an insert fails.
+     */
+    private void insertItems(Connection connection, String table, String[] names, float basePrice,
+                             List<List<Integer>> ingredients) throws SQLException {
+        try (PreparedStatement insertItem = connection.prepareStatement("INSERT INTO " + table + " VALUES (?, ?, ?)");
+             PreparedStatement insertIngredient = connection.prepareStatement(
+                     "INSERT INTO " + table + "_INGREDIENT VALUES (?, ?, ?)")) {
+            for (int id = 1; id <= names.length; id++) {
+                insertItem.setInt(1, id);
+                insertItem.setString(2, names[id - 1]);
+                insertItem.setFloat(3, basePrice + id * 0.5f);
+                insertItem.addBatch();
+                for (int ingredientId : ingredients.get(id)) {
+                    insertIngredient.setInt(1, id);
+                    insertIngredient.setInt(2, ingredientId);
+                    insertIngredient.setFloat(3, 10 + random.nextInt(190));
+                    insertIngredient.addBatch();
+                }
+            }
+            insertItem.executeBatch();
+            insertIngredient.executeBatch();
+        }
+    }
+
+    /**
+     * Picks 2 to 4 ingredients per item in a range of ingredient ids.
+     *
+     * @param itemCount The number of items.
+     * @param firstId   The first ingredient id of the range.
+     * @param lastId    The last ingredient id of the range.
+     * @return The ingredient ids of every item, by item id (index 0 is unused).
+     */
+    private List<List<Integer>> randomIngredients(int itemCount, int firstId, int lastId) {
+        List<List<Integer>> ingredients = new ArrayList<>();
+        ingredients.add(List.of());
+        for (int i = 0; i < itemCount; i++) {
+            Set<Integer> itemIngredients = new LinkedHashSet<>();
+            int count = 2 + random.nextInt(3);
+            while (itemIngredients.size() < Math.min(count, lastId - firstId + 1)) {
+                itemIngredients.add(firstId + random.nextInt(lastId - firstId + 1));
+            }
+            ingredients.add(new ArrayList<>(itemIngredients));
+        }
+        return ingredients;
+    }
+
+    /**
+     * Picks a random menu item of the given type. A new custom pizza is created for PIZZA_CUSTOM.
+     *
+     * @param writer The writer of the current orders.
+     * @param type   The type of the item.
+     * @return The id of the item.
+     * @throws SQLException If the custom pizza cannot be inserted.
+     */
+    private int randomItemId(OrderWriter writer, ItemType type) throws SQLException {
+        return switch (type) {
+            case PIZZA -> 1 + random.nextInt(PIZZAS.length);
+            case PIZZA_CUSTOM -> writer.addCustomPizza(1 + random.nextInt(PIZZAS.length));
+            case DESSERT -> 1 + random.nextInt(DESSERTS.length);
+            case COCKTAIL -> 1 + random.nextInt(COCKTAILS.length);
+            case WINE -> 1 + random.nextInt(WINE_COUNT);
+            case SODA -> 1 + random.nextInt(SODA_COUNT);
+        };
+    }
+
+    /**
+     * Batches the inserts of orders, order items and custom pizzas, and flushes them regularly.
+     */
+    private final class OrderWriter implements AutoCloseable {
+
+        private final Connection connection;
+        private final PreparedStatement insertOrder;
+        private final PreparedStatement insertItem;
+        private final PreparedStatement insertCustomPizza;
+        private final PreparedStatement insertCustomIngredient;
+
+        // Number of orders added since the last flush.
+        private int pendingOrders;
+
+        private OrderWriter(Connection connection) throws SQLException {
+            this.connection = connection;
+            insertOrder = connection.prepareStatement("INSERT INTO CLIENT_ORDER VALUES (?, ?, ?, ?)");
+            insertItem = connection.prepareStatement("INSERT INTO ORDER_ITEM VALUES (?, ?, ?, ?)");
+            insertCustomPizza = connection.prepareStatement("INSERT INTO CUSTOM_PIZZA VALUES (?, ?)");
+            insertCustomIngredient = connection.prepareStatement(
+                    "INSERT INTO CUSTOM_PIZZA_INGREDIENT VALUES (?, ?, ?, ?)");
+        }
+
+        /**
+         * Adds an order of 1 to 6 random items.
+         */
+        private int addRandomOrder(Timestamp orderDate, String status) throws SQLException {
+            int orderId = addOrder(orderDate, status);
+            int itemCount = 1 + random.nextInt(6);
+            Set<String> added = new LinkedHashSet<>();
+            for (int j = 0; j < itemCount; j++) {
+                ItemType type = ORDERED_TYPES[random.nextInt(ORDERED_TYPES.length)];
+                if (type == ItemType.PIZZA && random.nextDouble() < CUSTOM_PIZZA_RATIO) {
+                    type = ItemType.PIZZA_CUSTOM;
+                }
+                int itemId = randomItemId(this, type);
+                // An item appears once per order, with a quantity.
+                if (added.add(type + "/" + itemId)) {
+                    addItem(orderId, type, itemId, 1 + random.nextInt(3));
+                }
+            }
+            if (++pendingOrders >= ORDERS_PER_COMMIT) {
+                flush();
+                if (!connection.getAutoCommit()) {
+                    connection.commit();
+                }
+            }
+            return orderId;
+        }
+
+        private int addOrder(Timestamp orderDate, String status) throws SQLException {
+            int orderId = nextOrderId++;
+            insertOrder.setInt(1, orderId);
+            insertOrder.setInt(2, 1 + random.nextInt(CLIENTS.length));
+            insertOrder.setTimestamp(3, orderDate);
+            insertOrder.setString(4, status);
+            insertOrder.addBatch();
+            return orderId;
+        }
+
+        private void addItem(int orderId, ItemType type, int itemId, int quantity) throws SQLException {
+            insertItem.setInt(1, orderId);
+            insertItem.setString(2, type.getDatabaseValue());
+            insertItem.setInt(3, itemId);
+            insertItem.setInt(4, quantity);
+            insertItem.addBatch();
+        }
+
+        /**
+         * Creates a custom pizza with one or two added ingredients and, half of the time, one removed topping.
+         */
+        private int addCustomPizza(int originalPizzaId) throws SQLException {
+            int customPizzaId = nextCustomPizzaId++;
+            insertCustomPizza.setInt(1, customPizzaId);
+            insertCustomPizza.setInt(2, originalPizzaId);
+            insertCustomPizza.addBatch();
+
+            List<Integer> ingredients = pizzaIngredients.get(originalPizzaId);
+            Set<Integer> changed = new LinkedHashSet<>();
+            int addedCount = 1 + random.nextInt(2);
+            while (changed.size() < addedCount) {
+                int ingredientId = FIRST_TOPPING + random.nextInt(TOPPING_COUNT);
+                if (!ingredients.contains(ingredientId) && changed.add(ingredientId)) {
+                    addCustomIngredient(customPizzaId, ingredientId, true);
+                }
+            }
+            if (random.nextBoolean()) {
+                // Never remove the tomato sauce nor the mozzarella (the first two ingredients).
+                addCustomIngredient(customPizzaId, ingredients.get(2 + random.nextInt(ingredients.size() - 2)), false);
+            }
+            return customPizzaId;
+        }
+
+        private void addCustomIngredient(int customPizzaId, int ingredientId, boolean added) throws SQLException {
+            insertCustomIngredient.setInt(1, customPizzaId);
+            insertCustomIngredient.setInt(2, ingredientId);
+            insertCustomIngredient.setFloat(3, 20 + random.nextInt(80));
+            insertCustomIngredient.setBoolean(4, added);
+            insertCustomIngredient.addBatch();
+        }
+
+        /**
+         * Sends the batched inserts, parents first to satisfy the foreign keys.
+         */
+        private void flush() throws SQLException {
+            insertOrder.executeBatch();
+            insertCustomPizza.executeBatch();
+            insertCustomIngredient.executeBatch();
+            insertItem.executeBatch();
+            pendingOrders = 0;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (insertOrder; insertItem; insertCustomPizza; insertCustomIngredient) {
+                flush();
+            }
+        }
+    }
+
+    /**
+     * Creates the schema and generates the data in a new database.
+     *
+     * @param args The JDBC URL of the database, the number of pending orders (default 20) and the number of
+     *             historical orders (default 100000).
+     * @throws SQLException If the generation fails.
+     */
+    public static void main(String[] args) throws SQLException {
+        if (args.length < 1) {
+            System.out.println("Usage: DataGenerator <jdbcUrl> [pendingOrders] [historyOrders]");
+            return;
+        }
+        int pendingOrders = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int historyOrders = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        try (Connection connection = DriverManager.getConnection(args[0])) {
+            EmbeddedDatabase.createSchema(connection);
+            new DataGenerator(42).generate(connection, pendingOrders, historyOrders);
+        }
+    }
+}
@@ -1,45 +1,223 @@
 package com.pizzaMakerApp.utils;
 
 import com.pizzaMakerApp.config.DBConfig;
+import com.pizzaMakerApp.monitoring.Metrics;
+import com.pizzaMakerApp.monitoring.OperationStats;
+import com.pizzaMakerApp.monitoring.QueryEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import javax.sql.RowSetMetaData;
+import javax.sql.rowset.CachedRowSet;
+import javax.sql.rowset.RowSetFactory;
+import javax.sql.rowset.RowSetProvider;
 import java.sql.*;
-import java.util.Collections;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
+/**
+ * DatabaseManager is the single entry point of the application to the database.
+ * Queries are executed on connections borrowed from a bounded {@link ConnectionPool}, so that several
+ * threads (background refresh, status updates, detail loading) can query the database in parallel.
+ * <p>
+ * Two query modes are available:
+ * <ul>
+ *   <li>Streaming (preferred): {@link #forEachRow}, {@link #queryList} and {@link #streamQuery} read the rows
+ *       through a forward-only, read-only cursor fetched {@link DBConfig#FETCH_SIZE} rows at a time, so that
+ *       large results are never held in memory. The cursor, the statement and the connection are always
+ *       released when the rows have been consumed, or when an error occurs.</li>
+ *   <li>Scrollable: {@link #sendQuery(String, Object[])} copies all the rows into a disconnected
+ *       {@link CachedRowSet} that can be scrolled back (e.g. by {@link #printFormattedResults(ResultSet)}).
+ *       It should only be used for small results.</li>
+ * </ul>
+ * </p>
+ * <p>
+ * Prepared statements are cached per connection (see {@link StatementCache}): the statements run repeatedly
+ * by the application are prepared once per connection and reused with new parameters.
+ * </p>
+ * <p>
+ * Every execution is measured by {@link Metrics}, per SQL template: its duration (from the execution of the
+ * statement to the release of its connection, so including the reading of the rows), the number of rows read or
+ * written, and whether it failed. The statistics are published over JMX and logged periodically. Every execution
+ * is also a {@link QueryEvent} of the flight recordings.
+ * </p>
+ */
 public class DatabaseManager {
 
-    private static Connection connection;
+    /**
+     * Callback receiving the rows of a streaming query, one at a time.
+     */
+    @FunctionalInterface
+    public interface RowHandler {
+        /**
+         * Handles the current row. The result set must not be advanced nor closed, and must not be kept
+         * after the method returns.
+         *
+         * @param row The result set, positioned on the current row.
+         * @throws SQLException If a column cannot be read.
+         */
+        void handle(ResultSet row) throws SQLException;
+    }
 
     /**
-     * Establishes a database connection using the database configuration specified in DbConfig.
+     * Maps the current row of a streaming query to an object.
      *
-     * @return A Connection object representing the established database connection.
-     * @throws SQLException If a database access error occurs or the url is null.
+     * @param <T> The type of the objects built from the rows.
      */
-    private static Connection getConnection() throws SQLException {
-        if (connection == null || connection.isClosed()) {
-            connection = createConnection();
-        }
-        return connection;
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        /**
+         * Builds an object from the current row. The result set must not be advanced nor closed.
+         *
+         * @param row The result set, positioned on the current row.
+         * @return The object built from the row.
+         * @throws SQLException If a column cannot be read.
+         */
+        T map(ResultSet row) throws SQLException;
     }
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(DatabaseManager.class);
+
+    private static ConnectionPool connectionPool;
+
+    // Factory opening the physical connections; null to connect to the database of DBConfig.
+    private static ConnectionPool.ConnectionFactory connectionFactory;
+
+    private static RowSetFactory rowSetFactory;
+
+    private static boolean shutdownHookRegistered;
+
     /**
-     * Creates a database connection using the database configuration specified in DbConfig.
-     * This method is called by getConnection() if the connection is null or closed.
+     * Gets the connection pool, creating it on first use. The connections are opened to the data source selected
+     * by {@link DBConfig#DATA_SOURCE}, unless a factory has been set with {@link #setConnectionFactory}.
+     * The pool is closed when the JVM shuts down.
      *
-     * @return A Connection object representing the established database connection.
-     * @throws SQLException If a database access error occurs or the url is null.
-     * @see #getConnection()
+     * @return The connection pool used by the application.
+     * @throws SQLException If the JDBC driver cannot be loaded.
      * @see DBConfig
-     * @see Connection
      */
-    private static Connection createConnection() throws SQLException {
+    private static synchronized ConnectionPool getConnectionPool() throws SQLException {
+        if (connectionPool == null) {
+            ConnectionPool.ConnectionFactory factory = connectionFactory;
+            if (factory == null) {
+                factory = createDefaultConnectionFactory();
+            }
+            connectionPool = new ConnectionPool(factory,
+                    DBConfig.POOL_MIN_SIZE,
+                    DBConfig.POOL_MAX_SIZE,
+                    DBConfig.POOL_BORROW_TIMEOUT_MS,
+                    DBConfig.POOL_IDLE_TIMEOUT_MS,
+                    DBConfig.POOL_LEAK_THRESHOLD_MS,
+                    DBConfig.POOL_VALIDATION_TIMEOUT_S,
+                    DBConfig.STATEMENT_CACHE_SIZE);
+            registerShutdownHook();
+        }
+        return connectionPool;
+    }
+
+    /**
+     * Creates the factory opening the connections to the data source selected by {@link DBConfig#DATA_SOURCE}.
+     *
+     * @return The factory opening the physical connections.
+     * @throws SQLException If the JDBC driver cannot be loaded or the embedded database cannot be created.
+     */
+    private static ConnectionPool.ConnectionFactory createDefaultConnectionFactory() throws SQLException {
+        if ("embedded".equalsIgnoreCase(DBConfig.DATA_SOURCE)) {
+            return EmbeddedDatabase.start(DBConfig.EMBEDDED_URL, DBConfig.EMBEDDED_PENDING_ORDERS,
+                    DBConfig.EMBEDDED_HISTORY_ORDERS, DBConfig.EMBEDDED_ORDERS_PER_MINUTE);
+        }
         try {
             Class.forName(DBConfig.DRIVER);
         } catch (ClassNotFoundException e) {
             System.out.println("Error loading JDBC driver: " + DBConfig.DRIVER);
             throw new SQLException(e);
         }
-        return DriverManager.getConnection(DBConfig.URL, DBConfig.USER, DBConfig.PASSWORD);
+        return DatabaseManager::createConnection;
+    }
+
+    /**
+     * Replaces the factory used to open the database connections, e.g. to run the application or the benchmarks
+     * against an embedded database. The current pool, if any, is closed: the next query opens a new pool
+     * with the given factory.
+     *
+     * @param factory The factory opening the connections, or null to connect to the database of DBConfig.
+     */
+    public static synchronized void setConnectionFactory(ConnectionPool.ConnectionFactory factory) {
+        shutdown();
+        connectionFactory = factory;
+    }
+
+    /**
+     * Registers, once, a shutdown hook closing the connection pool when the JVM exits.
+     */
+    private static void registerShutdownHook() {
+        if (!shutdownHookRegistered) {
+            shutdownHookRegistered = true;
+            Runtime.getRuntime().addShutdownHook(new Thread(DatabaseManager::shutdown, "connection-pool-shutdown"));
+        }
+    }
+
+    /**
+     * Creates a connection to the MariaDB database specified in DbConfig.
+     * This method is called by the connection pool whenever it needs a new physical connection.
+     * <p>
+     * When the statement cache is enabled, MariaDB connections are asked to prepare statements on the server,
+     * so that a cached statement is only parsed once by the server instead of being sent as text on every call.
+     * </p>
+     *
+     * @return A Connection object representing the established database connection.
+     * @throws SQLException If a database access error occurs or the url is null.
+     * @see DBConfig
+     * @see Connection
+     */
+    private static Connection createConnection() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("user", DBConfig.USER);
+        properties.setProperty("password", DBConfig.PASSWORD);
+        if (DBConfig.URL.startsWith("jdbc:mariadb:")) {
+            properties.setProperty("useServerPrepStmts", String.valueOf(DBConfig.STATEMENT_CACHE_SIZE > 0));
+        }
+        return DriverManager.getConnection(DBConfig.URL, properties);
+    }
+
+    /**
+     * Gets the factory used to create the disconnected row sets returned by sendQuery.
+     *
+     * @return The RowSetFactory.
+     * @throws SQLException If no RowSetFactory implementation is available.
+     */
+    private static synchronized RowSetFactory getRowSetFactory() throws SQLException {
+        if (rowSetFactory == null) {
+            rowSetFactory = RowSetProvider.newFactory();
+        }
+        return rowSetFactory;
+    }
+
+    /**
+     * Takes a snapshot of the connection pool statistics (active, idle and waiting connections, borrow latency...).
+     *
+     * @return The current PoolStats.
+     * @throws SQLException If the pool cannot be created.
+     */
+    public static PoolStats getPoolStats() throws SQLException {
+        return getConnectionPool().getStats();
+    }
+
+    /**
+     * Closes the connection pool and all its idle connections.
+     * This method is called automatically when the JVM shuts down.
+     */
+    public static synchronized void shutdown() {
+        if (connectionPool != null) {
+            connectionPool.close();
+            connectionPool = null;
+        }
     }
 
     /**
@@ -81,6 +259,11 @@ public class DatabaseManager {
     /**
      * Executes a given SQL query with an array of parameters and returns the resulting ResultSet. This method prepares the statement
      * to prevent SQL injection and ensures that the query executes safely.
+     * <p>
+     * This is the scrollable mode: the rows are copied into a disconnected, scrollable row set, then the statement
+     * and the connection are given back to the pool. All the rows are held in memory, so large results should be
+     * read with {@link #forEachRow(String, RowHandler, Object...)} or {@link #streamQuery} instead.
+     * </p>
      *
      * @param sqlQuery   The SQL query to be executed.
      * @param parameters An array of objects containing values to be injected into the query. This array can be empty (null) if no
@@ -89,23 +272,318 @@ public class DatabaseManager {
      * @throws SQLException If there is a problem executing the query.
      */
     public static ResultSet sendQuery(String sqlQuery, Object[] parameters) throws SQLException {
-        Connection connection = getConnection();
+        ConnectionPool pool = getConnectionPool();
+        PooledConnection pooledConnection = pool.borrow();
+        StatementCache statementCache = pooledConnection.getStatementCache();
+        PreparedStatement preparedStatement = null;
+        boolean succeeded = false;
+        int rowCount = 0;
+        long start = System.nanoTime();
+        QueryEvent event = new QueryEvent();
+        event.begin();
         try {
-            PreparedStatement preparedStatement = connection.prepareStatement(sqlQuery,
-                    ResultSet.TYPE_SCROLL_INSENSITIVE,
-                    ResultSet.CONCUR_READ_ONLY);
+            preparedStatement = statementCache.prepare(sqlQuery);
+            bindParameters(preparedStatement, parameters);
+
+            // Only the result set is closed: the statement goes back to the cache.
+            try (ResultSet resultSet = preparedStatement.executeQuery()) {
+                CachedRowSet rowSet = toRowSet(resultSet);
+                rowCount = rowSet.size();
+                succeeded = true;
+                return rowSet;
+            }
+        } catch (SQLException e) {
+            LOGGER.warn("Problem executing the query: {}", sqlQuery);
+            throw e;
+        } finally {
+            statementCache.release(sqlQuery, preparedStatement, succeeded);
+            pool.release(pooledConnection);
+            recordExecution(sqlQuery, start, event, rowCount, !succeeded);
+        }
+    }
 
-            if (parameters != null) {
-                for (int i = 0; i < parameters.length; i++) {
-                    preparedStatement.setObject(i + 1, parameters[i]);
+    /**
+     * Executes a query and passes every row to a handler, through a forward-only, read-only cursor.
+     * The cursor, the statement and the connection are released before the method returns, even if the handler fails.
+     * <p>
+     * The handler must not run other queries: the connection is held until all the rows have been read.
+     * </p>
+     *
+     * @param sqlQuery   The SQL query to be executed.
+     * @param handler    The handler called for each row, in order.
+     * @param parameters The values to be injected into the query; can be empty.
+     * @throws SQLException If there is a problem executing the query or if the handler fails.
+     * @example // Example usage:
+     * List<Integer> ids = new ArrayList<>();
+     * DatabaseManager.forEachRow("SELECT orderId FROM CLIENT_ORDER WHERE status = ?",
+     *         row -> ids.add(row.getInt("orderId")), "PENDING");
+     */
+    public static void forEachRow(String sqlQuery, RowHandler handler, Object... parameters) throws SQLException {
+        try (Cursor cursor = Cursor.open(sqlQuery, parameters)) {
+            try {
+                while (cursor.resultSet.next()) {
+                    cursor.rowCount++;
+                    handler.handle(cursor.resultSet);
+                }
+            } catch (SQLException | RuntimeException e) {
+                cursor.failed();
+                LOGGER.warn("Problem executing the query: {}", sqlQuery);
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Executes a query and maps every row to an object, through a forward-only, read-only cursor.
+     *
+     * @param sqlQuery   The SQL query to be executed.
+     * @param mapper     The mapper called for each row, in order.
+     * @param parameters The values to be injected into the query; can be empty.
+     * @param <T>        The type of the objects built from the rows.
+     * @return The mapped rows, in order.
+     * @throws SQLException If there is a problem executing the query or if the mapper fails.
+     * @see #forEachRow(String, RowHandler, Object...)
+     */
+    public static <T> List<T> queryList(String sqlQuery, RowMapper<T> mapper, Object... parameters)
+            throws SQLException {
+        List<T> results = new ArrayList<>();
+        forEachRow(sqlQuery, row -> results.add(mapper.map(row)), parameters);
+        return results;
+    }
+
+    /**
+     * Executes a query and returns its rows as a lazily populated Stream, read through a forward-only,
+     * read-only cursor. The database resources are released when the last row has been read, and in any case
+     * when the stream is closed: the stream must therefore be used in a try-with-resources statement.
+     * Errors occurring while the stream is consumed are thrown as {@link UncheckedSQLException}.
+     *
+     * @param sqlQuery   The SQL query to be executed.
+     * @param mapper     The mapper called for each row, in order.
+     * @param parameters The values to be injected into the query; can be empty.
+     * @param <T>        The type of the objects built from the rows.
+     * @return A sequential Stream of the mapped rows, to be closed after use.
+     * @throws SQLException If there is a problem executing the query.
+     * @example // Example usage:
+     * try (Stream<String> names = DatabaseManager.streamQuery("SELECT name FROM VIEW_WINE", row -> row.getString(1))) {
+     *     names.filter(name -> name.startsWith("Ch")).forEach(System.out::println);
+     * }
+     */
+    public static <T> Stream<T> streamQuery(String sqlQuery, RowMapper<T> mapper, Object... parameters)
+            throws SQLException {
+        Cursor cursor = Cursor.open(sqlQuery, parameters);
+        Spliterator<T> rows = new Spliterators.AbstractSpliterator<>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super T> action) {
+                if (cursor.isClosed()) {
+                    return false;
+                }
+                try {
+                    if (!cursor.resultSet.next()) {
+                        // Release the connection as soon as the last row has been read.
+                        cursor.close();
+                        return false;
+                    }
+                    cursor.rowCount++;
+                    action.accept(mapper.map(cursor.resultSet));
+                    return true;
+                } catch (SQLException e) {
+                    cursor.failed();
+                    cursor.close();
+                    LOGGER.warn("Problem executing the query: {}", sqlQuery);
+                    throw new UncheckedSQLException(e);
                 }
             }
+        };
+        return StreamSupport.stream(rows, false).onClose(cursor::close);
+    }
 
-            return preparedStatement.executeQuery();
+    /**
+     * Executes a given SQL statement that modifies data (INSERT, UPDATE or DELETE) with an array of parameters.
+     *
+     * @param sqlQuery   The SQL statement to be executed.
+     * @param parameters The values to be injected into the statement; can be null or empty.
+     * @return The number of rows affected by the statement.
+     * @throws SQLException If there is a problem executing the statement.
+     */
+    public static int sendUpdate(String sqlQuery, Object... parameters) throws SQLException {
+        ConnectionPool pool = getConnectionPool();
+        PooledConnection pooledConnection = pool.borrow();
+        StatementCache statementCache = pooledConnection.getStatementCache();
+        PreparedStatement preparedStatement = null;
+        boolean succeeded = false;
+        int updatedRows = 0;
+        long start = System.nanoTime();
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        try {
+            preparedStatement = statementCache.prepare(sqlQuery);
+            bindParameters(preparedStatement, parameters);
+            updatedRows = preparedStatement.executeUpdate();
+            succeeded = true;
+            return updatedRows;
+        } catch (SQLException e) {
+            LOGGER.warn("Problem executing the update: {}", sqlQuery);
+            throw e;
+        } finally {
+            statementCache.release(sqlQuery, preparedStatement, succeeded);
+            pool.release(pooledConnection);
+            recordExecution(sqlQuery, start, event, updatedRows, !succeeded);
+        }
+    }
+
+    /**
+     * Executes the same data-modifying statement once per set of parameters, as a single JDBC batch inside one
+     * transaction: either all the executions are committed, or none of them.
+     *
+     * @param sqlQuery      The SQL statement to be executed.
+     * @param parameterRows The values to be injected into the statement, one array per execution.
+     * @return The number of rows affected by each execution, in the order of the parameters. The driver may report
+     * {@link Statement#SUCCESS_NO_INFO} for executions whose count is unknown.
+     * @throws SQLException If there is a problem executing the batch; the transaction is rolled back.
+     * @example // Example usage:
+     * int[] counts = DatabaseManager.sendBatch("UPDATE CLIENT_ORDER SET status = ? WHERE orderId = ?",
+     *         List.of(new Object[]{"CANCELED", 12}, new Object[]{"CANCELED", 15}));
+     */
+    public static int[] sendBatch(String sqlQuery, List<Object[]> parameterRows) throws SQLException {
+        if (parameterRows.isEmpty()) {
+            return new int[0];
+        }
+        ConnectionPool pool = getConnectionPool();
+        PooledConnection pooledConnection = pool.borrow();
+        Connection connection = pooledConnection.getConnection();
+        StatementCache statementCache = pooledConnection.getStatementCache();
+        PreparedStatement preparedStatement = null;
+        boolean succeeded = false;
+        long updatedRowCount = 0;
+        long start = System.nanoTime();
+        QueryEvent event = new QueryEvent();
+        event.begin();
+        try {
+            connection.setAutoCommit(false);
+            preparedStatement = statementCache.prepare(sqlQuery);
+            for (Object[] parameters : parameterRows) {
+                bindParameters(preparedStatement, parameters);
+                preparedStatement.addBatch();
+            }
+            int[] updatedRows = preparedStatement.executeBatch();
+            connection.commit();
+            succeeded = true;
+            for (int count : updatedRows) {
+                updatedRowCount += Math.max(0, count);
+            }
+            return updatedRows;
         } catch (SQLException e) {
-            System.out.println("Problem executing the query: " + sqlQuery);
+            LOGGER.warn("Problem executing the batch: {}", sqlQuery);
+            rollbackQuietly(connection, e);
             throw e;
+        } finally {
+            if (preparedStatement != null) {
+                try {
+                    preparedStatement.clearBatch();
+                } catch (SQLException e) {
+                    succeeded = false;
+                }
+            }
+            statementCache.release(sqlQuery, preparedStatement, succeeded);
+            try {
+                connection.setAutoCommit(true);
+            } catch (SQLException ignored) {
+                // The pool resets the connection, or discards it if it is broken.
+            }
+            pool.release(pooledConnection);
+            recordExecution(sqlQuery, start, event, updatedRowCount, !succeeded);
+        }
+    }
+
+    /**
+     * Rolls back the current transaction of a connection after a failure, attaching any rollback error
+     * to the original one.
+     *
+     * @param connection The connection whose transaction failed.
+     * @param failure    The original error.
+     */
+    private static void rollbackQuietly(Connection connection, SQLException failure) {
+        try {
+            connection.rollback();
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /**
+     * Records an execution in the statistics of its SQL template and in the flight recordings.
+     *
+     * @param sqlQuery The SQL text of the query.
+     * @param start    When the query was executed, from {@link System#nanoTime()}.
+     * @param event    The event of the flight recordings, begun when the query was executed.
+     * @param rowCount The number of rows read or written.
+     * @param failed   Whether the execution failed.
+     */
+    private static void recordExecution(String sqlQuery, long start, QueryEvent event, long rowCount,
+                                        boolean failed) {
+        OperationStats stats = Metrics.query(sqlQuery);
+        stats.record(System.nanoTime() - start, rowCount, failed);
+        event.end(stats.getName(), rowCount, failed);
+    }
+
+    /**
+     * Builds a comma-separated list of placeholders for a parameterized IN clause.
+     *
+     * @param count The number of placeholders; must be at least 1.
+     * @return A string such as "?, ?, ?".
+     * @example // Example usage:
+     * String sql = "SELECT * FROM VIEW_WINE WHERE id IN (" + DatabaseManager.buildPlaceholders(ids.size()) + ")";
+     * ResultSet result = DatabaseManager.sendQuery(sql, ids.toArray());
+     */
+    public static String buildPlaceholders(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("At least one placeholder is required");
+        }
+        StringBuilder placeholders = new StringBuilder(count * 3);
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                placeholders.append(", ");
+            }
+            placeholders.append('?');
         }
+        return placeholders.toString();
+    }
+
+    /**
+     * Binds the given parameters to the placeholders of a prepared statement, in order.
+     *
+     * @param preparedStatement The statement to bind the parameters to.
+     * @param parameters        The values to bind; can be null.
+     * @throws SQLException If a parameter cannot be bound.
+     */
+    private static void bindParameters(PreparedStatement preparedStatement, Object[] parameters) throws SQLException {
+        if (parameters != null) {
+            for (int i = 0; i < parameters.length; i++) {
+                preparedStatement.setObject(i + 1, parameters[i]);
+            }
+        }
+    }
+
+    /**
+     * Copies a result set into a disconnected, scrollable CachedRowSet.
+     * Column names are replaced by the column labels so that aliased columns of the views
+     * can still be read by name.
+     *
+     * @param resultSet The result set to copy.
+     * @return A CachedRowSet holding all the rows of the result set.
+     * @throws SQLException If the rows cannot be read.
+     */
+    private static CachedRowSet toRowSet(ResultSet resultSet) throws SQLException {
+        CachedRowSet rowSet = getRowSetFactory().createCachedRowSet();
+        rowSet.populate(resultSet);
+
+        ResultSetMetaData sourceMetaData = resultSet.getMetaData();
+        RowSetMetaData rowSetMetaData = (RowSetMetaData) rowSet.getMetaData();
+        for (int i = 1; i <= sourceMetaData.getColumnCount(); i++) {
+            rowSetMetaData.setColumnName(i, sourceMetaData.getColumnLabel(i));
+        }
+        return rowSet;
     }
 
 
@@ -170,4 +648,97 @@ public class DatabaseManager {
             System.out.println();
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Cursor holds the resources of a streaming query: the pooled connection, the cached statement and the
+     * forward-only result set. Closing it releases all of them, once, and records the execution in {@link Metrics}.
+     */
+    private static final class Cursor implements AutoCloseable {
+
+        private final String sqlQuery;
+        private final ConnectionPool pool;
+        private final PooledConnection pooledConnection;
+        private PreparedStatement preparedStatement;
+        private ResultSet resultSet;
+
+        // Whether the statement failed and must not go back to the cache.
+        private boolean failed;
+
+        // When the query was executed (System.nanoTime), and the number of rows read since.
+        private final long start = System.nanoTime();
+        private final QueryEvent event = new QueryEvent();
+        private int rowCount;
+
+        private boolean closed;
+
+        private Cursor(String sqlQuery, ConnectionPool pool, PooledConnection pooledConnection) {
+            this.sqlQuery = sqlQuery;
+            this.pool = pool;
+            this.pooledConnection = pooledConnection;
+            event.begin();
+        }
+
+        /**
+         * Borrows a connection and executes a query with a forward-only, read-only cursor.
+         *
+         * @param sqlQuery   The SQL query to be executed.
+         * @param parameters The values to be injected into the query; can be null.
+         * @return The open Cursor, positioned before the first row.
+         * @throws SQLException If there is a problem executing the query; the resources are released.
+         */
+        private static Cursor open(String sqlQuery, Object[] parameters) throws SQLException {
+            ConnectionPool pool = getConnectionPool();
+            Cursor cursor = new Cursor(sqlQuery, pool, pool.borrow());
+            try {
+                cursor.preparedStatement = cursor.pooledConnection.getStatementCache().prepare(sqlQuery);
+                cursor.preparedStatement.setFetchSize(DBConfig.FETCH_SIZE);
+                bindParameters(cursor.preparedStatement, parameters);
+                cursor.resultSet = cursor.preparedStatement.executeQuery();
+                return cursor;
+            } catch (SQLException e) {
+                cursor.failed();
+                cursor.close();
+                LOGGER.warn("Problem executing the query: {}", sqlQuery);
+                throw e;
+            }
+        }
+
+        /**
+         * Marks the statement as failed, so that it is closed instead of being cached.
+         */
+        private void failed() {
+            failed = true;
+        }
+
+        /**
+         * Checks whether the cursor has been closed.
+         *
+         * @return True if the resources have been released.
+         */
+        private boolean isClosed() {
+            return closed;
+        }
+
+        /**
+         * Closes the result set and gives the statement and the connection back. Subsequent calls have no effect.
+         */
+        @Override
+        public void close() {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (resultSet != null) {
+                    resultSet.close();
+                }
+            } catch (SQLException e) {
+                failed = true;
+            } finally {
+                pooledConnection.getStatementCache().release(sqlQuery, preparedStatement, !failed);
+                pool.release(pooledConnection);
+                recordExecution(sqlQuery, start, event, rowCount, failed);
+            }
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.pizzaMakerApp.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.awt.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EdtWatchdog reports tasks that block the Swing Event Dispatch Thread (EDT) for too long.
+ * <p>
+ * Once installed, every event dispatched on the EDT is timed. A watchdog thread logs the stack trace
+ * of the EDT while an event has been running for longer than the threshold (showing where it is stuck),
+ * and the total duration of the event is logged when it finishes.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * EdtWatchdog.install(200);
+ * }
+ * </pre>
+ * </p>
+ */
+public class EdtWatchdog extends EventQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EdtWatchdog.class);
+
+    private static boolean installed;
+
+    // Threshold above which an event is reported, in nanoseconds.
+    private final long thresholdNanos;
+
+    // Time (System.nanoTime) at which the current event started, shifted by the time its clock was paused, or 0
+    // if no event is being timed (idle EDT, or a nested event loop waiting for events).
+    private volatile long dispatchStartedAt;
+
+    // Number of events being dispatched, nested in each other (EDT only).
+    private int depth;
+
+    // Whether the current event has already been reported by the watchdog thread.
+    private volatile boolean stallReported;
+
+    // The EDT, captured when it dispatches its first event.
+    private volatile Thread eventDispatchThread;
+
+    /**
+     * Constructs a new EdtWatchdog.
+     *
+     * @param thresholdMillis The time, in milliseconds, above which an event is reported.
+     */
+    private EdtWatchdog(long thresholdMillis) {
+        this.thresholdNanos = TimeUnit.MILLISECONDS.toNanos(thresholdMillis);
+    }
+
+    /**
+     * Installs the watchdog on the system event queue. Calling this method more than once has no effect.
+     *
+     * @param thresholdMillis The time, in milliseconds, above which an EDT task is reported.
+     */
+    public static synchronized void install(long thresholdMillis) {
+        if (installed) {
+            return;
+        }
+        installed = true;
+
+        EdtWatchdog watchdog = new EdtWatchdog(thresholdMillis);
+        Toolkit.getDefaultToolkit().getSystemEventQueue().push(watchdog);
+
+        Thread monitor = new Thread(watchdog::monitor, "edt-watchdog");
+        monitor.setDaemon(true);
+        monitor.start();
+    }
+
+    /**
+     * Dispatches an event and logs it if it took longer than the threshold.
+     * <p>
+     * Events can be nested: a modal dialog runs its own event loop inside the event that opened it. The clock of
+     * the outer event is paused while the nested loop waits for events and while it dispatches them, so that the
+     * time the dialog stays open is not blamed on the outer event, and every nested event is timed on its own.
+     * </p>
+     *
+     * @param event The event to dispatch.
+     */
+    @Override
+    protected void dispatchEvent(AWTEvent event) {
+        // Pause the clock of the outer event, if any, keeping the time it was busy so far.
+        long outerStartedAt = dispatchStartedAt;
+        long outerBusy = outerStartedAt != 0 ? System.nanoTime() - outerStartedAt : 0;
+        boolean outerStallReported = stallReported;
+
+        eventDispatchThread = Thread.currentThread();
+        stallReported = false;
+        long start = System.nanoTime();
+        dispatchStartedAt = start;
+        depth++;
+        try {
+            super.dispatchEvent(event);
+        } finally {
+            depth--;
+            long end = System.nanoTime();
+            long duration = end - dispatchStartedAt;
+            if (duration > thresholdNanos) {
+                LOGGER.warn("EDT blocked for {} ms by {}", TimeUnit.NANOSECONDS.toMillis(duration), event);
+            }
+
+            // Resume the clock of the outer event where it was paused.
+            stallReported = outerStallReported;
+            dispatchStartedAt = outerStartedAt != 0 ? end - outerBusy : 0;
+        }
+    }
+
+    /**
+     * Gets the next event of the queue. When called by a nested event loop, the clock of the event running that
+     * loop is paused while waiting.
+     *
+     * @return The next event.
+     * @throws InterruptedException If the thread is interrupted while waiting.
+     */
+    @Override
+    public AWTEvent getNextEvent() throws InterruptedException {
+        if (Thread.currentThread() != eventDispatchThread || depth == 0) {
+            return super.getNextEvent();
+        }
+        long busy = System.nanoTime() - dispatchStartedAt;
+        dispatchStartedAt = 0;
+        try {
+            return super.getNextEvent();
+        } finally {
+            dispatchStartedAt = System.nanoTime() - busy;
+        }
+    }
+
+    /**
+     * Watchdog loop: checks the current event regularly and logs the EDT stack trace once per stalled event.
+     */
+    private void monitor() {
+        long checkInterval = Math.max(10, TimeUnit.NANOSECONDS.toMillis(thresholdNanos) / 2);
+        while (true) {
+            try {
+                Thread.sleep(checkInterval);
+            } catch (InterruptedException e) {
+                return;
+            }
+            long startedAt = dispatchStartedAt;
+            Thread edt = eventDispatchThread;
+            if (startedAt != 0 && edt != null && !stallReported && System.nanoTime() - startedAt > thresholdNanos) {
+                stallReported = true;
+                Throwable stall = new Throwable("EDT stack trace");
+                stall.setStackTrace(edt.getStackTrace());
+                LOGGER.warn("EDT stalled for more than {} ms", TimeUnit.NANOSECONDS.toMillis(thresholdNanos), stall);
+            }
+        }
+    }
+}
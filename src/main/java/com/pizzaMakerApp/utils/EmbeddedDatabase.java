@@ -0,0 +1,149 @@
+package com.pizzaMakerApp.utils;
+
+import com.pizzaMakerApp.config.DBConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * EmbeddedDatabase is a local stand-in for the PIZZERIA database: an H2 database in MariaDB mode, created
+ * with tables and views equivalent to the production ones (VIEW_ORDER_SUMMARY, VIEW_PIZZA_INGREDIENTS,
+ * VIEW_CUSTOM_PIZZAS_WITH_INGREDIENTS, VIEW_WINE, VIEW_SODA...) and filled by the {@link DataGenerator}.
+ * <p>
+ * It is used when {@link DBConfig#DATA_SOURCE} is {@code embedded}, so that the application can be run,
+ * load-tested and benchmarked without the remote database. A new database can also receive simulated orders
+ * at a steady rate, standing in for the ordering website.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * java -Dpizzamaker.dataSource=embedded -Dpizzamaker.embeddedHistoryOrders=1000000 -jar PizzaMaker.jar
+ * }
+ * </pre>
+ * </p>
+ */
+public class EmbeddedDatabase {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmbeddedDatabase.class);
+
+    // The script creating the tables and views, in the resources.
+    private static final String SCHEMA_SCRIPT = "/db/schema.sql";
+
+    /**
+     * Opens an embedded database, creating its schema and generating its data if it is empty.
+     *
+     * @param url           The JDBC URL of the embedded database.
+     * @param pendingOrders The number of pending orders generated in a new database.
+     * @param historyOrders The number of historical orders generated in a new database.
+     * @return The factory opening connections to the database.
+     * @throws SQLException If the database cannot be created.
+     */
+    public static ConnectionPool.ConnectionFactory start(String url, int pendingOrders, int historyOrders)
+            throws SQLException {
+        return start(url, pendingOrders, historyOrders, 0);
+    }
+
+    /**
+     * Opens an embedded database, creating its schema and generating its data if it is empty, and places new
+     * orders in a new database at a steady rate.
+     *
+     * @param url             The JDBC URL of the embedded database.
+     * @param pendingOrders   The number of pending orders generated in a new database.
+     * @param historyOrders   The number of historical orders generated in a new database.
+     * @param ordersPerMinute The number of orders placed per minute in a new database (0 places none).
+     * @return The factory opening connections to the database.
+     * @throws SQLException If the database cannot be created.
+     */
+    public static ConnectionPool.ConnectionFactory start(String url, int pendingOrders, int historyOrders,
+                                                         int ordersPerMinute) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url)) {
+            if (!hasSchema(connection)) {
+                LOGGER.info("Creating the embedded database {}", url);
+                createSchema(connection);
+                DataGenerator generator = new DataGenerator(42);
+                generator.generate(connection, pendingOrders, historyOrders);
+                if (ordersPerMinute > 0) {
+                    simulateOrders(url, generator, ordersPerMinute);
+                }
+            }
+        }
+        return () -> DriverManager.getConnection(url);
+    }
+
+    /**
+     * Places one new order at regular intervals, on a background thread, for the lifetime of the application.
+     *
+     * @param url             The JDBC URL of the embedded database.
+     * @param generator       The generator that created the database, which knows the next ids.
+     * @param ordersPerMinute The number of orders placed per minute.
+     */
+    private static void simulateOrders(String url, DataGenerator generator, int ordersPerMinute) {
+        ScheduledExecutorService simulator = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-simulator");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = Math.max(1, 60_000L / ordersPerMinute);
+        simulator.scheduleAtFixedRate(() -> {
+            try (Connection connection = DriverManager.getConnection(url)) {
+                LOGGER.debug("Placed the simulated orders {}", generator.placeOrders(connection, 1));
+            } catch (SQLException e) {
+                LOGGER.error("Cannot place a simulated order", e);
+            }
+        }, period, period, TimeUnit.MILLISECONDS);
+        LOGGER.info("Placing {} simulated orders per minute", ordersPerMinute);
+    }
+
+    /**
+     * Checks whether the schema has already been created in a database (e.g. in a database file).
+     *
+     * @param connection The connection to the database.
+     * @return True if the CLIENT_ORDER table exists.
+     * @throws SQLException If the metadata cannot be read.
+     */
+    private static boolean hasSchema(Connection connection) throws SQLException {
+        try (ResultSet tables = connection.getMetaData().getTables(null, null, "CLIENT_ORDER", null)) {
+            return tables.next();
+        }
+    }
+
+    /**
+     * Creates the tables and views of the PIZZERIA database.
+     *
+     * @param connection The connection to an empty database.
+     * @throws SQLException If the script cannot be read or fails.
+     */
+    public static void createSchema(Connection connection) throws SQLException {
+        String script;
+        try (InputStream input = EmbeddedDatabase.class.getResourceAsStream(SCHEMA_SCRIPT)) {
+            if (input == null) {
+                throw new SQLException("Schema script not found: " + SCHEMA_SCRIPT);
+            }
+            script = new String(input.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new SQLException("Cannot read the schema script", e);
+        }
+
+        // Remove the comments, then run the statements one by one.
+        script = script.replaceAll("(?m)^--.*$", "");
+        try (Statement statement = connection.createStatement()) {
+            for (String sql : script.split(";")) {
+                if (!sql.isBlank()) {
+                    statement.execute(sql);
+                }
+            }
+        }
+    }
+}
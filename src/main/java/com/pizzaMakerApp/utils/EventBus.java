@@ -0,0 +1,75 @@
+package com.pizzaMakerApp.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * EventBus delivers the events published by a producer to every subscriber, in process.
+ * <p>
+ * Events are delivered synchronously, on the thread that publishes them, in the order of subscription;
+ * a subscriber that must update the user interface hands the event over to the Event Dispatch Thread itself.
+ * A failing subscriber is logged and does not prevent the others from receiving the event.
+ * Subscribing and publishing are thread-safe.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * EventBus<OrderChangeEvent> bus = new EventBus<>("order-changes");
+ * Runnable unsubscribe = bus.subscribe(event -> SwingUtilities.invokeLater(() -> apply(event)));
+ * bus.publish(OrderChangeEvent.resync());
+ * }
+ * </pre>
+ * </p>
+ *
+ * @param <E> The type of the events.
+ */
+public class EventBus<E> {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EventBus.class);
+
+    // The name of the bus, for the logs.
+    private final String name;
+
+    // Copied on write: subscriptions are rare, deliveries are frequent and must not lock.
+    private final List<Consumer<? super E>> subscribers = new CopyOnWriteArrayList<>();
+
+    /**
+     * Constructs a new EventBus without subscribers.
+     *
+     * @param name The name of the bus, for the logs.
+     */
+    public EventBus(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Registers a subscriber, which receives every event published from now on.
+     *
+     * @param subscriber The subscriber.
+     * @return An action that unregisters the subscriber.
+     */
+    public Runnable subscribe(Consumer<? super E> subscriber) {
+        subscribers.add(subscriber);
+        return () -> subscribers.remove(subscriber);
+    }
+
+    /**
+     * Delivers an event to every subscriber, on the calling thread.
+     *
+     * @param event The event.
+     */
+    public void publish(E event) {
+        for (Consumer<? super E> subscriber : subscribers) {
+            try {
+                subscriber.accept(event);
+            } catch (RuntimeException e) {
+                LOGGER.error("A subscriber of {} failed", name, e);
+            }
+        }
+    }
+}
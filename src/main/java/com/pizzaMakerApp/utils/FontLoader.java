@@ -21,15 +21,27 @@ public class FontLoader {
      * @return The loaded Font object, or null if the font could not be loaded
      */
     public static Font loadFont(String fontFileName, float size) {
-        try {
-            InputStream is = FontLoader.class.getResourceAsStream(FONTS_DIRECTORY + fontFileName);
+        Font font = loadBaseFont(fontFileName);
+        return (font != null) ? font.deriveFont(size) : null;
+    }
+
+    /**
+     * Loads a font from the specified file name within the font directory and registers it in the local
+     * graphics environment, so that it can also be found by its family name.
+     * The returned font has a size of 1 point; sized fonts are obtained with {@link Font#deriveFont(float)}.
+     *
+     * @param fontFileName The name of the font file (e.g., "MyFont.ttf")
+     * @return The loaded Font object, or null if the font could not be loaded
+     */
+    public static Font loadBaseFont(String fontFileName) {
+        try (InputStream is = FontLoader.class.getResourceAsStream(FONTS_DIRECTORY + fontFileName)) {
             if (is == null) {
                 throw new IOException("Font file not found: " + fontFileName);
             }
             Font font = Font.createFont(Font.TRUETYPE_FONT, is);
             GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
             ge.registerFont(font);
-            return font.deriveFont(size);
+            return font;
         } catch (IOException | FontFormatException e) {
             System.err.println("Could not load font " + fontFileName + ": " + e.getMessage());
         }
@@ -1,7 +1,9 @@
 package com.pizzaMakerApp.utils;
 
+import javax.imageio.ImageIO;
 import javax.swing.*;
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.net.URL;
 
@@ -44,4 +46,29 @@ public class ImageLoader {
         Image image = loadImage(imageFileName);
         return (image != null) ? new ImageIcon(image) : null;
     }
+
+    /**
+     * Reads and decodes an image from the specified file name within the image directory.
+     * Unlike {@link #loadImage(String)}, which lets the toolkit decode the image lazily, the image is fully
+     * decoded when this method returns, so it can be called from a background thread.
+     *
+     * @param imageFileName The name of the image file (e.g., "MyImage.png")
+     * @return The decoded BufferedImage, or null if the image could not be loaded
+     */
+    public static BufferedImage readImage(String imageFileName) {
+        try {
+            URL imageUrl = ImageLoader.class.getResource(IMAGES_DIRECTORY + imageFileName);
+            if (imageUrl == null) {
+                throw new IOException("Image file not found: " + imageFileName);
+            }
+            BufferedImage image = ImageIO.read(imageUrl);
+            if (image == null) {
+                throw new IOException("Unsupported image format: " + imageFileName);
+            }
+            return image;
+        } catch (IOException e) {
+            System.err.println("Could not load image " + imageFileName + ": " + e.getMessage());
+            return null;
+        }
+    }
 }
@@ -41,6 +41,50 @@ public class ImageResizer {
         return resizedImage;
     }
 
+    /**
+     * Resizes an image to fit in a specified width and height with the best quality available.
+     * This method maintains the original aspect ratio of the image. When shrinking, the image is halved with
+     * bicubic interpolation until it reaches the target size, which keeps the details that a single
+     * downscaling step would skip.
+     * <p>
+     * This is much slower than {@link #resizeImage(BufferedImage, int, int)}: the result is meant to be
+     * computed once and cached (see {@link AssetRegistry#getScaledIcon(String, int, int)}).
+     * </p>
+     *
+     * @param originalImage The original image to be resized.
+     * @param targetWidth   The maximum width.
+     * @param targetHeight  The maximum height.
+     * @return A new BufferedImage object containing the resized image.
+     */
+    public static BufferedImage resizeImageHighQuality(BufferedImage originalImage, int targetWidth,
+                                                       int targetHeight) {
+        // Calculate the final dimensions while maintaining the aspect ratio
+        double ratio = Math.min((double) targetWidth / originalImage.getWidth(),
+                (double) targetHeight / originalImage.getHeight());
+        int width = Math.max(1, (int) Math.round(originalImage.getWidth() * ratio));
+        int height = Math.max(1, (int) Math.round(originalImage.getHeight() * ratio));
+
+        BufferedImage current = originalImage;
+        int currentWidth = originalImage.getWidth();
+        int currentHeight = originalImage.getHeight();
+        do {
+            // Halve the image while it is more than twice as large as the target, then finish in one step
+            currentWidth = (currentWidth / 2 >= width) ? currentWidth / 2 : width;
+            currentHeight = (currentHeight / 2 >= height) ? currentHeight / 2 : height;
+
+            BufferedImage step = new BufferedImage(currentWidth, currentHeight, BufferedImage.TYPE_INT_ARGB);
+            Graphics2D g2d = step.createGraphics();
+            g2d.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            g2d.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g2d.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2d.drawImage(current, 0, 0, currentWidth, currentHeight, null);
+            g2d.dispose();
+            current = step;
+        } while (currentWidth != width || currentHeight != height);
+
+        return current;
+    }
+
     /**
      * Converts an ImageIcon to a BufferedImage.
      *
@@ -0,0 +1,262 @@
+package com.pizzaMakerApp.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * IntHashMap is a hash map with primitive int keys, used to index objects by id without boxing the ids
+ * into Integer objects nor allocating an entry per mapping.
+ * <p>
+ * The keys and values are stored in two parallel arrays with open addressing and linear probing;
+ * removals shift the following entries back, so lookups never go through deleted slots.
+ * Lookups, insertions and removals run in constant time on average. The map is not synchronized.
+ * </p>
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * IntHashMap<Order> ordersById = new IntHashMap<>();
+ * ordersById.put(order.getId(), order);
+ * Order order = ordersById.get(42);
+ * }
+ * </pre>
+ * </p>
+ *
+ * @param <V> The type of the values.
+ */
+public class IntHashMap<V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // The table is grown when it is more than half full, to keep the probe sequences short.
+    private static final float LOAD_FACTOR = 0.5f;
+
+    // Keys and values, in parallel; a slot is free when its value is null.
+    private int[] keys;
+    private Object[] values;
+
+    private int size;
+
+    // Number of entries above which the table is grown.
+    private int threshold;
+
+    /**
+     * Constructs an empty IntHashMap.
+     */
+    public IntHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructs an empty IntHashMap able to hold the given number of entries without growing.
+     *
+     * @param expectedSize The expected number of entries.
+     */
+    public IntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(DEFAULT_CAPACITY, (int) (expectedSize / LOAD_FACTOR)) - 1) << 1;
+        allocate(capacity);
+    }
+
+    /**
+     * Gets the value mapped to a key.
+     *
+     * @param key The key.
+     * @return The value, or null if the key is not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(int key) {
+        int mask = keys.length - 1;
+        for (int slot = hash(key) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return (V) values[slot];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a key is in the map.
+     *
+     * @param key The key.
+     * @return True if the key is mapped to a value.
+     */
+    public boolean containsKey(int key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Maps a key to a value, replacing the previous value of the key if any.
+     *
+     * @param key   The key.
+     * @param value The value; must not be null.
+     * @return The previous value of the key, or null if there was none.
+     */
+    @SuppressWarnings("unchecked")
+    public V put(int key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not supported");
+        }
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V previous = (V) values[slot];
+                values[slot] = value;
+                return previous;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > threshold) {
+            grow();
+        }
+        return null;
+    }
+
+    /**
+     * Removes the mapping of a key.
+     *
+     * @param key The key.
+     * @return The removed value, or null if the key was not in the map.
+     */
+    @SuppressWarnings("unchecked")
+    public V remove(int key) {
+        int mask = keys.length - 1;
+        int slot = hash(key) & mask;
+        while (values[slot] != null) {
+            if (keys[slot] == key) {
+                V removed = (V) values[slot];
+                shiftBack(slot);
+                size--;
+                return removed;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Gets the number of entries in the map.
+     *
+     * @return The number of keys.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Checks whether the map is empty.
+     *
+     * @return True if the map holds no entry.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all the entries, keeping the current capacity.
+     */
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Calls an action for every key of the map, in no particular order.
+     *
+     * @param action The action receiving the keys.
+     */
+    public void forEachKey(IntConsumer action) {
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                action.accept(keys[slot]);
+            }
+        }
+    }
+
+    /**
+     * Gets the values of the map, in no particular order.
+     *
+     * @return A new list holding the values.
+     */
+    @SuppressWarnings("unchecked")
+    public List<V> values() {
+        List<V> list = new ArrayList<>(size);
+        for (Object value : values) {
+            if (value != null) {
+                list.add((V) value);
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Removes the entry of a slot and moves back the following entries of its probe sequence,
+     * so that no lookup stops at the freed slot before reaching its key.
+     *
+     * @param freed The slot of the removed entry.
+     */
+    private void shiftBack(int freed) {
+        int mask = keys.length - 1;
+        int slot = freed;
+        while (true) {
+            slot = (slot + 1) & mask;
+            if (values[slot] == null) {
+                break;
+            }
+            int home = hash(keys[slot]) & mask;
+            // Move the entry back if its home slot is not between the freed slot and its current slot (cyclically).
+            if (((slot - home) & mask) >= ((slot - freed) & mask)) {
+                keys[freed] = keys[slot];
+                values[freed] = values[slot];
+                freed = slot;
+            }
+        }
+        values[freed] = null;
+    }
+
+    /**
+     * Doubles the capacity of the table and reinserts the entries.
+     */
+    private void grow() {
+        int[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(keys.length * 2);
+        int mask = keys.length - 1;
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (values[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    /**
+     * Allocates empty tables of the given capacity.
+     *
+     * @param capacity The number of slots, a power of two.
+     */
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new Object[capacity];
+        threshold = (int) (capacity * LOAD_FACTOR);
+    }
+
+    /**
+     * Spreads the bits of a key, so that consecutive ids do not fill consecutive slots.
+     *
+     * @param key The key.
+     * @return The hash of the key.
+     */
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -0,0 +1,208 @@
+package com.pizzaMakerApp.utils;
+
+/**
+ * PoolStats is an immutable snapshot of the state and counters of a {@link ConnectionPool}.
+ * It is used to monitor the pool and to size it correctly under heavy load.
+ * <p>
+ * Example usage:
+ * <pre>
+ * {@code
+ * PoolStats stats = DatabaseManager.getPoolStats();
+ * System.out.println(stats.getActiveConnections() + " connections in use");
+ * }
+ * </pre>
+ * </p>
+ */
+public class PoolStats {
+
+    // Number of physical connections currently open (idle + active).
+    private final int totalConnections;
+
+    // Number of connections currently borrowed by callers.
+    private final int activeConnections;
+
+    // Number of connections waiting in the pool.
+    private final int idleConnections;
+
+    // Number of threads currently waiting for a connection.
+    private final int waitingThreads;
+
+    // Total number of successful borrows since the pool was created.
+    private final long borrowCount;
+
+    // Average time spent waiting for a connection, in nanoseconds.
+    private final long averageBorrowNanos;
+
+    // Longest time spent waiting for a connection, in nanoseconds.
+    private final long maxBorrowNanos;
+
+    // Number of borrows that failed because the timeout expired.
+    private final long borrowTimeouts;
+
+    // Number of idle connections discarded because they failed validation.
+    private final long validationFailures;
+
+    // Number of connections reported as leaked (held longer than the leak threshold).
+    private final long leaksDetected;
+
+    // Number of physical connections opened since the pool was created.
+    private final long connectionsCreated;
+
+    // Number of idle connections closed by the idle eviction.
+    private final long connectionsEvicted;
+
+    /**
+     * Constructs a new snapshot of the pool statistics.
+     *
+     * @param totalConnections   The number of physical connections currently open.
+     * @param activeConnections  The number of connections currently borrowed.
+     * @param idleConnections    The number of connections waiting in the pool.
+     * @param waitingThreads     The number of threads waiting for a connection.
+     * @param borrowCount        The total number of successful borrows.
+     * @param averageBorrowNanos The average borrow latency in nanoseconds.
+     * @param maxBorrowNanos     The maximum borrow latency in nanoseconds.
+     * @param borrowTimeouts     The number of borrows that timed out.
+     * @param validationFailures The number of connections that failed validation.
+     * @param leaksDetected      The number of leaked connections reported.
+     * @param connectionsCreated The number of physical connections opened.
+     * @param connectionsEvicted The number of idle connections evicted.
+     */
+    public PoolStats(int totalConnections, int activeConnections, int idleConnections, int waitingThreads,
+                     long borrowCount, long averageBorrowNanos, long maxBorrowNanos, long borrowTimeouts,
+                     long validationFailures, long leaksDetected, long connectionsCreated, long connectionsEvicted) {
+        this.totalConnections = totalConnections;
+        this.activeConnections = activeConnections;
+        this.idleConnections = idleConnections;
+        this.waitingThreads = waitingThreads;
+        this.borrowCount = borrowCount;
+        this.averageBorrowNanos = averageBorrowNanos;
+        this.maxBorrowNanos = maxBorrowNanos;
+        this.borrowTimeouts = borrowTimeouts;
+        this.validationFailures = validationFailures;
+        this.leaksDetected = leaksDetected;
+        this.connectionsCreated = connectionsCreated;
+        this.connectionsEvicted = connectionsEvicted;
+    }
+
+    /**
+     * Gets the number of physical connections currently open.
+     *
+     * @return The number of open connections.
+     */
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    /**
+     * Gets the number of connections currently borrowed by callers.
+     *
+     * @return The number of active connections.
+     */
+    public int getActiveConnections() {
+        return activeConnections;
+    }
+
+    /**
+     * Gets the number of connections waiting in the pool.
+     *
+     * @return The number of idle connections.
+     */
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    /**
+     * Gets the number of threads currently waiting for a connection.
+     *
+     * @return The number of waiting threads.
+     */
+    public int getWaitingThreads() {
+        return waitingThreads;
+    }
+
+    /**
+     * Gets the total number of successful borrows.
+     *
+     * @return The number of borrows.
+     */
+    public long getBorrowCount() {
+        return borrowCount;
+    }
+
+    /**
+     * Gets the average time spent waiting for a connection.
+     *
+     * @return The average borrow latency in milliseconds.
+     */
+    public double getAverageBorrowMillis() {
+        return averageBorrowNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the longest time spent waiting for a connection.
+     *
+     * @return The maximum borrow latency in milliseconds.
+     */
+    public double getMaxBorrowMillis() {
+        return maxBorrowNanos / 1_000_000.0;
+    }
+
+    /**
+     * Gets the number of borrows that failed because the timeout expired.
+     *
+     * @return The number of borrow timeouts.
+     */
+    public long getBorrowTimeouts() {
+        return borrowTimeouts;
+    }
+
+    /**
+     * Gets the number of idle connections discarded because they failed validation.
+     *
+     * @return The number of validation failures.
+     */
+    public long getValidationFailures() {
+        return validationFailures;
+    }
+
+    /**
+     * Gets the number of connections reported as leaked.
+     *
+     * @return The number of leaks detected.
+     */
+    public long getLeaksDetected() {
+        return leaksDetected;
+    }
+
+    /**
+     * Gets the number of physical connections opened since the pool was created.
+     *
+     * @return The number of connections created.
+     */
+    public long getConnectionsCreated() {
+        return connectionsCreated;
+    }
+
+    /**
+     * Gets the number of idle connections closed by the idle eviction.
+     *
+     * @return The number of connections evicted.
+     */
+    public long getConnectionsEvicted() {
+        return connectionsEvicted;
+    }
+
+    /**
+     * Provides a one-line summary of the pool statistics, suitable for logging.
+     *
+     * @return A string representation of the statistics.
+     */
+    @Override
+    public String toString() {
+        return String.format("total=%d active=%d idle=%d waiting=%d borrows=%d avgBorrow=%.2fms maxBorrow=%.2fms "
+                        + "timeouts=%d validationFailures=%d leaks=%d created=%d evicted=%d",
+                totalConnections, activeConnections, idleConnections, waitingThreads, borrowCount,
+                getAverageBorrowMillis(), getMaxBorrowMillis(), borrowTimeouts, validationFailures, leaksDetected,
+                connectionsCreated, connectionsEvicted);
+    }
+}
@@ -0,0 +1,183 @@
+package com.pizzaMakerApp.utils;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * PooledConnection wraps a physical database connection managed by a {@link ConnectionPool}.
+ * It keeps track of the bookkeeping needed by the pool: when the connection was last returned,
+ * when it was borrowed and, for leak detection, where it was borrowed from. It also owns the
+ * {@link StatementCache} of the connection.
+ * <p>
+ * Instances are only created by the pool and must be given back with {@link ConnectionPool#release(PooledConnection)}.
+ * </p>
+ */
+class PooledConnection {
+
+    // The physical connection to the database.
+    private final Connection connection;
+
+    // The prepared statements of this connection, reused from one query to the next.
+    private final StatementCache statementCache;
+
+    // Time (System.nanoTime) at which the connection was last returned to the pool.
+    private long lastReleasedAt;
+
+    // The fields of the current borrow are written by the borrowing thread outside the pool lock and read by the
+    // leak detection of the housekeeper thread, hence volatile.
+
+    // Time (System.nanoTime) at which the connection was borrowed, or 0 when it is idle.
+    private volatile long borrowedAt;
+
+    // Stack trace captured at borrow time, used to locate the caller when a leak is reported.
+    private volatile Throwable borrowSite;
+
+    // Whether a leak has already been reported for the current borrow.
+    private volatile boolean leakReported;
+
+    /**
+     * Constructs a new PooledConnection around a freshly opened physical connection.
+     *
+     * @param connection         The physical connection to wrap.
+     * @param statementCacheSize The number of prepared statements cached for this connection (0 disables the cache).
+     */
+    PooledConnection(Connection connection, int statementCacheSize) {
+        this.connection = connection;
+        this.statementCache = new StatementCache(connection, statementCacheSize);
+        this.lastReleasedAt = System.nanoTime();
+    }
+
+    /**
+     * Gets the physical connection wrapped by this object.
+     *
+     * @return The physical connection.
+     */
+    Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Gets the prepared statement cache of this connection.
+     *
+     * @return The StatementCache.
+     */
+    StatementCache getStatementCache() {
+        return statementCache;
+    }
+
+    /**
+     * Marks the connection as borrowed.
+     *
+     * @param captureSite If true, the current stack trace is captured for leak reports.
+     */
+    void markBorrowed(boolean captureSite) {
+        // Written last: the leak detection reads the other fields once it sees the borrow time.
+        this.borrowSite = captureSite ? new Throwable("Connection borrowed here") : null;
+        this.leakReported = false;
+        this.borrowedAt = System.nanoTime();
+    }
+
+    /**
+     * Marks the connection as returned to the pool.
+     */
+    void markReleased() {
+        this.borrowedAt = 0;
+        this.borrowSite = null;
+        this.lastReleasedAt = System.nanoTime();
+    }
+
+    /**
+     * Gets the time at which the connection was last returned to the pool.
+     *
+     * @return The release time, as given by System.nanoTime().
+     */
+    long getLastReleasedAt() {
+        return lastReleasedAt;
+    }
+
+    /**
+     * Gets the time at which the connection was borrowed.
+     *
+     * @return The borrow time, as given by System.nanoTime(), or 0 if the connection is idle.
+     */
+    long getBorrowedAt() {
+        return borrowedAt;
+    }
+
+    /**
+     * Gets the stack trace captured when the connection was borrowed.
+     *
+     * @return The borrow site, or null if it was not captured.
+     */
+    Throwable getBorrowSite() {
+        return borrowSite;
+    }
+
+    /**
+     * Checks whether a leak has already been reported for the current borrow.
+     *
+     * @return True if the leak was reported.
+     */
+    boolean isLeakReported() {
+        return leakReported;
+    }
+
+    /**
+     * Records that a leak has been reported for the current borrow.
+     */
+    void setLeakReported() {
+        this.leakReported = true;
+    }
+
+    /**
+     * Checks whether the physical connection is still usable. The check is skipped if the connection
+     * was returned to the pool less than {@code bypassWindowNanos} ago, to avoid a round trip per borrow
+     * when the pool is busy.
+     *
+     * @param timeoutSeconds    The validation timeout in seconds.
+     * @param bypassWindowNanos The window, in nanoseconds, during which a recently used connection is trusted.
+     * @return True if the connection is valid.
+     */
+    boolean isValid(int timeoutSeconds, long bypassWindowNanos) {
+        try {
+            if (System.nanoTime() - lastReleasedAt < bypassWindowNanos) {
+                return !connection.isClosed();
+            }
+            return connection.isValid(timeoutSeconds);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Resets the connection state before it goes back to the pool, rolling back any transaction left open.
+     *
+     * @return True if the connection can be reused, false if it should be discarded.
+     */
+    boolean reset() {
+        try {
+            if (connection.isClosed()) {
+                return false;
+            }
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Closes the physical connection, ignoring any error since the connection is being discarded.
+     */
+    void closeQuietly() {
+        statementCache.closeAll();
+        try {
+            connection.close();
+        } catch (SQLException ignored) {
+            // The connection is discarded anyway.
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.pizzaMakerApp.utils;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * StatementCache keeps the prepared statements of one connection, keyed by their SQL text, so that the queries
+ * run again and again by the application (menu lookups, order summaries, status updates...) are only prepared once.
+ * <p>
+ * The cache is a least recently used (LRU) map: when it is full, the least recently used statement is closed.
+ * A statement taken from the cache must be given back with {@link #release(String, PreparedStatement)} and must
+ * not be closed by the caller. With a capacity of 0 the cache is disabled: statements are prepared on every call
+ * and closed on release, which is useful to compare both modes in benchmarks.
+ * </p>
+ * <p>
+ * A connection is only used by one thread at a time, so the cache is not synchronized. The hit and miss counters
+ * are shared by all the caches of the application.
+ * </p>
+ */
+public class StatementCache {
+
+    // Counters shared by all the caches.
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong MISSES = new AtomicLong();
+    private static final AtomicLong EVICTIONS = new AtomicLong();
+
+    private final Connection connection;
+    private final int capacity;
+
+    // Statements by SQL text, in access order so that the least recently used one is evicted first.
+    private final LinkedHashMap<String, PreparedStatement> statements;
+
+    /**
+     * Constructs a new StatementCache for a connection.
+     *
+     * @param connection The connection the statements are prepared on.
+     * @param capacity   The maximum number of statements kept open; 0 disables the cache.
+     */
+    StatementCache(Connection connection, int capacity) {
+        this.connection = connection;
+        this.capacity = capacity;
+        this.statements = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, PreparedStatement> eldest) {
+                if (size() > StatementCache.this.capacity) {
+                    EVICTIONS.incrementAndGet();
+                    closeQuietly(eldest.getValue());
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Gets a prepared statement for the given SQL text, reusing the cached one if there is one.
+     * The parameters of a reused statement are cleared.
+     *
+     * @param sqlQuery The SQL text of the statement.
+     * @return A prepared statement, to be given back with {@link #release(String, PreparedStatement)}.
+     * @throws SQLException If the statement cannot be prepared.
+     */
+    PreparedStatement prepare(String sqlQuery) throws SQLException {
+        PreparedStatement statement = capacity > 0 ? statements.remove(sqlQuery) : null;
+        if (statement != null && !statement.isClosed()) {
+            HITS.incrementAndGet();
+            statement.clearParameters();
+            return statement;
+        }
+        MISSES.incrementAndGet();
+        return connection.prepareStatement(sqlQuery, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    /**
+     * Gives a statement back after use. The statement is cached for the next call, or closed if the cache
+     * is disabled or if the statement failed.
+     *
+     * @param sqlQuery  The SQL text of the statement.
+     * @param statement The statement obtained from {@link #prepare(String)}; ignored if null.
+     * @param reusable  False if the statement failed and should not be reused.
+     */
+    void release(String sqlQuery, PreparedStatement statement, boolean reusable) {
+        if (statement == null) {
+            return;
+        }
+        if (capacity == 0 || !reusable) {
+            closeQuietly(statement);
+            return;
+        }
+        PreparedStatement previous = statements.put(sqlQuery, statement);
+        if (previous != null && previous != statement) {
+            closeQuietly(previous);
+        }
+    }
+
+    /**
+     * Gives a statement back after a successful use.
+     *
+     * @param sqlQuery  The SQL text of the statement.
+     * @param statement The statement obtained from {@link #prepare(String)}.
+     * @see #release(String, PreparedStatement, boolean)
+     */
+    void release(String sqlQuery, PreparedStatement statement) {
+        release(sqlQuery, statement, true);
+    }
+
+    /**
+     * Closes all the cached statements. Called before the connection is closed.
+     */
+    void closeAll() {
+        for (PreparedStatement statement : statements.values()) {
+            closeQuietly(statement);
+        }
+        statements.clear();
+    }
+
+    /**
+     * Gets the number of statements served from the caches of all the connections.
+     *
+     * @return The number of cache hits.
+     */
+    public static long getHitCount() {
+        return HITS.get();
+    }
+
+    /**
+     * Gets the number of statements that had to be prepared.
+     *
+     * @return The number of cache misses.
+     */
+    public static long getMissCount() {
+        return MISSES.get();
+    }
+
+    /**
+     * Gets the number of statements closed because a cache was full.
+     *
+     * @return The number of evictions.
+     */
+    public static long getEvictionCount() {
+        return EVICTIONS.get();
+    }
+
+    /**
+     * Gets the proportion of statements served from the caches.
+     *
+     * @return The hit ratio, between 0 and 1.
+     */
+    public static double getHitRatio() {
+        long total = HITS.get() + MISSES.get();
+        return total == 0 ? 0 : (double) HITS.get() / total;
+    }
+
+    /**
+     * Closes a statement, ignoring any error since it is being discarded.
+     *
+     * @param statement The statement to close.
+     */
+    private static void closeQuietly(PreparedStatement statement) {
+        try {
+            statement.close();
+        } catch (SQLException ignored) {
+            // The statement is discarded anyway.
+        }
+    }
+}
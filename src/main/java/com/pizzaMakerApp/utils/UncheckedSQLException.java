@@ -0,0 +1,31 @@
+package com.pizzaMakerApp.utils;
+
+import java.sql.SQLException;
+
+/**
+ * UncheckedSQLException wraps an {@link SQLException} thrown while consuming a query {@link java.util.stream.Stream},
+ * whose operations cannot throw checked exceptions.
+ *
+ * @see DatabaseManager#streamQuery(String, DatabaseManager.RowMapper, Object...)
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    /**
+     * Constructs a new UncheckedSQLException.
+     *
+     * @param cause The SQLException to wrap.
+     */
+    public UncheckedSQLException(SQLException cause) {
+        super(cause);
+    }
+
+    /**
+     * Gets the wrapped SQLException.
+     *
+     * @return The SQLException that caused this exception.
+     */
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
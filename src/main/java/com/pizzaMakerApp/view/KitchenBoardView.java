@@ -0,0 +1,115 @@
+package com.pizzaMakerApp.view;
+
+import com.pizzaMakerApp.model.KitchenBoard;
+import com.pizzaMakerApp.model.KitchenTally;
+import com.pizzaMakerApp.style.SFrame;
+import com.pizzaMakerApp.style.SLabel;
+import com.pizzaMakerApp.style.SPanel;
+import com.pizzaMakerApp.style.SScrollPane;
+import com.pizzaMakerApp.style.STable;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableRowSorter;
+import java.awt.*;
+import java.util.List;
+
+/**
+ * Represents the kitchen board of the Pizza Maker application, in its own window: what the open orders need,
+ * added up across the queue, so that the kitchen can cook in batches. The menu items are listed on the left and
+ * the ingredients on the right, each with the amount to cook now (orders in preparation) and the pending amount.
+ * <p>
+ * The tables are updated row by row as the {@link KitchenBoard} changes, and sorted by the amount to cook now,
+ * then by the pending amount, the largest first.
+ * </p>
+ */
+public class KitchenBoardView extends SFrame {
+
+    private final KitchenTableModel itemModel;
+    private final KitchenTableModel ingredientModel;
+    private SLabel orderCountLabel;
+
+    /**
+     * Constructs the KitchenBoardView of a board. The window is not shown until {@link #setVisible(boolean)}
+     * is called; closing it only hides it.
+     *
+     * @param board The board to display.
+     */
+    public KitchenBoardView(KitchenBoard board) {
+        super("Kitchen board", 800, 600);
+        setDefaultCloseOperation(WindowConstants.HIDE_ON_CLOSE);
+        itemModel = new KitchenTableModel(board, false);
+        ingredientModel = new KitchenTableModel(board, true);
+        init();
+    }
+
+    /**
+     * Initializes the view with the title, the two tables side by side and the number of open orders.
+     */
+    private void init() {
+        SPanel mainPanel = new SPanel(new BorderLayout());
+
+        SLabel titleLabel = new SLabel("Kitchen board", SLabel.FontStyle.TITLE);
+        titleLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        mainPanel.add(titleLabel, BorderLayout.NORTH);
+
+        SPanel tablesPanel = new SPanel(new GridLayout(1, 2, 10, 0));
+        tablesPanel.add(new SScrollPane(createTable(itemModel)));
+        tablesPanel.add(new SScrollPane(createTable(ingredientModel)));
+        mainPanel.add(tablesPanel, BorderLayout.CENTER);
+
+        orderCountLabel = new SLabel(" ", SLabel.FontStyle.REGULAR);
+        orderCountLabel.setHorizontalAlignment(SwingConstants.CENTER);
+        mainPanel.add(orderCountLabel, BorderLayout.SOUTH);
+
+        this.add(mainPanel);
+    }
+
+    /**
+     * Creates a table of tallies, sorted by the amount to cook now then by the pending amount, the largest first.
+     *
+     * @param model The model of the table.
+     * @return The table.
+     */
+    private static STable createTable(KitchenTableModel model) {
+        STable table = new STable(model);
+        TableRowSorter<KitchenTableModel> sorter = new TableRowSorter<>(model);
+        sorter.setSortKeys(List.of(new RowSorter.SortKey(KitchenTableModel.PREPARATION_COLUMN, SortOrder.DESCENDING),
+                new RowSorter.SortKey(KitchenTableModel.PENDING_COLUMN, SortOrder.DESCENDING)));
+        sorter.setSortsOnUpdates(true);
+        table.setRowSorter(sorter);
+        table.setDefaultRenderer(Double.class, new AmountRenderer(model));
+        table.getColumnModel().getColumn(0).setPreferredWidth(200);
+        return table;
+    }
+
+    /**
+     * Displays the number of orders counted by the board.
+     *
+     * @param orderCount The number of open orders.
+     */
+    public void setOrderCount(int orderCount) {
+        orderCountLabel.setText(orderCount + " open orders");
+    }
+
+    /**
+     * Renders the amounts of a tally with its unit, right-aligned.
+     */
+    private static class AmountRenderer extends DefaultTableCellRenderer {
+
+        private final KitchenTableModel model;
+
+        private AmountRenderer(KitchenTableModel model) {
+            this.model = model;
+            setHorizontalAlignment(SwingConstants.TRAILING);
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            KitchenTally tally = model.getTally(table.convertRowIndexToModel(row));
+            String text = KitchenTableModel.formatAmount((Double) value, tally.getUnit(), tally.getSymbol());
+            return super.getTableCellRendererComponent(table, text, isSelected, hasFocus, row, column);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.pizzaMakerApp.view;
+
+import com.pizzaMakerApp.model.KitchenBoard;
+import com.pizzaMakerApp.model.KitchenTally;
+import com.pizzaMakerApp.model.Unit;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The model of a table of the {@link KitchenBoardView}: one row per tally of the {@link KitchenBoard}, either the
+ * menu items or the ingredients, with the amounts to cook now and the pending ones.
+ * <p>
+ * The model listens to the board and updates in place: a changed tally only fires the update of its row, a new
+ * tally appends a row and an empty one removes its row.
+ * </p>
+ */
+public class KitchenTableModel extends AbstractTableModel implements KitchenBoard.Listener {
+
+    // The column holding the amounts of the orders in preparation.
+    static final int PREPARATION_COLUMN = 1;
+
+    // The column holding the amounts of the pending orders.
+    static final int PENDING_COLUMN = 2;
+
+    private final String[] columnNames;
+
+    // Whether the rows are the ingredients (true) or the menu items (false).
+    private final boolean ingredients;
+
+    // The tallies of the rows, and the row of every tally.
+    private final List<KitchenTally> rows = new ArrayList<>();
+    private final Map<KitchenTally, Integer> rowIndexes = new IdentityHashMap<>();
+
+    /**
+     * Constructs the model of the items or of the ingredients of a board, and starts listening to it.
+     *
+     * @param board       The board.
+     * @param ingredients True for the ingredients, false for the menu items.
+     */
+    public KitchenTableModel(KitchenBoard board, boolean ingredients) {
+        this.ingredients = ingredients;
+        this.columnNames = new String[]{ingredients ? "Ingredient" : "Item", "To cook", "Pending"};
+        for (KitchenTally tally : ingredients ? board.getIngredientTallies() : board.getItemTallies()) {
+            rowIndexes.put(tally, rows.size());
+            rows.add(tally);
+        }
+        board.addListener(this);
+    }
+
+    @Override
+    public void tallyChanged(KitchenTally tally) {
+        if ((tally.getUnit() != null) != ingredients) {
+            return;
+        }
+        Integer row = rowIndexes.get(tally);
+        if (tally.isEmpty()) {
+            if (row != null) {
+                rows.remove((int) row);
+                rowIndexes.remove(tally);
+                for (int i = row; i < rows.size(); i++) {
+                    rowIndexes.put(rows.get(i), i);
+                }
+                fireTableRowsDeleted(row, row);
+            }
+        } else if (row == null) {
+            rowIndexes.put(tally, rows.size());
+            rows.add(tally);
+            fireTableRowsInserted(rows.size() - 1, rows.size() - 1);
+        } else {
+            fireTableRowsUpdated(row, row);
+        }
+    }
+
+    /**
+     * Gets the tally of a row.
+     *
+     * @param row The index of the row in the model.
+     * @return The tally.
+     */
+    public KitchenTally getTally(int row) {
+        return rows.get(row);
+    }
+
+    /**
+     * Formats an amount of a tally for display: a number of portions for an item, a quantity with its unit for an
+     * ingredient, in kilograms or litres from 1000 g or ml. Nothing is displayed for 0.
+     *
+     * @param amount The amount.
+     * @param unit   The unit of the tally, or null for an item.
+     * @param symbol The symbol of the unit of the tally, or null for an item.
+     * @return The formatted amount.
+     */
+    static String formatAmount(double amount, Unit unit, String symbol) {
+        if (Math.abs(amount) < 0.005) {
+            return "";
+        }
+        if (unit == null) {
+            return String.valueOf(Math.round(amount));
+        }
+        return switch (unit) {
+            case G -> amount >= 1000 ? String.format("%.1f kg", amount / 1000) : String.format("%.0f g", amount);
+            case ML -> amount >= 1000 ? String.format("%.1f l", amount / 1000) : String.format("%.0f ml", amount);
+            default -> String.format("%.1f %s", amount, symbol);
+        };
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnNames.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnNames[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return column == 0 ? String.class : Double.class;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        KitchenTally tally = rows.get(row);
+        return switch (column) {
+            case 0 -> tally.getName();
+            case PREPARATION_COLUMN -> tally.getPreparationAmount();
+            default -> tally.getPendingAmount();
+        };
+    }
+}
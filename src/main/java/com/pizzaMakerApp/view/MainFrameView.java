@@ -1,20 +1,28 @@
 package com.pizzaMakerApp.view;
 
+import com.pizzaMakerApp.monitoring.ContinuousRecording;
 import com.pizzaMakerApp.style.SFrame;
 import com.pizzaMakerApp.style.SLabel;
 import com.pizzaMakerApp.style.SPanel;
 import com.pizzaMakerApp.style.SSplitPane;
-import com.pizzaMakerApp.utils.ImageLoader;
-import com.pizzaMakerApp.utils.ImageResizer;
+import com.pizzaMakerApp.style.Style;
+import com.pizzaMakerApp.utils.AssetRegistry;
+import com.pizzaMakerApp.utils.AsyncExecutor;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.image.BufferedImage;
+import java.awt.event.ActionEvent;
+import java.awt.event.InputEvent;
+import java.awt.event.KeyEvent;
 
 /**
  * Represents the main frame of the Pizza Maker application. This frame contains
  * the ManagerView and OrderView components in a split pane, along with a title panel
  * displaying the application logo and name.
+ * <p>
+ * Pressing Ctrl+Shift+F12 anywhere in the frame dumps the last minutes of the {@link ContinuousRecording}, to see
+ * where the time went when the application stutters.
+ * </p>
  *
  */
 public class MainFrameView extends SFrame {
@@ -44,6 +52,7 @@ public class MainFrameView extends SFrame {
     private void init() {
         createTitlePanel();
         createSplitPane();
+        createShortcuts();
         this.add(mainPanel);
         setVisible(true);
     }
@@ -59,6 +68,38 @@ public class MainFrameView extends SFrame {
         mainPanel.add(splitPane, BorderLayout.CENTER);
     }
 
+    /**
+     * Binds the keyboard shortcuts available in the whole frame.
+     */
+    private void createShortcuts() {
+        KeyStroke dumpRecording = KeyStroke.getKeyStroke(KeyEvent.VK_F12,
+                InputEvent.CTRL_DOWN_MASK | InputEvent.SHIFT_DOWN_MASK);
+        getRootPane().getInputMap(JComponent.WHEN_IN_FOCUSED_WINDOW).put(dumpRecording, "dumpRecording");
+        getRootPane().getActionMap().put("dumpRecording", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                dumpRecording();
+            }
+        });
+    }
+
+    /**
+     * Dumps the last minutes of the flight recording in the background, then tells where the file was written.
+     */
+    private void dumpRecording() {
+        ContinuousRecording recording = ContinuousRecording.getInstance();
+        if (recording == null) {
+            JOptionPane.showMessageDialog(this, "Flight recording is not enabled.", "Recording",
+                    JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        AsyncExecutor.submit(recording::dumpToFile,
+                file -> JOptionPane.showMessageDialog(this, "Recording saved to " + file, "Recording",
+                        JOptionPane.INFORMATION_MESSAGE),
+                error -> JOptionPane.showMessageDialog(this, "Could not save the recording: " + error.getMessage(),
+                        "Recording", JOptionPane.ERROR_MESSAGE));
+    }
+
     /**
      * Creates and adds the title panel to the main panel. The title panel includes
      * the application logo and name.
@@ -66,12 +107,9 @@ public class MainFrameView extends SFrame {
     private void createTitlePanel() {
         SPanel titlePanel = new SPanel(new FlowLayout(FlowLayout.CENTER), new Dimension(1000, 100));
 
-        // Load and display the application logo
-        ImageIcon imageIcon = ImageLoader.loadImageIcon("logo.png");
-        if (imageIcon != null) {
-            BufferedImage bufferedImage = ImageResizer.iconToBufferedImage(imageIcon);
-            BufferedImage resizedImage = ImageResizer.resizeImage(bufferedImage, 100, 100);
-            ImageIcon resizedIcon = new ImageIcon(resizedImage);
+        // Display the application logo, decoded and scaled once by the asset registry
+        ImageIcon resizedIcon = AssetRegistry.getScaledIcon(Style.LOGO_IMAGE_NAME, Style.LOGO_SIZE, Style.LOGO_SIZE);
+        if (resizedIcon != null) {
             JLabel imageLabel = new JLabel(resizedIcon);
             titlePanel.add(imageLabel);
         } else {
@@ -2,23 +2,43 @@ package com.pizzaMakerApp.view;
 
 import com.pizzaMakerApp.model.Order;
 import com.pizzaMakerApp.model.OrderManager;
+import com.pizzaMakerApp.monitoring.ViewUpdateEvent;
+import com.pizzaMakerApp.style.SButton;
 import com.pizzaMakerApp.style.SList;
+import com.pizzaMakerApp.style.SPanel;
 import com.pizzaMakerApp.style.SScrollPane;
 
 import javax.swing.*;
+import java.awt.*;
 import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Represents the ManagerView component of the Pizza Maker application. Displays a scrollable
  * list of orders managed by the OrderManager.
+ * <p>
+ * Several orders can be selected at once, and a toolbar above the list offers bulk actions:
+ * accepting all the visible orders and cancelling the orders older than a given age. It also opens the
+ * {@link KitchenBoardView}.
+ * </p>
  *
  */
 public class ManagerView extends SScrollPane {
 
+    // The widest expected row of the list: an order id, its date and a long client name.
+    private static final String ROW_PROTOTYPE = "000000      00/00 00:00     Mmmmmmmmmmmmmmmmmm";
+
     private OrderManager orderManagerModel;
 
     private SList<Order> orderList;
 
+    // The model of the order list, updated in place.
+    private final OrderListModel listModel = new OrderListModel();
+
+    private SButton acceptVisibleButton;
+    private SButton cancelOlderButton;
+    private SButton kitchenBoardButton;
+
     /**
      * Constructs the ManagerView with the specified OrderManager.
      *
@@ -34,41 +54,88 @@ public class ManagerView extends SScrollPane {
      * Initializes the ManagerView by creating and setting up the order list.
      */
     private void init() {
-        // Create a new SList for Orders.
+        // Create a new SList for Orders, allowing several orders to be selected.
         orderList = new SList<>();
+        orderList.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
+        orderList.setPrototypeText(ROW_PROTOTYPE);
 
-        // Retrieve the list of Orders from the OrderManager.
-        DefaultListModel<Order> listModel = new DefaultListModel<>();
-        for (Order order : orderManagerModel.getOrders()) {
-            listModel.addElement(order);
-        }
-
-        // Set the model for the order list.
+        // Retrieve the list of Orders from the OrderManager; the model is kept and updated in place afterwards.
+        listModel.setOrders(orderManagerModel.getOrders());
         orderList.setModel(listModel);
 
         // Set the SList as the viewport view of the scroll pane.
         this.setViewportView(orderList);
+
+        // Keep the bulk actions above the list, visible while it scrolls.
+        this.setColumnHeaderView(createToolbar());
+    }
+
+    /**
+     * Creates the toolbar holding the bulk actions on the orders.
+     *
+     * @return The toolbar panel.
+     */
+    private SPanel createToolbar() {
+        SPanel toolbar = new SPanel(new FlowLayout(FlowLayout.CENTER));
+
+        acceptVisibleButton = new SButton("ACCEPT VISIBLE", SButton.ButtonType.PRIMARY);
+        cancelOlderButton = new SButton("CANCEL OLDER...", SButton.ButtonType.ERROR);
+
+        toolbar.add(acceptVisibleButton);
+        kitchenBoardButton = new SButton("KITCHEN BOARD", SButton.ButtonType.NEUTRAL);
+
+        toolbar.add(cancelOlderButton);
+        toolbar.add(kitchenBoardButton);
+        return toolbar;
     }
 
     /**
-     * Updates the order list with the provided list of orders. Retains the selected index
-     * if possible after the update.
+     * Retrieves the orders currently visible in the list, i.e. not scrolled out of the viewport.
+     *
+     * @return The visible orders, from top to bottom.
+     */
+    public List<Order> getVisibleOrders() {
+        List<Order> visibleOrders = new ArrayList<>();
+        int first = orderList.getFirstVisibleIndex();
+        int last = orderList.getLastVisibleIndex();
+        if (first == -1) {
+            return visibleOrders;
+        }
+        ListModel<Order> model = orderList.getModel();
+        for (int i = first; i <= last; i++) {
+            visibleOrders.add(model.getElementAt(i));
+        }
+        return visibleOrders;
+    }
+
+    /**
+     * Retrieves the orders currently selected in the list.
+     *
+     * @return The selected orders, from top to bottom.
+     */
+    public List<Order> getSelectedOrders() {
+        return orderList.getSelectedValuesList();
+    }
+
+    /**
+     * Updates the order list with the provided list of orders. Only the rows that changed are inserted or
+     * removed, and the selected orders stay selected wherever they move. If all the selected orders are gone,
+     * the order now at the position of the first one is selected.
      *
      * @param orders The list of orders to update the view with.
      */
     public void updateOrderList(ArrayList<Order> orders) {
+        ViewUpdateEvent event = new ViewUpdateEvent();
+        event.begin();
         int selectedIndex = orderList.getSelectedIndex(); // Save the selected index before the update
 
-        DefaultListModel<Order> listModel = new DefaultListModel<>();
-        for (Order order : orders) {
-            listModel.addElement(order);
-        }
-        orderList.setModel(listModel);
+        listModel.setOrders(orders);
 
-        // Restore the selection if possible
-        if (selectedIndex != -1 && selectedIndex < listModel.size()) {
-            orderList.setSelectedIndex(selectedIndex);
+        // Select a neighbour if the selected orders were removed
+        if (selectedIndex != -1 && orderList.isSelectionEmpty() && listModel.getSize() > 0) {
+            orderList.setSelectedIndex(Math.min(selectedIndex, listModel.getSize() - 1));
         }
+        event.end("ManagerView.updateOrderList", orders.size());
     }
 
     /**
@@ -97,4 +164,31 @@ public class ManagerView extends SScrollPane {
     public SList<Order> getOrderList() {
         return orderList;
     }
+
+    /**
+     * Retrieves the button accepting all the visible orders.
+     *
+     * @return The SButton component.
+     */
+    public SButton getAcceptVisibleButton() {
+        return acceptVisibleButton;
+    }
+
+    /**
+     * Retrieves the button cancelling the orders older than a given age.
+     *
+     * @return The SButton component.
+     */
+    public SButton getCancelOlderButton() {
+        return cancelOlderButton;
+    }
+
+    /**
+     * Retrieves the button opening the kitchen board.
+     *
+     * @return The SButton component.
+     */
+    public SButton getKitchenBoardButton() {
+        return kitchenBoardButton;
+    }
 }
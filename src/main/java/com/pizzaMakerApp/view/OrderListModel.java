@@ -0,0 +1,125 @@
+package com.pizzaMakerApp.view;
+
+import com.pizzaMakerApp.model.Order;
+import com.pizzaMakerApp.utils.IntHashMap;
+
+import javax.swing.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * OrderListModel is the model of the order list of the {@link ManagerView}. It is updated by diffing the ids of
+ * the current orders with those of the new ones, and only fires events for the intervals that changed.
+ * <p>
+ * Because the list is never replaced, the JList only lays out and repaints the rows that were inserted or
+ * removed, and its selection model shifts the selected indexes along with them: a selected order stays selected
+ * when orders are added or removed above it.
+ * </p>
+ * <p>
+ * Both lists are expected to be sorted the same way (by date, as returned by
+ * {@link com.pizzaMakerApp.model.OrderManager#getOrders()}), so the orders they have in common appear in the same
+ * relative order. If they do not, the whole content is replaced.
+ * </p>
+ */
+public class OrderListModel extends AbstractListModel<Order> {
+
+    // The orders displayed, in order.
+    private final List<Order> orders = new ArrayList<>();
+
+    /**
+     * Gets the number of orders in the list.
+     *
+     * @return The number of orders.
+     */
+    @Override
+    public int getSize() {
+        return orders.size();
+    }
+
+    /**
+     * Gets the order at a position of the list.
+     *
+     * @param index The position.
+     * @return The order.
+     */
+    @Override
+    public Order getElementAt(int index) {
+        return orders.get(index);
+    }
+
+    /**
+     * Updates the list to hold the given orders, firing an event for every run of removed, inserted or replaced
+     * orders.
+     *
+     * @param newOrders The new orders, sorted like the current ones.
+     */
+    public void setOrders(List<Order> newOrders) {
+        IntHashMap<Order> newById = new IntHashMap<>(newOrders.size());
+        for (Order order : newOrders) {
+            newById.put(order.getId(), order);
+        }
+        IntHashMap<Order> oldById = new IntHashMap<>(orders.size());
+        for (Order order : orders) {
+            oldById.put(order.getId(), order);
+        }
+
+        // Remove the orders that are gone, from the end so that the indexes of the next runs do not move.
+        int end = orders.size() - 1;
+        while (end >= 0) {
+            if (newById.containsKey(orders.get(end).getId())) {
+                end--;
+                continue;
+            }
+            int start = end;
+            while (start > 0 && !newById.containsKey(orders.get(start - 1).getId())) {
+                start--;
+            }
+            orders.subList(start, end + 1).clear();
+            fireIntervalRemoved(this, start, end);
+            end = start - 1;
+        }
+
+        // Walk both lists together, inserting the runs of new orders and replacing the orders loaded again.
+        int index = 0;
+        while (index < newOrders.size()) {
+            Order order = newOrders.get(index);
+            if (!oldById.containsKey(order.getId())) {
+                int runEnd = index;
+                while (runEnd + 1 < newOrders.size() && !oldById.containsKey(newOrders.get(runEnd + 1).getId())) {
+                    runEnd++;
+                }
+                orders.addAll(index, newOrders.subList(index, runEnd + 1));
+                fireIntervalAdded(this, index, runEnd);
+                index = runEnd + 1;
+                continue;
+            }
+            if (index >= orders.size() || orders.get(index).getId() != order.getId()) {
+                // The common orders are not in the same order: replace everything.
+                replaceAll(newOrders);
+                return;
+            }
+            if (orders.get(index) != order) {
+                orders.set(index, order);
+                fireContentsChanged(this, index, index);
+            }
+            index++;
+        }
+    }
+
+    /**
+     * Replaces the whole content of the list.
+     *
+     * @param newOrders The new orders.
+     */
+    private void replaceAll(List<Order> newOrders) {
+        if (!orders.isEmpty()) {
+            int last = orders.size() - 1;
+            orders.clear();
+            fireIntervalRemoved(this, 0, last);
+        }
+        orders.addAll(newOrders);
+        if (!orders.isEmpty()) {
+            fireIntervalAdded(this, 0, orders.size() - 1);
+        }
+    }
+}
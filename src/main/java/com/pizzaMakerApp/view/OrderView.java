@@ -1,25 +1,53 @@
 package com.pizzaMakerApp.view;
 
 import com.pizzaMakerApp.model.Order;
+import com.pizzaMakerApp.monitoring.ViewUpdateEvent;
 import com.pizzaMakerApp.style.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import javax.swing.*;
+import javax.swing.text.BadLocationException;
+import javax.swing.text.Document;
+import javax.swing.text.PlainDocument;
 import java.awt.*;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.io.IOException;
 import java.net.URI;
 import java.net.URISyntaxException;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Represents the OrderView component of the Pizza Maker application. Displays details of an individual order,
  * including a text area for order information, buttons for validation and refusal, and a link to test the order.
+ * <p>
+ * The text of an order is put in its own document, kept for the most recently displayed orders: switching back
+ * to one of them swaps the document of the text area instead of replacing and re-parsing its text.
+ * </p>
+ * <p>
+ * An order whose items are not loaded yet (see {@link Order#isDetailed()}) is shown with a loading message,
+ * until the controller sets its detailed version.
+ * </p>
  *
  */
 public class OrderView extends SPanel {
 
+    // Number of order documents kept.
+    private static final int DOCUMENT_CACHE_SIZE = 32;
+
+    // Property of a document holding the ticket it was built from, to detect a ticket rendered again.
+    private static final String TICKET_PROPERTY = "pizzamaker.ticket";
+
+    // The documents of the recently displayed orders, the least recently displayed first.
+    private final Map<Order, Document> documents = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Order, Document> eldest) {
+            return size() > DOCUMENT_CACHE_SIZE;
+        }
+    };
+
     private Order orderModel;
     private STextArea textArea;
     private SButton validateButton;
@@ -84,7 +112,11 @@ public class OrderView extends SPanel {
     private void createTextPanel() {
         // create the text Area
         textArea = new STextArea();
-        textArea.setText(getOrderModel().display());
+        // The ticket is read-only: its document is cached and shown again the next time the order is selected
+        textArea.setEditable(false);
+        if (getOrderModel() != null) {
+            textArea.setDocument(getDocument(getOrderModel()));
+        }
 
         // create the scroll pane
         scrollPane = new SScrollPane(textArea, ScrollPaneConstants.VERTICAL_SCROLLBAR_AS_NEEDED,
@@ -105,7 +137,7 @@ public class OrderView extends SPanel {
     private static SLabel getLinkLabel() {
         SLabel linkLabel = new SLabel("<html>Note for teacher: Click <u>here</u> to test the order</html>",
                 SLabel.FontStyle.REGULAR);
-        linkLabel.setCursor(new Cursor(Cursor.HAND_CURSOR));
+        linkLabel.setCursor(Style.HAND_CURSOR);
         linkLabel.setForeground(Style.TEXT_COLOR);
         linkLabel.addMouseListener(new MouseAdapter() {
             @Override
@@ -127,10 +159,63 @@ public class OrderView extends SPanel {
      */
     public void update() {
         if (orderModel != null) {
-            textArea.setText(orderModel.display());
+            ViewUpdateEvent event = new ViewUpdateEvent();
+            event.begin();
+            textArea.setDocument(getDocument(orderModel));
+            textArea.setCaretPosition(0);
             JScrollBar verticalScrollBar = scrollPane.getVerticalScrollBar();
             verticalScrollBar.setValue(verticalScrollBar.getMinimum());
+            event.end("OrderView.update", orderModel.getItems().size());
+        }
+    }
+
+    /**
+     * Displays a message instead of the ticket of the order, e.g. when its items could not be loaded.
+     * The message is replaced by the next update.
+     *
+     * @param message The message to display.
+     */
+    public void showMessage(String message) {
+        textArea.setDocument(createDocument(message));
+        textArea.setCaretPosition(0);
+    }
+
+    /**
+     * Gets the document holding the ticket of an order, building it if the order was not displayed recently or if
+     * its ticket changed since.
+     *
+     * @param order The order.
+     * @return The document.
+     */
+    private Document getDocument(Order order) {
+        if (!order.isDetailed()) {
+            // Not kept: the detailed order replacing the header gets its own document
+            return createDocument("Order " + order.getId() + "\n\nLoading the items of the order...");
+        }
+        String ticket = order.display();
+        Document document = documents.get(order);
+        if (document == null || document.getProperty(TICKET_PROPERTY) != ticket) {
+            document = createDocument(ticket);
+            document.putProperty(TICKET_PROPERTY, ticket);
+            documents.put(order, document);
+        }
+        return document;
+    }
+
+    /**
+     * Creates a document holding a text.
+     *
+     * @param text The text of the document.
+     * @return The document.
+     */
+    private static Document createDocument(String text) {
+        Document document = new PlainDocument();
+        try {
+            document.insertString(0, text, null);
+        } catch (BadLocationException e) {
+            throw new IllegalStateException(e);
         }
+        return document;
     }
 
     /**
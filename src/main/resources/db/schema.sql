@@ -0,0 +1,159 @@
+-- Schema of the PIZZERIA database, reduced to the tables and views used by the application.
+-- It is run by EmbeddedDatabase on an H2 database in MariaDB mode, so the views expose the same columns as in production.
+
+CREATE TABLE CLIENT (
+    clientId       INT PRIMARY KEY,
+    clientLastName VARCHAR(50) NOT NULL
+);
+
+CREATE TABLE INGREDIENT (
+    ingredientId   INT PRIMARY KEY,
+    ingredientName VARCHAR(50) NOT NULL,
+    unit           VARCHAR(10) NOT NULL
+);
+
+CREATE TABLE PIZZA (
+    pizzaId    INT PRIMARY KEY,
+    pizzaName  VARCHAR(50)   NOT NULL,
+    pizzaPrice DECIMAL(6, 2) NOT NULL
+);
+
+CREATE TABLE PIZZA_INGREDIENT (
+    pizzaId      INT           NOT NULL REFERENCES PIZZA (pizzaId),
+    ingredientId INT           NOT NULL REFERENCES INGREDIENT (ingredientId),
+    quantity     DECIMAL(8, 2) NOT NULL,
+    PRIMARY KEY (pizzaId, ingredientId)
+);
+
+CREATE TABLE DESSERT (
+    dessertId    INT PRIMARY KEY,
+    dessertName  VARCHAR(50)   NOT NULL,
+    dessertPrice DECIMAL(6, 2) NOT NULL
+);
+
+CREATE TABLE DESSERT_INGREDIENT (
+    dessertId    INT           NOT NULL REFERENCES DESSERT (dessertId),
+    ingredientId INT           NOT NULL REFERENCES INGREDIENT (ingredientId),
+    quantity     DECIMAL(8, 2) NOT NULL,
+    PRIMARY KEY (dessertId, ingredientId)
+);
+
+CREATE TABLE COCKTAIL (
+    cocktailId    INT PRIMARY KEY,
+    cocktailName  VARCHAR(50)   NOT NULL,
+    cocktailPrice DECIMAL(6, 2) NOT NULL
+);
+
+CREATE TABLE COCKTAIL_INGREDIENT (
+    cocktailId   INT           NOT NULL REFERENCES COCKTAIL (cocktailId),
+    ingredientId INT           NOT NULL REFERENCES INGREDIENT (ingredientId),
+    quantity     DECIMAL(8, 2) NOT NULL,
+    PRIMARY KEY (cocktailId, ingredientId)
+);
+
+CREATE TABLE WINE (
+    wineId     INT PRIMARY KEY,
+    wineName   VARCHAR(50)   NOT NULL,
+    winePrice  DECIMAL(6, 2) NOT NULL,
+    domain     VARCHAR(50)   NOT NULL,
+    origin     VARCHAR(50)   NOT NULL,
+    wineYear   INT           NOT NULL,
+    color      VARCHAR(10)   NOT NULL,
+    bottleType VARCHAR(20)   NOT NULL
+);
+
+CREATE TABLE SODA (
+    sodaId     INT PRIMARY KEY,
+    sodaName   VARCHAR(50)   NOT NULL,
+    sodaPrice  DECIMAL(6, 2) NOT NULL,
+    bottleType VARCHAR(10)   NOT NULL
+);
+
+CREATE TABLE CUSTOM_PIZZA (
+    customPizzaId   INT PRIMARY KEY,
+    originalPizzaId INT NOT NULL REFERENCES PIZZA (pizzaId)
+);
+
+-- An ingredient added to (isAdded = TRUE) or removed from (isAdded = FALSE) a custom pizza.
+CREATE TABLE CUSTOM_PIZZA_INGREDIENT (
+    customPizzaId INT           NOT NULL REFERENCES CUSTOM_PIZZA (customPizzaId),
+    ingredientId  INT           NOT NULL REFERENCES INGREDIENT (ingredientId),
+    quantity      DECIMAL(8, 2) NOT NULL,
+    isAdded       BOOLEAN       NOT NULL,
+    PRIMARY KEY (customPizzaId, ingredientId)
+);
+
+CREATE TABLE CLIENT_ORDER (
+    orderId   INT PRIMARY KEY,
+    clientId  INT         NOT NULL REFERENCES CLIENT (clientId),
+    orderDate TIMESTAMP   NOT NULL,
+    status    VARCHAR(20) NOT NULL
+);
+
+CREATE INDEX IDX_CLIENT_ORDER_STATUS ON CLIENT_ORDER (status, orderDate);
+
+-- One row per order placed or status change, tailed by the application with a cursor on changeId.
+-- Written by the ordering website in the transaction placing the order, and by the application when it moves orders.
+CREATE TABLE ORDER_CHANGE (
+    changeId  BIGINT AUTO_INCREMENT PRIMARY KEY,
+    orderId   INT         NOT NULL,
+    status    VARCHAR(20) NOT NULL,
+    changedAt TIMESTAMP   NOT NULL
+);
+
+-- itemType is one of PIZZA, PIZZA CUSTOM, DESSERT, WINE, COCKTAIL and SODA.
+CREATE TABLE ORDER_ITEM (
+    orderId  INT         NOT NULL REFERENCES CLIENT_ORDER (orderId),
+    itemType VARCHAR(20) NOT NULL,
+    itemId   INT         NOT NULL,
+    quantity INT         NOT NULL,
+    PRIMARY KEY (orderId, itemType, itemId)
+);
+
+CREATE VIEW VIEW_ORDER_SUMMARY AS
+SELECT o.orderId, o.orderDate, o.status, c.clientLastName, i.itemType, i.itemId, i.quantity
+FROM CLIENT_ORDER o
+         JOIN CLIENT c ON c.clientId = o.clientId
+         JOIN ORDER_ITEM i ON i.orderId = o.orderId;
+
+CREATE VIEW VIEW_PIZZA_INGREDIENTS AS
+SELECT p.pizzaId AS id, p.pizzaName AS name, p.pizzaPrice AS price, g.ingredientName, pi.quantity, g.unit
+FROM PIZZA p
+         JOIN PIZZA_INGREDIENT pi ON pi.pizzaId = p.pizzaId
+         JOIN INGREDIENT g ON g.ingredientId = pi.ingredientId;
+
+CREATE VIEW VIEW_DESSERT_INGREDIENTS AS
+SELECT d.dessertId AS id, d.dessertName AS name, d.dessertPrice AS price, g.ingredientName, di.quantity, g.unit
+FROM DESSERT d
+         JOIN DESSERT_INGREDIENT di ON di.dessertId = d.dessertId
+         JOIN INGREDIENT g ON g.ingredientId = di.ingredientId;
+
+CREATE VIEW VIEW_COCKTAIL_INGREDIENTS AS
+SELECT k.cocktailId AS id, k.cocktailName AS name, k.cocktailPrice AS price, g.ingredientName, ki.quantity, g.unit
+FROM COCKTAIL k
+         JOIN COCKTAIL_INGREDIENT ki ON ki.cocktailId = k.cocktailId
+         JOIN INGREDIENT g ON g.ingredientId = ki.ingredientId;
+
+CREATE VIEW VIEW_WINE AS
+SELECT wineId AS id, wineName AS name, winePrice AS price, domain, origin, wineYear AS "year", color, bottleType
+FROM WINE;
+
+CREATE VIEW VIEW_SODA AS
+SELECT sodaId AS id, sodaName AS name, sodaPrice AS price, bottleType
+FROM SODA;
+
+-- One row per added or removed ingredient; the other side of the row is marked 'Empty'.
+CREATE VIEW VIEW_CUSTOM_PIZZAS_WITH_INGREDIENTS AS
+SELECT cp.customPizzaId AS CustomPizzaId, cp.originalPizzaId AS OriginalPizzaId,
+       g.ingredientName AS IngredientAddedName, ci.quantity AS QuantityAdded, g.unit AS Unit1,
+       'Empty' AS IngredientRemovedName, 0 AS QuantityRemoved, '' AS Unit2
+FROM CUSTOM_PIZZA cp
+         JOIN CUSTOM_PIZZA_INGREDIENT ci ON ci.customPizzaId = cp.customPizzaId AND ci.isAdded
+         JOIN INGREDIENT g ON g.ingredientId = ci.ingredientId
+UNION ALL
+SELECT cp.customPizzaId, cp.originalPizzaId,
+       'Empty', 0, '',
+       g.ingredientName, ci.quantity, g.unit
+FROM CUSTOM_PIZZA cp
+         JOIN CUSTOM_PIZZA_INGREDIENT ci ON ci.customPizzaId = cp.customPizzaId AND NOT ci.isAdded
+         JOIN INGREDIENT g ON g.ingredientId = ci.ingredientId;
@@ -0,0 +1,90 @@
+package com.pizzaMakerApp.model;
+
+import com.pizzaMakerApp.monitoring.Metrics;
+import com.pizzaMakerApp.monitoring.OperationStats;
+import com.pizzaMakerApp.utils.DataGenerator;
+import com.pizzaMakerApp.utils.DatabaseManager;
+import com.pizzaMakerApp.utils.EmbeddedDatabase;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of {@link OrderLoader} against an in-memory {@link EmbeddedDatabase} seeded by the {@link DataGenerator}.
+ */
+class OrderLoaderTest {
+
+    private static final String URL = "jdbc:h2:mem:pizzeria-test;MODE=MariaDB;DATABASE_TO_UPPER=FALSE;"
+            + "CASE_INSENSITIVE_IDENTIFIERS=TRUE;DB_CLOSE_DELAY=-1";
+
+    @AfterEach
+    void tearDown() {
+        DatabaseManager.shutdown();
+    }
+
+    /**
+     * The pending orders are loaded with a fixed number of queries: loading ten times more orders must not
+     * issue a single query more.
+     */
+    @Test
+    void queryCountDoesNotGrowWithTheOrderCount() throws SQLException {
+        long smallLoadQueries = countQueriesOfPendingLoad(10);
+        long largeLoadQueries = countQueriesOfPendingLoad(100);
+
+        assertTrue(smallLoadQueries > 0, "The queries of the load were not recorded");
+        assertEquals(smallLoadQueries, largeLoadQueries);
+    }
+
+    /**
+     * Seeds the database with random pending orders, plus one pending order per item type so that every kind of
+     * item is loaded whatever the count, and counts the queries executed to load them.
+     *
+     * @param orderCount The number of random pending orders.
+     * @return The number of queries executed by {@link OrderLoader#loadPendingOrders()}.
+     * @throws SQLException If the database cannot be seeded or read.
+     */
+    private static long countQueriesOfPendingLoad(int orderCount) throws SQLException {
+        int singleTypeOrders;
+        try (Connection connection = DriverManager.getConnection(URL)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP ALL OBJECTS");
+            }
+            EmbeddedDatabase.createSchema(connection);
+            DataGenerator generator = new DataGenerator(42);
+            generator.generate(connection, orderCount, 0);
+            singleTypeOrders = generator.generateSingleTypeOrders(connection, "PENDING").size();
+        }
+        DatabaseManager.setConnectionFactory(() -> DriverManager.getConnection(URL));
+
+        // Load the menu beforehand, so that both loads find it in the catalog.
+        MenuCatalog.getInstance().refresh();
+
+        long before = countQueries();
+        List<Order> orders = OrderLoader.loadPendingOrders();
+        long queries = countQueries() - before;
+
+        assertEquals(orderCount + singleTypeOrders, orders.size());
+        return queries;
+    }
+
+    /**
+     * Counts the queries executed so far, all SQL templates together.
+     *
+     * @return The number of queries.
+     */
+    private static long countQueries() {
+        long count = 0;
+        for (OperationStats stats : Metrics.getQueryStats()) {
+            count += stats.getCount();
+        }
+        return count;
+    }
+}